@@ -29,6 +29,16 @@ dependencies {
     implementation("org.springframework.boot:spring-boot-starter-security")
     runtimeOnly("org.postgresql:postgresql")
 
+    // Metriken (Micrometer) mit Prometheus-Endpunkt über Actuator
+    implementation("org.springframework.boot:spring-boot-starter-actuator")
+    runtimeOnly("io.micrometer:micrometer-registry-prometheus")
+
+    // Tracing (Micrometer Tracing mit OpenTelemetry), Export per OTLP oder als OTLP-JSON ins Log
+    implementation("io.micrometer:micrometer-tracing-bridge-otel")
+    implementation("io.opentelemetry:opentelemetry-exporter-logging-otlp")
+    runtimeOnly("io.opentelemetry:opentelemetry-exporter-otlp")
+    testImplementation("io.opentelemetry:opentelemetry-sdk-testing")
+
     testImplementation("org.testcontainers:testcontainers:2.0.2")
     testImplementation("org.testcontainers:junit-jupiter")
     testImplementation("org.testcontainers:postgresql:1.20.6")
@@ -65,4 +75,63 @@ dependencies {
 
 tasks.test {
     useJUnitPlatform()
-}
\ No newline at end of file
+}
+
+// JMH-Benchmarks (src/jmh/java): ./gradlew jmh, Auswahl per -PjmhInclude=<Regex>,
+// weitere JMH-Optionen per -PjmhArgs="-wi 1 -i 1 -p taskCount=10"
+sourceSets {
+    create("jmh") {
+        compileClasspath += sourceSets.main.get().output
+        runtimeClasspath += sourceSets.main.get().output
+    }
+}
+
+configurations["jmhImplementation"].extendsFrom(configurations.implementation.get())
+configurations["jmhRuntimeOnly"].extendsFrom(configurations.runtimeOnly.get())
+
+dependencies {
+    "jmhImplementation"("org.openjdk.jmh:jmh-core:1.37")
+    "jmhAnnotationProcessor"("org.openjdk.jmh:jmh-generator-annprocess:1.37")
+    // Stubs für Repositories und Solver
+    "jmhImplementation"("org.mockito:mockito-core")
+    "jmhImplementation"("org.springframework:spring-test")
+}
+
+tasks.register<JavaExec>("jmh") {
+    group = "benchmark"
+    description = "Führt die JMH-Benchmarks aus und misst Durchsatz und Allokationsrate (-prof gc)."
+    classpath = sourceSets["jmh"].runtimeClasspath
+    mainClass.set("org.openjdk.jmh.Main")
+    val results = layout.buildDirectory.file("reports/jmh/results.json")
+    args(providers.gradleProperty("jmhInclude").getOrElse(".*Benchmark.*"),
+        "-prof", "gc", "-rf", "json", "-rff", results.get().asFile.absolutePath)
+    args(providers.gradleProperty("jmhArgs").map { it.trim().split(Regex("\\s+")) }.getOrElse(emptyList()))
+    doFirst { results.get().asFile.parentFile.mkdirs() }
+}
+// Lasttest (src/loadTest/java): ./gradlew loadTest -Ploadtest.users=200 -Ploadtest.concurrency=20
+// Alle Eigenschaften mit Präfix "loadtest." werden als Systemeigenschaften weitergereicht,
+// Anwendungseigenschaften per -PloadTestAppArgs="--planning.greedy.max-chunks=0"
+sourceSets {
+    create("loadTest") {
+        compileClasspath += sourceSets.main.get().output
+        runtimeClasspath += sourceSets.main.get().output
+    }
+}
+
+configurations["loadTestImplementation"].extendsFrom(configurations.implementation.get())
+configurations["loadTestRuntimeOnly"].extendsFrom(configurations.runtimeOnly.get())
+
+dependencies {
+    "loadTestImplementation"("org.testcontainers:testcontainers:2.0.2")
+    "loadTestImplementation"("org.testcontainers:postgresql:1.20.6")
+}
+
+tasks.register<JavaExec>("loadTest") {
+    group = "verification"
+    description = "Startet die Anwendung gegen Testcontainers-PostgreSQL und einen Stub-Solver und misst die Nutzerabläufe."
+    classpath = sourceSets["loadTest"].runtimeClasspath
+    mainClass.set("de.pse.oys.load.LoadTestRunner")
+    systemProperty("loadtest.report", layout.buildDirectory.file("reports/loadtest/results.json").get().asFile.absolutePath)
+    systemProperties(project.properties.filterKeys { it.startsWith("loadtest.") })
+    args(providers.gradleProperty("loadTestAppArgs").map { it.trim().split(Regex("\\s+")) }.getOrElse(emptyList()))
+}
@@ -0,0 +1,154 @@
+package de.pse.oys.service.planning;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.pse.oys.domain.CostMatrix;
+import de.pse.oys.domain.ExamTask;
+import de.pse.oys.domain.Module;
+import de.pse.oys.domain.OtherTask;
+import de.pse.oys.domain.Task;
+import de.pse.oys.domain.enums.ModulePriority;
+import de.pse.oys.dto.CostDTO;
+import de.pse.oys.persistence.CostMatrixRepository;
+import de.pse.oys.persistence.TaskRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * LearningAnalyticsProviderBenchmark – Misst die Kostenpfade des {@link LearningAnalyticsProvider}, die
+ * die Kostenmatrix als JSON-String lesen und schreiben. Variiert werden die Länge der Bewertungshistorie
+ * und die Anzahl der Einträge der gespeicherten Kostenliste. Die Repositories sind Stubs ohne Aufzeichnung,
+ * gemessen werden also nur die Jackson-Umwandlungen und Listendurchläufe. Mit {@code -prof gc} (Standard der
+ * Gradle-Aufgabe {@code jmh}) wird neben dem Durchsatz die Allokationsrate je Operation ausgegeben.
+ *
+ * @author uhxch
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class LearningAnalyticsProviderBenchmark {
+
+    private static final int SLOTS_PER_WEEK = 2016;
+    private static final int SIBLING_TASKS = 20;
+
+    @Param({"10", "100", "1000"})
+    private int ratingHistory;
+
+    @Param({"12", "288", "2016"})
+    private int costEntries;
+
+    private LearningAnalyticsProvider provider;
+    private Task cachedTask;
+    private Task ratedTask;
+    private Task heuristicTask;
+    private Task penaltyTask;
+    private int penaltySlot;
+
+    /**
+     * Erzeugt die Aufgaben der einzelnen Pfade und den Provider mit Stubs anstelle der Datenbank.
+     *
+     * @throws JsonProcessingException wenn die Kostenliste nicht serialisiert werden kann
+     */
+    @Setup
+    public void setUp() throws JsonProcessingException {
+        ObjectMapper objectMapper = new ObjectMapper();
+        provider = new LearningAnalyticsProvider(
+                mock(CostMatrixRepository.class, withSettings().stubOnly()),
+                objectMapper,
+                mock(TaskRepository.class, withSettings().stubOnly()),
+                new PlanningMetrics(new SimpleMeterRegistry()));
+
+        List<CostDTO> costs = IntStream.range(0, costEntries)
+                .mapToObj(i -> new CostDTO(i * SLOTS_PER_WEEK / costEntries, i % 7 - 3))
+                .toList();
+        String jsonCosts = objectMapper.writeValueAsString(costs);
+        LocalDateTime now = LocalDateTime.now();
+
+        cachedTask = task("Aktuell", 1, now);
+        cachedTask.setCostMatrix(new CostMatrix(jsonCosts, cachedTask));
+
+        ratedTask = new SyntheticPlanningData(1, ratingHistory, 100, 0).getTasks().get(0);
+        CostMatrix outdated = new CostMatrix(jsonCosts, ratedTask);
+        outdated.markAsOutdated();
+        ratedTask.setCostMatrix(outdated);
+
+        Module module = new Module("Benchmark", ModulePriority.MEDIUM);
+        heuristicTask = task("Ohne Matrix", 2, now);
+        module.addTask(heuristicTask);
+        for (int i = 0; i < SIBLING_TASKS; i++) {
+            Task exam = new ExamTask("Klausur " + i, 60, LocalDate.now().plusWeeks(4));
+            ReflectionTestUtils.setField(exam, "taskId", new UUID(1, i));
+            module.addTask(exam);
+        }
+        Task sibling = task("Vorlage", 3, now);
+        sibling.setCostMatrix(new CostMatrix(jsonCosts, sibling));
+        module.addTask(sibling);
+
+        penaltyTask = task("Strafe", 4, now);
+        penaltyTask.setCostMatrix(new CostMatrix(jsonCosts, penaltyTask));
+        penaltySlot = costs.get(costEntries / 2).getT();
+    }
+
+    private static Task task(String title, long id, LocalDateTime now) {
+        Task task = new OtherTask(title, 120, now.minusDays(1), now.plusDays(14));
+        ReflectionTestUtils.setField(task, "taskId", new UUID(0, id));
+        return task;
+    }
+
+    @Benchmark
+    public List<CostDTO> getCostMatrixForTask() {
+        return provider.getCostMatrixForTask(cachedTask);
+    }
+
+    @Benchmark
+    public List<CostDTO> getCostMatrixForOutdatedTask() {
+        return provider.getCostMatrixForTask(ratedTask);
+    }
+
+    @Benchmark
+    public List<CostDTO> calculateCostsFromRatings() {
+        return provider.calculateCostsFromRatings(ratedTask);
+    }
+
+    @Benchmark
+    public List<CostDTO> calculateHeuristiksFromTask() {
+        return provider.calculateHeuristiksFromTask(heuristicTask);
+    }
+
+    /**
+     * Trifft einen vorhandenen Slot mit Strafkosten 0, damit die gespeicherte Liste über alle Iterationen
+     * gleich groß bleibt.
+     *
+     * @return Die Kostenmatrix nach dem Schreiben.
+     */
+    @Benchmark
+    public CostMatrix applyPenaltyToCostMatrix() {
+        provider.applyPenaltyToCostMatrix(penaltyTask, penaltySlot, 0);
+        return penaltyTask.getCostMatrix();
+    }
+}
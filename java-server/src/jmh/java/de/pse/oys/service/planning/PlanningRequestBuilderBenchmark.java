@@ -0,0 +1,153 @@
+package de.pse.oys.service.planning;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.pse.oys.domain.LearningUnit;
+import de.pse.oys.domain.Task;
+import de.pse.oys.dto.CostDTO;
+import de.pse.oys.dto.plan.FixedBlockDTO;
+import de.pse.oys.dto.plan.PlanningRequestDTO;
+import de.pse.oys.dto.plan.PlanningTaskDTO;
+import de.pse.oys.persistence.LearningPlanRepository;
+import de.pse.oys.persistence.LearningUnitRepository;
+import de.pse.oys.persistence.TaskRepository;
+import de.pse.oys.persistence.UserRepository;
+import de.pse.oys.service.DataVersionService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.tracing.Tracer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * PlanningRequestBuilderBenchmark – Misst den Aufbau der Solver-Anfrage im {@link PlanningService}
+ * für synthetische Nutzer verschiedener Größe. Repositories und Kostenmatrix sind Stubs ohne
+ * Aufzeichnung, der Solver wird nie aufgerufen. Mit {@code -prof gc} (Standard der Gradle-Aufgabe
+ * {@code jmh}) wird neben dem Durchsatz die Allokationsrate je Operation ausgegeben.
+ *
+ * @author uhxch
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class PlanningRequestBuilderBenchmark {
+
+    private static final int COST_ENTRIES = 12;
+    private static final int REST_DURATION_MINUTES = 600;
+    private static final int TARGET_UNIT_MINUTES = 60;
+
+    @Param({"10", "100"})
+    private int taskCount;
+
+    @Param({"5", "50"})
+    private int unitsPerTask;
+
+    @Param({"50"})
+    private int ratedPercent;
+
+    @Param({"5", "50"})
+    private int freeTimeCount;
+
+    private SyntheticPlanningData data;
+    private PlanningService planningService;
+    private PlanningSnapshot snapshot;
+
+    /**
+     * Erzeugt die Daten und den Service mit Stubs anstelle von Datenbank und Solver.
+     */
+    @Setup
+    public void setUp() {
+        data = new SyntheticPlanningData(taskCount, unitsPerTask, ratedPercent, freeTimeCount);
+        List<CostDTO> costs = IntStream.range(0, COST_ENTRIES)
+                .mapToObj(i -> new CostDTO(i * 24, i % 3 * 5))
+                .toList();
+
+        TaskRepository taskRepository = mock(TaskRepository.class, withSettings().stubOnly());
+        when(taskRepository.findAllByModuleUserUserId(any())).thenReturn(data.getTasks());
+        LearningAnalyticsProvider analyticsProvider = mock(LearningAnalyticsProvider.class, withSettings().stubOnly());
+        when(analyticsProvider.getCostMatrixForTask(any())).thenReturn(costs);
+        RestTemplate restTemplate = mock(RestTemplate.class, withSettings().stubOnly());
+
+        planningService = new PlanningService(taskRepository,
+                mock(LearningPlanRepository.class, withSettings().stubOnly()),
+                mock(UserRepository.class, withSettings().stubOnly()),
+                analyticsProvider, restTemplate, restTemplate,
+                mock(LearningUnitRepository.class, withSettings().stubOnly()),
+                new SolverResultCache(0),
+                new SolverCircuitBreaker(20, 5, 50, 30, 2, 60),
+                new SolverEndpointPool("http://localhost:5001/optimize", restTemplate, 3, 30),
+                new SolverHedgingPolicy(false, 95, 200, 20, 5000, 10),
+                mock(SolverAsyncClient.class, withSettings().stubOnly()),
+                new PlanningMetrics(new SimpleMeterRegistry()),
+                new PlanningTracer(Tracer.NOOP),
+                mock(DataVersionService.class, withSettings().stubOnly()),
+                new ObjectMapper());
+
+        List<FixedBlockDTO> fixedBlocks = planningService.calculateFixedBlocksDTO(
+                data.getUser().getFreeTimes(), data.getWeekStart(), 1);
+        List<PlanningTaskDTO> chunks = planningService.fetchOpenTasksAsDTOs(
+                data.getUser(), data.getNow(), data.getWeekStart(), Set.of());
+        int currentSlot = planningService.mapLocalDateTimeToSlot(data.getNow(), data.getWeekStart());
+        snapshot = new PlanningSnapshot(UUID.randomUUID(), data.getWeekStart(), currentSlot, 15, List.of(6),
+                "MORNING,EVENING", fixedBlocks, chunks, null, false);
+    }
+
+    @Benchmark
+    public List<PlanningTaskDTO> fetchOpenTasksAsDTOs() {
+        return planningService.fetchOpenTasksAsDTOs(data.getUser(), data.getNow(), data.getWeekStart(), Set.of());
+    }
+
+    @Benchmark
+    public List<PlanningTaskDTO> splitIntoChunks() {
+        return planningService.splitIntoChunks(data.getTasks().get(0), REST_DURATION_MINUTES, TARGET_UNIT_MINUTES,
+                0, 15, 2, data.getWeekStart(), List.of(), 0);
+    }
+
+    @Benchmark
+    public List<FixedBlockDTO> calculateFixedBlocksDTO() {
+        return planningService.calculateFixedBlocksDTO(data.getUser().getFreeTimes(), data.getWeekStart(), 1);
+    }
+
+    @Benchmark
+    public void mapLocalDateTimeToSlot(Blackhole blackhole) {
+        for (LearningUnit unit : data.getUnits()) {
+            blackhole.consume(planningService.mapLocalDateTimeToSlot(unit.getStartTime(), data.getWeekStart()));
+        }
+    }
+
+    @Benchmark
+    public void calculateFeedbackFactor(Blackhole blackhole) {
+        for (Task task : data.getTasks()) {
+            blackhole.consume(planningService.calculateFeedbackFactor(task, Set.of()));
+        }
+    }
+
+    @Benchmark
+    public PlanningRequestDTO buildRequest() {
+        return planningService.buildRequest(snapshot);
+    }
+}
@@ -0,0 +1,106 @@
+package de.pse.oys.service.planning;
+
+import de.pse.oys.domain.FreeTime;
+import de.pse.oys.domain.LearningPreferences;
+import de.pse.oys.domain.LearningUnit;
+import de.pse.oys.domain.LocalUser;
+import de.pse.oys.domain.OtherTask;
+import de.pse.oys.domain.RecurringFreeTime;
+import de.pse.oys.domain.SingleFreeTime;
+import de.pse.oys.domain.Task;
+import de.pse.oys.domain.UnitRating;
+import de.pse.oys.domain.User;
+import de.pse.oys.domain.enums.AchievementLevel;
+import de.pse.oys.domain.enums.ConcentrationLevel;
+import de.pse.oys.domain.enums.PerceivedDuration;
+import de.pse.oys.domain.enums.TimeSlot;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * SyntheticPlanningData – Erzeugt deterministische Nutzer mit Aufgaben, Lerneinheiten, Bewertungen
+ * und Freizeiten in beliebiger Größe für die Benchmarks.
+ *
+ * @author uhxch
+ * @version 1.0
+ */
+final class SyntheticPlanningData {
+
+    private static final int UNIT_MINUTES = 45;
+    private static final int HISTORY_DAYS = 14;
+
+    private final LocalDateTime now;
+    private final LocalDate weekStart;
+    private final User user;
+    private final List<Task> tasks = new ArrayList<>();
+    private final List<LearningUnit> units = new ArrayList<>();
+
+    /**
+     * Erzeugt die Daten eines Nutzers.
+     *
+     * @param taskCount     Anzahl aktiver Aufgaben.
+     * @param unitsPerTask  Anzahl vergangener und geplanter Lerneinheiten je Aufgabe.
+     * @param ratedPercent  Anteil bewerteter Lerneinheiten in Prozent.
+     * @param freeTimeCount Anzahl der Freizeiten, abwechselnd wöchentlich und einmalig.
+     */
+    SyntheticPlanningData(int taskCount, int unitsPerTask, int ratedPercent, int freeTimeCount) {
+        this.now = LocalDateTime.now();
+        this.weekStart = now.toLocalDate().with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        this.user = new LocalUser("benchmark", "benchmark");
+        user.setPreferences(new LearningPreferences(45, 90, 8, 15, 2,
+                EnumSet.allOf(TimeSlot.class), EnumSet.allOf(DayOfWeek.class)));
+
+        PerceivedDuration[] perceptions = PerceivedDuration.values();
+        for (int t = 0; t < taskCount; t++) {
+            Task task = new OtherTask("Aufgabe " + t, 120 + (t % 5) * 60, now.minusDays(1),
+                    now.plusDays(7 + t % 21));
+            ReflectionTestUtils.setField(task, "taskId", new UUID(0, t + 1L));
+            for (int u = 0; u < unitsPerTask; u++) {
+                LocalDateTime start = now.minusDays(u % HISTORY_DAYS).withHour(8 + u % 10).withMinute(0);
+                LearningUnit unit = new LearningUnit(task, start, start.plusMinutes(UNIT_MINUTES));
+                if (start.isBefore(now)) {
+                    unit.markAsCompleted();
+                }
+                if (u * 100 < ratedPercent * unitsPerTask) {
+                    unit.setRating(new UnitRating(ConcentrationLevel.MEDIUM, perceptions[u % perceptions.length],
+                            AchievementLevel.GOOD));
+                }
+                task.addLearningUnit(unit);
+                units.add(unit);
+            }
+            tasks.add(task);
+        }
+
+        for (int f = 0; f < freeTimeCount; f++) {
+            LocalTime start = LocalTime.of(8 + f % 10, (f % 4) * 15);
+            FreeTime freeTime = f % 2 == 0
+                    ? new RecurringFreeTime(null, "Termin " + f, start, start.plusMinutes(90), DayOfWeek.of(1 + f % 7))
+                    : new SingleFreeTime(null, "Termin " + f, start, start.plusMinutes(90), weekStart.plusDays(f % 7));
+            user.addFreeTime(freeTime);
+        }
+    }
+
+    /** @return Der Zeitpunkt, zu dem geplant wird. */
+    LocalDateTime getNow() { return now; }
+
+    /** @return Der Montag der geplanten Woche. */
+    LocalDate getWeekStart() { return weekStart; }
+
+    /** @return Der Nutzer mit Präferenzen und Freizeiten. */
+    User getUser() { return user; }
+
+    /** @return Die aktiven Aufgaben des Nutzers. */
+    List<Task> getTasks() { return tasks; }
+
+    /** @return Alle Lerneinheiten aller Aufgaben. */
+    List<LearningUnit> getUnits() { return units; }
+}
@@ -0,0 +1,111 @@
+package de.pse.oys.load;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * LatencyHistogram – Thread-sicheres Histogramm für Antwortzeiten mit logarithmischen Klassen.
+ * Perzentile werden aus Klassen mit 5 % Breite bestimmt, sodass der Speicherbedarf unabhängig von der
+ * Anzahl der Messungen bleibt. Für die Ausgabe werden die Messungen zusätzlich in feste Klassen von
+ * 1 ms bis 30 s gezählt.
+ *
+ * @author uhxch
+ * @version 1.0
+ */
+final class LatencyHistogram {
+
+    private static final double GROWTH = 1.05;
+    private static final int BUCKETS = 400;
+    private static final long[] DISPLAY_BOUNDS_MS = {1, 2, 5, 10, 20, 50, 100, 200, 500, 1000, 2000, 5000, 10000, 30000};
+
+    private final long[] buckets = new long[BUCKETS];
+    private final long[] displayBuckets = new long[DISPLAY_BOUNDS_MS.length + 1];
+    private long count;
+    private long sumMicros;
+    private long maxMicros;
+
+    /**
+     * Zählt eine Messung.
+     *
+     * @param nanos Die gemessene Dauer in Nanosekunden.
+     */
+    synchronized void record(long nanos) {
+        long micros = Math.max(1, nanos / 1000);
+        buckets[bucketIndex(micros)]++;
+        displayBuckets[displayIndex(micros)]++;
+        count++;
+        sumMicros += micros;
+        maxMicros = Math.max(maxMicros, micros);
+    }
+
+    /** @return Die Anzahl der Messungen. */
+    synchronized long getCount() {
+        return count;
+    }
+
+    /** @return Die mittlere Dauer in Millisekunden, 0 ohne Messungen. */
+    synchronized double getMeanMillis() {
+        return count == 0 ? 0.0 : sumMicros / 1000.0 / count;
+    }
+
+    /** @return Die längste Dauer in Millisekunden. */
+    synchronized double getMaxMillis() {
+        return maxMicros / 1000.0;
+    }
+
+    /**
+     * Liefert ein Perzentil als obere Grenze der Klasse, in die es fällt, höchstens aber die längste Dauer.
+     *
+     * @param percentile Das Perzentil zwischen 0 und 100.
+     * @return Die Dauer in Millisekunden, 0 ohne Messungen.
+     */
+    synchronized double getPercentileMillis(double percentile) {
+        if (count == 0) {
+            return 0.0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * count));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += buckets[i];
+            if (seen >= rank) {
+                return Math.min(Math.pow(GROWTH, i + 1), maxMicros) / 1000.0;
+            }
+        }
+        return getMaxMillis();
+    }
+
+    /**
+     * Liefert die Anzahl der Messungen je fester Klasse, benannt nach der oberen Grenze.
+     *
+     * @return Anzahl je Klasse in aufsteigender Reihenfolge, die letzte Klasse ist nach oben offen.
+     */
+    synchronized Map<String, Long> getDistribution() {
+        Map<String, Long> distribution = new LinkedHashMap<>();
+        for (int i = 0; i < DISPLAY_BOUNDS_MS.length; i++) {
+            distribution.put("<=" + format(DISPLAY_BOUNDS_MS[i]), displayBuckets[i]);
+        }
+        distribution.put(">" + format(DISPLAY_BOUNDS_MS[DISPLAY_BOUNDS_MS.length - 1]),
+                displayBuckets[DISPLAY_BOUNDS_MS.length]);
+        return distribution;
+    }
+
+    private static int bucketIndex(long micros) {
+        int index = (int) (Math.log(micros) / Math.log(GROWTH));
+        return Math.min(BUCKETS - 1, Math.max(0, index));
+    }
+
+    private static int displayIndex(long micros) {
+        for (int i = 0; i < DISPLAY_BOUNDS_MS.length; i++) {
+            if (micros <= DISPLAY_BOUNDS_MS[i] * 1000) {
+                return i;
+            }
+        }
+        return DISPLAY_BOUNDS_MS.length;
+    }
+
+    private static String format(long millis) {
+        Duration duration = Duration.ofMillis(millis);
+        return millis < 1000 ? millis + "ms" : duration.toSeconds() + "s";
+    }
+}
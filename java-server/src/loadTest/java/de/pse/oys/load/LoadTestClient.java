@@ -0,0 +1,90 @@
+package de.pse.oys.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+
+/**
+ * LoadTestClient – HTTP-Client der simulierten Nutzer. Misst jede Anfrage und meldet sie unter
+ * Methode und Pfad an die {@link LoadTestMetrics}; Anfragen mit unerwartetem Status zählen als Fehler.
+ *
+ * @author uhxch
+ * @version 1.0
+ */
+final class LoadTestClient {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(60);
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final String baseUrl;
+    private final ObjectMapper objectMapper;
+    private final LoadTestMetrics metrics;
+
+    /**
+     * Erzeugt den Client.
+     *
+     * @param baseUrl      Die Basis-URL der Anwendung, z. B. {@code http://localhost:8080}.
+     * @param objectMapper Die JSON-Konfiguration der Anwendung.
+     * @param metrics      Die Sammlung der Messwerte.
+     */
+    LoadTestClient(String baseUrl, ObjectMapper objectMapper, LoadTestMetrics metrics) {
+        this.baseUrl = baseUrl;
+        this.objectMapper = objectMapper;
+        this.metrics = metrics;
+    }
+
+    /**
+     * Sendet eine Anfrage und prüft den Status.
+     *
+     * @param method         Die HTTP-Methode.
+     * @param path           Der Pfad ohne Basis-URL.
+     * @param body           Der JSON-Inhalt oder null.
+     * @param token          Der Access-Token oder null für Anfragen ohne Anmeldung.
+     * @param expectedStatus Der erwartete HTTP-Status.
+     * @return Der Inhalt der Antwort als JSON-Baum, leer bei Antworten ohne Inhalt.
+     * @throws IOException wenn die Anfrage scheitert oder der Status abweicht.
+     */
+    JsonNode send(String method, String path, Object body, String token, int expectedStatus) throws IOException {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(TIMEOUT)
+                .header("Accept", "application/json");
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        if (body != null) {
+            builder.header("Content-Type", "application/json")
+                    .method(method, HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)));
+        } else {
+            builder.method(method, HttpRequest.BodyPublishers.noBody());
+        }
+
+        String endpoint = method + " " + path;
+        long start = System.nanoTime();
+        HttpResponse<byte[]> response;
+        try {
+            response = httpClient.send(builder.build(), HttpResponse.BodyHandlers.ofByteArray());
+        } catch (IOException e) {
+            metrics.record(endpoint, System.nanoTime() - start, false);
+            throw e;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Unterbrochen: " + endpoint, e);
+        }
+        boolean success = response.statusCode() == expectedStatus;
+        metrics.record(endpoint, System.nanoTime() - start, success);
+        if (!success) {
+            throw new IOException(endpoint + " lieferte " + response.statusCode() + " statt " + expectedStatus);
+        }
+        return response.body().length == 0
+                ? objectMapper.createObjectNode()
+                : objectMapper.readTree(response.body());
+    }
+}
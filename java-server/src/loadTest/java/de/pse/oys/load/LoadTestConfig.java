@@ -0,0 +1,98 @@
+package de.pse.oys.load;
+
+/**
+ * LoadTestConfig – Einstellungen eines Lasttests, gelesen aus Systemeigenschaften mit dem Präfix
+ * {@code loadtest.}. Die Gradle-Aufgabe {@code loadTest} reicht gleichnamige Projekteigenschaften
+ * ({@code -Ploadtest.users=200}) als Systemeigenschaften weiter.
+ *
+ * @author uhxch
+ * @version 1.0
+ */
+final class LoadTestConfig {
+
+    private static final String PREFIX = "loadtest.";
+
+    private final int users;
+    private final int concurrency;
+    private final int modulesPerUser;
+    private final int tasksPerModule;
+    private final int replansPerUser;
+    private final long solverLatencyMs;
+    private final long solverJitterMs;
+    private final double solverFailureRate;
+    private final String datasourceUrl;
+    private final String datasourceUsername;
+    private final String datasourcePassword;
+    private final String report;
+
+    private LoadTestConfig() {
+        this.users = intProperty("users", 50);
+        this.concurrency = intProperty("concurrency", 10);
+        this.modulesPerUser = intProperty("modules-per-user", 2);
+        this.tasksPerModule = intProperty("tasks-per-module", 3);
+        this.replansPerUser = intProperty("replans-per-user", 2);
+        this.solverLatencyMs = intProperty("solver.latency-ms", 200);
+        this.solverJitterMs = intProperty("solver.jitter-ms", 100);
+        this.solverFailureRate = Double.parseDouble(property("solver.failure-rate", "0.05"));
+        this.datasourceUrl = property("datasource.url", "");
+        this.datasourceUsername = property("datasource.username", "");
+        this.datasourcePassword = property("datasource.password", "");
+        this.report = property("report", "build/reports/loadtest/results.json");
+        if (users < 1 || concurrency < 1 || solverFailureRate < 0 || solverFailureRate > 1) {
+            throw new IllegalArgumentException("Ungültige Lasttest-Einstellungen");
+        }
+    }
+
+    /**
+     * Liest die Einstellungen aus den Systemeigenschaften.
+     *
+     * @return Die Einstellungen mit Standardwerten für fehlende Eigenschaften.
+     */
+    static LoadTestConfig fromSystemProperties() {
+        return new LoadTestConfig();
+    }
+
+    private static String property(String key, String defaultValue) {
+        return System.getProperty(PREFIX + key, defaultValue).trim();
+    }
+
+    private static int intProperty(String key, int defaultValue) {
+        return Integer.parseInt(property(key, String.valueOf(defaultValue)));
+    }
+
+    /** @return Anzahl simulierter Nutzer, die je einen vollständigen Ablauf durchlaufen. */
+    int getUsers() { return users; }
+
+    /** @return Anzahl gleichzeitig aktiver Nutzer. */
+    int getConcurrency() { return concurrency; }
+
+    /** @return Anzahl der Module je Nutzer. */
+    int getModulesPerUser() { return modulesPerUser; }
+
+    /** @return Anzahl der Aufgaben je Modul. */
+    int getTasksPerModule() { return tasksPerModule; }
+
+    /** @return Anzahl zusätzlicher Neuplanungen je Nutzer nach der Bewertung. */
+    int getReplansPerUser() { return replansPerUser; }
+
+    /** @return Mittlere Antwortzeit des Stub-Solvers in Millisekunden. */
+    long getSolverLatencyMs() { return solverLatencyMs; }
+
+    /** @return Höchste zufällige Abweichung der Antwortzeit des Stub-Solvers in Millisekunden. */
+    long getSolverJitterMs() { return solverJitterMs; }
+
+    /** @return Anteil der Solver-Aufrufe, die mit Status 500 beantwortet werden, zwischen 0 und 1. */
+    double getSolverFailureRate() { return solverFailureRate; }
+
+    /** @return JDBC-URL einer vorhandenen Datenbank, leer für einen Testcontainers-PostgreSQL. */
+    String getDatasourceUrl() { return datasourceUrl; }
+
+    /** @return Benutzername der vorhandenen Datenbank. */
+    String getDatasourceUsername() { return datasourceUsername; }
+
+    /** @return Passwort der vorhandenen Datenbank. */
+    String getDatasourcePassword() { return datasourcePassword; }
+
+    /** @return Pfad der JSON-Ergebnisdatei. */
+    String getReport() { return report; }
+}
@@ -0,0 +1,139 @@
+package de.pse.oys.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * LoadTestMetrics – Sammelt die Antwortzeiten und Fehler aller Anfragen eines Lasttests je Endpunkt und
+ * insgesamt und gibt sie als Tabelle, Histogramm und JSON-Datei aus.
+ *
+ * @author uhxch
+ * @version 1.0
+ */
+final class LoadTestMetrics {
+
+    private static final String TOTAL = "gesamt";
+    private static final int BAR_WIDTH = 50;
+    private static final double[] PERCENTILES = {50, 90, 99};
+
+    private final Map<String, LatencyHistogram> latencies = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> errors = new ConcurrentHashMap<>();
+    private final LatencyHistogram total = new LatencyHistogram();
+    private final LongAdder totalErrors = new LongAdder();
+    private volatile long startNanos;
+    private volatile long endNanos;
+
+    /** Beginnt die Messung der Laufzeit. */
+    void start() {
+        startNanos = System.nanoTime();
+    }
+
+    /** Beendet die Messung der Laufzeit. */
+    void stop() {
+        endNanos = System.nanoTime();
+    }
+
+    /**
+     * Zählt eine Anfrage.
+     *
+     * @param endpoint Methode und Pfad der Anfrage, z. B. {@code PUT /api/v1/plan}.
+     * @param nanos    Die Antwortzeit in Nanosekunden.
+     * @param success  ob die Anfrage mit dem erwarteten Status beantwortet wurde.
+     */
+    void record(String endpoint, long nanos, boolean success) {
+        latencies.computeIfAbsent(endpoint, key -> new LatencyHistogram()).record(nanos);
+        total.record(nanos);
+        if (!success) {
+            errors.computeIfAbsent(endpoint, key -> new LongAdder()).increment();
+            totalErrors.increment();
+        }
+    }
+
+    /** @return Die Dauer des Lasttests in Sekunden. */
+    double getElapsedSeconds() {
+        return Math.max(1, endNanos - startNanos) / 1e9;
+    }
+
+    /**
+     * Gibt Durchsatz, Antwortzeiten je Endpunkt und das Histogramm aller Anfragen aus.
+     *
+     * @param out Der Ausgabestrom.
+     */
+    void print(PrintStream out) {
+        double seconds = getElapsedSeconds();
+        out.printf("%nLasttest: %d Anfragen in %.1f s, %.1f Anfragen/s, %d Fehler%n",
+                total.getCount(), seconds, total.getCount() / seconds, totalErrors.sum());
+        out.printf("%-42s %8s %7s %8s %9s %9s %9s %9s %9s%n",
+                "Endpunkt", "Anzahl", "Fehler", "Anfr./s", "Mittel", "p50", "p90", "p99", "Max");
+        new TreeMap<>(latencies).forEach((endpoint, histogram) -> printRow(out, endpoint, histogram,
+                errorCount(endpoint), seconds));
+        printRow(out, TOTAL, total, totalErrors.sum(), seconds);
+
+        out.printf("%nVerteilung der Antwortzeiten (alle Endpunkte)%n");
+        Map<String, Long> distribution = total.getDistribution();
+        long largest = distribution.values().stream().mapToLong(Long::longValue).max().orElse(0);
+        distribution.forEach((bound, count) -> out.printf("%8s %8d %s%n", bound, count,
+                "#".repeat(largest == 0 ? 0 : (int) (count * BAR_WIDTH / largest))));
+    }
+
+    /**
+     * Schreibt alle Kennzahlen samt Histogrammen als JSON-Datei.
+     *
+     * @param file         Der Pfad der Datei, fehlende Verzeichnisse werden angelegt.
+     * @param objectMapper Der ObjectMapper für die Ausgabe.
+     * @param settings     Die Einstellungen des Laufs, die mit abgelegt werden.
+     * @throws IOException wenn die Datei nicht geschrieben werden kann.
+     */
+    void writeJson(Path file, ObjectMapper objectMapper, Map<String, Object> settings) throws IOException {
+        double seconds = getElapsedSeconds();
+        Map<String, Object> endpoints = new LinkedHashMap<>();
+        new TreeMap<>(latencies).forEach((endpoint, histogram) ->
+                endpoints.put(endpoint, summary(histogram, errorCount(endpoint), seconds)));
+
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("settings", settings);
+        json.put("elapsedSeconds", seconds);
+        json.put("total", summary(total, totalErrors.sum(), seconds));
+        json.put("endpoints", endpoints);
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(file.toFile(), json);
+    }
+
+    private long errorCount(String endpoint) {
+        LongAdder adder = errors.get(endpoint);
+        return adder == null ? 0 : adder.sum();
+    }
+
+    private static void printRow(PrintStream out, String endpoint, LatencyHistogram histogram, long errorCount,
+                                 double seconds) {
+        out.printf("%-42s %8d %7d %8.1f %7.1fms %7.1fms %7.1fms %7.1fms %7.1fms%n", endpoint, histogram.getCount(),
+                errorCount, histogram.getCount() / seconds, histogram.getMeanMillis(),
+                histogram.getPercentileMillis(PERCENTILES[0]), histogram.getPercentileMillis(PERCENTILES[1]),
+                histogram.getPercentileMillis(PERCENTILES[2]), histogram.getMaxMillis());
+    }
+
+    private static Map<String, Object> summary(LatencyHistogram histogram, long errorCount, double seconds) {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("count", histogram.getCount());
+        summary.put("errors", errorCount);
+        summary.put("throughputPerSecond", histogram.getCount() / seconds);
+        summary.put("meanMillis", histogram.getMeanMillis());
+        for (double percentile : PERCENTILES) {
+            summary.put("p" + (int) percentile + "Millis", histogram.getPercentileMillis(percentile));
+        }
+        summary.put("maxMillis", histogram.getMaxMillis());
+        summary.put("histogram", histogram.getDistribution());
+        return summary;
+    }
+}
@@ -0,0 +1,138 @@
+package de.pse.oys.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.pse.oys.Main;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * LoadTestRunner – Einstiegspunkt des Lasttests. Startet einen PostgreSQL-Container über Testcontainers
+ * (oder nutzt die Datenbank aus {@code loadtest.datasource.url}), den {@link StubSolver} und die Anwendung
+ * auf einem freien Port. Anschließend durchlaufen {@code loadtest.users} simulierte Nutzer mit
+ * {@code loadtest.concurrency} gleichzeitigen Threads den {@link UserFlow}. Am Ende werden Durchsatz,
+ * Antwortzeiten je Endpunkt und das Histogramm ausgegeben und als JSON-Datei gespeichert.
+ * Programmargumente werden als Kommandozeilen-Eigenschaften an die Anwendung weitergegeben,
+ * z. B. {@code --planning.solver.batch.enabled=true}.
+ *
+ * @author uhxch
+ * @version 1.0
+ */
+public final class LoadTestRunner {
+
+    private static final int MAX_REPORTED_FAILURES = 5;
+
+    private LoadTestRunner() {
+    }
+
+    /**
+     * Führt den Lasttest aus und beendet die JVM mit Status 1, wenn ein Nutzerablauf gescheitert ist.
+     *
+     * @param args Zusätzliche Eigenschaften der Anwendung im Format {@code --key=value}.
+     * @throws Exception wenn Datenbank, Stub-Solver oder Anwendung nicht starten.
+     */
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.fromSystemProperties();
+        PostgreSQLContainer<?> postgres = null;
+        if (config.getDatasourceUrl().isEmpty()) {
+            postgres = new PostgreSQLContainer<>("postgres:15")
+                    .withDatabaseName("studydb")
+                    .withUsername("admin")
+                    .withPassword("geheim");
+            postgres.start();
+            System.setProperty("spring.datasource.url", postgres.getJdbcUrl());
+            System.setProperty("spring.datasource.username", postgres.getUsername());
+            System.setProperty("spring.datasource.password", postgres.getPassword());
+        } else {
+            System.setProperty("spring.datasource.url", config.getDatasourceUrl());
+            System.setProperty("spring.datasource.username", config.getDatasourceUsername());
+            System.setProperty("spring.datasource.password", config.getDatasourcePassword());
+        }
+
+        int failedFlows;
+        try (StubSolver solver = new StubSolver(new ObjectMapper(), config.getSolverLatencyMs(),
+                config.getSolverJitterMs(), config.getSolverFailureRate())) {
+            // Systemeigenschaften haben Vorrang vor application.properties, Programmargumente vor beiden
+            System.setProperty("server.port", "0");
+            System.setProperty("spring.jpa.hibernate.ddl-auto", "update");
+            System.setProperty("planning.batch.enabled", "false");
+            System.setProperty("microservice.planning.url", solver.getUrl());
+
+            try (ConfigurableApplicationContext context = new SpringApplicationBuilder(Main.class).run(args)) {
+                String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+                ObjectMapper objectMapper = context.getBean(ObjectMapper.class);
+                LoadTestMetrics metrics = new LoadTestMetrics();
+                failedFlows = runFlows(config, new LoadTestClient(baseUrl, objectMapper, metrics), metrics);
+
+                metrics.print(System.out);
+                System.out.printf("%nNutzerabläufe: %d, gescheitert: %d; Stub-Solver: %d Aufrufe, %d simulierte Fehler%n",
+                        config.getUsers(), failedFlows, solver.getCalls(), solver.getFailures());
+                Path report = Path.of(config.getReport());
+                metrics.writeJson(report, objectMapper, settings(config, failedFlows, solver));
+                System.out.println("Ergebnisse gespeichert in " + report.toAbsolutePath());
+            }
+        } finally {
+            if (postgres != null) {
+                postgres.stop();
+            }
+        }
+        System.exit(failedFlows == 0 ? 0 : 1);
+    }
+
+    private static int runFlows(LoadTestConfig config, LoadTestClient client, LoadTestMetrics metrics)
+            throws InterruptedException {
+        UserFlow flow = new UserFlow(client, config, Long.toString(System.currentTimeMillis(), 36));
+        ExecutorService executor = Executors.newFixedThreadPool(config.getConcurrency());
+        List<Future<?>> futures = new ArrayList<>();
+        metrics.start();
+        try {
+            for (int i = 0; i < config.getUsers(); i++) {
+                int userIndex = i;
+                futures.add(executor.submit(() -> {
+                    flow.run(userIndex);
+                    return null;
+                }));
+            }
+            int failed = 0;
+            for (Future<?> future : futures) {
+                try {
+                    future.get();
+                } catch (ExecutionException e) {
+                    if (failed++ < MAX_REPORTED_FAILURES) {
+                        System.err.println("Nutzerablauf gescheitert: " + e.getCause().getMessage());
+                    }
+                }
+            }
+            return failed;
+        } finally {
+            metrics.stop();
+            executor.shutdownNow();
+        }
+    }
+
+    private static Map<String, Object> settings(LoadTestConfig config, int failedFlows, StubSolver solver) {
+        Map<String, Object> settings = new LinkedHashMap<>();
+        settings.put("users", config.getUsers());
+        settings.put("concurrency", config.getConcurrency());
+        settings.put("modulesPerUser", config.getModulesPerUser());
+        settings.put("tasksPerModule", config.getTasksPerModule());
+        settings.put("replansPerUser", config.getReplansPerUser());
+        settings.put("solverLatencyMs", config.getSolverLatencyMs());
+        settings.put("solverJitterMs", config.getSolverJitterMs());
+        settings.put("solverFailureRate", config.getSolverFailureRate());
+        settings.put("failedFlows", failedFlows);
+        settings.put("solverCalls", solver.getCalls());
+        settings.put("solverFailures", solver.getFailures());
+        return settings;
+    }
+}
@@ -0,0 +1,165 @@
+package de.pse.oys.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import de.pse.oys.dto.plan.FixedBlockDTO;
+import de.pse.oys.dto.plan.PlanningRequestDTO;
+import de.pse.oys.dto.plan.PlanningResponseDTO;
+import de.pse.oys.dto.plan.PlanningTaskDTO;
+import de.pse.oys.dto.plan.SlotRangeDTO;
+import de.pse.oys.service.planning.GreedyPlanner;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * StubSolver – Lokaler Ersatz für den Python-Microservice mit einstellbarer Antwortzeit und Fehlerrate.
+ * Bedient {@code POST /optimize}, {@code POST /optimize/batch} und {@code GET /health} wie der echte
+ * Solver und plant die Chunks mit dem {@link GreedyPlanner}, sodass die Anwendung gültige Pläne speichert.
+ *
+ * @author uhxch
+ * @version 1.0
+ */
+final class StubSolver implements AutoCloseable {
+
+    private static final String OPTIMIZE_PATH = "/optimize";
+    private static final String BATCH_PATH = "/optimize/batch";
+    private static final String HEALTH_PATH = "/health";
+
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final ObjectMapper objectMapper;
+    private final GreedyPlanner planner = new GreedyPlanner();
+    private final long latencyMs;
+    private final long jitterMs;
+    private final double failureRate;
+
+    private final AtomicLong calls = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+
+    /**
+     * Startet den Stub auf einem freien Port.
+     *
+     * @param objectMapper Die JSON-Konfiguration der Anwendung.
+     * @param latencyMs    Mittlere Antwortzeit in Millisekunden.
+     * @param jitterMs     Höchste zufällige Abweichung der Antwortzeit in Millisekunden.
+     * @param failureRate  Anteil der Aufrufe, die mit Status 500 beantwortet werden.
+     * @throws IOException wenn der Port nicht geöffnet werden kann.
+     */
+    StubSolver(ObjectMapper objectMapper, long latencyMs, long jitterMs, double failureRate) throws IOException {
+        this.objectMapper = objectMapper;
+        this.latencyMs = latencyMs;
+        this.jitterMs = jitterMs;
+        this.failureRate = failureRate;
+        this.server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.setExecutor(executor);
+        server.createContext(HEALTH_PATH, exchange -> respond(exchange, 200, "{\"status\":\"ok\"}"));
+        server.createContext(OPTIMIZE_PATH, this::handleOptimize);
+        server.start();
+    }
+
+    /** @return Die URL des Optimierungsendpunkts, wie sie in {@code microservice.planning.url} erwartet wird. */
+    String getUrl() {
+        return "http://localhost:" + server.getAddress().getPort() + OPTIMIZE_PATH;
+    }
+
+    /** @return Die Anzahl der Optimierungsaufrufe seit dem Start. */
+    long getCalls() {
+        return calls.get();
+    }
+
+    /** @return Die Anzahl der absichtlich fehlgeschlagenen Aufrufe seit dem Start. */
+    long getFailures() {
+        return failures.get();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void handleOptimize(HttpExchange exchange) throws IOException {
+        if (!"POST".equals(exchange.getRequestMethod())) {
+            respond(exchange, 405, "");
+            return;
+        }
+        calls.incrementAndGet();
+        JsonNode body;
+        try (InputStream in = exchange.getRequestBody()) {
+            body = objectMapper.readTree(in);
+        }
+        simulateLatency();
+        if (ThreadLocalRandom.current().nextDouble() < failureRate) {
+            failures.incrementAndGet();
+            respond(exchange, 500, "{\"error\":\"simulierter Solver-Fehler\"}");
+            return;
+        }
+
+        Object result;
+        if (BATCH_PATH.equals(exchange.getRequestURI().getPath())) {
+            List<List<PlanningResponseDTO>> results = new ArrayList<>();
+            body.forEach(problem -> results.add(planner.plan(toRequest(problem))));
+            result = results;
+        } else {
+            result = planner.plan(toRequest(body));
+        }
+        respond(exchange, 200, objectMapper.writeValueAsString(result));
+    }
+
+    private void simulateLatency() {
+        long delay = latencyMs + (jitterMs > 0 ? ThreadLocalRandom.current().nextLong(-jitterMs, jitterMs + 1) : 0);
+        if (delay <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(delay);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /** Baut die Anfrage aus dem JSON-Baum nach, da die Planungs-DTOs keine Standardkonstruktoren besitzen. */
+    private PlanningRequestDTO toRequest(JsonNode node) {
+        List<Integer> blockedDays = new ArrayList<>();
+        node.path("blockedDays").forEach(day -> blockedDays.add(day.asInt()));
+        List<FixedBlockDTO> fixedBlocks = new ArrayList<>();
+        node.path("fixedBlocks").forEach(block -> fixedBlocks.add(
+                new FixedBlockDTO(block.path("start").asInt(), block.path("duration").asInt())));
+        List<PlanningTaskDTO> tasks = new ArrayList<>();
+        for (JsonNode task : node.path("tasks")) {
+            List<SlotRangeDTO> domain = null;
+            if (task.path("domain").isArray()) {
+                domain = new ArrayList<>();
+                for (JsonNode range : task.path("domain")) {
+                    domain.add(new SlotRangeDTO(range.path("from").asInt(), range.path("to").asInt()));
+                }
+            }
+            Integer hint = task.path("hint").isNumber() ? task.path("hint").asInt() : null;
+            tasks.add(new PlanningTaskDTO(task.path("id").asText(), task.path("duration").asInt(),
+                    task.path("start").asInt(), task.path("deadline").asInt(), List.of(), hint, domain));
+        }
+        return new PlanningRequestDTO(node.path("horizon").asInt(), node.path("currentSlot").asInt(), blockedDays,
+                node.path("preferenceTime").asText(""), fixedBlocks, tasks);
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length == 0 ? -1 : bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
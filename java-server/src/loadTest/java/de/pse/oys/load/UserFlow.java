@@ -0,0 +1,129 @@
+package de.pse.oys.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import de.pse.oys.domain.enums.AchievementLevel;
+import de.pse.oys.domain.enums.ConcentrationLevel;
+import de.pse.oys.domain.enums.ModulePriority;
+import de.pse.oys.domain.enums.PerceivedDuration;
+import de.pse.oys.domain.enums.TimeSlot;
+import de.pse.oys.dto.ExamTaskDTO;
+import de.pse.oys.dto.ModuleDTO;
+import de.pse.oys.dto.OtherTaskDTO;
+import de.pse.oys.dto.QuestionnaireDTO;
+import de.pse.oys.dto.RatingDTO;
+import de.pse.oys.dto.TaskDTO;
+import de.pse.oys.dto.auth.AuthType;
+import de.pse.oys.dto.auth.LoginDTO;
+import de.pse.oys.dto.controller.UnitControlDTO;
+import de.pse.oys.dto.controller.WrapperDTO;
+
+import java.io.IOException;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.UUID;
+
+/**
+ * UserFlow – Der Ablauf eines simulierten Nutzers über die REST-Schnittstelle: Registrierung und Anmeldung,
+ * Fragebogen, Anlegen von Modulen und Aufgaben (jede Aufgabe löst eine Neuplanung aus), Abruf und
+ * Generierung des Plans, Abschluss und Bewertung einer Lerneinheit und weitere Neuplanungen.
+ * Abschluss und Bewertung entfallen, wenn der Plan keine Einheiten enthält, etwa weil die laufende
+ * Woche kurz vor ihrem Ende keine freien Slots mehr bietet.
+ *
+ * @author uhxch
+ * @version 1.0
+ */
+final class UserFlow {
+
+    private static final String PASSWORD = "LoadTest123!";
+    private static final int ACTUAL_DURATION_MINUTES = 40;
+
+    private final LoadTestClient client;
+    private final LoadTestConfig config;
+    private final String runId;
+
+    /**
+     * Erzeugt den Ablauf.
+     *
+     * @param client Der messende HTTP-Client.
+     * @param config Die Einstellungen des Lasttests.
+     * @param runId  Kennung des Laufs, damit Nutzernamen über Läufe gegen dieselbe Datenbank eindeutig bleiben.
+     */
+    UserFlow(LoadTestClient client, LoadTestConfig config, String runId) {
+        this.client = client;
+        this.config = config;
+        this.runId = runId;
+    }
+
+    /**
+     * Durchläuft den Ablauf für einen Nutzer und bricht beim ersten Fehler ab.
+     *
+     * @param userIndex Laufende Nummer des Nutzers.
+     * @throws IOException wenn eine Anfrage scheitert.
+     */
+    void run(int userIndex) throws IOException {
+        LoginDTO login = new LoginDTO();
+        login.setAuthType(AuthType.BASIC);
+        login.setUsername("load-" + runId + "-" + userIndex);
+        login.setPassword(PASSWORD);
+        client.send("POST", "/api/v1/users/register", login, null, 201);
+        String token = client.send("POST", "/api/v1/users/login", login, null, 200).path("accessToken").asText();
+
+        client.send("PUT", "/api/v1/questionnaire", questionnaire(), token, 200);
+        client.send("GET", "/api/v1/questionnaire", null, token, 200);
+
+        LocalDateTime now = LocalDateTime.now();
+        for (int m = 0; m < config.getModulesPerUser(); m++) {
+            ModuleDTO module = new ModuleDTO();
+            module.setTitle("Modul " + m);
+            module.setPriority(ModulePriority.values()[m % ModulePriority.values().length]);
+            module.setColor("#3366CC");
+            UUID moduleId = UUID.fromString(
+                    client.send("POST", "/api/v1/modules", module, token, 201).path("id").asText());
+            for (int t = 0; t < config.getTasksPerModule(); t++) {
+                client.send("POST", "/api/v1/tasks", task(moduleId, m, t, now), token, 200);
+            }
+        }
+        client.send("GET", "/api/v1/modules", null, token, 200);
+        client.send("GET", "/api/v1/tasks", null, token, 200);
+
+        client.send("PUT", "/api/v1/plan", null, token, 200);
+        JsonNode units = client.send("GET", "/api/v1/plan/units", null, token, 200);
+        if (units.isArray() && !units.isEmpty()) {
+            UUID unitId = UUID.fromString(units.get(0).path("id").asText());
+            UnitControlDTO control = new UnitControlDTO();
+            control.setId(unitId);
+            control.setActualDuration(ACTUAL_DURATION_MINUTES);
+            client.send("POST", "/api/v1/plan/units/finished", control, token, 200);
+            RatingDTO rating = new RatingDTO(AchievementLevel.GOOD, PerceivedDuration.IDEAL, ConcentrationLevel.HIGH);
+            client.send("POST", "/api/v1/plan/units/ratings", new WrapperDTO<>(unitId, rating), token, 200);
+        }
+        client.send("GET", "/api/v1/plan/units/ratings", null, token, 200);
+
+        for (int r = 0; r < config.getReplansPerUser(); r++) {
+            client.send("PUT", "/api/v1/plan", null, token, 200);
+            client.send("GET", "/api/v1/plan/units", null, token, 200);
+        }
+    }
+
+    private static QuestionnaireDTO questionnaire() {
+        QuestionnaireDTO dto = new QuestionnaireDTO();
+        dto.setMinUnitDuration(30);
+        dto.setMaxUnitDuration(90);
+        dto.setPreferredPauseDuration(10);
+        dto.setTimeBeforeDeadlines(2);
+        dto.setPreferredStudyDays(EnumSet.range(DayOfWeek.MONDAY, DayOfWeek.FRIDAY));
+        dto.setPreferredStudyTimes(EnumSet.of(TimeSlot.MORNING, TimeSlot.AFTERNOON));
+        return dto;
+    }
+
+    private static TaskDTO task(UUID moduleId, int module, int index, LocalDateTime now) {
+        String title = "Aufgabe " + module + "-" + index;
+        int weeklyMinutes = 60 + (index % 4) * 30;
+        if (index % 2 == 0) {
+            return new ExamTaskDTO(title, moduleId, weeklyMinutes, LocalDate.now().plusWeeks(2 + index % 3));
+        }
+        return new OtherTaskDTO(title, moduleId, weeklyMinutes, now, now.plusWeeks(1 + index % 3));
+    }
+}
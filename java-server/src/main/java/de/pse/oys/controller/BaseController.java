@@ -2,8 +2,14 @@ package de.pse.oys.controller;
 
 import de.pse.oys.security.UserPrincipal;
 import de.pse.oys.service.planning.PlanningService;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.context.request.WebRequest;
+
 import java.util.UUID;
+import java.util.function.Supplier;
 
 /**
  * Basis-Controller für gemeinsame Funktionalitäten aller REST-Controller.
@@ -12,6 +18,9 @@ import java.util.UUID;
  */
 public abstract class BaseController {
 
+    /** Der Client darf Listen zwischenspeichern, muss sie aber vor jeder Nutzung per ETag prüfen. */
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
     /**
      * Extrahiert die UUID des aktuell authentifizierten Benutzers.
      * @return Die UUID des Nutzers.
@@ -31,4 +40,21 @@ public abstract class BaseController {
     protected void updatePlanAfterChange(UUID userId, PlanningService planningService) {
         planningService.generateWeeklyPlan(userId); // null = aktueller Zeitraum
     }
+
+    /**
+     * Beantwortet einen bedingten Abruf. Passt {@code If-None-Match} zum aktuellen ETag, wird 304 ohne Body
+     * geliefert, ohne die Daten zu laden; sonst werden die Daten geladen und mit dem ETag ausgeliefert.
+     * @param request Der aktuelle Request.
+     * @param eTag Der ETag des aktuellen Stands der Daten.
+     * @param body Lädt die Daten, falls sie ausgeliefert werden müssen.
+     * @param <T> Der Typ des Bodys.
+     * @return 304 ohne Body oder 200 mit den Daten.
+     */
+    protected <T> ResponseEntity<T> conditionalGet(WebRequest request, String eTag, Supplier<T> body) {
+        // checkNotModified setzt den ETag-Header bereits selbst.
+        if (request.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(REVALIDATE).build();
+        }
+        return ResponseEntity.ok().cacheControl(REVALIDATE).body(body.get());
+    }
 }
\ No newline at end of file
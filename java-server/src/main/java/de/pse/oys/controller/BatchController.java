@@ -0,0 +1,63 @@
+package de.pse.oys.controller;
+
+import de.pse.oys.dto.controller.BatchOperationDTO;
+import de.pse.oys.dto.response.BatchResponseDTO;
+import de.pse.oys.dto.response.BatchResultDTO;
+import de.pse.oys.service.BatchService;
+import de.pse.oys.service.planning.PlanningService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * REST-Controller für Sammelanfragen.
+ * Bündelt Anlage, Änderung und Löschung von Modulen, Aufgaben und Freizeiten, z.B. bei der Einrichtung
+ * eines Semesters, in einer Transaktion mit nur einer Neuplanung.
+ * @author uhxch
+ * @version 1.0
+ */
+@RestController
+@RequestMapping("/api/v1/batch")
+public class BatchController extends BaseController {
+
+    private final BatchService batchService;
+    private final PlanningService planningService;
+
+    /**
+     * Erzeugt eine neue Instanz des BatchControllers.
+     * @param batchService Der Service, der die Operationen ausführt.
+     * @param planningService Der Service für die Neuplanung nach der Sammelanfrage.
+     */
+    public BatchController(BatchService batchService, PlanningService planningService) {
+        this.batchService = batchService;
+        this.planningService = planningService;
+    }
+
+    /**
+     * Führt die Operationen in der angegebenen Reihenfolge gemeinsam aus und plant danach einmal neu.
+     * Schlägt eine Operation fehl, wird nichts übernommen und der Status dieser Operation geliefert.
+     * @param operations Die geordnete Liste der Operationen.
+     * @return die Ergebnisse je Operation; 200 wenn alle übernommen wurden.
+     */
+    @PostMapping
+    public ResponseEntity<BatchResponseDTO> applyBatch(@RequestBody List<BatchOperationDTO> operations) {
+        UUID userId = getAuthenticatedUserId();
+        BatchResponseDTO response = batchService.apply(userId, operations);
+        if (!response.isApplied()) {
+            BatchResultDTO failed = response.getResults().stream()
+                    .filter(result -> result.getError() != null)
+                    .findFirst()
+                    .orElseThrow();
+            return ResponseEntity.status(failed.getStatus()).body(response);
+        }
+        if (batchService.requiresReplan(operations)) {
+            updatePlanAfterChange(userId, planningService);
+        }
+        return ResponseEntity.ok(response);
+    }
+}
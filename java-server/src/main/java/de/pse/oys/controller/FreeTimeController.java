@@ -1,7 +1,9 @@
 package de.pse.oys.controller;
 
+import de.pse.oys.domain.enums.DataCollection;
 import de.pse.oys.dto.FreeTimeDTO;
 import de.pse.oys.dto.controller.WrapperDTO;
+import de.pse.oys.service.DataVersionService;
 import de.pse.oys.service.FreeTimeService;
 import de.pse.oys.service.planning.PlanningService;
 import org.springframework.http.ResponseEntity;
@@ -12,6 +14,7 @@ import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 import java.util.Map;
@@ -29,27 +32,33 @@ public class FreeTimeController extends BaseController {
 
     private final FreeTimeService freeTimeService;
     private final PlanningService planningService;
+    private final DataVersionService dataVersionService;
 
     /**
      * Erzeugt eine neue Instanz des FreeTimeControllers.
      * @param freeTimeService Der Service für die Freizeitverwaltung.
+     * @param dataVersionService Der Service für die ETags der Freizeitliste.
      */
-    public FreeTimeController(FreeTimeService freeTimeService, PlanningService planningService) {
+    public FreeTimeController(FreeTimeService freeTimeService, PlanningService planningService,
+                              DataVersionService dataVersionService) {
         this.freeTimeService = freeTimeService;
         this.planningService = planningService;
+        this.dataVersionService = dataVersionService;
     }
 
 
     /**
      * Ruft alle Freizeiträume ab.
+     * Ist der Stand unverändert ({@code If-None-Match}), wird 304 ohne Body geliefert.
      *
+     * @param request Der aktuelle Request mit den bedingten Headern.
      * @return Eine Liste aller FreeTimeDTOs des authentifizierten Nutzers.
      */
     @GetMapping
-    public ResponseEntity<List<WrapperDTO<FreeTimeDTO>>> queryFreeTimes() {
+    public ResponseEntity<List<WrapperDTO<FreeTimeDTO>>> queryFreeTimes(WebRequest request) {
         UUID userId = getAuthenticatedUserId();
-        List<WrapperDTO<FreeTimeDTO>> freeTimes = freeTimeService.getFreeTimesByUserId(userId);
-        return ResponseEntity.ok(freeTimes);
+        String eTag = dataVersionService.getETag(userId, DataCollection.FREE_TIMES);
+        return conditionalGet(request, eTag, () -> freeTimeService.getFreeTimesByUserId(userId));
     }
 
     /**
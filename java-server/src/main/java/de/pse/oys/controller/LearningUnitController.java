@@ -1,9 +1,11 @@
 package de.pse.oys.controller;
 
+import de.pse.oys.domain.enums.DataCollection;
 import de.pse.oys.dto.UnitDTO;
 import de.pse.oys.dto.controller.UnitControlDTO;
 import de.pse.oys.dto.controller.WrapperDTO;
 import de.pse.oys.dto.response.LearningPlanDTO;
+import de.pse.oys.service.DataVersionService;
 import de.pse.oys.service.LearningUnitService;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -11,6 +13,7 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 import java.util.UUID;
@@ -24,13 +27,16 @@ import java.util.UUID;
 public class LearningUnitController extends BaseController {
 
     private final LearningUnitService learningUnitService;
+    private final DataVersionService dataVersionService;
 
     /**
      * Erzeugt eine neue Instanz des LearningUnitControllers.
      * @param learningUnitService Der Service für die Lerneinheiten-Logik.
+     * @param dataVersionService Der Service für die ETags der Lerneinheiten.
      */
-    public LearningUnitController(LearningUnitService learningUnitService) {
+    public LearningUnitController(LearningUnitService learningUnitService, DataVersionService dataVersionService) {
         this.learningUnitService = learningUnitService;
+        this.dataVersionService = dataVersionService;
     }
 
     /**
@@ -59,12 +65,14 @@ public class LearningUnitController extends BaseController {
 
     /**
      * Holt alle Lerneinheiten für den authentifizierten Benutzer.
+     * Ist der Stand unverändert ({@code If-None-Match}), wird 304 ohne Body geliefert.
+     * @param request Der aktuelle Request mit den bedingten Headern.
      * @return Liste der Lerneinheiten als DTOs.
      */
     @GetMapping
-    public ResponseEntity<List<WrapperDTO<UnitDTO>>> getLearningUnitsByUserId() {
+    public ResponseEntity<List<WrapperDTO<UnitDTO>>> getLearningUnitsByUserId(WebRequest request) {
         UUID userId = getAuthenticatedUserId();
-        List<WrapperDTO<UnitDTO>> response = learningUnitService.getLearningUnitsByUserId(userId);
-        return ResponseEntity.ok(response);
+        String eTag = dataVersionService.getETag(userId, DataCollection.UNITS);
+        return conditionalGet(request, eTag, () -> learningUnitService.getLearningUnitsByUserId(userId));
     }
 }
\ No newline at end of file
@@ -1,12 +1,15 @@
 package de.pse.oys.controller;
 
+import de.pse.oys.domain.enums.DataCollection;
 import de.pse.oys.dto.ModuleDTO;
 import de.pse.oys.dto.controller.WrapperDTO;
+import de.pse.oys.service.DataVersionService;
 import de.pse.oys.service.ModuleService;
 import de.pse.oys.service.planning.PlanningService;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 import java.util.Map;
@@ -23,14 +26,18 @@ public class ModuleController extends BaseController {
 
     private final ModuleService moduleService;
     private final PlanningService planningService;
+    private final DataVersionService dataVersionService;
 
     /**
      * Erzeugt eine neue Instanz des ModuleControllers.
      * @param moduleService Der Service für die Modulverwaltung.
+     * @param dataVersionService Der Service für die ETags der Modulliste.
      */
-    public ModuleController(ModuleService moduleService, PlanningService planningService) {
+    public ModuleController(ModuleService moduleService, PlanningService planningService,
+                            DataVersionService dataVersionService) {
         this.moduleService = moduleService;
         this.planningService = planningService;
+        this.dataVersionService = dataVersionService;
     }
 
     /**
@@ -77,12 +84,14 @@ public class ModuleController extends BaseController {
 
     /**
     * Gibt alle Module zurück, die dem authentifizierten Nutzer zugeordnet sind.
+    * Ist der Stand unverändert ({@code If-None-Match}), wird 304 ohne Body geliefert.
+    * @param request Der aktuelle Request mit den bedingten Headern.
     * @return Eine Liste von Modulen (Status 200).
     */
     @GetMapping
-    public ResponseEntity<List<WrapperDTO<ModuleDTO>>> getAllModules() {
+    public ResponseEntity<List<WrapperDTO<ModuleDTO>>> getAllModules(WebRequest request) {
         UUID userId = getAuthenticatedUserId();
-        List<WrapperDTO<ModuleDTO>> modules = moduleService.getModulesByUserId(userId);
-        return ResponseEntity.ok(modules);
+        String eTag = dataVersionService.getETag(userId, DataCollection.MODULES);
+        return conditionalGet(request, eTag, () -> moduleService.getModulesByUserId(userId));
     }
 }
\ No newline at end of file
@@ -0,0 +1,43 @@
+package de.pse.oys.controller;
+
+import de.pse.oys.service.planning.PlanUpdateBroadcaster;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.UUID;
+
+/**
+ * REST-Controller für die Push-Benachrichtigungen zum Lernplan.
+ * Statt {@code /plan/units} nach einer Änderung erneut abzufragen, hält der Client eine SSE-Verbindung offen
+ * und erhält die geänderten Lerneinheiten als Ereignis.
+ * @author uhxch
+ * @version 1.0
+ */
+@RestController
+@RequestMapping("/api/v1/plan/events")
+public class PlanEventController extends BaseController {
+
+    private final PlanUpdateBroadcaster planUpdateBroadcaster;
+
+    /**
+     * Erzeugt eine neue Instanz des PlanEventControllers.
+     * @param planUpdateBroadcaster Verteilt die Plan-Updates an die offenen Verbindungen.
+     */
+    public PlanEventController(PlanUpdateBroadcaster planUpdateBroadcaster) {
+        this.planUpdateBroadcaster = planUpdateBroadcaster;
+    }
+
+    /**
+     * Öffnet einen Event-Stream für den authentifizierten Nutzer.
+     * Jedes Ereignis {@value PlanUpdateBroadcaster#EVENT_NAME} enthält die geänderten und gelöschten Lerneinheiten.
+     * @return der Emitter des Streams.
+     */
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamPlanEvents() {
+        UUID userId = getAuthenticatedUserId();
+        return planUpdateBroadcaster.subscribe(userId);
+    }
+}
@@ -0,0 +1,44 @@
+package de.pse.oys.controller;
+
+import de.pse.oys.dto.response.SyncDTO;
+import de.pse.oys.service.SyncService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.UUID;
+
+/**
+ * REST-Controller für den Delta-Sync der Clientdaten.
+ * Statt die Sammlungen vollständig neu zu laden, fragt der Client nur die Änderungen seit seinem letzten Token ab.
+ * @author uhxch
+ * @version 1.0
+ */
+@RestController
+@RequestMapping("/api/v1/sync")
+public class SyncController extends BaseController {
+
+    private final SyncService syncService;
+
+    /**
+     * Erzeugt eine neue Instanz des SyncControllers.
+     * @param syncService Der Service für den Delta-Sync.
+     */
+    public SyncController(SyncService syncService) {
+        this.syncService = syncService;
+    }
+
+    /**
+     * Liefert die seit dem Token angelegten, geänderten und gelöschten Module, Aufgaben, Freizeiten und Lerneinheiten.
+     * Ohne Token werden alle Sammlungen vollständig geliefert.
+     * @param since Das Token aus der letzten Sync-Antwort (optional).
+     * @return die Änderungen je Sammlung und das neue Token.
+     */
+    @GetMapping
+    public ResponseEntity<SyncDTO> sync(@RequestParam(name = "since", required = false) String since) {
+        UUID userId = getAuthenticatedUserId();
+        return ResponseEntity.ok(syncService.sync(userId, since));
+    }
+}
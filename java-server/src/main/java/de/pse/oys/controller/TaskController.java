@@ -1,7 +1,9 @@
 package de.pse.oys.controller;
 
+import de.pse.oys.domain.enums.DataCollection;
 import de.pse.oys.dto.TaskDTO;
 import de.pse.oys.dto.controller.WrapperDTO;
+import de.pse.oys.service.DataVersionService;
 import de.pse.oys.service.TaskService;
 import de.pse.oys.service.planning.PlanningService;
 import org.springframework.http.ResponseEntity;
@@ -12,6 +14,7 @@ import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 import java.util.Map;
@@ -29,26 +32,31 @@ public class TaskController extends BaseController {
 
     private final TaskService taskService;
     private final PlanningService planningService;
+    private final DataVersionService dataVersionService;
 
     /**
      * Erzeugt eine neue Instanz des TaskControllers.
      * @param taskService Der Service für die Aufgabenlogik.
+     * @param dataVersionService Der Service für die ETags der Aufgabenliste.
      */
-    public TaskController(TaskService taskService, PlanningService planningService) {
+    public TaskController(TaskService taskService, PlanningService planningService,
+                          DataVersionService dataVersionService) {
         this.planningService = planningService;
         this.taskService = taskService;
+        this.dataVersionService = dataVersionService;
     }
 
     /**
      * Ruft alle Aufgaben des authentifizierten Nutzers ab.
+     * Ist der Stand unverändert ({@code If-None-Match}), wird 304 ohne Body geliefert.
+     * @param request Der aktuelle Request mit den bedingten Headern.
      * @return Liste der Aufgaben als DTOs.
      */
     @GetMapping
-    public ResponseEntity<List<WrapperDTO<TaskDTO>>> getTasks() {
+    public ResponseEntity<List<WrapperDTO<TaskDTO>>> getTasks(WebRequest request) {
         UUID userId = getAuthenticatedUserId();
-        List<WrapperDTO<TaskDTO>> tasks = taskService.getTasksByUserId(userId);
-        return ResponseEntity.ok(tasks);
-
+        String eTag = dataVersionService.getETag(userId, DataCollection.TASKS);
+        return conditionalGet(request, eTag, () -> taskService.getTasksByUserId(userId));
     }
 
     /**
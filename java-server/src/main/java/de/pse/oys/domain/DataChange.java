@@ -0,0 +1,106 @@
+package de.pse.oys.domain;
+
+import de.pse.oys.domain.enums.DataCollection;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Eintrag im Änderungsprotokoll einer Datensammlung. Jeder Eintrag trägt den Zählerstand der Sammlung
+ * ({@link DataVersion}), unter dem die Änderung festgeschrieben wurde, und verweist auf den geänderten
+ * oder gelöschten Eintrag (Tombstone). Ein Eintrag ohne Verweis steht für eine Änderung, deren
+ * betroffene Einträge nicht bekannt sind; die Sammlung muss dann vollständig neu geladen werden.
+ *
+ * @author uhxch
+ * @version 1.0
+ */
+@Entity
+@Table(name = "data_changes",
+        indexes = @Index(name = "idx_data_changes_user_collection_version",
+                columnList = "user_id, collection, version"))
+public class DataChange {
+
+    /** Eindeutige Kennung des Protokolleintrags. */
+    @Id
+    @GeneratedValue
+    @Column(name = "changeid", updatable = false)
+    private UUID changeId;
+
+    /** Der Nutzer, dem die Sammlung gehört. */
+    @Column(name = "user_id", nullable = false, updatable = false)
+    private UUID userId;
+
+    /** Die geänderte Sammlung. */
+    @Enumerated(EnumType.STRING)
+    @Column(name = "collection", nullable = false, updatable = false, length = 20)
+    private DataCollection collection;
+
+    /** Zählerstand der Sammlung nach der Änderung. */
+    @Column(name = "version", nullable = false, updatable = false)
+    private long version;
+
+    /** Der geänderte Eintrag oder {@code null}, wenn die Sammlung als Ganzes geändert wurde. */
+    @Column(name = "entity_id", updatable = false)
+    private UUID entityId;
+
+    /** Gibt an, ob der Eintrag gelöscht wurde. */
+    @Column(name = "deleted", nullable = false, updatable = false)
+    private boolean deleted;
+
+    /** Zeitpunkt der Änderung, dient dem Aufräumen alter Einträge. */
+    @Column(name = "changed_at", nullable = false, updatable = false)
+    private LocalDateTime changedAt;
+
+    /**
+     * Standardkonstruktor für JPA/Hibernate.
+     */
+    protected DataChange() {
+    }
+
+    /**
+     * Erzeugt einen neuen Protokolleintrag.
+     *
+     * @param userId     Der Nutzer, dem die Sammlung gehört.
+     * @param collection Die geänderte Sammlung.
+     * @param version    Zählerstand der Sammlung nach der Änderung.
+     * @param entityId   Der geänderte Eintrag oder {@code null} für die ganze Sammlung.
+     * @param deleted    {@code true}, wenn der Eintrag gelöscht wurde.
+     */
+    public DataChange(UUID userId, DataCollection collection, long version, UUID entityId, boolean deleted) {
+        this.userId = userId;
+        this.collection = collection;
+        this.version = version;
+        this.entityId = entityId;
+        this.deleted = deleted;
+        this.changedAt = LocalDateTime.now();
+    }
+
+    /** @return Die eindeutige ID des Protokolleintrags. */
+    public UUID getChangeId() { return changeId; }
+
+    /** @return Der Nutzer, dem die Sammlung gehört. */
+    public UUID getUserId() { return userId; }
+
+    /** @return Die geänderte Sammlung. */
+    public DataCollection getCollection() { return collection; }
+
+    /** @return Zählerstand der Sammlung nach der Änderung. */
+    public long getVersion() { return version; }
+
+    /** @return Der geänderte Eintrag oder {@code null} für die ganze Sammlung. */
+    public UUID getEntityId() { return entityId; }
+
+    /** @return {@code true}, wenn der Eintrag gelöscht wurde. */
+    public boolean isDeleted() { return deleted; }
+
+    /** @return Zeitpunkt der Änderung. */
+    public LocalDateTime getChangedAt() { return changedAt; }
+}
@@ -0,0 +1,99 @@
+package de.pse.oys.domain;
+
+import de.pse.oys.domain.enums.DataCollection;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+
+import java.io.Serializable;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Versionszähler einer Datensammlung eines Nutzers. Jede Änderung an der Sammlung erhöht den Zähler,
+ * sodass ein unveränderter Stand allein über den Primärschlüssel erkannt werden kann.
+ *
+ * @author uhxch
+ * @version 1.0
+ */
+@Entity
+@Table(name = "data_versions")
+@IdClass(DataVersion.Key.class)
+public class DataVersion {
+
+    /** Der Nutzer, dem die Sammlung gehört. */
+    @Id
+    @Column(name = "user_id", updatable = false)
+    private UUID userId;
+
+    /** Die Sammlung, deren Stand gezählt wird. */
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(name = "collection", updatable = false, length = 20)
+    private DataCollection collection;
+
+    /** Anzahl der bisherigen Änderungen an der Sammlung. */
+    @Column(name = "version", nullable = false)
+    private long version;
+
+    /**
+     * Standardkonstruktor für JPA/Hibernate.
+     */
+    protected DataVersion() {
+    }
+
+    /** @return Der Nutzer, dem die Sammlung gehört. */
+    public UUID getUserId() { return userId; }
+
+    /** @return Die gezählte Sammlung. */
+    public DataCollection getCollection() { return collection; }
+
+    /** @return Der aktuelle Stand des Zählers. */
+    public long getVersion() { return version; }
+
+    /**
+     * Zusammengesetzter Primärschlüssel aus Nutzer und Sammlung.
+     */
+    public static class Key implements Serializable {
+
+        private UUID userId;
+        private DataCollection collection;
+
+        /**
+         * Standardkonstruktor für JPA/Hibernate.
+         */
+        protected Key() {
+        }
+
+        /**
+         * Erzeugt den Schlüssel einer Sammlung.
+         *
+         * @param userId     Der Nutzer, dem die Sammlung gehört.
+         * @param collection Die Sammlung.
+         */
+        public Key(UUID userId, DataCollection collection) {
+            this.userId = userId;
+            this.collection = collection;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key other)) {
+                return false;
+            }
+            return Objects.equals(userId, other.userId) && collection == other.collection;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(userId, collection);
+        }
+    }
+}
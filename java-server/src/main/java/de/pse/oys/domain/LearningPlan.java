@@ -53,6 +53,13 @@ public class LearningPlan {
     @Transient
     private List<FreeTime> freeTimes = new ArrayList<>();
 
+    /**
+     * Kennzahlen der Solver-Läufe, aus denen der Plan entstanden ist.
+     * Null, wenn die Speicherung deaktiviert ist oder der Plan ohne Solver berechnet wurde.
+     */
+    @Embedded
+    private SolverRunStats solverStats;
+
     /**
      * Standardkonstruktor für JPA.
      */
@@ -97,4 +104,14 @@ public class LearningPlan {
     public void setUserId(UUID userId) {
         this.userId = userId;
     }
+
+    /** @return Die Kennzahlen der Solver-Läufe oder null. */
+    public SolverRunStats getSolverStats() {
+        return solverStats;
+    }
+
+    /** @param solverStats Die Kennzahlen der Solver-Läufe, aus denen der Plan entstanden ist. */
+    public void setSolverStats(SolverRunStats solverStats) {
+        this.solverStats = solverStats;
+    }
 }
\ No newline at end of file
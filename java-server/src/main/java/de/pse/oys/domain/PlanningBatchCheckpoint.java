@@ -0,0 +1,104 @@
+package de.pse.oys.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Fortschrittsstand eines nächtlichen Batch-Planungslaufs.
+ * Die Nutzer werden in aufsteigender ID-Reihenfolge abgearbeitet, daher genügt die zuletzt
+ * vollständig bearbeitete Nutzer-ID als Cursor, um einen abgebrochenen Lauf fortzusetzen.
+ *
+ * @author uhxch
+ * @version 1.0
+ */
+@Entity
+@Table(name = "planning_batch_checkpoints")
+public class PlanningBatchCheckpoint {
+
+    /** Kalendertag des Laufs; pro Tag existiert genau ein Checkpoint. */
+    @Id
+    @Column(name = "run_date", updatable = false)
+    private LocalDate runDate;
+
+    /** Die zuletzt vollständig bearbeitete Nutzer-ID oder null, falls noch nichts bearbeitet wurde. */
+    @Column(name = "last_user_id")
+    private UUID lastUserId;
+
+    /** Anzahl der bisher erfolgreich geplanten Nutzer. */
+    @Column(name = "planned_users", nullable = false)
+    private int plannedUsers;
+
+    /** Anzahl der bisher fehlgeschlagenen Nutzer. */
+    @Column(name = "failed_users", nullable = false)
+    private int failedUsers;
+
+    /** Gibt an, ob der Lauf alle Nutzer abgearbeitet hat. */
+    @Column(name = "completed", nullable = false)
+    private boolean completed;
+
+    /** Zeitpunkt der letzten Aktualisierung. */
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    /**
+     * Standardkonstruktor für JPA/Hibernate.
+     */
+    protected PlanningBatchCheckpoint() {
+    }
+
+    /**
+     * Erzeugt einen neuen, leeren Checkpoint für einen Lauf.
+     *
+     * @param runDate Der Kalendertag des Laufs.
+     */
+    public PlanningBatchCheckpoint(LocalDate runDate) {
+        this.runDate = runDate;
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    /**
+     * Schiebt den Cursor nach einer vollständig bearbeiteten Seite von Nutzern weiter.
+     *
+     * @param lastUserId Die letzte Nutzer-ID der bearbeiteten Seite.
+     * @param planned    Anzahl der erfolgreich geplanten Nutzer der Seite.
+     * @param failed     Anzahl der fehlgeschlagenen Nutzer der Seite.
+     */
+    public void advance(UUID lastUserId, int planned, int failed) {
+        this.lastUserId = lastUserId;
+        this.plannedUsers += planned;
+        this.failedUsers += failed;
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    /**
+     * Markiert den Lauf als vollständig abgeschlossen.
+     */
+    public void markCompleted() {
+        this.completed = true;
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    /** @return Der Kalendertag des Laufs. */
+    public LocalDate getRunDate() { return runDate; }
+
+    /** @return Die zuletzt vollständig bearbeitete Nutzer-ID oder null. */
+    public UUID getLastUserId() { return lastUserId; }
+
+    /** @return Anzahl der bisher erfolgreich geplanten Nutzer. */
+    public int getPlannedUsers() { return plannedUsers; }
+
+    /** @return Anzahl der bisher fehlgeschlagenen Nutzer. */
+    public int getFailedUsers() { return failedUsers; }
+
+    /** @return true, wenn der Lauf alle Nutzer abgearbeitet hat. */
+    public boolean isCompleted() { return completed; }
+
+    /** @return Zeitpunkt der letzten Aktualisierung. */
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+}
@@ -0,0 +1,160 @@
+package de.pse.oys.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+
+import java.util.List;
+
+/**
+ * Kennzahlen der Solver-Läufe, aus denen ein Lernplan entstanden ist: Status, Zielfunktionswert,
+ * beste Schranke, Zeit für Modellaufbau und Lösen sowie Größe des Modells.
+ * Wurde ein Plan aus mehreren Solver-Aufrufen zusammengesetzt (Zerlegung in Tage, zweistufige Planung),
+ * sind Werte und Zeiten über alle Aufrufe summiert und der Status ist der schlechteste aller Aufrufe.
+ *
+ * @author uhxch
+ * @version 1.0
+ */
+@Embeddable
+public class SolverRunStats {
+
+    /** Status-Werte des Solvers von gut nach schlecht; unbekannte Werte gelten als schlechtester. */
+    private static final List<String> STATUS_ORDER = List.of("OPTIMAL", "FEASIBLE");
+
+    /** Status des Solvers, z. B. OPTIMAL oder FEASIBLE. */
+    @Column(name = "solver_status")
+    private String status;
+
+    /** Wert der Zielfunktion der gefundenen Lösung oder null ohne Lösung. */
+    @Column(name = "solver_objective")
+    private Double objective;
+
+    /** Beste untere Schranke der Zielfunktion oder null ohne Lösung. */
+    @Column(name = "solver_best_bound")
+    private Double bestBound;
+
+    /** Zeit für den Aufbau des Modells in Sekunden. */
+    @Column(name = "solver_build_seconds")
+    private Double buildSeconds;
+
+    /** Zeit für das Lösen in Sekunden. */
+    @Column(name = "solver_solve_seconds")
+    private Double solveSeconds;
+
+    /** Anzahl der Variablen des Modells. */
+    @Column(name = "solver_variables")
+    private Long variables;
+
+    /** Anzahl der Constraints des Modells. */
+    @Column(name = "solver_constraints")
+    private Long constraints;
+
+    /** Anzahl der Solver-Aufrufe, die in die Kennzahlen eingegangen sind. */
+    @Column(name = "solver_calls")
+    private Integer calls;
+
+    /**
+     * Standardkonstruktor für JPA.
+     */
+    protected SolverRunStats() {
+    }
+
+    /**
+     * Erzeugt die Kennzahlen eines einzelnen Solver-Aufrufs.
+     *
+     * @param status       Der Status des Solvers.
+     * @param objective    Der Zielfunktionswert oder null.
+     * @param bestBound    Die beste Schranke oder null.
+     * @param buildSeconds Die Zeit für den Modellaufbau in Sekunden oder null.
+     * @param solveSeconds Die Zeit für das Lösen in Sekunden oder null.
+     * @param variables    Die Anzahl der Variablen oder null.
+     * @param constraints  Die Anzahl der Constraints oder null.
+     */
+    public SolverRunStats(String status, Double objective, Double bestBound, Double buildSeconds,
+                          Double solveSeconds, Long variables, Long constraints) {
+        this(status, objective, bestBound, buildSeconds, solveSeconds, variables, constraints, 1);
+    }
+
+    private SolverRunStats(String status, Double objective, Double bestBound, Double buildSeconds,
+                           Double solveSeconds, Long variables, Long constraints, int calls) {
+        this.status = status;
+        this.objective = objective;
+        this.bestBound = bestBound;
+        this.buildSeconds = buildSeconds;
+        this.solveSeconds = solveSeconds;
+        this.variables = variables;
+        this.constraints = constraints;
+        this.calls = calls;
+    }
+
+    /**
+     * Fasst die Kennzahlen zweier Solver-Aufrufe derselben Planung zusammen.
+     *
+     * @param other Die Kennzahlen des anderen Aufrufs oder null.
+     * @return die zusammengefassten Kennzahlen.
+     */
+    public SolverRunStats combine(SolverRunStats other) {
+        if (other == null) {
+            return this;
+        }
+        return new SolverRunStats(worseStatus(status, other.status), sum(objective, other.objective),
+                sum(bestBound, other.bestBound), sum(buildSeconds, other.buildSeconds),
+                sum(solveSeconds, other.solveSeconds), sum(variables, other.variables),
+                sum(constraints, other.constraints), calls + other.calls);
+    }
+
+    /**
+     * Relative Lücke zwischen Zielfunktionswert und bester Schranke.
+     *
+     * @return die Lücke oder null, wenn einer der Werte fehlt.
+     */
+    public Double getRelativeGap() {
+        if (objective == null || bestBound == null) {
+            return null;
+        }
+        return Math.abs(objective - bestBound) / Math.max(1.0, Math.abs(objective));
+    }
+
+    private static String worseStatus(String first, String second) {
+        if (first == null || second == null) {
+            return first == null ? second : first;
+        }
+        return rank(first) >= rank(second) ? first : second;
+    }
+
+    private static int rank(String status) {
+        int index = STATUS_ORDER.indexOf(status);
+        return index < 0 ? STATUS_ORDER.size() : index;
+    }
+
+    private static Double sum(Double first, Double second) {
+        return first == null || second == null ? null : first + second;
+    }
+
+    private static Long sum(Long first, Long second) {
+        return first == null || second == null ? null : first + second;
+    }
+
+    /** @return Der Status des Solvers. */
+    public String getStatus() { return status; }
+
+    /** @return Der Zielfunktionswert oder null. */
+    public Double getObjective() { return objective; }
+
+    /** @return Die beste Schranke oder null. */
+    public Double getBestBound() { return bestBound; }
+
+    /** @return Die Zeit für den Modellaufbau in Sekunden oder null. */
+    public Double getBuildSeconds() { return buildSeconds; }
+
+    /** @return Die Zeit für das Lösen in Sekunden oder null. */
+    public Double getSolveSeconds() { return solveSeconds; }
+
+    /** @return Die Anzahl der Variablen oder null. */
+    public Long getVariables() { return variables; }
+
+    /** @return Die Anzahl der Constraints oder null. */
+    public Long getConstraints() { return constraints; }
+
+    /** @return Die Anzahl der zusammengefassten Solver-Aufrufe. */
+    public Integer getCalls() { return calls; }
+}
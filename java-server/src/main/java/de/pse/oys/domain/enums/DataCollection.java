@@ -0,0 +1,23 @@
+package de.pse.oys.domain.enums;
+
+/**
+ * Die Datensammlungen eines Nutzers, die der Client vollständig abruft und deren Stand
+ * über einen eigenen Versionszähler (ETag) geprüft werden kann.
+ *
+ * @author uhxch
+ * @version 1.0
+ */
+public enum DataCollection {
+
+    /** Die Module des Nutzers ({@code /modules}). */
+    MODULES,
+
+    /** Die Aufgaben des Nutzers ({@code /tasks}). */
+    TASKS,
+
+    /** Die Freizeiten des Nutzers ({@code /freeTimes}). */
+    FREE_TIMES,
+
+    /** Die geplanten Lerneinheiten des Nutzers ({@code /plan/units}). */
+    UNITS
+}
@@ -0,0 +1,115 @@
+package de.pse.oys.dto.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.UUID;
+
+/**
+ * Eine Operation innerhalb einer Sammelanfrage ({@code POST /api/v1/batch}).
+ * Die Nutzdaten entsprechen dem Body des jeweiligen Einzelendpunkts und werden erst beim Ausführen
+ * in das passende DTO umgewandelt.
+ *
+ * <p>Damit Aufgaben einem Modul derselben Sammelanfrage zugeordnet werden können, vergibt die anlegende
+ * Operation einen Namen ({@code ref}); eine spätere Aufgaben-Operation verweist mit {@code moduleRef}
+ * darauf statt mit der Modul-ID.</p>
+ *
+ * @author uhxch
+ * @version 1.0
+ */
+public class BatchOperationDTO {
+
+    /** Die Art der Operation. */
+    public enum Action {
+        /** Legt einen Eintrag an. */
+        CREATE,
+        /** Ändert einen Eintrag. */
+        UPDATE,
+        /** Löscht einen Eintrag. */
+        DELETE
+    }
+
+    /** Die Sammlung, auf die sich die Operation bezieht. */
+    public enum Target {
+        /** Module ({@code /modules}). */
+        MODULE,
+        /** Aufgaben ({@code /tasks}). */
+        TASK,
+        /** Freizeiten ({@code /freeTimes}). */
+        FREE_TIME
+    }
+
+    /** Die Art der Operation. */
+    private Action action;
+
+    /** Die betroffene Sammlung. */
+    private Target target;
+
+    /** Die ID des Eintrags bei Änderung und Löschung. */
+    private UUID id;
+
+    /** Die Nutzdaten bei Anlage und Änderung. */
+    private JsonNode data;
+
+    /** Optionaler Name, unter dem der angelegte Eintrag in späteren Operationen referenziert werden kann. */
+    private String ref;
+
+    /** Optionaler Verweis einer Aufgabe auf ein Modul, das in derselben Sammelanfrage angelegt wurde. */
+    private String moduleRef;
+
+    /**
+     * Standardkonstruktor für die Deserialisierung (z.B. durch Jackson).
+     */
+    public BatchOperationDTO() {
+    }
+
+    /**
+     * Erzeugt eine Operation.
+     *
+     * @param action Die Art der Operation.
+     * @param target Die betroffene Sammlung.
+     * @param id     Die ID des Eintrags bei Änderung und Löschung.
+     * @param data   Die Nutzdaten bei Anlage und Änderung.
+     */
+    public BatchOperationDTO(Action action, Target target, UUID id, JsonNode data) {
+        this.action = action;
+        this.target = target;
+        this.id = id;
+        this.data = data;
+    }
+
+    /** @return Die Art der Operation. */
+    public Action getAction() { return action; }
+
+    /** @return Die betroffene Sammlung. */
+    public Target getTarget() { return target; }
+
+    /** @return Die ID des Eintrags bei Änderung und Löschung. */
+    public UUID getId() { return id; }
+
+    /** @return Die Nutzdaten bei Anlage und Änderung. */
+    public JsonNode getData() { return data; }
+
+    /** @return Der Name des angelegten Eintrags für spätere Operationen. */
+    public String getRef() { return ref; }
+
+    /** @return Der Verweis auf ein in derselben Anfrage angelegtes Modul. */
+    public String getModuleRef() { return moduleRef; }
+
+    /** @param action Die Art der Operation. */
+    public void setAction(Action action) { this.action = action; }
+
+    /** @param target Die betroffene Sammlung. */
+    public void setTarget(Target target) { this.target = target; }
+
+    /** @param id Die ID des Eintrags bei Änderung und Löschung. */
+    public void setId(UUID id) { this.id = id; }
+
+    /** @param data Die Nutzdaten bei Anlage und Änderung. */
+    public void setData(JsonNode data) { this.data = data; }
+
+    /** @param ref Der Name des angelegten Eintrags für spätere Operationen. */
+    public void setRef(String ref) { this.ref = ref; }
+
+    /** @param moduleRef Der Verweis auf ein in derselben Anfrage angelegtes Modul. */
+    public void setModuleRef(String moduleRef) { this.moduleRef = moduleRef; }
+}
@@ -13,6 +13,8 @@ public class PlanningTaskDTO {
     private int start;
     private int deadline;
     private List<CostDTO> costs;
+    private Integer hint;
+    private List<SlotRangeDTO> domain;
     /** Konstruktor für TaskDTO.
      *
      * @param id       Eindeutige ID der Aufgabe.
@@ -21,11 +23,40 @@ public class PlanningTaskDTO {
      * @param costs    Kosteninformationen der Aufgabe.
      */
     public PlanningTaskDTO(String id, int duration, int start, int deadline, List<CostDTO> costs) {
+        this(id, duration, start, deadline, costs, null);
+    }
+
+    /** Konstruktor für TaskDTO mit Warmstart-Hinweis.
+     *
+     * @param id       Eindeutige ID der Aufgabe.
+     * @param duration Dauer der Aufgabe.
+     * @param deadline Abgabefrist der Aufgabe.
+     * @param costs    Kosteninformationen der Aufgabe.
+     * @param hint     Startslot der Einheit im bisherigen Plan, den der Solver als Startlösung nutzt, oder null.
+     */
+    public PlanningTaskDTO(String id, int duration, int start, int deadline, List<CostDTO> costs, Integer hint) {
+        this(id, duration, start, deadline, costs, hint, null);
+    }
+
+    /** Konstruktor für TaskDTO mit Warmstart-Hinweis und zulässigen Startslots.
+     *
+     * @param id       Eindeutige ID der Aufgabe.
+     * @param duration Dauer der Aufgabe.
+     * @param deadline Abgabefrist der Aufgabe.
+     * @param costs    Kosteninformationen der Aufgabe.
+     * @param hint     Startslot der Einheit im bisherigen Plan, den der Solver als Startlösung nutzt, oder null.
+     * @param domain   Zulässige Startbereiche nach Abzug von Nächten, blockierten Tagen und festen Blöcken,
+     *                 oder null, wenn der Solver diese selbst modellieren soll.
+     */
+    public PlanningTaskDTO(String id, int duration, int start, int deadline, List<CostDTO> costs, Integer hint,
+                           List<SlotRangeDTO> domain) {
         this.id = id;
         this.duration = duration;
         this.start = start;
         this.deadline = deadline;
         this.costs = costs;
+        this.hint = hint;
+        this.domain = domain;
     }
     /** @return Eindeutige ID der Aufgabe. */
     public String getId() {
@@ -49,5 +80,13 @@ public class PlanningTaskDTO {
     public List<CostDTO> getCosts() {
         return costs;
     }
+    /** @return Startslot im bisherigen Plan als Warmstart-Hinweis für den Solver oder null. */
+    public Integer getHint() {
+        return hint;
+    }
+    /** @return Zulässige Startbereiche des Chunks oder null. */
+    public List<SlotRangeDTO> getDomain() {
+        return domain;
+    }
 
 }
@@ -0,0 +1,54 @@
+package de.pse.oys.dto.plan;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object (DTO) für einen zusammenhängenden Bereich von Slots.
+ * Beide Grenzen sind inklusive.
+ */
+public class SlotRangeDTO {
+    private int from;
+    private int to;
+    private List<Integer> costs;
+
+    /** Konstruktor für SlotRangeDTO.
+     *
+     * @param from Erster Slot des Bereichs.
+     * @param to   Letzter Slot des Bereichs (inklusive).
+     */
+    public SlotRangeDTO(int from, int to) {
+        this(from, to, null);
+    }
+
+    /** Konstruktor für SlotRangeDTO mit vorberechneten Fensterkosten.
+     *
+     * @param from  Erster Slot des Bereichs.
+     * @param to    Letzter Slot des Bereichs (inklusive).
+     * @param costs Fensterkosten je Startslot von {@code from} bis {@code to}, oder null.
+     */
+    public SlotRangeDTO(int from, int to, List<Integer> costs) {
+        this.from = from;
+        this.to = to;
+        this.costs = costs;
+    }
+
+    /** @return Erster Slot des Bereichs. */
+    public int getFrom() {
+        return from;
+    }
+
+    /** @return Letzter Slot des Bereichs (inklusive). */
+    public int getTo() {
+        return to;
+    }
+
+    /** @return Fensterkosten je Startslot des Bereichs oder null. */
+    public List<Integer> getCosts() {
+        return costs;
+    }
+
+    /** @return Anzahl der Slots im Bereich. */
+    public int size() {
+        return to - from + 1;
+    }
+}
@@ -0,0 +1,49 @@
+package de.pse.oys.dto.response;
+
+import java.util.List;
+
+/**
+ * Antwort einer Sammelanfrage ({@code POST /api/v1/batch}). Die Operationen werden gemeinsam übernommen
+ * oder gemeinsam verworfen; {@code applied} gibt an, welcher Fall eingetreten ist.
+ *
+ * @author uhxch
+ * @version 1.0
+ */
+public class BatchResponseDTO {
+
+    /** Gibt an, ob alle Operationen übernommen wurden. */
+    private boolean applied;
+
+    /** Die Ergebnisse der Operationen in der Reihenfolge der Anfrage. */
+    private List<BatchResultDTO> results;
+
+    /**
+     * Standardkonstruktor für die JSON-Deserialisierung.
+     */
+    public BatchResponseDTO() {
+        // Leerer Konstruktor für Jackson
+    }
+
+    /**
+     * Erzeugt die Antwort einer Sammelanfrage.
+     *
+     * @param applied {@code true}, wenn alle Operationen übernommen wurden.
+     * @param results Die Ergebnisse der Operationen.
+     */
+    public BatchResponseDTO(boolean applied, List<BatchResultDTO> results) {
+        this.applied = applied;
+        this.results = results;
+    }
+
+    /** @return {@code true}, wenn alle Operationen übernommen wurden. */
+    public boolean isApplied() { return applied; }
+
+    /** @return Die Ergebnisse der Operationen. */
+    public List<BatchResultDTO> getResults() { return results; }
+
+    /** @param applied Gibt an, ob alle Operationen übernommen wurden. */
+    public void setApplied(boolean applied) { this.applied = applied; }
+
+    /** @param results Die Ergebnisse der Operationen. */
+    public void setResults(List<BatchResultDTO> results) { this.results = results; }
+}
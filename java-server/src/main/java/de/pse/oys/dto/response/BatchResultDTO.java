@@ -0,0 +1,71 @@
+package de.pse.oys.dto.response;
+
+import java.util.UUID;
+
+/**
+ * Ergebnis einer einzelnen Operation einer Sammelanfrage.
+ * Der Status entspricht dem HTTP-Status, den der Einzelendpunkt geliefert hätte.
+ *
+ * @author uhxch
+ * @version 1.0
+ */
+public class BatchResultDTO {
+
+    /** Position der Operation in der Anfrage. */
+    private int index;
+
+    /** HTTP-Status der Operation. */
+    private int status;
+
+    /** ID des angelegten, geänderten oder gelöschten Eintrags. */
+    private UUID id;
+
+    /** Fehlermeldung, falls die Operation nicht ausgeführt wurde. */
+    private String error;
+
+    /**
+     * Standardkonstruktor für die JSON-Deserialisierung.
+     */
+    public BatchResultDTO() {
+        // Leerer Konstruktor für Jackson
+    }
+
+    /**
+     * Erzeugt das Ergebnis einer Operation.
+     *
+     * @param index  Position der Operation in der Anfrage.
+     * @param status HTTP-Status der Operation.
+     * @param id     ID des betroffenen Eintrags.
+     * @param error  Fehlermeldung oder {@code null}.
+     */
+    public BatchResultDTO(int index, int status, UUID id, String error) {
+        this.index = index;
+        this.status = status;
+        this.id = id;
+        this.error = error;
+    }
+
+    /** @return Position der Operation in der Anfrage. */
+    public int getIndex() { return index; }
+
+    /** @return HTTP-Status der Operation. */
+    public int getStatus() { return status; }
+
+    /** @return ID des betroffenen Eintrags. */
+    public UUID getId() { return id; }
+
+    /** @return Fehlermeldung oder {@code null}. */
+    public String getError() { return error; }
+
+    /** @param index Position der Operation in der Anfrage. */
+    public void setIndex(int index) { this.index = index; }
+
+    /** @param status HTTP-Status der Operation. */
+    public void setStatus(int status) { this.status = status; }
+
+    /** @param id ID des betroffenen Eintrags. */
+    public void setId(UUID id) { this.id = id; }
+
+    /** @param error Fehlermeldung oder {@code null}. */
+    public void setError(String error) { this.error = error; }
+}
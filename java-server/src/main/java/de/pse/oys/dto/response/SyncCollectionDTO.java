@@ -0,0 +1,65 @@
+package de.pse.oys.dto.response;
+
+import de.pse.oys.dto.controller.WrapperDTO;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Änderungen einer Datensammlung seit dem Sync-Token des Clients.
+ * Ist {@code full} gesetzt, enthält {@code changed} die vollständige Sammlung und der Client ersetzt
+ * seinen Stand; andernfalls übernimmt er {@code changed} und entfernt die Einträge aus {@code deleted}.
+ *
+ * @param <T> Der Typ der enthaltenen DTOs.
+ * @author uhxch
+ * @version 1.0
+ */
+public class SyncCollectionDTO<T> {
+
+    /** Gibt an, ob die Sammlung vollständig statt als Delta geliefert wird. */
+    private boolean full;
+
+    /** Die angelegten oder geänderten Einträge. */
+    private List<WrapperDTO<T>> changed;
+
+    /** Die IDs der gelöschten Einträge (Tombstones). */
+    private List<UUID> deleted;
+
+    /**
+     * Standardkonstruktor für die JSON-Deserialisierung.
+     */
+    public SyncCollectionDTO() {
+        // Leerer Konstruktor für Jackson
+    }
+
+    /**
+     * Erzeugt die Änderungen einer Sammlung.
+     *
+     * @param full    {@code true}, wenn die Sammlung vollständig geliefert wird.
+     * @param changed Die angelegten oder geänderten Einträge.
+     * @param deleted Die IDs der gelöschten Einträge.
+     */
+    public SyncCollectionDTO(boolean full, List<WrapperDTO<T>> changed, List<UUID> deleted) {
+        this.full = full;
+        this.changed = changed;
+        this.deleted = deleted;
+    }
+
+    /** @return {@code true}, wenn die Sammlung vollständig geliefert wird. */
+    public boolean isFull() { return full; }
+
+    /** @return Die angelegten oder geänderten Einträge. */
+    public List<WrapperDTO<T>> getChanged() { return changed; }
+
+    /** @return Die IDs der gelöschten Einträge. */
+    public List<UUID> getDeleted() { return deleted; }
+
+    /** @param full Gibt an, ob die Sammlung vollständig geliefert wird. */
+    public void setFull(boolean full) { this.full = full; }
+
+    /** @param changed Die angelegten oder geänderten Einträge. */
+    public void setChanged(List<WrapperDTO<T>> changed) { this.changed = changed; }
+
+    /** @param deleted Die IDs der gelöschten Einträge. */
+    public void setDeleted(List<UUID> deleted) { this.deleted = deleted; }
+}
@@ -0,0 +1,68 @@
+package de.pse.oys.dto.response;
+
+import de.pse.oys.dto.FreeTimeDTO;
+import de.pse.oys.dto.ModuleDTO;
+import de.pse.oys.dto.TaskDTO;
+import de.pse.oys.dto.UnitDTO;
+
+/**
+ * Antwort des Delta-Syncs ({@code GET /api/v1/sync}). Enthält je Datensammlung die Änderungen seit dem
+ * übergebenen Token sowie das neue Token, das der Client beim nächsten Abruf als {@code since} mitsendet.
+ *
+ * @author uhxch
+ * @version 1.0
+ */
+public class SyncDTO {
+
+    /** Das Token des gelieferten Stands. */
+    private String token;
+
+    /** Die Änderungen an den Modulen. */
+    private SyncCollectionDTO<ModuleDTO> modules;
+
+    /** Die Änderungen an den Aufgaben. */
+    private SyncCollectionDTO<TaskDTO> tasks;
+
+    /** Die Änderungen an den Freizeiten. */
+    private SyncCollectionDTO<FreeTimeDTO> freeTimes;
+
+    /** Die Änderungen an den Lerneinheiten. */
+    private SyncCollectionDTO<UnitDTO> units;
+
+    /**
+     * Standardkonstruktor für die JSON-Deserialisierung.
+     */
+    public SyncDTO() {
+        // Leerer Konstruktor für Jackson
+    }
+
+    /** @return Das Token des gelieferten Stands. */
+    public String getToken() { return token; }
+
+    /** @return Die Änderungen an den Modulen. */
+    public SyncCollectionDTO<ModuleDTO> getModules() { return modules; }
+
+    /** @return Die Änderungen an den Aufgaben. */
+    public SyncCollectionDTO<TaskDTO> getTasks() { return tasks; }
+
+    /** @return Die Änderungen an den Freizeiten. */
+    public SyncCollectionDTO<FreeTimeDTO> getFreeTimes() { return freeTimes; }
+
+    /** @return Die Änderungen an den Lerneinheiten. */
+    public SyncCollectionDTO<UnitDTO> getUnits() { return units; }
+
+    /** @param token Das Token des gelieferten Stands. */
+    public void setToken(String token) { this.token = token; }
+
+    /** @param modules Die Änderungen an den Modulen. */
+    public void setModules(SyncCollectionDTO<ModuleDTO> modules) { this.modules = modules; }
+
+    /** @param tasks Die Änderungen an den Aufgaben. */
+    public void setTasks(SyncCollectionDTO<TaskDTO> tasks) { this.tasks = tasks; }
+
+    /** @param freeTimes Die Änderungen an den Freizeiten. */
+    public void setFreeTimes(SyncCollectionDTO<FreeTimeDTO> freeTimes) { this.freeTimes = freeTimes; }
+
+    /** @param units Die Änderungen an den Lerneinheiten. */
+    public void setUnits(SyncCollectionDTO<UnitDTO> units) { this.units = units; }
+}
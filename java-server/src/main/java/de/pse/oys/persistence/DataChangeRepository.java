@@ -0,0 +1,47 @@
+package de.pse.oys.persistence;
+
+import de.pse.oys.domain.DataChange;
+import de.pse.oys.domain.enums.DataCollection;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Repository für {@link DataChange}-Entitäten, das Änderungsprotokoll der Datensammlungen.
+ *
+ * @author uhxch
+ * @version 1.0
+ */
+@Repository
+public interface DataChangeRepository extends JpaRepository<DataChange, UUID> {
+
+    /**
+     * Liefert die Änderungen einer Sammlung in einem Versionsbereich, aufsteigend nach Version.
+     *
+     * @param userId     ID des Nutzers
+     * @param collection Die Sammlung
+     * @param since      Zählerstand, den der Client bereits kennt (exklusiv)
+     * @param until      Zählerstand, bis zu dem gelesen wird (inklusiv)
+     * @return die Änderungen im Bereich (since, until]
+     */
+    @Query("SELECT c FROM DataChange c WHERE c.userId = :userId AND c.collection = :collection "
+            + "AND c.version > :since AND c.version <= :until ORDER BY c.version")
+    List<DataChange> findChanges(@Param("userId") UUID userId, @Param("collection") DataCollection collection,
+                                 @Param("since") long since, @Param("until") long until);
+
+    /**
+     * Entfernt alle Protokolleinträge, die vor dem Stichtag geschrieben wurden.
+     *
+     * @param cutoff Der Stichtag.
+     * @return die Anzahl der entfernten Einträge.
+     */
+    @Modifying
+    @Query("DELETE FROM DataChange c WHERE c.changedAt < :cutoff")
+    int deleteOlderThan(@Param("cutoff") LocalDateTime cutoff);
+}
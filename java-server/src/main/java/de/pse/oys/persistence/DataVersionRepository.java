@@ -0,0 +1,57 @@
+package de.pse.oys.persistence;
+
+import de.pse.oys.domain.DataVersion;
+import de.pse.oys.domain.enums.DataCollection;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Repository für {@link DataVersion}-Entitäten.
+ * Der Schlüssel besteht aus Nutzer-ID und Sammlung.
+ *
+ * @author uhxch
+ * @version 1.0
+ */
+@Repository
+public interface DataVersionRepository extends JpaRepository<DataVersion, DataVersion.Key> {
+
+    /**
+     * Liest nur den Zählerstand einer Sammlung, ohne die Entität zu laden.
+     *
+     * @param userId     ID des Nutzers
+     * @param collection Die Sammlung
+     * @return der Zählerstand oder leer, wenn die Sammlung noch nie geändert wurde.
+     */
+    @Query("SELECT v.version FROM DataVersion v WHERE v.userId = :userId AND v.collection = :collection")
+    Optional<Long> findVersion(@Param("userId") UUID userId, @Param("collection") DataCollection collection);
+
+    /**
+     * Erhöht den Zählerstand einer Sammlung atomar in der Datenbank.
+     *
+     * @param userId     ID des Nutzers
+     * @param collection Die Sammlung
+     * @return die Anzahl der geänderten Zeilen, 0 wenn für die Sammlung noch kein Zähler existiert.
+     */
+    @Modifying
+    @Query("UPDATE DataVersion v SET v.version = v.version + 1 WHERE v.userId = :userId AND v.collection = :collection")
+    int increment(@Param("userId") UUID userId, @Param("collection") DataCollection collection);
+
+    /**
+     * Legt den Zähler einer Sammlung mit Stand 0 an. Anders als {@code save} wird garantiert eingefügt,
+     * sodass ein gleichzeitig angelegter Zähler zu einer Verletzung des Primärschlüssels führt.
+     *
+     * @param userId     ID des Nutzers
+     * @param collection Der Name der Sammlung
+     * @return die Anzahl der eingefügten Zeilen
+     */
+    @Modifying
+    @Query(value = "INSERT INTO data_versions (user_id, collection, version) VALUES (:userId, :collection, 0)",
+            nativeQuery = true)
+    int create(@Param("userId") UUID userId, @Param("collection") String collection);
+}
@@ -4,6 +4,7 @@ import de.pse.oys.domain.FreeTime;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -23,4 +24,13 @@ public interface FreeTimeRepository extends JpaRepository<FreeTime, UUID> {
      * @return Liste der Freizeitblöcke des Users
      */
     List<FreeTime> findAllByUserId(UUID userId);
-}
\ No newline at end of file
+
+    /**
+     * Lädt die Freizeitblöcke mit den angegebenen IDs im User-Scope (Delta-Sync).
+     *
+     * @param freeTimeIds IDs der Freizeitblöcke
+     * @param userId      ID des Users
+     * @return die gefundenen Freizeitblöcke des Users
+     */
+    List<FreeTime> findAllByFreeTimeIdInAndUserId(Collection<UUID> freeTimeIds, UUID userId);
+}
@@ -4,6 +4,7 @@ import de.pse.oys.domain.LearningUnit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -23,4 +24,13 @@ public interface LearningUnitRepository extends JpaRepository<LearningUnit, UUID
      * @return Liste der Lerneinheiten des Users
      */
     List<LearningUnit> findAllByTask_Module_User_UserId(UUID userId);
-}
\ No newline at end of file
+
+    /**
+     * Lädt die Lerneinheiten mit den angegebenen IDs im User-Scope (Delta-Sync).
+     *
+     * @param unitIds IDs der Lerneinheiten
+     * @param userId  ID des Users
+     * @return die gefundenen Lerneinheiten des Users
+     */
+    List<LearningUnit> findAllByUnitIdInAndTask_Module_User_UserId(Collection<UUID> unitIds, UUID userId);
+}
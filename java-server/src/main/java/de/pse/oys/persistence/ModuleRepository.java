@@ -4,6 +4,7 @@ import de.pse.oys.domain.Module;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -34,4 +35,13 @@ public interface ModuleRepository extends JpaRepository<Module, UUID> {
      * @return Optional mit dem Modul, falls die Kombination existiert
      */
     Optional<Module> findByModuleIdAndUser_UserId(UUID moduleId, UUID userId);
-}
\ No newline at end of file
+
+    /**
+     * Lädt die Module mit den angegebenen IDs im User-Scope (Delta-Sync).
+     *
+     * @param moduleIds die IDs der Module
+     * @param userId    die ID des Nutzers
+     * @return die gefundenen Module des Nutzers
+     */
+    List<Module> findAllByModuleIdInAndUser_UserId(Collection<UUID> moduleIds, UUID userId);
+}
@@ -0,0 +1,18 @@
+package de.pse.oys.persistence;
+
+import de.pse.oys.domain.PlanningBatchCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+
+/**
+ * Repository für {@link PlanningBatchCheckpoint}-Entitäten.
+ * Der Schlüssel ist der Kalendertag des Batch-Laufs.
+ *
+ * @author uhxch
+ * @version 1.0
+ */
+@Repository
+public interface PlanningBatchCheckpointRepository extends JpaRepository<PlanningBatchCheckpoint, LocalDate> {
+}
@@ -0,0 +1,79 @@
+package de.pse.oys.persistence;
+
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.data.repository.Repository;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Zeichnet jeden Aufruf eines Spring-Data-Repositorys als Span auf, z. B.
+ * {@code TaskRepository.findAllByModuleUserUserId}. Innerhalb einer Planung erscheinen die Aufrufe als
+ * Kind-Spans des jeweiligen Planungsschritts, sodass sich die Ladezeit auf einzelne Abfragen aufteilen lässt.
+ *
+ * @author uhxch
+ * @version 1.0
+ */
+@Aspect
+@Component
+public class RepositoryTracingAspect {
+
+    private static final String TAG_REPOSITORY = "db.repository";
+    private static final String TAG_METHOD = "db.method";
+
+    private final Tracer tracer;
+    private final Map<Class<?>, String> repositoryNames = new ConcurrentHashMap<>();
+
+    /**
+     * Konstruktor mit Dependency Injection.
+     *
+     * @param tracer der Micrometer-Tracer
+     */
+    public RepositoryTracingAspect(Tracer tracer) {
+        this.tracer = tracer;
+    }
+
+    /**
+     * Umschließt einen Repository-Aufruf mit einem Span.
+     *
+     * @param joinPoint der Aufruf
+     * @return das Ergebnis des Aufrufs
+     * @throws Throwable jede Ausnahme des Repositorys, die am Span vermerkt wird
+     */
+    @Around("execution(* org.springframework.data.repository.Repository+.*(..))")
+    public Object traceRepositoryCall(ProceedingJoinPoint joinPoint) throws Throwable {
+        String repository = repositoryNames.computeIfAbsent(joinPoint.getTarget().getClass(),
+                type -> repositoryName(joinPoint.getTarget()));
+        String method = joinPoint.getSignature().getName();
+        Span span = tracer.nextSpan()
+                .name(repository + "." + method)
+                .tag(TAG_REPOSITORY, repository)
+                .tag(TAG_METHOD, method)
+                .start();
+        Tracer.SpanInScope scope = tracer.withSpan(span);
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            span.error(e);
+            throw e;
+        } finally {
+            scope.close();
+            span.end();
+        }
+    }
+
+    private static String repositoryName(Object target) {
+        return Arrays.stream(AopProxyUtils.proxiedUserInterfaces(target))
+                .filter(type -> Repository.class.isAssignableFrom(type) && type != Repository.class)
+                .findFirst()
+                .map(Class::getSimpleName)
+                .orElse(target.getClass().getSimpleName());
+    }
+}
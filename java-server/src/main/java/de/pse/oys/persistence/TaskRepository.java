@@ -2,8 +2,13 @@ package de.pse.oys.persistence;
 
 import de.pse.oys.domain.Task;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -33,4 +38,42 @@ public interface TaskRepository extends JpaRepository<Task, UUID> {
      * @return Task, falls existent und dem User zugehörig
      */
     Optional<Task> findByTaskIdAndModuleUserUserId(UUID taskId, UUID userId);
-}
\ No newline at end of file
+
+    /**
+     * Liefert die IDs aller Nutzer, denen mindestens eine Aufgabe zugeordnet ist.
+     * Wird von der Batch-Planung genutzt, um die zu planenden Nutzer zu bestimmen.
+     *
+     * @return Liste der Nutzer-IDs ohne Duplikate
+     */
+    @Query("SELECT DISTINCT t.module.user.userId FROM Task t")
+    List<UUID> findDistinctUserIdsWithTasks();
+
+    /**
+     * Prüft, ob ein Nutzer mindestens eine aktive Aufgabe besitzt, ohne die Aufgaben zu laden.
+     * Die Bedingungen entsprechen {@link Task#isActive()} der einzelnen Aufgabentypen.
+     *
+     * @param userId ID des Nutzers
+     * @param today  das aktuelle Datum (Prüfungen sind bis zum Beginn des Prüfungstags aktiv)
+     * @param now    der aktuelle Zeitpunkt
+     * @return true, wenn mindestens eine Aufgabe des Nutzers aktiv ist
+     */
+    @Query("""
+            SELECT COUNT(t) > 0 FROM Task t
+            WHERE t.module.user.userId = :userId AND (
+                   (TYPE(t) = ExamTask AND TREAT(t AS ExamTask).examDate > :today)
+                OR (TYPE(t) = SubmissionTask AND TREAT(t AS SubmissionTask).endTime > :now)
+                OR (TYPE(t) = OtherTask AND TREAT(t AS OtherTask).startTime < :now
+                    AND TREAT(t AS OtherTask).endTime > :now))
+            """)
+    boolean existsActiveTaskByUserId(@Param("userId") UUID userId, @Param("today") LocalDate today,
+                                     @Param("now") LocalDateTime now);
+
+    /**
+     * Lädt die Aufgaben mit den angegebenen IDs im User-Scope (Delta-Sync).
+     *
+     * @param taskIds IDs der Aufgaben
+     * @param userId  ID des Users
+     * @return die gefundenen Aufgaben des Users
+     */
+    List<Task> findAllByTaskIdInAndModuleUserUserId(Collection<UUID> taskIds, UUID userId);
+}
@@ -4,7 +4,11 @@ import java.util.Optional;
 import java.util.UUID;
 
 import de.pse.oys.domain.ExternalUser;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import de.pse.oys.domain.User;
@@ -44,4 +48,15 @@ public interface UserRepository extends JpaRepository<User, UUID> {
      * @return Optional mit dem gefundenen externen Benutzer, sonst leer
      */
     Optional<ExternalUser> findByExternalSubjectIdAndUserType(String externalSubjectId, UserType userType);
-}
\ No newline at end of file
+
+    /**
+     * Lädt einen Benutzer und sperrt ihn bis zum Ende der Transaktion. Serialisiert das Ersetzen
+     * des Lernplans, wenn derselbe Nutzer gleichzeitig mehrfach neu geplant wird.
+     *
+     * @param userId ID des Benutzers
+     * @return Optional mit dem gesperrten Benutzer, sonst leer
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT u FROM User u WHERE u.userId = :userId")
+    Optional<User> findByIdForUpdate(@Param("userId") UUID userId);
+}
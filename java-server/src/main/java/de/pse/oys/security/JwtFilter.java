@@ -1,6 +1,8 @@
 package de.pse.oys.security;
 
 import de.pse.oys.service.auth.JwtProvider;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -13,22 +15,39 @@ import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Filter zur Validierung von JWT-Tokens bei jedem eingehenden Request.
  * Extrahiert die Benutzer-ID und hinterlegt sie im SecurityContext.
+ * Die Dauer der Prüfung wird je Ergebnis im Timer {@code auth.jwt.verification} erfasst.
  */
 @Component
 public class JwtFilter extends OncePerRequestFilter {
 
+    private static final String VERIFICATION_TIMER = "auth.jwt.verification";
+
     private final JwtProvider jwtProvider;
+    private final Timer validTokenTimer;
+    private final Timer invalidTokenTimer;
 
     /**
      * Stellt den JwtProvider bereit, der für die Validierung und Extraktion von Informationen aus dem JWT verantwortlich ist.
      * @param jwtProvider der JWT Provider, der die Logik zur Token-Validierung und -Extraktion implementiert.
+     * @param meterRegistry die Registry, in der die Dauer der Token-Prüfung erfasst wird.
      */
-    public JwtFilter(JwtProvider jwtProvider) {
+    public JwtFilter(JwtProvider jwtProvider, MeterRegistry meterRegistry) {
         this.jwtProvider = jwtProvider;
+        this.validTokenTimer = verificationTimer(meterRegistry, "valid");
+        this.invalidTokenTimer = verificationTimer(meterRegistry, "invalid");
+    }
+
+    private static Timer verificationTimer(MeterRegistry meterRegistry, String outcome) {
+        return Timer.builder(VERIFICATION_TIMER)
+                .description("Dauer der Prüfung eines JWT je Anfrage")
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
     }
 
     @Override
@@ -41,9 +60,11 @@ public class JwtFilter extends OncePerRequestFilter {
         if (authHeader != null && authHeader.startsWith("Bearer ")) {
             String token = authHeader.substring(7);
 
+            long startedAt = System.nanoTime();
             if (jwtProvider.validateToken(token)) {
                 // HIER PASSIERT ES: Die UUID wird extrahiert
                 UUID userId = jwtProvider.extractUserId(token);
+                validTokenTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
 
                 // Ein neues Principal-Objekt mit der UUID wird erstellt
                 UserPrincipal principal = new UserPrincipal(userId, "User", "Password");
@@ -54,6 +75,7 @@ public class JwtFilter extends OncePerRequestFilter {
 
                 SecurityContextHolder.getContext().setAuthentication(authentication);
             } else {
+                invalidTokenTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
                 sendUnauthorizedResponse(response, "Invalid JWT token");
                 return;
             }
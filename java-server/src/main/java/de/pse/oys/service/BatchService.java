@@ -0,0 +1,260 @@
+package de.pse.oys.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.pse.oys.dto.FreeTimeDTO;
+import de.pse.oys.dto.InvalidDtoException;
+import de.pse.oys.dto.ModuleDTO;
+import de.pse.oys.dto.TaskDTO;
+import de.pse.oys.dto.controller.BatchOperationDTO;
+import de.pse.oys.dto.response.BatchResponseDTO;
+import de.pse.oys.dto.response.BatchResultDTO;
+import de.pse.oys.service.exception.AccessDeniedException;
+import de.pse.oys.service.exception.ResourceNotFoundException;
+import de.pse.oys.service.exception.ValidationException;
+import jakarta.persistence.EntityNotFoundException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Führt eine geordnete Liste von Anlage-, Änderungs- und Löschoperationen auf Modulen, Aufgaben und
+ * Freizeiten in einer einzigen Transaktion aus. Schlägt eine Operation fehl, wird die gesamte Anfrage
+ * verworfen. Die Einträge im Änderungsprotokoll werden gesammelt und am Ende je Sammlung einmal geschrieben
+ * ({@link DataVersionService#collectChanges}). Die Neuplanung stößt der Aufrufer nach dem Commit einmal an,
+ * statt nach jeder Operation.
+ *
+ * @author uhxch
+ * @version 1.0
+ */
+@Service
+public class BatchService {
+
+    private static final String MSG_EMPTY_BATCH = "Die Sammelanfrage enthält keine Operationen.";
+    private static final String MSG_TOO_MANY_OPERATIONS = "Die Sammelanfrage enthält mehr als %d Operationen.";
+    private static final String MSG_INCOMPLETE_OPERATION = "Aktion und Ziel der Operation sind erforderlich.";
+    private static final String MSG_ID_REQUIRED = "Für Änderung und Löschung ist eine ID erforderlich.";
+    private static final String MSG_DATA_REQUIRED = "Für Anlage und Änderung sind Daten erforderlich.";
+    private static final String MSG_INVALID_DATA = "Ungültige Daten: %s";
+    private static final String MSG_UNKNOWN_REF = "Unbekannter Verweis auf ein Modul: %s";
+    private static final String MSG_DUPLICATE_REF = "Der Verweis %s ist bereits vergeben.";
+    private static final String MSG_NOT_EXECUTED = "Nicht ausgeführt, da eine vorherige Operation fehlgeschlagen ist.";
+
+    private final ModuleService moduleService;
+    private final TaskService taskService;
+    private final FreeTimeService freeTimeService;
+    private final DataVersionService dataVersionService;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final int maxOperations;
+
+    /**
+     * Konstruktor mit Dependency Injection.
+     *
+     * @param moduleService      Service für die Module
+     * @param taskService        Service für die Aufgaben
+     * @param freeTimeService    Service für die Freizeiten
+     * @param dataVersionService Service für Versionszähler und Änderungsprotokoll
+     * @param objectMapper       wandelt die Nutzdaten in die DTOs der Einzelendpunkte um
+     * @param transactionManager stellt die gemeinsame Transaktion bereit
+     * @param maxOperations      maximale Anzahl an Operationen je Anfrage
+     */
+    public BatchService(ModuleService moduleService, TaskService taskService, FreeTimeService freeTimeService,
+                        DataVersionService dataVersionService, ObjectMapper objectMapper,
+                        PlatformTransactionManager transactionManager,
+                        @Value("${batch.max-operations}") int maxOperations) {
+        this.moduleService = moduleService;
+        this.taskService = taskService;
+        this.freeTimeService = freeTimeService;
+        this.dataVersionService = dataVersionService;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.maxOperations = maxOperations;
+    }
+
+    /**
+     * Führt die Operationen in der angegebenen Reihenfolge aus.
+     *
+     * @param userId     ID des Nutzers (darf nicht {@code null} sein)
+     * @param operations Die Operationen
+     * @return die Ergebnisse je Operation und ob die Anfrage übernommen wurde
+     * @throws ValidationException wenn die Anfrage leer ist oder zu viele Operationen enthält
+     */
+    public BatchResponseDTO apply(UUID userId, List<BatchOperationDTO> operations) {
+        Objects.requireNonNull(userId, "userId");
+        if (operations == null || operations.isEmpty()) {
+            throw new ValidationException(MSG_EMPTY_BATCH);
+        }
+        if (operations.size() > maxOperations) {
+            throw new ValidationException(String.format(MSG_TOO_MANY_OPERATIONS, maxOperations));
+        }
+        return transactionTemplate.execute(status -> {
+            try {
+                return dataVersionService.collectChanges(() -> {
+                    BatchResponseDTO response = applyAll(userId, operations);
+                    if (!response.isApplied()) {
+                        // Bricht das Sammeln ab, damit für verworfene Änderungen nichts protokolliert wird.
+                        throw new BatchRejectedException(response);
+                    }
+                    return response;
+                });
+            } catch (BatchRejectedException e) {
+                status.setRollbackOnly();
+                return e.response;
+            }
+        });
+    }
+
+    /**
+     * Prüft, ob die Operationen den Lernplan betreffen. Wie bei den Einzelendpunkten löst nur das Anlegen
+     * eines Moduls keine Neuplanung aus.
+     *
+     * @param operations Die Operationen
+     * @return {@code true}, wenn nach dem Commit neu geplant werden muss
+     */
+    public boolean requiresReplan(List<BatchOperationDTO> operations) {
+        return operations.stream().anyMatch(operation -> operation.getTarget() != BatchOperationDTO.Target.MODULE
+                || operation.getAction() != BatchOperationDTO.Action.CREATE);
+    }
+
+    private BatchResponseDTO applyAll(UUID userId, List<BatchOperationDTO> operations) {
+        List<BatchResultDTO> results = new ArrayList<>(operations.size());
+        Map<String, UUID> refs = new HashMap<>();
+        for (int i = 0; i < operations.size(); i++) {
+            BatchOperationDTO operation = operations.get(i);
+            try {
+                results.add(applyOne(userId, i, operation, refs));
+            } catch (ResourceNotFoundException | EntityNotFoundException e) {
+                return failed(results, operations.size(), i, HttpStatus.NOT_FOUND, e);
+            } catch (AccessDeniedException | SecurityException e) {
+                return failed(results, operations.size(), i, HttpStatus.FORBIDDEN, e);
+            } catch (ValidationException | IllegalArgumentException | IllegalStateException
+                     | InvalidDtoException e) {
+                return failed(results, operations.size(), i, HttpStatus.BAD_REQUEST, e);
+            }
+        }
+        return new BatchResponseDTO(true, results);
+    }
+
+    private BatchResultDTO applyOne(UUID userId, int index, BatchOperationDTO operation, Map<String, UUID> refs) {
+        if (operation == null || operation.getAction() == null || operation.getTarget() == null) {
+            throw new ValidationException(MSG_INCOMPLETE_OPERATION);
+        }
+        BatchOperationDTO.Action action = operation.getAction();
+        if (action != BatchOperationDTO.Action.CREATE && operation.getId() == null) {
+            throw new ValidationException(MSG_ID_REQUIRED);
+        }
+        if (action != BatchOperationDTO.Action.DELETE && operation.getData() == null) {
+            throw new ValidationException(MSG_DATA_REQUIRED);
+        }
+
+        UUID id = switch (operation.getTarget()) {
+            case MODULE -> applyModule(userId, operation);
+            case TASK -> applyTask(userId, operation, refs);
+            case FREE_TIME -> applyFreeTime(userId, operation);
+        };
+
+        if (action == BatchOperationDTO.Action.CREATE && operation.getRef() != null
+                && refs.putIfAbsent(operation.getRef(), id) != null) {
+            throw new ValidationException(String.format(MSG_DUPLICATE_REF, operation.getRef()));
+        }
+        HttpStatus status = switch (action) {
+            case CREATE -> HttpStatus.CREATED;
+            case UPDATE -> HttpStatus.OK;
+            case DELETE -> HttpStatus.NO_CONTENT;
+        };
+        return new BatchResultDTO(index, status.value(), id, null);
+    }
+
+    private UUID applyModule(UUID userId, BatchOperationDTO operation) {
+        switch (operation.getAction()) {
+            case CREATE:
+                return moduleService.createModule(userId, convert(operation.getData(), ModuleDTO.class));
+            case UPDATE:
+                ModuleDTO dto = convert(operation.getData(), ModuleDTO.class);
+                dto.setId(operation.getId());
+                moduleService.updateModule(userId, dto);
+                return operation.getId();
+            default:
+                moduleService.deleteModule(userId, operation.getId());
+                return operation.getId();
+        }
+    }
+
+    private UUID applyTask(UUID userId, BatchOperationDTO operation, Map<String, UUID> refs) {
+        if (operation.getAction() == BatchOperationDTO.Action.DELETE) {
+            taskService.deleteTask(userId, operation.getId());
+            return operation.getId();
+        }
+        TaskDTO dto = convert(operation.getData(), TaskDTO.class);
+        if (operation.getModuleRef() != null) {
+            UUID moduleId = refs.get(operation.getModuleRef());
+            if (moduleId == null) {
+                throw new ValidationException(String.format(MSG_UNKNOWN_REF, operation.getModuleRef()));
+            }
+            dto.setModuleId(moduleId);
+        }
+        if (operation.getAction() == BatchOperationDTO.Action.CREATE) {
+            return taskService.createTask(userId, dto);
+        }
+        return taskService.updateTask(userId, operation.getId(), dto);
+    }
+
+    private UUID applyFreeTime(UUID userId, BatchOperationDTO operation) {
+        switch (operation.getAction()) {
+            case CREATE:
+                return freeTimeService.createFreeTime(userId, convert(operation.getData(), FreeTimeDTO.class));
+            case UPDATE:
+                freeTimeService.updateFreeTime(userId, operation.getId(),
+                        convert(operation.getData(), FreeTimeDTO.class));
+                return operation.getId();
+            default:
+                freeTimeService.deleteFreeTime(userId, operation.getId());
+                return operation.getId();
+        }
+    }
+
+    private <T> T convert(JsonNode data, Class<T> type) {
+        try {
+            return objectMapper.treeToValue(data, type);
+        } catch (JsonProcessingException e) {
+            throw new ValidationException(String.format(MSG_INVALID_DATA, e.getOriginalMessage()));
+        }
+    }
+
+    /**
+     * Baut die Antwort einer verworfenen Anfrage: bisherige Ergebnisse, der Fehler der fehlgeschlagenen
+     * Operation und ein Hinweis für alle folgenden Operationen.
+     */
+    private static BatchResponseDTO failed(List<BatchResultDTO> results, int size, int failedIndex,
+                                           HttpStatus status, Exception cause) {
+        results.add(new BatchResultDTO(failedIndex, status.value(), null, cause.getMessage()));
+        for (int i = failedIndex + 1; i < size; i++) {
+            results.add(new BatchResultDTO(i, HttpStatus.FAILED_DEPENDENCY.value(), null, MSG_NOT_EXECUTED));
+        }
+        return new BatchResponseDTO(false, results);
+    }
+
+    /**
+     * Signalisiert innerhalb der Transaktion, dass die Sammelanfrage verworfen wird.
+     */
+    private static final class BatchRejectedException extends RuntimeException {
+
+        private final transient BatchResponseDTO response;
+
+        private BatchRejectedException(BatchResponseDTO response) {
+            super(null, null, false, false);
+            this.response = response;
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package de.pse.oys.service;
+
+import de.pse.oys.domain.enums.DataCollection;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Wird vom {@link DataVersionService} veröffentlicht, sobald eine Änderung an einer Sammlung vermerkt wurde.
+ * Empfänger sollten das Ereignis erst nach dem Commit der Transaktion verarbeiten, da die Änderung vorher
+ * für andere Verbindungen nicht sichtbar ist.
+ *
+ * @author uhxch
+ * @version 1.0
+ */
+public class DataChangedEvent {
+
+    private final UUID userId;
+    private final DataCollection collection;
+    private final long version;
+    private final List<UUID> changedIds;
+    private final List<UUID> deletedIds;
+    private final boolean full;
+
+    /**
+     * Erzeugt ein neues Ereignis.
+     *
+     * @param userId     Der Nutzer, dem die Sammlung gehört.
+     * @param collection Die geänderte Sammlung.
+     * @param version    Zählerstand der Sammlung nach der Änderung.
+     * @param changedIds IDs der angelegten oder geänderten Einträge.
+     * @param deletedIds IDs der gelöschten Einträge.
+     * @param full       {@code true}, wenn die betroffenen Einträge nicht bekannt sind.
+     */
+    public DataChangedEvent(UUID userId, DataCollection collection, long version,
+                            List<UUID> changedIds, List<UUID> deletedIds, boolean full) {
+        this.userId = userId;
+        this.collection = collection;
+        this.version = version;
+        this.changedIds = List.copyOf(changedIds);
+        this.deletedIds = List.copyOf(deletedIds);
+        this.full = full;
+    }
+
+    /** @return Der Nutzer, dem die Sammlung gehört. */
+    public UUID getUserId() { return userId; }
+
+    /** @return Die geänderte Sammlung. */
+    public DataCollection getCollection() { return collection; }
+
+    /** @return Zählerstand der Sammlung nach der Änderung. */
+    public long getVersion() { return version; }
+
+    /** @return IDs der angelegten oder geänderten Einträge. */
+    public List<UUID> getChangedIds() { return changedIds; }
+
+    /** @return IDs der gelöschten Einträge. */
+    public List<UUID> getDeletedIds() { return deletedIds; }
+
+    /** @return {@code true}, wenn die betroffenen Einträge nicht bekannt sind. */
+    public boolean isFull() { return full; }
+}
@@ -0,0 +1,293 @@
+package de.pse.oys.service;
+
+import de.pse.oys.domain.DataChange;
+import de.pse.oys.domain.enums.DataCollection;
+import de.pse.oys.persistence.DataChangeRepository;
+import de.pse.oys.persistence.DataVersionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Verwaltet die Versionszähler der Datensammlungen eines Nutzers und leitet daraus ETags ab.
+ * Die Services erhöhen den Zähler in derselben Transaktion wie die Änderung, sodass ein ETag erst nach
+ * dem Commit der Änderung wechselt. Ein bedingter Abruf kostet damit nur eine Abfrage über den Primärschlüssel.
+ * Zu jeder Erhöhung wird im Änderungsprotokoll ({@link DataChange}) vermerkt, welche Einträge geändert oder
+ * gelöscht wurden; daraus beantwortet der {@link SyncService} die Delta-Abfragen der Clients.
+ * Zusätzlich wird je Änderung ein {@link DataChangedEvent} veröffentlicht. Innerhalb von
+ * {@link #collectChanges(Supplier)} werden die Änderungen gesammelt und je Sammlung einmal geschrieben.
+ *
+ * @author uhxch
+ * @version 1.0
+ */
+@Service
+@Transactional
+public class DataVersionService {
+
+    private static final String ETAG_FORMAT = "\"%s-%s-%d\"";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(DataVersionService.class);
+
+    private final DataVersionRepository dataVersionRepository;
+    private final DataChangeRepository dataChangeRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate counterTransaction;
+    private final int changeRetentionDays;
+
+    /** Die gesammelten Änderungen je Nutzer und Sammlung, solange {@link #collectChanges} läuft. */
+    private final ThreadLocal<Map<UUID, Map<DataCollection, PendingChanges>>> collected = new ThreadLocal<>();
+
+    /**
+     * Erzeugt einen neuen Service.
+     *
+     * @param dataVersionRepository Repository für die Versionszähler
+     * @param dataChangeRepository  Repository für das Änderungsprotokoll
+     * @param eventPublisher        Veröffentlicht die {@link DataChangedEvent}s
+     * @param transactionManager    stellt die eigene Transaktion zum Anlegen eines Zählers bereit
+     * @param changeRetentionDays   Aufbewahrungsdauer der Protokolleinträge in Tagen
+     */
+    public DataVersionService(DataVersionRepository dataVersionRepository,
+                              DataChangeRepository dataChangeRepository,
+                              ApplicationEventPublisher eventPublisher,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${sync.changes.retention-days}") int changeRetentionDays) {
+        this.dataVersionRepository = dataVersionRepository;
+        this.dataChangeRepository = dataChangeRepository;
+        this.eventPublisher = eventPublisher;
+        this.counterTransaction = new TransactionTemplate(transactionManager);
+        this.counterTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.changeRetentionDays = changeRetentionDays;
+    }
+
+    /**
+     * Vermerkt eine Änderung an einer Sammlung des Nutzers, deren betroffene Einträge nicht bekannt sind.
+     * Clients, die diesen Stand noch nicht kennen, laden die Sammlung beim nächsten Sync vollständig.
+     *
+     * @param userId      ID des Nutzers (darf nicht {@code null} sein)
+     * @param collections Die geänderten Sammlungen
+     */
+    public void bump(UUID userId, DataCollection... collections) {
+        Objects.requireNonNull(userId, "userId");
+        for (DataCollection collection : collections) {
+            PendingChanges changes = new PendingChanges();
+            changes.full = true;
+            record(userId, collection, changes);
+        }
+    }
+
+    /**
+     * Vermerkt angelegte oder geänderte Einträge einer Sammlung.
+     *
+     * @param userId     ID des Nutzers (darf nicht {@code null} sein)
+     * @param collection Die geänderte Sammlung
+     * @param entityIds  IDs der angelegten oder geänderten Einträge; ist die Liste leer, passiert nichts
+     */
+    public void recordChanges(UUID userId, DataCollection collection, Collection<UUID> entityIds) {
+        Objects.requireNonNull(userId, "userId");
+        PendingChanges changes = new PendingChanges();
+        changes.addChanged(entityIds);
+        record(userId, collection, changes);
+    }
+
+    /**
+     * Vermerkt gelöschte Einträge einer Sammlung als Tombstones.
+     *
+     * @param userId     ID des Nutzers (darf nicht {@code null} sein)
+     * @param collection Die geänderte Sammlung
+     * @param entityIds  IDs der gelöschten Einträge; ist die Liste leer, passiert nichts
+     */
+    public void recordDeletions(UUID userId, DataCollection collection, Collection<UUID> entityIds) {
+        Objects.requireNonNull(userId, "userId");
+        PendingChanges changes = new PendingChanges();
+        changes.addDeleted(entityIds);
+        record(userId, collection, changes);
+    }
+
+    /**
+     * Führt die Arbeit aus und sammelt dabei alle vermerkten Änderungen. Erst am Ende wird je Sammlung
+     * der Zähler einmal erhöht und das Protokoll mit einem gebündelten Insert geschrieben, statt bei jeder
+     * einzelnen Änderung. Muss innerhalb der Transaktion der Änderungen aufgerufen werden; ein verschachtelter
+     * Aufruf führt die Arbeit nur aus.
+     *
+     * @param work Die Arbeit, deren Änderungen gesammelt werden.
+     * @param <T>  Der Typ des Ergebnisses.
+     * @return das Ergebnis der Arbeit.
+     */
+    public <T> T collectChanges(Supplier<T> work) {
+        if (collected.get() != null) {
+            return work.get();
+        }
+        Map<UUID, Map<DataCollection, PendingChanges>> pending = new LinkedHashMap<>();
+        collected.set(pending);
+        T result;
+        try {
+            result = work.get();
+        } finally {
+            collected.remove();
+        }
+        pending.forEach((userId, byCollection) -> byCollection.forEach(
+                (collection, changes) -> write(userId, collection, changes)));
+        return result;
+    }
+
+    /**
+     * Liefert den aktuellen Zählerstand einer Sammlung.
+     *
+     * @param userId     ID des Nutzers (darf nicht {@code null} sein)
+     * @param collection Die Sammlung
+     * @return der Zählerstand, 0 wenn die Sammlung noch nie geändert wurde
+     */
+    @Transactional(readOnly = true)
+    public long getVersion(UUID userId, DataCollection collection) {
+        Objects.requireNonNull(userId, "userId");
+        return dataVersionRepository.findVersion(userId, collection).orElse(0L);
+    }
+
+    /**
+     * Entfernt Protokolleinträge, die älter als die Aufbewahrungsdauer sind. Clients mit einem
+     * älteren Stand erhalten beim nächsten Sync die betroffenen Sammlungen vollständig.
+     */
+    @Scheduled(cron = "${sync.changes.prune-cron}")
+    public void pruneChanges() {
+        int removed = dataChangeRepository.deleteOlderThan(LocalDateTime.now().minusDays(changeRetentionDays));
+        LOGGER.info("{} Einträge des Änderungsprotokolls entfernt.", removed);
+    }
+
+    /**
+     * Liefert den starken ETag für den aktuellen Stand einer Sammlung. Er enthält die Nutzer-ID,
+     * damit ein zwischengespeicherter Stand nach einem Nutzerwechsel auf demselben Gerät nicht passt.
+     *
+     * @param userId     ID des Nutzers (darf nicht {@code null} sein)
+     * @param collection Die Sammlung
+     * @return der ETag in Anführungszeichen, z. B. {@code "tasks-<userId>-3"}
+     */
+    @Transactional(readOnly = true)
+    public String getETag(UUID userId, DataCollection collection) {
+        Objects.requireNonNull(userId, "userId");
+        long version = dataVersionRepository.findVersion(userId, collection).orElse(0L);
+        return String.format(Locale.ROOT, ETAG_FORMAT, collection.name().toLowerCase(Locale.ROOT), userId, version);
+    }
+
+    /**
+     * Schreibt die Änderungen sofort oder merkt sie vor, solange {@link #collectChanges} läuft.
+     */
+    private void record(UUID userId, DataCollection collection, PendingChanges changes) {
+        Map<UUID, Map<DataCollection, PendingChanges>> pending = collected.get();
+        if (pending == null) {
+            write(userId, collection, changes);
+            return;
+        }
+        pending.computeIfAbsent(userId, id -> new EnumMap<>(DataCollection.class))
+                .computeIfAbsent(collection, c -> new PendingChanges())
+                .merge(changes);
+    }
+
+    /**
+     * Erhöht den Zähler einmal für alle Einträge und schreibt je Eintrag einen Protokolleintrag.
+     */
+    private void write(UUID userId, DataCollection collection, PendingChanges changes) {
+        if (changes.isEmpty()) {
+            return;
+        }
+        long version = increment(userId, collection);
+        List<DataChange> rows = new ArrayList<>(changes.changed.size() + changes.deleted.size() + 1);
+        if (changes.full) {
+            rows.add(new DataChange(userId, collection, version, null, false));
+        }
+        for (UUID id : changes.changed) {
+            rows.add(new DataChange(userId, collection, version, id, false));
+        }
+        for (UUID id : changes.deleted) {
+            rows.add(new DataChange(userId, collection, version, id, true));
+        }
+        dataChangeRepository.saveAll(rows);
+        eventPublisher.publishEvent(new DataChangedEvent(userId, collection, version,
+                List.copyOf(changes.changed), List.copyOf(changes.deleted), changes.full));
+    }
+
+    /**
+     * Erhöht den Zähler atomar und liefert den neuen Stand. Die Zeilensperre des Zählers ordnet
+     * gleichzeitige Änderungen derselben Sammlung, sodass festgeschriebene Stände aufsteigend sind.
+     * Fehlt der Zähler noch, wird er zuerst mit Stand 0 angelegt und dann wie jeder andere erhöht.
+     */
+    private long increment(UUID userId, DataCollection collection) {
+        if (dataVersionRepository.increment(userId, collection) == 0) {
+            createCounter(userId, collection);
+            dataVersionRepository.increment(userId, collection);
+        }
+        return dataVersionRepository.findVersion(userId, collection).orElseThrow();
+    }
+
+    /**
+     * Legt den Zähler einer Sammlung in einer eigenen Transaktion an. Schreiben zwei Anfragen gleichzeitig
+     * die erste Änderung, legt nur eine den Zähler an; die andere scheitert am Primärschlüssel, ohne dass
+     * ihre eigene Transaktion abbricht, und erhöht danach den vorhandenen Zähler.
+     */
+    private void createCounter(UUID userId, DataCollection collection) {
+        try {
+            counterTransaction.executeWithoutResult(status -> dataVersionRepository.create(userId, collection.name()));
+        } catch (DataIntegrityViolationException e) {
+            LOGGER.debug("Zähler für {} von Nutzer {} wurde gleichzeitig angelegt", collection, userId);
+        }
+    }
+
+    /**
+     * Die Änderungen an einer Sammlung, die zusammen unter einem Zählerstand geschrieben werden.
+     * Wird ein Eintrag erst geändert und dann gelöscht, bleibt nur der Tombstone.
+     */
+    private static final class PendingChanges {
+
+        private final Set<UUID> changed = new LinkedHashSet<>();
+        private final Set<UUID> deleted = new LinkedHashSet<>();
+        private boolean full;
+
+        private void addChanged(Collection<UUID> ids) {
+            for (UUID id : ids) {
+                if (id != null && !deleted.contains(id)) {
+                    changed.add(id);
+                }
+            }
+        }
+
+        private void addDeleted(Collection<UUID> ids) {
+            for (UUID id : ids) {
+                if (id != null) {
+                    changed.remove(id);
+                    deleted.add(id);
+                }
+            }
+        }
+
+        private void merge(PendingChanges other) {
+            full |= other.full;
+            addChanged(other.changed);
+            addDeleted(other.deleted);
+        }
+
+        private boolean isEmpty() {
+            return !full && changed.isEmpty() && deleted.isEmpty();
+        }
+    }
+}
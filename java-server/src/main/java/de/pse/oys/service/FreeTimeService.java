@@ -4,6 +4,7 @@ import de.pse.oys.domain.FreeTime;
 import de.pse.oys.domain.RecurringFreeTime;
 import de.pse.oys.domain.SingleFreeTime;
 import de.pse.oys.domain.User;
+import de.pse.oys.domain.enums.DataCollection;
 import de.pse.oys.domain.enums.RecurrenceType;
 import de.pse.oys.dto.controller.WrapperDTO;
 import de.pse.oys.dto.FreeTimeDTO;
@@ -15,6 +16,7 @@ import de.pse.oys.service.exception.ValidationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Objects;
 import java.util.UUID;
@@ -40,16 +42,20 @@ public class FreeTimeService {
 
     private final UserRepository userRepository;
     private final FreeTimeRepository freeTimeRepository;
+    private final DataVersionService dataVersionService;
 
     /**
      * Erstellt einen neuen Service.
      *
      * @param userRepository Repository für Nutzer
      * @param freeTimeRepository Repository für Freizeitblöcke
+     * @param dataVersionService Service für die Versionszähler der Datensammlungen
      */
-    public FreeTimeService(UserRepository userRepository, FreeTimeRepository freeTimeRepository) {
+    public FreeTimeService(UserRepository userRepository, FreeTimeRepository freeTimeRepository,
+                           DataVersionService dataVersionService) {
         this.userRepository = userRepository;
         this.freeTimeRepository = freeTimeRepository;
+        this.dataVersionService = dataVersionService;
     }
 
     /**
@@ -69,6 +75,7 @@ public class FreeTimeService {
         FreeTime saved = freeTimeRepository.save(toEntity(userId, dto));
         user.addFreeTime(saved);
         userRepository.save(user);
+        dataVersionService.recordChanges(userId, DataCollection.FREE_TIMES, List.of(saved.getFreeTimeId()));
         return saved.getFreeTimeId();
     }
 
@@ -99,7 +106,9 @@ public class FreeTimeService {
 
         applyUpdate(existing, dto);
 
-        return toDto(freeTimeRepository.save(existing));
+        FreeTimeDTO updated = toDto(freeTimeRepository.save(existing));
+        dataVersionService.recordChanges(userId, DataCollection.FREE_TIMES, List.of(freeTimeId));
+        return updated;
     }
 
     /**
@@ -119,6 +128,7 @@ public class FreeTimeService {
 
         user.deleteFreeTime(existing);
         freeTimeRepository.delete(existing);
+        dataVersionService.recordDeletions(userId, DataCollection.FREE_TIMES, List.of(freeTimeId));
     }
 
     /**
@@ -140,6 +150,20 @@ public class FreeTimeService {
                 .toList();
     }
 
+    /**
+     * Liefert die Freizeiten mit den angegebenen IDs, soweit sie dem Nutzer gehören (Delta-Sync).
+     *
+     * @param userId      Nutzer-ID
+     * @param freeTimeIds IDs der geänderten Freizeiten
+     * @return die noch vorhandenen Freizeiten als Wrapper-Objekte
+     */
+    public List<WrapperDTO<FreeTimeDTO>> getFreeTimesByIds(UUID userId, Collection<UUID> freeTimeIds) {
+        Objects.requireNonNull(userId, "userId");
+        return freeTimeRepository.findAllByFreeTimeIdInAndUserId(freeTimeIds, userId).stream()
+                .map(freeTime -> new WrapperDTO<>(getId(freeTime), toDto(freeTime)))
+                .toList();
+    }
+
     /**
      * Prüft die logische Konsistenz der Eingabedaten und wirft bei Fehlern eine {@link ValidationException}.
      *
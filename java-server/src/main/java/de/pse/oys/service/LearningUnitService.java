@@ -2,6 +2,7 @@ package de.pse.oys.service;
 
 import de.pse.oys.domain.LearningPlan;
 import de.pse.oys.domain.LearningUnit;
+import de.pse.oys.domain.enums.DataCollection;
 import de.pse.oys.dto.UnitDTO;
 import de.pse.oys.dto.controller.WrapperDTO;
 import de.pse.oys.persistence.LearningPlanRepository;
@@ -12,6 +13,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Objects;
 import java.util.UUID;
@@ -34,15 +36,19 @@ public class LearningUnitService {
 
     private final LearningUnitRepository learningUnitRepository;
     private final LearningPlanRepository learningPlanRepository;
+    private final DataVersionService dataVersionService;
 
     /**
      * Erstellt den Service.
      *
      * @param learningPlanRepository Repository für LearningPlans (inkl. Ownership-Query)
+     * @param dataVersionService Service für die Versionszähler der Datensammlungen
      */
-    public LearningUnitService(LearningUnitRepository learningUnitRepository, LearningPlanRepository learningPlanRepository) {
+    public LearningUnitService(LearningUnitRepository learningUnitRepository, LearningPlanRepository learningPlanRepository,
+                               DataVersionService dataVersionService) {
         this.learningPlanRepository = learningPlanRepository;
         this.learningUnitRepository = learningUnitRepository;
+        this.dataVersionService = dataVersionService;
     }
 
     /**
@@ -65,6 +71,7 @@ public class LearningUnitService {
         moveUnitInternal(plan, unit, start, end);
 
         learningPlanRepository.save(plan);
+        dataVersionService.recordChanges(userId, DataCollection.UNITS, List.of(unitId));
     }
 
     /**
@@ -88,6 +95,7 @@ public class LearningUnitService {
         unit.markAsCompletedEarly(actualDuration);
 
         learningPlanRepository.save(plan);
+        dataVersionService.recordChanges(userId, DataCollection.UNITS, List.of(unitId));
     }
 
     /**
@@ -102,6 +110,19 @@ public class LearningUnitService {
                 .map(unit -> new WrapperDTO<>(unit.getUnitId(), unit.toDTO())).toList();
     }
 
+    /**
+     * Holt die Units mit den angegebenen IDs, soweit sie dem User gehören (Delta-Sync).
+     *
+     * @param userId  User-Id
+     * @param unitIds IDs der geänderten Units
+     * @return die noch vorhandenen Units als DTOs
+     */
+    public List<WrapperDTO<UnitDTO>> getLearningUnitsByIds(UUID userId, Collection<UUID> unitIds) {
+        Objects.requireNonNull(userId, "userId");
+        return learningUnitRepository.findAllByUnitIdInAndTask_Module_User_UserId(unitIds, userId).stream()
+                .map(unit -> new WrapperDTO<>(unit.getUnitId(), unit.toDTO())).toList();
+    }
+
     // -------------------------------------------------------------------------
     // intern
     // -------------------------------------------------------------------------
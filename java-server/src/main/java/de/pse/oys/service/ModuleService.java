@@ -1,7 +1,10 @@
 package de.pse.oys.service;
 
+import de.pse.oys.domain.LearningUnit;
 import de.pse.oys.domain.Module;
+import de.pse.oys.domain.Task;
 import de.pse.oys.domain.User;
+import de.pse.oys.domain.enums.DataCollection;
 import de.pse.oys.persistence.ModuleRepository;
 import de.pse.oys.persistence.UserRepository;
 import de.pse.oys.dto.controller.WrapperDTO;
@@ -9,6 +12,7 @@ import de.pse.oys.dto.ModuleDTO;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Objects;
 import java.util.UUID;
@@ -35,16 +39,20 @@ public class ModuleService {
 
     private final UserRepository userRepository;
     private final ModuleRepository moduleRepository;
+    private final DataVersionService dataVersionService;
 
     /**
      * Erzeugt eine neue Instanz des ModuleService[cite: 5].
      *
      * @param userRepository    Das Repository für Nutzerdaten[cite: 5].
      * @param moduleRepository Das Repository für Moduldaten[cite: 5].
+     * @param dataVersionService Der Service für die Versionszähler der Datensammlungen.
      */
-    public ModuleService(UserRepository userRepository, ModuleRepository moduleRepository) {
+    public ModuleService(UserRepository userRepository, ModuleRepository moduleRepository,
+                         DataVersionService dataVersionService) {
         this.userRepository = userRepository;
         this.moduleRepository = moduleRepository;
+        this.dataVersionService = dataVersionService;
     }
 
     /**
@@ -66,6 +74,7 @@ public class ModuleService {
         user.addModule(entity);
         Module saved = moduleRepository.save(entity);
         userRepository.save(user);
+        dataVersionService.recordChanges(userId, DataCollection.MODULES, List.of(saved.getModuleId()));
 
         return saved.getModuleId();
     }
@@ -99,6 +108,7 @@ public class ModuleService {
         existing.setColorHexCode(dto.getColor());
 
         moduleRepository.save(existing);
+        dataVersionService.recordChanges(userId, DataCollection.MODULES, List.of(existing.getModuleId()));
     }
 
     /**
@@ -117,9 +127,19 @@ public class ModuleService {
                 .findFirst()
                 .orElseThrow(() -> new SecurityException(String.format(MSG_MODULE_NOT_OWNED, moduleId)));
 
+        // Mit dem Modul entfallen auch seine Aufgaben und deren Lerneinheiten.
+        List<UUID> taskIds = existing.getTasks().stream().map(Task::getTaskId).toList();
+        List<UUID> unitIds = existing.getTasks().stream()
+                .flatMap(task -> task.getLearningUnits().stream())
+                .map(LearningUnit::getUnitId)
+                .toList();
+
         // Das Modul wird aus der Liste des Users entfernt und gelöscht
         user.deleteModule(existing);
         moduleRepository.delete(existing);
+        dataVersionService.recordDeletions(userId, DataCollection.MODULES, List.of(moduleId));
+        dataVersionService.recordDeletions(userId, DataCollection.TASKS, taskIds);
+        dataVersionService.recordDeletions(userId, DataCollection.UNITS, unitIds);
     }
 
     /**
@@ -141,6 +161,20 @@ public class ModuleService {
                 .toList();
     }
 
+    /**
+     * Liefert die Module mit den angegebenen IDs, soweit sie dem Nutzer gehören (Delta-Sync).
+     *
+     * @param userId    ID des Nutzers
+     * @param moduleIds IDs der geänderten Module
+     * @return die noch vorhandenen Module als Wrapper-Objekte
+     */
+    public List<WrapperDTO<ModuleDTO>> getModulesByIds(UUID userId, Collection<UUID> moduleIds) {
+        Objects.requireNonNull(userId, "userId");
+        return moduleRepository.findAllByModuleIdInAndUser_UserId(moduleIds, userId).stream()
+                .map(module -> new WrapperDTO<>(module.getModuleId(), toDto(module)))
+                .toList();
+    }
+
     /**
      * Validiert die übergebenen Moduldaten auf fachliche Korrektheit[cite: 5].
      *
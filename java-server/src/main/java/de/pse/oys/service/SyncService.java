@@ -0,0 +1,187 @@
+package de.pse.oys.service;
+
+import de.pse.oys.domain.DataChange;
+import de.pse.oys.domain.enums.DataCollection;
+import de.pse.oys.dto.controller.WrapperDTO;
+import de.pse.oys.dto.response.SyncCollectionDTO;
+import de.pse.oys.dto.response.SyncDTO;
+import de.pse.oys.persistence.DataChangeRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Beantwortet den Delta-Sync der Clients. Das Sync-Token enthält je Datensammlung den Zählerstand
+ * ({@link DataVersionService}), den der Client kennt. Geliefert werden nur die seitdem geänderten Einträge
+ * und die IDs der gelöschten Einträge aus dem Änderungsprotokoll, sodass Datenmenge und Serialisierung
+ * mit der Anzahl der Änderungen statt mit der Größe des Kontos wachsen.
+ *
+ * <p>Eine Sammlung wird vollständig geliefert, wenn das Token fehlt oder ungültig ist, die benötigten
+ * Protokolleinträge bereits entfernt wurden oder eine Änderung ohne bekannte Einträge vermerkt ist.</p>
+ *
+ * @author uhxch
+ * @version 1.0
+ */
+@Service
+@Transactional(readOnly = true)
+public class SyncService {
+
+    private static final String TOKEN_SEPARATOR = "-";
+
+    private final DataVersionService dataVersionService;
+    private final DataChangeRepository dataChangeRepository;
+    private final ModuleService moduleService;
+    private final TaskService taskService;
+    private final FreeTimeService freeTimeService;
+    private final LearningUnitService learningUnitService;
+
+    /**
+     * Erzeugt einen neuen Service.
+     *
+     * @param dataVersionService   Service für die Versionszähler
+     * @param dataChangeRepository Repository für das Änderungsprotokoll
+     * @param moduleService        Service für die Module
+     * @param taskService          Service für die Aufgaben
+     * @param freeTimeService      Service für die Freizeiten
+     * @param learningUnitService  Service für die Lerneinheiten
+     */
+    public SyncService(DataVersionService dataVersionService, DataChangeRepository dataChangeRepository,
+                       ModuleService moduleService, TaskService taskService, FreeTimeService freeTimeService,
+                       LearningUnitService learningUnitService) {
+        this.dataVersionService = dataVersionService;
+        this.dataChangeRepository = dataChangeRepository;
+        this.moduleService = moduleService;
+        this.taskService = taskService;
+        this.freeTimeService = freeTimeService;
+        this.learningUnitService = learningUnitService;
+    }
+
+    /**
+     * Liefert die Änderungen aller Sammlungen seit dem übergebenen Token.
+     * Die Zählerstände werden vor den Daten gelesen: Eine gleichzeitige Änderung ist damit entweder
+     * schon enthalten oder wird beim nächsten Sync erneut geliefert, geht aber nie verloren.
+     *
+     * @param userId ID des Nutzers (darf nicht {@code null} sein)
+     * @param since  Das Token des letzten Syncs oder {@code null} für einen vollständigen Abruf
+     * @return die Änderungen je Sammlung und das neue Token
+     */
+    public SyncDTO sync(UUID userId, String since) {
+        Objects.requireNonNull(userId, "userId");
+        long[] known = parseToken(since);
+        DataCollection[] collections = DataCollection.values();
+        long[] current = new long[collections.length];
+        for (DataCollection collection : collections) {
+            current[collection.ordinal()] = dataVersionService.getVersion(userId, collection);
+        }
+
+        SyncDTO sync = new SyncDTO();
+        sync.setToken(formatToken(current));
+        sync.setModules(syncCollection(userId, DataCollection.MODULES, known, current,
+                () -> moduleService.getModulesByUserId(userId),
+                ids -> moduleService.getModulesByIds(userId, ids)));
+        sync.setTasks(syncCollection(userId, DataCollection.TASKS, known, current,
+                () -> taskService.getTasksByUserId(userId),
+                ids -> taskService.getTasksByIds(userId, ids)));
+        sync.setFreeTimes(syncCollection(userId, DataCollection.FREE_TIMES, known, current,
+                () -> freeTimeService.getFreeTimesByUserId(userId),
+                ids -> freeTimeService.getFreeTimesByIds(userId, ids)));
+        sync.setUnits(syncCollection(userId, DataCollection.UNITS, known, current,
+                () -> learningUnitService.getLearningUnitsByUserId(userId),
+                ids -> learningUnitService.getLearningUnitsByIds(userId, ids)));
+        return sync;
+    }
+
+    private <T> SyncCollectionDTO<T> syncCollection(UUID userId, DataCollection collection, long[] known,
+                                                    long[] current,
+                                                    Supplier<List<WrapperDTO<T>>> loadAll,
+                                                    Function<Collection<UUID>, List<WrapperDTO<T>>> loadByIds) {
+        long until = current[collection.ordinal()];
+        if (known == null || known[collection.ordinal()] > until) {
+            return new SyncCollectionDTO<>(true, loadAll.get(), List.of());
+        }
+        long since = known[collection.ordinal()];
+        if (since == until) {
+            return new SyncCollectionDTO<>(false, List.of(), List.of());
+        }
+
+        List<DataChange> changes = dataChangeRepository.findChanges(userId, collection, since, until);
+        // Fehlende Protokolleinträge (aufgeräumt oder vor Einführung des Protokolls) erzwingen einen vollen Abruf.
+        if (changes.isEmpty() || changes.get(0).getVersion() != since + 1) {
+            return new SyncCollectionDTO<>(true, loadAll.get(), List.of());
+        }
+
+        // Je Eintrag zählt nur die letzte Änderung.
+        Map<UUID, Boolean> latest = new LinkedHashMap<>();
+        for (DataChange change : changes) {
+            if (change.getEntityId() == null) {
+                return new SyncCollectionDTO<>(true, loadAll.get(), List.of());
+            }
+            latest.put(change.getEntityId(), change.isDeleted());
+        }
+
+        List<UUID> changedIds = new ArrayList<>();
+        List<UUID> deletedIds = new ArrayList<>();
+        latest.forEach((id, deleted) -> (deleted ? deletedIds : changedIds).add(id));
+
+        List<WrapperDTO<T>> changed = changedIds.isEmpty() ? List.of() : loadByIds.apply(changedIds);
+        // Einträge, die inzwischen gelöscht wurden, werden ebenfalls als Tombstone geliefert.
+        Set<UUID> found = changed.stream().map(WrapperDTO::getId).collect(Collectors.toCollection(HashSet::new));
+        for (UUID id : changedIds) {
+            if (!found.contains(id)) {
+                deletedIds.add(id);
+            }
+        }
+        return new SyncCollectionDTO<>(false, changed, deletedIds);
+    }
+
+    private static String formatToken(long[] versions) {
+        StringBuilder token = new StringBuilder();
+        for (long version : versions) {
+            if (!token.isEmpty()) {
+                token.append(TOKEN_SEPARATOR);
+            }
+            token.append(version);
+        }
+        return token.toString();
+    }
+
+    /**
+     * Liest die Zählerstände aus dem Token.
+     *
+     * @return die Zählerstände in der Reihenfolge von {@link DataCollection} oder {@code null}, wenn das
+     * Token fehlt oder ungültig ist.
+     */
+    private static long[] parseToken(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        String[] parts = token.trim().split(TOKEN_SEPARATOR);
+        if (parts.length != DataCollection.values().length) {
+            return null;
+        }
+        long[] versions = new long[parts.length];
+        try {
+            for (int i = 0; i < parts.length; i++) {
+                versions[i] = Long.parseLong(parts[i]);
+                if (versions[i] < 0) {
+                    return null;
+                }
+            }
+        } catch (NumberFormatException e) {
+            return null;
+        }
+        return versions;
+    }
+}
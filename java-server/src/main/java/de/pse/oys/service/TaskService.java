@@ -1,10 +1,12 @@
 package de.pse.oys.service;
 
 import de.pse.oys.domain.ExamTask;
+import de.pse.oys.domain.LearningUnit;
 import de.pse.oys.domain.Module;
 import de.pse.oys.domain.OtherTask;
 import de.pse.oys.domain.SubmissionTask;
 import de.pse.oys.domain.Task;
+import de.pse.oys.domain.enums.DataCollection;
 import de.pse.oys.dto.ExamTaskDTO;
 import de.pse.oys.dto.OtherTaskDTO;
 import de.pse.oys.dto.SubmissionTaskDTO;
@@ -20,6 +22,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Objects;
 import java.util.UUID;
@@ -53,6 +56,7 @@ public class TaskService {
     private final UserRepository userRepository;
     private final ModuleRepository moduleRepository;
     private final TaskRepository taskRepository;
+    private final DataVersionService dataVersionService;
     
 
     /**
@@ -60,13 +64,16 @@ public class TaskService {
      * @param userRepository Repository für Nutzer
      * @param moduleRepository Repository für Module
      * @param taskRepository Repository für Tasks
+     * @param dataVersionService Service für die Versionszähler der Datensammlungen
      */
     public TaskService(UserRepository userRepository,
                        ModuleRepository moduleRepository,
-                       TaskRepository taskRepository) {
+                       TaskRepository taskRepository,
+                       DataVersionService dataVersionService) {
         this.userRepository = userRepository;
         this.moduleRepository = moduleRepository;
         this.taskRepository = taskRepository;
+        this.dataVersionService = dataVersionService;
     }
 
     /**
@@ -91,6 +98,7 @@ public class TaskService {
         Task task = mapToEntity(dto);
         module.addTask(task);
         Task saved = taskRepository.save(task);
+        dataVersionService.recordChanges(userId, DataCollection.TASKS, List.of(saved.getTaskId()));
         return saved.getTaskId();
     }
 
@@ -139,6 +147,7 @@ public class TaskService {
         existingTask.setWeeklyDurationMinutes(dto.getWeeklyTimeLoad());
         applySubtypeFields(existingTask, dto);
         taskRepository.save(existingTask);
+        dataVersionService.recordChanges(userId, DataCollection.TASKS, List.of(existingTask.getTaskId()));
 
         return existingTask.getTaskId();
     }
@@ -163,12 +172,17 @@ public class TaskService {
 
         Task task = requireOwnedTask(userId, taskId);
 
+        // Mit der Aufgabe entfallen auch ihre Lerneinheiten.
+        List<UUID> unitIds = task.getLearningUnits().stream().map(LearningUnit::getUnitId).toList();
+
         Module module = task.getModule();
         if (module != null) {
             module.deleteTask(task);
         }
 
         taskRepository.delete(task);
+        dataVersionService.recordDeletions(userId, DataCollection.TASKS, List.of(taskId));
+        dataVersionService.recordDeletions(userId, DataCollection.UNITS, unitIds);
     }
 
     /**
@@ -189,6 +203,19 @@ public class TaskService {
                 .map(task -> new WrapperDTO<>(task.getTaskId(), mapToDto(task))).toList();
     }
 
+    /**
+     * Liefert die Aufgaben mit den angegebenen IDs, soweit sie dem Nutzer gehören (Delta-Sync).
+     *
+     * @param userId  ID des Nutzers
+     * @param taskIds IDs der geänderten Aufgaben
+     * @return die noch vorhandenen Aufgaben als Wrapper-Objekte
+     */
+    public List<WrapperDTO<TaskDTO>> getTasksByIds(UUID userId, Collection<UUID> taskIds) {
+        Objects.requireNonNull(userId, USER_ID_STRING);
+        return taskRepository.findAllByTaskIdInAndModuleUserUserId(taskIds, userId).stream()
+                .map(task -> new WrapperDTO<>(task.getTaskId(), mapToDto(task))).toList();
+    }
+
     /**
      * Validiert das DTO auf Pflichtfelder + fachliche Regeln pro Kategorie.
      */
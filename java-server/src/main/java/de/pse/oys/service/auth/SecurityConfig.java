@@ -1,6 +1,8 @@
 package de.pse.oys.service.auth;
 
 import de.pse.oys.security.JwtFilter;
+import jakarta.servlet.DispatcherType;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
@@ -15,7 +17,8 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
 /**
  * SecurityConfig – Konfigurationsklasse für Sicherheitsaspekte.
  * Konfiguriert die HTTP-Sicherheit, die zustandslose Sitzungsverwaltung (JWT)
- * und den Passwort-Encoder.
+ * und den Passwort-Encoder. Die Actuator-Endpunkte laufen auf einem eigenen Management-Port und
+ * sind nur dort ohne Anmeldung erreichbar.
  *
  * @author uhupo, utgid
  * @version 1.1
@@ -24,13 +27,16 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
 @EnableWebSecurity
 public class SecurityConfig {
     private final JwtFilter jwtFilter;
+    private final int managementPort;
 
     /**
      * Konstruktor mit Dependency Injection.
      * @param jwtFilter der JWT-Filter zur Validierung von Tokens und extrahierung der Benutzer-UUID
+     * @param managementPort der Port, auf dem die Actuator-Endpunkte bereitgestellt werden
      */
-    public SecurityConfig(JwtFilter jwtFilter) {
+    public SecurityConfig(JwtFilter jwtFilter, @Value("${management.server.port}") int managementPort) {
         this.jwtFilter = jwtFilter;
+        this.managementPort = managementPort;
     }
 
     /**
@@ -56,10 +62,18 @@ public class SecurityConfig {
 
                 // Berechtigungen festlegen
                 .authorizeHttpRequests(auth -> auth
+                        // ASYNC- und ERROR-Dispatches (etwa das Ende eines SSE-Streams) setzen eine bereits
+                        // geprüfte Anfrage fort; der JwtFilter läuft dort nicht erneut
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC, DispatcherType.ERROR).permitAll()
                         // Nur Login und Register sind explizit öffentlich
                         .requestMatchers("/api/v1/users/login", "/api/v1/users/register").permitAll()
                         // Auch der Refresh-Endpunkt sollte öffentlich sein, da man dort ja einen neuen Access-Token will
                         .requestMatchers("/api/v1/users/refresh").permitAll()
+                        // Health-Check und Prometheus-Scrape laufen ohne Nutzerkonto, aber nur über den
+                        // Management-Port, der nicht nach außen veröffentlicht wird
+                        .requestMatchers(request -> request.getLocalPort() == managementPort
+                                && (request.getRequestURI().equals("/actuator/health")
+                                || request.getRequestURI().equals("/actuator/prometheus"))).permitAll()
                         // Alle anderen Anfragen (DELETE /api/v1/users) erfordern Authentifizierung
                         .anyRequest().authenticated()
                 );
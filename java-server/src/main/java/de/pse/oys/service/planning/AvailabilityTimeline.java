@@ -0,0 +1,134 @@
+package de.pse.oys.service.planning;
+
+import de.pse.oys.dto.plan.FixedBlockDTO;
+import de.pse.oys.dto.plan.SlotRangeDTO;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * AvailabilityTimeline – Komprimierte Sicht auf die freien Slots des Planungshorizonts.
+ * Von den Slots des Horizonts werden feste Blöcke, blockierte Tage und die Nachtruhe
+ * (22:00–06:00, identisch zum Solver) abgezogen. Übrig bleiben zusammenhängende freie Bereiche,
+ * aus denen für jeden Chunk die zulässigen Startslots abgeleitet werden. Umfasst der Horizont
+ * mehrere Wochen, wiederholen sich Nachtruhe und blockierte Wochentage in jeder Woche.
+ *
+ * @author uhxch
+ * @version 1.0
+ */
+public class AvailabilityTimeline {
+
+    private static final int SLOTS_PER_DAY = 288;
+    private static final int DAYS_PER_WEEK = 7;
+    private static final int NIGHT_END_SLOT = 72;      // 06:00 Uhr
+    private static final int NIGHT_START_SLOT = 264;   // 22:00 Uhr
+
+    private final int horizon;
+    private final List<SlotRangeDTO> freeRanges;
+
+    /**
+     * Erstellt die Zeitleiste für einen Horizont.
+     *
+     * @param horizon     Die Anzahl der Slots des Planungshorizonts.
+     * @param fixedBlocks Die festen Blöcke, die nicht belegt werden dürfen.
+     * @param blockedDays Die blockierten Wochentage (0=Montag, 6=Sonntag).
+     */
+    public AvailabilityTimeline(int horizon, List<FixedBlockDTO> fixedBlocks, List<Integer> blockedDays) {
+        this.horizon = horizon;
+        boolean[] busy = new boolean[horizon];
+
+        int days = Math.max(DAYS_PER_WEEK, (horizon + SLOTS_PER_DAY - 1) / SLOTS_PER_DAY);
+        for (int day = 0; day < days; day++) {
+            int offset = day * SLOTS_PER_DAY;
+            if (blockedDays.contains(day % DAYS_PER_WEEK)) {
+                markBusy(busy, offset, offset + SLOTS_PER_DAY);
+            } else {
+                markBusy(busy, offset, offset + NIGHT_END_SLOT);
+                markBusy(busy, offset + NIGHT_START_SLOT, offset + SLOTS_PER_DAY);
+            }
+        }
+        for (FixedBlockDTO block : fixedBlocks) {
+            markBusy(busy, block.getStart(), block.getStart() + block.getDuration());
+        }
+
+        List<SlotRangeDTO> ranges = new ArrayList<>();
+        int rangeStart = -1;
+        for (int slot = 0; slot <= horizon; slot++) {
+            boolean free = slot < horizon && !busy[slot];
+            if (free && rangeStart < 0) {
+                rangeStart = slot;
+            } else if (!free && rangeStart >= 0) {
+                ranges.add(new SlotRangeDTO(rangeStart, slot - 1));
+                rangeStart = -1;
+            }
+        }
+        this.freeRanges = Collections.unmodifiableList(ranges);
+    }
+
+    /**
+     * Berechnet die zulässigen Startslots eines Chunks: Der Chunk muss vollständig in einem freien
+     * Bereich liegen, darf nicht vor {@code earliestStart} beginnen und muss bis {@code deadline} enden.
+     *
+     * @param earliestStart Der früheste erlaubte Startslot.
+     * @param deadline      Der Slot, bis zu dem der Chunk beendet sein muss (exklusiv).
+     * @param duration      Die Dauer des Chunks in Slots.
+     * @return die zulässigen Startbereiche, leer wenn der Chunk nirgends passt.
+     */
+    public List<SlotRangeDTO> startDomain(int earliestStart, int deadline, int duration) {
+        int latestEnd = Math.min(deadline, horizon);
+        List<SlotRangeDTO> domain = new ArrayList<>();
+        for (SlotRangeDTO range : freeRanges) {
+            int from = Math.max(range.getFrom(), earliestStart);
+            int to = Math.min(range.getTo() + 1, latestEnd) - duration;
+            if (from <= to) {
+                domain.add(new SlotRangeDTO(from, to));
+            }
+        }
+        return domain;
+    }
+
+    /**
+     * Berechnet die zulässigen Startslots eines Chunks wie {@link #startDomain(int, int, int)}, löst aber
+     * nur bis {@code detailedUntil} slotgenau auf. Danach sind nur Starts auf einem groben Raster
+     * erlaubt, was den Suchraum für weiter entfernte Wochen verkleinert.
+     *
+     * @param earliestStart Der früheste erlaubte Startslot.
+     * @param deadline      Der Slot, bis zu dem der Chunk beendet sein muss (exklusiv).
+     * @param duration      Die Dauer des Chunks in Slots.
+     * @param detailedUntil Der erste Slot, ab dem nur noch das grobe Raster gilt.
+     * @param coarseStep    Der Abstand der Rasterpunkte in Slots.
+     * @return die zulässigen Startbereiche, leer wenn der Chunk nirgends passt.
+     */
+    public List<SlotRangeDTO> startDomain(int earliestStart, int deadline, int duration,
+                                          int detailedUntil, int coarseStep) {
+        List<SlotRangeDTO> domain = new ArrayList<>();
+        for (SlotRangeDTO range : startDomain(earliestStart, deadline, duration)) {
+            if (range.getFrom() < detailedUntil) {
+                domain.add(new SlotRangeDTO(range.getFrom(), Math.min(range.getTo(), detailedUntil - 1)));
+            }
+            int firstCoarse = Math.max(range.getFrom(), detailedUntil);
+            int gridStart = ((firstCoarse + coarseStep - 1) / coarseStep) * coarseStep;
+            for (int start = gridStart; start <= range.getTo(); start += coarseStep) {
+                domain.add(new SlotRangeDTO(start, start));
+            }
+        }
+        return domain;
+    }
+
+    /** @return Die freien Bereiche in aufsteigender Reihenfolge. */
+    public List<SlotRangeDTO> getFreeRanges() {
+        return freeRanges;
+    }
+
+    /** @return Die Anzahl der freien Slots im Horizont. */
+    public int getFreeSlotCount() {
+        return freeRanges.stream().mapToInt(SlotRangeDTO::size).sum();
+    }
+
+    private static void markBusy(boolean[] busy, int from, int toExclusive) {
+        for (int slot = Math.max(0, from); slot < Math.min(busy.length, toExclusive); slot++) {
+            busy[slot] = true;
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package de.pse.oys.service.planning;
+
+import de.pse.oys.domain.PlanningBatchCheckpoint;
+import de.pse.oys.persistence.PlanningBatchCheckpointRepository;
+import de.pse.oys.persistence.TaskRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * BatchPlanningService – Berechnet die Lernpläne aller Nutzer mit aktiven Aufgaben vorab,
+ * damit der erste Aufruf am Wochenanfang nur noch den gespeicherten Plan lesen muss.
+ * Kernfunktionen:
+ * - Parallelität: Die Nutzer jeder Seite werden durch die {@link PlanningPipeline} geplant, deren Stufen
+ *   getrennt voneinander skalieren.
+ * - Fehlerisolation: Jeder Nutzer wird in eigenen Transaktionen geplant, ein Fehler betrifft nur ihn.
+ * - Fortsetzbarkeit: Nach jeder Seite von Nutzern wird ein {@link PlanningBatchCheckpoint} gespeichert.
+ *   Der Cron-Ausdruck feuert mehrfach im Off-Peak-Fenster, sodass ein abgebrochener Lauf beim nächsten
+ *   Auslösen hinter dem Cursor weitermacht und ein abgeschlossener Lauf nicht wiederholt wird.
+ * - Zeitpunkt: Standardmäßig läuft der Batch nur in der Nacht auf Montag. Geplant wird stets die laufende
+ *   Woche; ein täglicher Lauf würde alle Nutzer jede Nacht neu lösen, da der {@link SolverResultCache}
+ *   nur im Speicher liegt und Einträge mit bereits begonnenen Einheiten verwirft.
+ * - Kennzahlen: Jeder Aufruf liefert {@link BatchPlanningStats} inklusive Durchsatz.
+ *
+ * @author uhxch
+ * @version 1.0
+ */
+@Service
+public class BatchPlanningService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(BatchPlanningService.class);
+
+    private final PlanningPipeline planningPipeline;
+    private final TaskRepository taskRepository;
+    private final PlanningBatchCheckpointRepository checkpointRepository;
+    private final boolean enabled;
+    private final int pageSize;
+    private final Duration maxRunDuration;
+
+    private final AtomicBoolean running = new AtomicBoolean(false);
+    private volatile BatchPlanningStats lastRunStats;
+
+    /**
+     * Konstruktor mit Dependency Injection.
+     *
+     * @param planningPipeline     die Pipeline, welche die Nutzer einer Seite plant
+     * @param taskRepository       das Repository zur Bestimmung der Nutzer mit Aufgaben
+     * @param checkpointRepository das Repository für den Fortschritt der Läufe
+     * @param enabled              ob der zeitgesteuerte Lauf aktiv ist
+     * @param pageSize             Anzahl der Nutzer pro Checkpoint-Seite
+     * @param maxRunMinutes        maximale Laufzeit eines Aufrufs in Minuten, danach wird pausiert
+     */
+    public BatchPlanningService(PlanningPipeline planningPipeline,
+                                TaskRepository taskRepository,
+                                PlanningBatchCheckpointRepository checkpointRepository,
+                                @Value("${planning.batch.enabled}") boolean enabled,
+                                @Value("${planning.batch.page-size}") int pageSize,
+                                @Value("${planning.batch.max-run-minutes}") long maxRunMinutes) {
+        this.planningPipeline = planningPipeline;
+        this.taskRepository = taskRepository;
+        this.checkpointRepository = checkpointRepository;
+        this.enabled = enabled;
+        this.pageSize = Math.max(1, pageSize);
+        this.maxRunDuration = Duration.ofMinutes(maxRunMinutes);
+    }
+
+    /**
+     * Zeitgesteuerter Einstiegspunkt. Wird zu Wochenbeginn im Off-Peak-Fenster mehrfach ausgelöst und
+     * setzt den Lauf des aktuellen Tages fort, solange dieser noch nicht abgeschlossen ist.
+     */
+    @Scheduled(cron = "${planning.batch.cron}")
+    public void runScheduledBatch() {
+        if (enabled) {
+            runBatch();
+        }
+    }
+
+    /**
+     * Führt den Batch-Lauf des aktuellen Tages aus oder setzt ihn fort.
+     * Läuft bereits ein Batch, kehrt der Aufruf sofort zurück.
+     *
+     * @return die Kennzahlen dieses Aufrufs oder die des letzten Aufrufs, falls nichts zu tun war.
+     */
+    public BatchPlanningStats runBatch() {
+        if (!running.compareAndSet(false, true)) {
+            LOGGER.info("Batch-Planung läuft bereits, Aufruf wird übersprungen.");
+            return lastRunStats;
+        }
+        try {
+            BatchPlanningStats stats = executeRun(LocalDate.now());
+            if (stats != null) {
+                lastRunStats = stats;
+                LOGGER.info("Batch-Planung beendet: {}", stats);
+            }
+            return lastRunStats;
+        } finally {
+            running.set(false);
+        }
+    }
+
+    /** @return die Kennzahlen des letzten Aufrufs oder null, falls noch keiner stattfand. */
+    public BatchPlanningStats getLastRunStats() {
+        return lastRunStats;
+    }
+
+    private BatchPlanningStats executeRun(LocalDate runDate) {
+        PlanningBatchCheckpoint checkpoint = checkpointRepository.findById(runDate)
+                .orElseGet(() -> new PlanningBatchCheckpoint(runDate));
+        if (checkpoint.isCompleted()) {
+            return null;
+        }
+        boolean resumed = checkpoint.getLastUserId() != null;
+        List<UUID> userIds = loadPendingUserIds(checkpoint.getLastUserId());
+
+        Instant startedAt = Instant.now();
+        Instant deadline = startedAt.plus(maxRunDuration);
+        int planned = 0;
+        int skipped = 0;
+        int failed = 0;
+        boolean interrupted = false;
+
+        for (int from = 0; from < userIds.size(); from += pageSize) {
+            if (Instant.now().isAfter(deadline) || Thread.currentThread().isInterrupted()) {
+                interrupted = true;
+                break;
+            }
+            List<UUID> page = userIds.subList(from, Math.min(from + pageSize, userIds.size()));
+            List<UUID> activeUsers = page.stream().filter(this::hasActiveTasks).toList();
+            skipped += page.size() - activeUsers.size();
+
+            PlanningPipelineResult pageResult = planningPipeline.run(activeUsers);
+            planned += pageResult.getPlannedUsers();
+            failed += pageResult.getFailedUsers();
+            checkpoint.advance(page.get(page.size() - 1), pageResult.getPlannedUsers(), pageResult.getFailedUsers());
+            checkpointRepository.save(checkpoint);
+        }
+        if (!interrupted) {
+            checkpoint.markCompleted();
+            checkpointRepository.save(checkpoint);
+        }
+
+        Duration duration = Duration.between(startedAt, Instant.now());
+        return new BatchPlanningStats(runDate, userIds.size(), planned, skipped, failed, duration,
+                resumed, !interrupted);
+    }
+
+    /**
+     * Lädt alle Nutzer mit Aufgaben in stabiler Reihenfolge und verwirft die bereits bearbeiteten.
+     */
+    private List<UUID> loadPendingUserIds(UUID cursor) {
+        List<UUID> userIds = new ArrayList<>(taskRepository.findDistinctUserIdsWithTasks());
+        userIds.sort(UUID::compareTo);
+        if (cursor == null) {
+            return userIds;
+        }
+        return userIds.stream().filter(id -> id.compareTo(cursor) > 0).toList();
+    }
+
+    /**
+     * Prüft, ob ein Nutzer aktive Aufgaben besitzt. Nutzer ohne aktive Aufgaben werden übersprungen,
+     * damit ihr bestehender Plan unangetastet bleibt. Die Prüfung erfolgt per Abfrage, die Aufgaben
+     * selbst lädt erst die Pipeline.
+     */
+    private boolean hasActiveTasks(UUID userId) {
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            return taskRepository.existsActiveTaskByUserId(userId, now.toLocalDate(), now);
+        } catch (Exception e) {
+            LOGGER.warn("Aufgaben von Nutzer {} konnten nicht geladen werden: {}", userId, e.getMessage());
+            return false;
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package de.pse.oys.service.planning;
+
+import java.time.Duration;
+import java.time.LocalDate;
+
+/**
+ * BatchPlanningStats – Unveränderliche Kennzahlen eines Batch-Planungslaufs.
+ *
+ * @author uhxch
+ * @version 1.0
+ */
+public class BatchPlanningStats {
+
+    private static final double MILLIS_PER_SECOND = 1000.0;
+
+    private final LocalDate runDate;
+    private final int candidateUsers;
+    private final int plannedUsers;
+    private final int skippedUsers;
+    private final int failedUsers;
+    private final Duration duration;
+    private final boolean resumed;
+    private final boolean completed;
+
+    /**
+     * Erzeugt die Kennzahlen eines Laufs.
+     *
+     * @param runDate        Der Kalendertag des Laufs.
+     * @param candidateUsers Anzahl der in diesem Aufruf zu bearbeitenden Nutzer.
+     * @param plannedUsers   Anzahl der erfolgreich geplanten Nutzer.
+     * @param skippedUsers   Anzahl der übersprungenen Nutzer (keine aktiven Aufgaben).
+     * @param failedUsers    Anzahl der Nutzer, deren Planung fehlgeschlagen ist.
+     * @param duration       Die Laufzeit dieses Aufrufs.
+     * @param resumed        true, wenn ein zuvor abgebrochener Lauf fortgesetzt wurde.
+     * @param completed      true, wenn alle Nutzer des Tages abgearbeitet sind.
+     */
+    public BatchPlanningStats(LocalDate runDate, int candidateUsers, int plannedUsers, int skippedUsers,
+                              int failedUsers, Duration duration, boolean resumed, boolean completed) {
+        this.runDate = runDate;
+        this.candidateUsers = candidateUsers;
+        this.plannedUsers = plannedUsers;
+        this.skippedUsers = skippedUsers;
+        this.failedUsers = failedUsers;
+        this.duration = duration;
+        this.resumed = resumed;
+        this.completed = completed;
+    }
+
+    /**
+     * Berechnet den Durchsatz dieses Aufrufs.
+     *
+     * @return bearbeitete Nutzer (geplant, übersprungen oder fehlgeschlagen) pro Sekunde.
+     */
+    public double getUsersPerSecond() {
+        long millis = duration.toMillis();
+        if (millis <= 0) {
+            return 0.0;
+        }
+        return getProcessedUsers() * MILLIS_PER_SECOND / millis;
+    }
+
+    /** @return Anzahl der in diesem Aufruf bearbeiteten Nutzer. */
+    public int getProcessedUsers() {
+        return plannedUsers + skippedUsers + failedUsers;
+    }
+
+    /** @return Der Kalendertag des Laufs. */
+    public LocalDate getRunDate() { return runDate; }
+
+    /** @return Anzahl der in diesem Aufruf zu bearbeitenden Nutzer. */
+    public int getCandidateUsers() { return candidateUsers; }
+
+    /** @return Anzahl der erfolgreich geplanten Nutzer. */
+    public int getPlannedUsers() { return plannedUsers; }
+
+    /** @return Anzahl der übersprungenen Nutzer. */
+    public int getSkippedUsers() { return skippedUsers; }
+
+    /** @return Anzahl der fehlgeschlagenen Nutzer. */
+    public int getFailedUsers() { return failedUsers; }
+
+    /** @return Die Laufzeit dieses Aufrufs. */
+    public Duration getDuration() { return duration; }
+
+    /** @return true, wenn ein zuvor abgebrochener Lauf fortgesetzt wurde. */
+    public boolean isResumed() { return resumed; }
+
+    /** @return true, wenn alle Nutzer des Tages abgearbeitet sind. */
+    public boolean isCompleted() { return completed; }
+
+    @Override
+    public String toString() {
+        return String.format("runDate=%s, candidates=%d, planned=%d, skipped=%d, failed=%d, duration=%dms, "
+                        + "throughput=%.2f users/s, resumed=%b, completed=%b",
+                runDate, candidateUsers, plannedUsers, skippedUsers, failedUsers, duration.toMillis(),
+                getUsersPerSecond(), resumed, completed);
+    }
+}
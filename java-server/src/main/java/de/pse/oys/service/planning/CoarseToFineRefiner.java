@@ -0,0 +1,121 @@
+package de.pse.oys.service.planning;
+
+import de.pse.oys.dto.plan.PlanningRequestDTO;
+import de.pse.oys.dto.plan.PlanningResponseDTO;
+import de.pse.oys.dto.plan.PlanningTaskDTO;
+import de.pse.oys.dto.plan.SlotRangeDTO;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * CoarseToFineRefiner – Zerlegt eine Planungsanfrage in zwei kleinere Solver-Läufe.
+ * Im groben Lauf darf jeder Chunk nur auf einem Raster (z. B. alle 30 Minuten) starten; damit werden
+ * Tag und ungefähre Lage festgelegt. Im feinen Lauf wird jeder Chunk slotgenau, aber nur in einem
+ * schmalen Fenster um seine grobe Platzierung neu gesetzt. Beide Läufe arbeiten ausschließlich auf den
+ * vom Backend berechneten Startbereichen samt Fensterkosten.
+ *
+ * @author uhxch
+ * @version 1.0
+ */
+public class CoarseToFineRefiner {
+
+    private final int coarseStep;
+    private final int refineWindow;
+
+    /**
+     * Erzeugt einen Refiner.
+     *
+     * @param coarseStep   Der Abstand der Rasterpunkte im groben Lauf in Slots.
+     * @param refineWindow Die maximale Verschiebung gegenüber der groben Platzierung im feinen Lauf in Slots.
+     */
+    public CoarseToFineRefiner(int coarseStep, int refineWindow) {
+        this.coarseStep = Math.max(1, coarseStep);
+        this.refineWindow = Math.max(0, refineWindow);
+    }
+
+    /**
+     * Prüft, ob sich die Anfrage zerlegen lässt. Dafür braucht jeder Chunk einen Startbereich.
+     *
+     * @param request Die vollständige Anfrage.
+     * @return true, wenn alle Chunks einen Startbereich besitzen.
+     */
+    public boolean supports(PlanningRequestDTO request) {
+        return !request.getTasks().isEmpty()
+                && request.getTasks().stream().allMatch(task -> task.getDomain() != null);
+    }
+
+    /**
+     * Baut die Anfrage für den groben Lauf: Jeder Startbereich wird auf die Rasterpunkte reduziert.
+     *
+     * @param request Die vollständige Anfrage.
+     * @return die Anfrage mit ausgedünnten Startbereichen.
+     */
+    public PlanningRequestDTO coarsen(PlanningRequestDTO request) {
+        List<PlanningTaskDTO> tasks = new ArrayList<>();
+        for (PlanningTaskDTO task : request.getTasks()) {
+            List<SlotRangeDTO> domain = new ArrayList<>();
+            for (SlotRangeDTO range : task.getDomain()) {
+                int gridStart = ((range.getFrom() + coarseStep - 1) / coarseStep) * coarseStep;
+                for (int start = gridStart; start <= range.getTo(); start += coarseStep) {
+                    domain.add(slice(range, start, start));
+                }
+            }
+            Integer hint = task.getHint() != null && task.getHint() % coarseStep == 0 ? task.getHint() : null;
+            tasks.add(copyWith(task, hint, domain));
+        }
+        return copyWith(request, tasks);
+    }
+
+    /**
+     * Baut die Anfrage für den feinen Lauf: Jeder Chunk darf nur noch im Fenster um seine grobe
+     * Platzierung starten, die zugleich als Warmstart-Hinweis dient.
+     *
+     * @param request       Die vollständige Anfrage.
+     * @param coarseResults Das Ergebnis des groben Laufs.
+     * @return die Anfrage mit eingeengten Startbereichen.
+     */
+    public PlanningRequestDTO refine(PlanningRequestDTO request, List<PlanningResponseDTO> coarseResults) {
+        Map<String, Integer> coarseStarts = new HashMap<>();
+        for (PlanningResponseDTO result : coarseResults) {
+            coarseStarts.put(result.getId(), result.getStart());
+        }
+        List<PlanningTaskDTO> tasks = new ArrayList<>();
+        for (PlanningTaskDTO task : request.getTasks()) {
+            Integer coarseStart = coarseStarts.get(task.getId());
+            if (coarseStart == null) {
+                tasks.add(task);
+                continue;
+            }
+            List<SlotRangeDTO> domain = new ArrayList<>();
+            for (SlotRangeDTO range : task.getDomain()) {
+                int from = Math.max(range.getFrom(), coarseStart - refineWindow);
+                int to = Math.min(range.getTo(), coarseStart + refineWindow);
+                if (from <= to) {
+                    domain.add(slice(range, from, to));
+                }
+            }
+            tasks.add(copyWith(task, coarseStart, domain));
+        }
+        return copyWith(request, tasks);
+    }
+
+    private static SlotRangeDTO slice(SlotRangeDTO range, int from, int to) {
+        List<Integer> costs = range.getCosts() == null
+                ? null
+                : new ArrayList<>(range.getCosts().subList(from - range.getFrom(), to - range.getFrom() + 1));
+        return new SlotRangeDTO(from, to, costs);
+    }
+
+    private static PlanningTaskDTO copyWith(PlanningTaskDTO task, Integer hint, List<SlotRangeDTO> domain) {
+        return new PlanningTaskDTO(task.getId(), task.getDuration(), task.getStart(), task.getDeadline(),
+                task.getCosts(), hint, domain);
+    }
+
+    private static PlanningRequestDTO copyWith(PlanningRequestDTO request, List<PlanningTaskDTO> tasks) {
+        return new PlanningRequestDTO(request.getHorizon(), request.getCurrentSlot(), request.getBlockedDays(),
+                request.getPreferenceTime(), request.getFixedBlocks(), tasks);
+    }
+}
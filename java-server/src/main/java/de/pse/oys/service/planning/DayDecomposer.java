@@ -0,0 +1,138 @@
+package de.pse.oys.service.planning;
+
+import de.pse.oys.dto.plan.PlanningRequestDTO;
+import de.pse.oys.dto.plan.PlanningTaskDTO;
+import de.pse.oys.dto.plan.SlotRangeDTO;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * DayDecomposer – Zerlegt eine Planungsanfrage in unabhängige Teilprobleme je Tag.
+ * Da Nächte die freien Bereiche trennen, liegt jeder zulässige Start samt Chunk innerhalb eines Tages.
+ * Ein leichtgewichtiger Master-Schritt verteilt die Chunks nach Deadline auf Tage: Jeder Chunk kommt
+ * auf den Tag mit seinem günstigsten Startfenster, an dem noch genug freie Kapazität übrig ist.
+ * Die Teilprobleme teilen danach keine Slots mehr und können parallel gelöst werden.
+ *
+ * @author uhxch
+ * @version 1.0
+ */
+public class DayDecomposer {
+
+    private static final int SLOTS_PER_DAY = 288;
+
+    /**
+     * Prüft, ob sich die Anfrage zerlegen lässt. Dafür braucht jeder Chunk einen Startbereich.
+     *
+     * @param request Die vollständige Anfrage.
+     * @return true, wenn alle Chunks einen Startbereich besitzen.
+     */
+    public boolean supports(PlanningRequestDTO request) {
+        return !request.getTasks().isEmpty()
+                && request.getTasks().stream().allMatch(task -> task.getDomain() != null);
+    }
+
+    /**
+     * Verteilt die Chunks auf Tage und baut je Tag eine eigene Anfrage.
+     *
+     * @param request Die vollständige Anfrage.
+     * @return die Teilanfragen je Tag in aufsteigender Reihenfolge, leer wenn sich nicht alle Chunks
+     *         verteilen lassen.
+     */
+    public Map<Integer, PlanningRequestDTO> split(PlanningRequestDTO request) {
+        Map<Integer, Integer> remainingCapacity = dayCapacities(request);
+        Map<Integer, List<PlanningTaskDTO>> tasksPerDay = new TreeMap<>();
+
+        List<PlanningTaskDTO> byDeadline = new ArrayList<>(request.getTasks());
+        byDeadline.sort(Comparator.comparingInt(PlanningTaskDTO::getDeadline).thenComparing(PlanningTaskDTO::getId));
+
+        for (PlanningTaskDTO task : byDeadline) {
+            Map<Integer, List<SlotRangeDTO>> domainPerDay = domainPerDay(task.getDomain());
+            Integer chosenDay = null;
+            int chosenCost = Integer.MAX_VALUE;
+            for (Map.Entry<Integer, List<SlotRangeDTO>> entry : domainPerDay.entrySet()) {
+                int day = entry.getKey();
+                int remaining = remainingCapacity.getOrDefault(day, 0);
+                if (remaining < task.getDuration()) {
+                    continue;
+                }
+                int cost = bestCost(entry.getValue());
+                if (chosenDay == null || cost < chosenCost
+                        || (cost == chosenCost && remaining > remainingCapacity.get(chosenDay))) {
+                    chosenDay = day;
+                    chosenCost = cost;
+                }
+            }
+            if (chosenDay == null) {
+                return Map.of();
+            }
+            remainingCapacity.merge(chosenDay, -task.getDuration(), Integer::sum);
+            List<SlotRangeDTO> dayDomain = domainPerDay.get(chosenDay);
+            Integer hint = task.getHint() != null && task.getHint() / SLOTS_PER_DAY == chosenDay ? task.getHint() : null;
+            tasksPerDay.computeIfAbsent(chosenDay, d -> new ArrayList<>())
+                    .add(new PlanningTaskDTO(task.getId(), task.getDuration(), task.getStart(), task.getDeadline(),
+                            task.getCosts(), hint, dayDomain));
+        }
+
+        Map<Integer, PlanningRequestDTO> requests = new TreeMap<>();
+        tasksPerDay.forEach((day, tasks) -> requests.put(day, new PlanningRequestDTO(request.getHorizon(),
+                request.getCurrentSlot(), request.getBlockedDays(), request.getPreferenceTime(),
+                request.getFixedBlocks(), tasks)));
+        return requests;
+    }
+
+    /**
+     * Schätzt die freie Kapazität je Tag als Anzahl der Slots, die irgendein Chunk belegen darf.
+     */
+    private static Map<Integer, Integer> dayCapacities(PlanningRequestDTO request) {
+        boolean[] usable = new boolean[Math.max(0, request.getHorizon())];
+        for (PlanningTaskDTO task : request.getTasks()) {
+            for (SlotRangeDTO range : task.getDomain()) {
+                int end = Math.min(usable.length, range.getTo() + task.getDuration());
+                for (int slot = Math.max(0, range.getFrom()); slot < end; slot++) {
+                    usable[slot] = true;
+                }
+            }
+        }
+        Map<Integer, Integer> capacities = new HashMap<>();
+        for (int slot = 0; slot < usable.length; slot++) {
+            if (usable[slot]) {
+                capacities.merge(slot / SLOTS_PER_DAY, 1, Integer::sum);
+            }
+        }
+        return capacities;
+    }
+
+    private static Map<Integer, List<SlotRangeDTO>> domainPerDay(List<SlotRangeDTO> domain) {
+        Map<Integer, List<SlotRangeDTO>> perDay = new TreeMap<>();
+        for (SlotRangeDTO range : domain) {
+            int from = range.getFrom();
+            while (from <= range.getTo()) {
+                int day = from / SLOTS_PER_DAY;
+                int to = Math.min(range.getTo(), (day + 1) * SLOTS_PER_DAY - 1);
+                List<Integer> costs = range.getCosts() == null ? null
+                        : new ArrayList<>(range.getCosts().subList(from - range.getFrom(), to - range.getFrom() + 1));
+                perDay.computeIfAbsent(day, d -> new ArrayList<>()).add(new SlotRangeDTO(from, to, costs));
+                from = to + 1;
+            }
+        }
+        return perDay;
+    }
+
+    private static int bestCost(List<SlotRangeDTO> ranges) {
+        int best = Integer.MAX_VALUE;
+        for (SlotRangeDTO range : ranges) {
+            if (range.getCosts() == null) {
+                return 0;
+            }
+            for (int cost : range.getCosts()) {
+                best = Math.min(best, cost);
+            }
+        }
+        return best;
+    }
+}
@@ -0,0 +1,122 @@
+package de.pse.oys.service.planning;
+
+import de.pse.oys.dto.plan.PlanningRequestDTO;
+import de.pse.oys.dto.plan.PlanningResponseDTO;
+import de.pse.oys.dto.plan.PlanningTaskDTO;
+import de.pse.oys.dto.plan.SlotRangeDTO;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * GreedyPlanner – Platziert Chunks ohne Solver direkt in der JVM (Earliest-Deadline-First).
+ * Die Chunks werden nach Deadline abgearbeitet; jeder erhält den günstigsten noch freien Start aus
+ * seinem Startbereich. Feste Blöcke, Nächte und blockierte Tage sind in den Startbereichen bereits
+ * ausgeschlossen, die Fensterkosten liefert das Backend mit. Für kleine Eingaben spart das den
+ * Netzwerk-Roundtrip und den Modellaufbau des Solvers; bei Ausfall des Solvers dient er als Rückfall.
+ * Jedes Ergebnis wird vor der Rückgabe gegen dieselben Nebenbedingungen geprüft.
+ *
+ * @author uhxch
+ * @version 1.0
+ */
+public class GreedyPlanner {
+
+    /**
+     * Plant alle Chunks der Anfrage.
+     *
+     * @param request Die Planungsanfrage mit Startbereichen je Chunk.
+     * @return die Platzierungen aller Chunks, leer wenn nicht alle Chunks platziert werden konnten
+     *         oder ein Chunk keinen Startbereich besitzt.
+     */
+    public List<PlanningResponseDTO> plan(PlanningRequestDTO request) {
+        List<PlanningTaskDTO> tasks = new ArrayList<>(request.getTasks());
+        if (tasks.isEmpty() || tasks.stream().anyMatch(task -> task.getDomain() == null)) {
+            return Collections.emptyList();
+        }
+        tasks.sort(Comparator.comparingInt(PlanningTaskDTO::getDeadline)
+                .thenComparingInt(GreedyPlanner::startCount)
+                .thenComparing(PlanningTaskDTO::getId));
+
+        boolean[] occupied = new boolean[Math.max(0, request.getHorizon())];
+        List<PlanningResponseDTO> results = new ArrayList<>();
+        for (PlanningTaskDTO task : tasks) {
+            int bestStart = -1;
+            int bestCost = Integer.MAX_VALUE;
+            for (SlotRangeDTO range : task.getDomain()) {
+                for (int start = range.getFrom(); start <= range.getTo(); start++) {
+                    int cost = range.getCosts() == null ? 0 : range.getCosts().get(start - range.getFrom());
+                    if (cost < bestCost && isFree(occupied, start, task.getDuration())) {
+                        bestStart = start;
+                        bestCost = cost;
+                    }
+                }
+            }
+            if (bestStart < 0) {
+                return Collections.emptyList();
+            }
+            for (int slot = bestStart; slot < bestStart + task.getDuration(); slot++) {
+                occupied[slot] = true;
+            }
+            results.add(new PlanningResponseDTO(task.getId(), bestStart, bestStart + task.getDuration()));
+        }
+        return isValid(request, results) ? results : Collections.emptyList();
+    }
+
+    /**
+     * Prüft Platzierungen gegen die Nebenbedingungen der Anfrage: Jeder Chunk ist genau einmal
+     * platziert, startet in seinem Startbereich, endet vor seiner Deadline und überlappt keinen anderen.
+     *
+     * @param request Die Planungsanfrage.
+     * @param results Die zu prüfenden Platzierungen.
+     * @return true, wenn alle Nebenbedingungen erfüllt sind.
+     */
+    public boolean isValid(PlanningRequestDTO request, List<PlanningResponseDTO> results) {
+        Map<String, PlanningTaskDTO> tasksById = new HashMap<>();
+        request.getTasks().forEach(task -> tasksById.put(task.getId(), task));
+        if (results.size() != tasksById.size()) {
+            return false;
+        }
+        boolean[] occupied = new boolean[Math.max(0, request.getHorizon())];
+        for (PlanningResponseDTO result : results) {
+            PlanningTaskDTO task = tasksById.remove(result.getId());
+            if (task == null
+                    || result.getEnd() - result.getStart() != task.getDuration()
+                    || result.getEnd() > Math.min(task.getDeadline(), request.getHorizon())
+                    || !inDomain(task, result.getStart())
+                    || !isFree(occupied, result.getStart(), task.getDuration())) {
+                return false;
+            }
+            for (int slot = result.getStart(); slot < result.getEnd(); slot++) {
+                occupied[slot] = true;
+            }
+        }
+        return true;
+    }
+
+    private static boolean inDomain(PlanningTaskDTO task, int start) {
+        if (task.getDomain() == null) {
+            return start >= Math.max(0, task.getStart());
+        }
+        return task.getDomain().stream().anyMatch(range -> range.getFrom() <= start && start <= range.getTo());
+    }
+
+    private static boolean isFree(boolean[] occupied, int start, int duration) {
+        if (start < 0 || start + duration > occupied.length) {
+            return false;
+        }
+        for (int slot = start; slot < start + duration; slot++) {
+            if (occupied[slot]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int startCount(PlanningTaskDTO task) {
+        return task.getDomain().stream().mapToInt(SlotRangeDTO::size).sum();
+    }
+}
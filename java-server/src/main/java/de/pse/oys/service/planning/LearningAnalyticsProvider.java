@@ -10,6 +10,8 @@ import de.pse.oys.domain.enums.ConcentrationLevel;
 import de.pse.oys.dto.CostDTO;
 import de.pse.oys.persistence.CostMatrixRepository;
 import de.pse.oys.persistence.TaskRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
@@ -26,6 +28,8 @@ import java.util.*;
  */
 @Service
 public class LearningAnalyticsProvider {
+    private static final Logger LOGGER = LoggerFactory.getLogger(LearningAnalyticsProvider.class);
+
     private static final double CONCENTRATION_WEIGHT = 1.5;
     private static final int COST_INVERSION_FACTOR = -1;
 
@@ -65,6 +69,7 @@ public class LearningAnalyticsProvider {
     private final CostMatrixRepository costMatrixRepository;
     private final ObjectMapper objectMapper;
     private final TaskRepository taskRepository;
+    private final PlanningMetrics planningMetrics;
 
 
     /**
@@ -72,12 +77,14 @@ public class LearningAnalyticsProvider {
      * @param costMatrixRepository das Repository für den Zugriff auf CostMatrix-Entitäten in der Datenbank.
      * @param objectMapper die Jackson ObjectMapper-Instanz für die JSON-Verarbeitung von Kosten-Daten.
      * @param taskRepository das Repository für den Zugriff auf Task-Entitäten, benötigt für die Persistierung von Änderungen.
+     * @param planningMetrics die Messwerte, in denen die Dauer des Lesens der Kostenmatrizen erfasst wird.
      */
     public LearningAnalyticsProvider(CostMatrixRepository costMatrixRepository, ObjectMapper objectMapper,
-                                     TaskRepository taskRepository) {
+                                     TaskRepository taskRepository, PlanningMetrics planningMetrics) {
         this.costMatrixRepository = costMatrixRepository;
         this.objectMapper = objectMapper;
         this.taskRepository = taskRepository;
+        this.planningMetrics = planningMetrics;
     }
 
     /**
@@ -112,18 +119,26 @@ public class LearningAnalyticsProvider {
         if (jsonCosts == null || jsonCosts.isEmpty()) {
             return Collections.emptyList();
         }
+        long startedAt = System.nanoTime();
         try {
             return objectMapper.readValue(jsonCosts, new TypeReference<List<CostDTO>>() {
             });
         } catch (Exception e) {
-
-            System.err.println("Fehler beim Lesen der Kosten-Daten: " + e.getMessage());
+            LOGGER.warn("Fehler beim Lesen der Kosten-Daten: {}", e.getMessage());
             return Collections.emptyList();
+        } finally {
+            planningMetrics.recordCostMatrixParse(System.nanoTime() - startedAt);
         }
 
     }
 
-    private List<CostDTO> calculateCostsFromRatings(Task task) {
+    /**
+     * Berechnet die Kosten je Slot aus den bewerteten Lerneinheiten einer Task und speichert sie in deren Kostenmatrix.
+     * Paketsichtbar, damit der {@code LearningAnalyticsProviderBenchmark} die Auswertung der Bewertungen direkt misst.
+     * @param task Die Task, deren bewertete Lerneinheiten ausgewertet werden.
+     * @return Die Kosten je Startslot der bewerteten Einheiten, leer ohne Lerneinheiten.
+     */
+    List<CostDTO> calculateCostsFromRatings(Task task) {
         List<CostDTO> costs = new ArrayList<>();
         List<LearningUnit> units = task.getLearningUnits();
 
@@ -162,7 +177,7 @@ public class LearningAnalyticsProvider {
             costMatrix.setCosts(jsonCosts);
             costMatrixRepository.save(costMatrix);
         } catch (Exception e) {
-            System.err.println("Fehler beim Speichern der Kosten-Daten: " + e.getMessage());
+            LOGGER.warn("Fehler beim Speichern der Kosten-Daten: {}", e.getMessage());
         }
 
 
@@ -183,7 +198,13 @@ public class LearningAnalyticsProvider {
         return ACHIEVEMENT_MAP.getOrDefault(level, VAL_ACHIEVEMENT_DEFAULT);
     }
 
-    private List<CostDTO> calculateHeuristiksFromTask(Task currentTask) {
+    /**
+     * Übernimmt als Schätzung die Kosten einer anderen Task desselben Moduls und derselben Kategorie.
+     * Nicht privat, weil der Benchmark die Suche über die Tasks eines großen Moduls isoliert misst.
+     * @param currentTask Die Task, für die noch keine eigenen Kosten vorliegen.
+     * @return Die Kosten der ersten passenden Task oder eine leere Liste, falls es keine gibt.
+     */
+    List<CostDTO> calculateHeuristiksFromTask(Task currentTask) {
         Module module = currentTask.getModule();
         if (module == null) {
             return Collections.emptyList();
@@ -252,7 +273,7 @@ public class LearningAnalyticsProvider {
                 taskRepository.save(task);
             }
         } catch (Exception e) {
-            System.err.println("Fehler beim Speichern der Kosten-Daten oder der Task: " + e.getMessage());
+            LOGGER.warn("Fehler beim Speichern der Kosten-Daten oder der Task: {}", e.getMessage());
         }
 
     }
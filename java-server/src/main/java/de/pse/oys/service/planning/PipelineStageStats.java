@@ -0,0 +1,84 @@
+package de.pse.oys.service.planning;
+
+/**
+ * PipelineStageStats – Unveränderliche Momentaufnahme der Kennzahlen einer Stufe der {@link PlanningPipeline}.
+ *
+ * @author uhxch
+ * @version 1.0
+ */
+public class PipelineStageStats {
+
+    private static final double NANOS_PER_SECOND = 1_000_000_000.0;
+    private static final long NANOS_PER_MILLI = 1_000_000L;
+
+    private final String stage;
+    private final int workers;
+    private final long processed;
+    private final long failed;
+    private final long busyNanos;
+    private final int queueDepth;
+    private final int maxQueueDepth;
+
+    /**
+     * Erzeugt eine Momentaufnahme.
+     *
+     * @param stage         Der Name der Stufe.
+     * @param workers       Anzahl der Worker-Threads der Stufe.
+     * @param processed     Anzahl der erfolgreich bearbeiteten Nutzer.
+     * @param failed        Anzahl der Nutzer, bei denen die Stufe fehlgeschlagen ist.
+     * @param busyNanos     Summierte Bearbeitungszeit aller Worker in Nanosekunden.
+     * @param queueDepth    Aktuelle Anzahl wartender Aufträge.
+     * @param maxQueueDepth Höchste beobachtete Anzahl wartender Aufträge.
+     */
+    public PipelineStageStats(String stage, int workers, long processed, long failed, long busyNanos,
+                              int queueDepth, int maxQueueDepth) {
+        this.stage = stage;
+        this.workers = workers;
+        this.processed = processed;
+        this.failed = failed;
+        this.busyNanos = busyNanos;
+        this.queueDepth = queueDepth;
+        this.maxQueueDepth = maxQueueDepth;
+    }
+
+    /**
+     * Berechnet den Durchsatz der Stufe, wenn alle Worker ausgelastet sind.
+     *
+     * @return bearbeitete Nutzer pro Sekunde bezogen auf die Bearbeitungszeit, 0 ohne Messwerte.
+     */
+    public double getThroughputPerSecond() {
+        if (busyNanos <= 0) {
+            return 0.0;
+        }
+        return (processed + failed) * NANOS_PER_SECOND * workers / busyNanos;
+    }
+
+    /** @return Der Name der Stufe. */
+    public String getStage() { return stage; }
+
+    /** @return Anzahl der Worker-Threads der Stufe. */
+    public int getWorkers() { return workers; }
+
+    /** @return Anzahl der erfolgreich bearbeiteten Nutzer. */
+    public long getProcessed() { return processed; }
+
+    /** @return Anzahl der Nutzer, bei denen die Stufe fehlgeschlagen ist. */
+    public long getFailed() { return failed; }
+
+    /** @return Summierte Bearbeitungszeit aller Worker in Millisekunden. */
+    public long getBusyMillis() { return busyNanos / NANOS_PER_MILLI; }
+
+    /** @return Aktuelle Anzahl wartender Aufträge. */
+    public int getQueueDepth() { return queueDepth; }
+
+    /** @return Höchste beobachtete Anzahl wartender Aufträge. */
+    public int getMaxQueueDepth() { return maxQueueDepth; }
+
+    @Override
+    public String toString() {
+        return String.format("%s[workers=%d, processed=%d, failed=%d, busy=%dms, throughput=%.2f users/s, "
+                        + "queue=%d, maxQueue=%d]",
+                stage, workers, processed, failed, getBusyMillis(), getThroughputPerSecond(),
+                queueDepth, maxQueueDepth);
+    }
+}
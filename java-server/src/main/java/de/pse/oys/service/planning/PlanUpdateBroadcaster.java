@@ -0,0 +1,234 @@
+package de.pse.oys.service.planning;
+
+import de.pse.oys.domain.enums.DataCollection;
+import de.pse.oys.dto.UnitDTO;
+import de.pse.oys.dto.controller.WrapperDTO;
+import de.pse.oys.dto.response.SyncCollectionDTO;
+import de.pse.oys.service.DataChangedEvent;
+import de.pse.oys.service.LearningUnitService;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Verteilt Änderungen an den Lerneinheiten eines Nutzers als Server-Sent Events an seine offenen Verbindungen.
+ *
+ * <p>Die Verbindungen liegen in einer nicht blockierenden Registry je Nutzer. Eine offene Verbindung belegt
+ * dank asynchroner Servlet-Verarbeitung keinen Thread, sondern nur den Emitter und eine kleine, begrenzte
+ * Warteschlange ({@link PlanUpdateSubscription}). Nach dem Commit einer Änderung werden die geänderten
+ * Einheiten auf einem eigenen Thread in Commit-Reihenfolge einmal geladen und an alle Verbindungen des Nutzers
+ * verteilt; das Senden übernimmt ein kleiner Dispatcher-Pool, sodass langsame Clients weder die Anfrage noch
+ * andere Verbindungen aufhalten.
+ * Ein regelmäßiger Heartbeat hält Verbindungen über Proxys offen und räumt abgebrochene Clients ab.</p>
+ *
+ * <p>Ereignisse tragen den Namen {@value #EVENT_NAME}, als ID den Zählerstand der Lerneinheiten und als Daten
+ * ein {@link SyncCollectionDTO} mit den geänderten Einheiten und den gelöschten IDs. Ist {@code full} gesetzt,
+ * gleicht der Client seine Einheiten über {@code /api/v1/sync} oder {@code /api/v1/plan/units} neu ab.</p>
+ *
+ * @author uhxch
+ * @version 1.0
+ */
+@Service
+public class PlanUpdateBroadcaster {
+
+    /** Name der Ereignisse mit geänderten Lerneinheiten. */
+    public static final String EVENT_NAME = "plan-changed";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PlanUpdateBroadcaster.class);
+    private static final String HEARTBEAT_COMMENT = "heartbeat";
+
+    private final LearningUnitService learningUnitService;
+    private final long connectionTimeoutMs;
+    private final int queueCapacity;
+    private final int maxConnectionsPerUser;
+    private final ExecutorService loader;
+    private final ExecutorService dispatcher;
+
+    private final Map<UUID, List<PlanUpdateSubscription>> subscriptions = new ConcurrentHashMap<>();
+    private final AtomicInteger connectionCount = new AtomicInteger();
+
+    /**
+     * Konstruktor mit Dependency Injection.
+     *
+     * @param learningUnitService   Service zum Laden der geänderten Lerneinheiten
+     * @param connectionTimeoutMs   Lebensdauer einer Verbindung, danach verbindet sich der Client neu
+     * @param queueCapacity         maximale Anzahl ausstehender Ereignisse je Verbindung
+     * @param maxConnectionsPerUser maximale Anzahl gleichzeitiger Verbindungen je Nutzer
+     * @param dispatcherThreads     Anzahl der Threads, die Ereignisse senden
+     */
+    public PlanUpdateBroadcaster(LearningUnitService learningUnitService,
+                                 @Value("${plan.events.timeout-ms}") long connectionTimeoutMs,
+                                 @Value("${plan.events.queue-capacity}") int queueCapacity,
+                                 @Value("${plan.events.max-connections-per-user}") int maxConnectionsPerUser,
+                                 @Value("${plan.events.dispatcher-threads}") int dispatcherThreads) {
+        this.learningUnitService = learningUnitService;
+        this.connectionTimeoutMs = connectionTimeoutMs;
+        this.queueCapacity = queueCapacity;
+        this.maxConnectionsPerUser = Math.max(1, maxConnectionsPerUser);
+        this.loader = Executors.newSingleThreadExecutor(runnable -> daemonThread(runnable, "plan-events-loader"));
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.dispatcher = Executors.newFixedThreadPool(Math.max(1, dispatcherThreads),
+                runnable -> daemonThread(runnable, "plan-events-" + threadIndex.incrementAndGet()));
+    }
+
+    /**
+     * Öffnet eine neue Verbindung für den Nutzer. Überschreitet der Nutzer die maximale Anzahl an
+     * Verbindungen, wird seine älteste Verbindung beendet.
+     *
+     * @param userId ID des Nutzers
+     * @return der Emitter, den der Controller als Antwort zurückgibt
+     */
+    public SseEmitter subscribe(UUID userId) {
+        SseEmitter emitter = new SseEmitter(connectionTimeoutMs);
+        PlanUpdateSubscription subscription = new PlanUpdateSubscription(userId, emitter, queueCapacity,
+                this::resyncEvent, dispatcher, this::unregister);
+
+        emitter.onCompletion(subscription::close);
+        emitter.onTimeout(subscription::close);
+        emitter.onError(error -> subscription.close());
+
+        List<PlanUpdateSubscription> userSubscriptions = subscriptions.compute(userId, (id, existing) -> {
+            List<PlanUpdateSubscription> list = existing != null ? existing : new CopyOnWriteArrayList<>();
+            list.add(subscription);
+            return list;
+        });
+        connectionCount.incrementAndGet();
+        while (userSubscriptions.size() > maxConnectionsPerUser) {
+            PlanUpdateSubscription oldest = userSubscriptions.get(0);
+            oldest.getEmitter().complete();
+            oldest.close();
+            userSubscriptions.remove(oldest);
+        }
+        // Erstes Ereignis, damit der Client und Proxys die Verbindung sofort als offen erkennen.
+        subscription.offer(SseEmitter.event().comment("connected"));
+        return emitter;
+    }
+
+    /**
+     * Verteilt eine festgeschriebene Änderung an den Lerneinheiten. Hat der Nutzer keine offene Verbindung,
+     * kehrt der Aufruf ohne weitere Arbeit zurück; andernfalls werden Laden und Senden an eigene Threads
+     * übergeben.
+     *
+     * @param event Die vermerkte Änderung.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDataChanged(DataChangedEvent event) {
+        if (event.getCollection() != DataCollection.UNITS || !subscriptions.containsKey(event.getUserId())) {
+            return;
+        }
+        try {
+            loader.execute(() -> broadcast(event));
+        } catch (RejectedExecutionException e) {
+            LOGGER.debug("Plan-Update für Nutzer {} verworfen, Dispatcher beendet.", event.getUserId());
+        }
+    }
+
+    /**
+     * Sendet allen Verbindungen ohne ausstehende Ereignisse einen Heartbeat.
+     */
+    @Scheduled(fixedDelayString = "${plan.events.heartbeat-ms}")
+    public void sendHeartbeats() {
+        for (List<PlanUpdateSubscription> userSubscriptions : subscriptions.values()) {
+            for (PlanUpdateSubscription subscription : userSubscriptions) {
+                subscription.offerHeartbeat(SseEmitter.event().comment(HEARTBEAT_COMMENT));
+            }
+        }
+    }
+
+    /** @return die Anzahl der offenen Verbindungen aller Nutzer. */
+    public int getConnectionCount() {
+        return connectionCount.get();
+    }
+
+    /**
+     * Beendet alle Verbindungen und den Dispatcher beim Herunterfahren der Anwendung.
+     */
+    @PreDestroy
+    public void shutdown() {
+        for (List<PlanUpdateSubscription> userSubscriptions : subscriptions.values()) {
+            for (PlanUpdateSubscription subscription : userSubscriptions) {
+                subscription.getEmitter().complete();
+                subscription.close();
+            }
+        }
+        loader.shutdownNow();
+        dispatcher.shutdownNow();
+    }
+
+    private void broadcast(DataChangedEvent event) {
+        List<PlanUpdateSubscription> userSubscriptions = subscriptions.get(event.getUserId());
+        if (userSubscriptions == null || userSubscriptions.isEmpty()) {
+            return;
+        }
+        SyncCollectionDTO<UnitDTO> diff;
+        try {
+            diff = event.isFull() ? new SyncCollectionDTO<>(true, List.of(), List.of()) : loadDiff(event);
+        } catch (RuntimeException e) {
+            // Ohne geladene Einheiten gleicht der Client seinen Stand selbst ab.
+            LOGGER.warn("Plan-Update für Nutzer {} konnte nicht geladen werden: {}", event.getUserId(), e.getMessage());
+            diff = new SyncCollectionDTO<>(true, List.of(), List.of());
+        }
+        for (PlanUpdateSubscription subscription : userSubscriptions) {
+            subscription.offer(SseEmitter.event()
+                    .name(EVENT_NAME)
+                    .id(Long.toString(event.getVersion()))
+                    .data(diff, MediaType.APPLICATION_JSON));
+        }
+    }
+
+    private SyncCollectionDTO<UnitDTO> loadDiff(DataChangedEvent event) {
+        List<WrapperDTO<UnitDTO>> changed = event.getChangedIds().isEmpty()
+                ? List.of()
+                : learningUnitService.getLearningUnitsByIds(event.getUserId(), event.getChangedIds());
+        List<UUID> deleted = new ArrayList<>(event.getDeletedIds());
+        // Inzwischen gelöschte Einheiten werden wie im Delta-Sync als gelöscht gemeldet.
+        Set<UUID> found = changed.stream().map(WrapperDTO::getId).collect(Collectors.toCollection(HashSet::new));
+        for (UUID id : event.getChangedIds()) {
+            if (!found.contains(id)) {
+                deleted.add(id);
+            }
+        }
+        return new SyncCollectionDTO<>(false, changed, deleted);
+    }
+
+    private SseEmitter.SseEventBuilder resyncEvent() {
+        return SseEmitter.event()
+                .name(EVENT_NAME)
+                .data(new SyncCollectionDTO<UnitDTO>(true, List.of(), List.of()), MediaType.APPLICATION_JSON);
+    }
+
+    private void unregister(PlanUpdateSubscription subscription) {
+        subscriptions.computeIfPresent(subscription.getUserId(), (id, userSubscriptions) -> {
+            if (userSubscriptions.remove(subscription)) {
+                connectionCount.decrementAndGet();
+            }
+            return userSubscriptions.isEmpty() ? null : userSubscriptions;
+        });
+    }
+
+    private static Thread daemonThread(Runnable runnable, String name) {
+        Thread thread = new Thread(runnable, name);
+        thread.setDaemon(true);
+        return thread;
+    }
+}
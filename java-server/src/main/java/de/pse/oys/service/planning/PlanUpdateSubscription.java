@@ -0,0 +1,140 @@
+package de.pse.oys.service.planning;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Eine offene SSE-Verbindung eines Nutzers für Plan-Updates.
+ * Ereignisse werden in eine begrenzte Warteschlange gestellt und von einem Dispatcher-Thread gesendet,
+ * sodass ein langsamer Client weder den veröffentlichenden Thread blockiert noch unbegrenzt Speicher belegt.
+ * Läuft die Warteschlange über, werden die ausstehenden Ereignisse verworfen und durch ein einzelnes
+ * Resync-Ereignis ersetzt, nach dem der Client seinen Stand über den Delta-Sync neu abgleicht.
+ *
+ * @author uhxch
+ * @version 1.0
+ */
+public class PlanUpdateSubscription {
+
+    private final UUID userId;
+    private final SseEmitter emitter;
+    private final Queue<SseEmitter.SseEventBuilder> pending;
+    private final Supplier<SseEmitter.SseEventBuilder> resyncEvent;
+    private final Executor dispatcher;
+    private final Consumer<PlanUpdateSubscription> onClose;
+
+    private final AtomicBoolean draining = new AtomicBoolean(false);
+    private final AtomicBoolean overflowed = new AtomicBoolean(false);
+    private final AtomicBoolean closed = new AtomicBoolean(false);
+
+    /**
+     * Erzeugt eine neue Verbindung.
+     *
+     * @param userId      Der Nutzer der Verbindung.
+     * @param emitter     Der SSE-Emitter der Verbindung.
+     * @param capacity    Maximale Anzahl ausstehender Ereignisse.
+     * @param resyncEvent Erzeugt das Ereignis, das bei einem Überlauf statt der verworfenen Ereignisse gesendet wird.
+     * @param dispatcher  Führt das Senden aus.
+     * @param onClose     Wird einmalig aufgerufen, sobald die Verbindung beendet ist.
+     */
+    public PlanUpdateSubscription(UUID userId, SseEmitter emitter, int capacity,
+                                  Supplier<SseEmitter.SseEventBuilder> resyncEvent, Executor dispatcher,
+                                  Consumer<PlanUpdateSubscription> onClose) {
+        this.userId = userId;
+        this.emitter = emitter;
+        this.pending = new ArrayBlockingQueue<>(Math.max(1, capacity));
+        this.resyncEvent = resyncEvent;
+        this.dispatcher = dispatcher;
+        this.onClose = onClose;
+    }
+
+    /**
+     * Stellt ein Ereignis zum Senden ein. Kehrt sofort zurück.
+     *
+     * @param event Das Ereignis.
+     */
+    public void offer(SseEmitter.SseEventBuilder event) {
+        if (closed.get()) {
+            return;
+        }
+        if (!pending.offer(event)) {
+            pending.clear();
+            overflowed.set(true);
+        }
+        scheduleDrain();
+    }
+
+    /**
+     * Stellt ein Heartbeat-Ereignis ein, sofern keine anderen Ereignisse ausstehen.
+     * Ein Heartbeat hält Proxys die Verbindung offen und erkennt abgebrochene Clients.
+     *
+     * @param heartbeat Das Heartbeat-Ereignis.
+     */
+    public void offerHeartbeat(SseEmitter.SseEventBuilder heartbeat) {
+        if (pending.isEmpty() && !draining.get()) {
+            offer(heartbeat);
+        }
+    }
+
+    /** @return Der Nutzer der Verbindung. */
+    public UUID getUserId() { return userId; }
+
+    /** @return Der SSE-Emitter der Verbindung. */
+    public SseEmitter getEmitter() { return emitter; }
+
+    /** @return {@code true}, wenn die Verbindung beendet ist. */
+    public boolean isClosed() { return closed.get(); }
+
+    /**
+     * Beendet die Verbindung und gibt die ausstehenden Ereignisse frei.
+     */
+    public void close() {
+        if (closed.compareAndSet(false, true)) {
+            pending.clear();
+            onClose.accept(this);
+        }
+    }
+
+    private void scheduleDrain() {
+        if (draining.compareAndSet(false, true)) {
+            try {
+                dispatcher.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                draining.set(false);
+                close();
+            }
+        }
+    }
+
+    /**
+     * Sendet die ausstehenden Ereignisse. Es sendet höchstens ein Thread je Verbindung.
+     */
+    private void drain() {
+        try {
+            while (!closed.get()) {
+                SseEmitter.SseEventBuilder next = overflowed.getAndSet(false) ? resyncEvent.get() : pending.poll();
+                if (next == null) {
+                    break;
+                }
+                emitter.send(next);
+            }
+        } catch (IOException | IllegalStateException e) {
+            // Client getrennt oder Emitter bereits abgeschlossen.
+            emitter.completeWithError(e);
+            close();
+        } finally {
+            draining.set(false);
+        }
+        if (!closed.get() && (overflowed.get() || !pending.isEmpty())) {
+            scheduleDrain();
+        }
+    }
+}
@@ -0,0 +1,219 @@
+package de.pse.oys.service.planning;
+
+import de.pse.oys.domain.SolverRunStats;
+import de.pse.oys.dto.plan.PlanningRequestDTO;
+import de.pse.oys.dto.plan.PlanningTaskDTO;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * PlanningMetrics – Micrometer-Messwerte der Planung, die über den Actuator-Endpunkt
+ * {@code /actuator/prometheus} abgefragt werden können.
+ * Erfasst die Dauer der Planungsschritte je Phase, die Größe jeder gelösten Anfrage, Dauer und Ausgang
+ * jedes HTTP-Aufrufs des Solvers, die vom Solver gemeldeten Kennzahlen sowie die Dauer, die Kostenmatrix einer Aufgabe aus JSON zu lesen.
+ * Die Phase {@code persist} enthält die Phase {@code cleanup}, in der die zu ersetzenden Lerneinheiten
+ * gelöscht werden.
+ *
+ * @author uhxch
+ * @version 1.0
+ */
+@Component
+public class PlanningMetrics {
+
+    /** Laden der Planungsdaten in einen {@link PlanningSnapshot}. */
+    public static final String PHASE_SNAPSHOT = "snapshot";
+    /** Aufbau der Solver-Anfrage samt Startbereichen. */
+    public static final String PHASE_BUILD = "build";
+    /** Lösen der Anfrage durch Greedy-Planer oder Solver. */
+    public static final String PHASE_SOLVE = "solve";
+    /** Speichern der Ergebnisse als Lerneinheiten. */
+    public static final String PHASE_PERSIST = "persist";
+    /** Löschen der Lerneinheiten, die durch die Neuplanung ersetzt werden. */
+    public static final String PHASE_CLEANUP = "cleanup";
+
+    /** Der Solver hat mit einem Ergebnis geantwortet. */
+    public static final String OUTCOME_SUCCESS = "success";
+    /** Der Solver hat die Anfrage mit einem 4xx-Status abgelehnt. */
+    public static final String OUTCOME_CLIENT_ERROR = "client_error";
+    /** Der Aufruf ist an Verbindung, Timeout oder einem 5xx-Status gescheitert. */
+    public static final String OUTCOME_ERROR = "error";
+    /** Der Aufruf wurde als unterlegene Absicherung abgebrochen. */
+    public static final String OUTCOME_CANCELLED = "cancelled";
+
+    /** Ein einzelnes Problem an {@code /optimize}. */
+    public static final String TYPE_SINGLE = "single";
+    /** Mehrere Probleme an {@code /optimize/batch}. */
+    public static final String TYPE_BATCH = "batch";
+
+    private static final String PHASE_TIMER = "planning.phase";
+    private static final String SOLVE_CHUNKS = "planning.solve.chunks";
+    private static final String SOLVE_TASKS = "planning.solve.tasks";
+    private static final String SOLVER_TIMER = "planning.solver.requests";
+    private static final String SOLVER_REJECTED = "planning.solver.rejected";
+    private static final String SOLVER_STATUS = "planning.solver.status";
+    private static final String SOLVER_BUILD = "planning.solver.build";
+    private static final String SOLVER_SOLVE = "planning.solver.solve";
+    private static final String SOLVER_VARIABLES = "planning.solver.variables";
+    private static final String SOLVER_CONSTRAINTS = "planning.solver.constraints";
+    private static final String SOLVER_GAP = "planning.solver.gap";
+    private static final String COST_MATRIX_PARSE = "planning.costmatrix.parse";
+    private static final String ID_SEPARATOR = "_";
+    private static final Duration MAX_EXPECTED_DURATION = Duration.ofMinutes(2);
+    private static final double NANOS_PER_SECOND = 1_000_000_000.0;
+
+    private final MeterRegistry registry;
+    private final DistributionSummary solveChunks;
+    private final DistributionSummary solveTasks;
+    private final Counter solverRejected;
+    private final Timer solverBuild;
+    private final Timer solverSolve;
+    private final DistributionSummary solverVariables;
+    private final DistributionSummary solverConstraints;
+    private final DistributionSummary solverGap;
+    private final Timer costMatrixParse;
+
+    /**
+     * Konstruktor mit Dependency Injection.
+     *
+     * @param registry die Registry, in der die Messwerte angelegt werden
+     */
+    public PlanningMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        this.solveChunks = DistributionSummary.builder(SOLVE_CHUNKS)
+                .description("Anzahl der Chunks je gelöster Anfrage")
+                .publishPercentileHistogram()
+                .register(registry);
+        this.solveTasks = DistributionSummary.builder(SOLVE_TASKS)
+                .description("Anzahl der Aufgaben je gelöster Anfrage")
+                .publishPercentileHistogram()
+                .register(registry);
+        this.solverRejected = Counter.builder(SOLVER_REJECTED)
+                .description("Solver-Aufrufe, die der offene Schutzschalter abgewiesen hat")
+                .register(registry);
+        this.solverBuild = Timer.builder(SOLVER_BUILD)
+                .description("Vom Solver gemeldete Dauer des Modellaufbaus")
+                .publishPercentileHistogram()
+                .maximumExpectedValue(MAX_EXPECTED_DURATION)
+                .register(registry);
+        this.solverSolve = Timer.builder(SOLVER_SOLVE)
+                .description("Vom Solver gemeldete Dauer des Lösens")
+                .publishPercentileHistogram()
+                .maximumExpectedValue(MAX_EXPECTED_DURATION)
+                .register(registry);
+        this.solverVariables = DistributionSummary.builder(SOLVER_VARIABLES)
+                .description("Anzahl der Variablen je Solver-Modell")
+                .publishPercentileHistogram()
+                .register(registry);
+        this.solverConstraints = DistributionSummary.builder(SOLVER_CONSTRAINTS)
+                .description("Anzahl der Constraints je Solver-Modell")
+                .publishPercentileHistogram()
+                .register(registry);
+        this.solverGap = DistributionSummary.builder(SOLVER_GAP)
+                .description("Relative Lücke zwischen Zielfunktionswert und bester Schranke")
+                .publishPercentileHistogram()
+                .register(registry);
+        this.costMatrixParse = Timer.builder(COST_MATRIX_PARSE)
+                .description("Dauer, eine Kostenmatrix aus JSON zu lesen")
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    /**
+     * Zählt die Dauer eines Planungsschritts.
+     *
+     * @param phase Die Phase, eine der Konstanten {@code PHASE_*}.
+     * @param nanos Die Dauer in Nanosekunden.
+     */
+    public void recordPhase(String phase, long nanos) {
+        Timer.builder(PHASE_TIMER)
+                .description("Dauer der Schritte von generateWeeklyPlan")
+                .tag("phase", phase)
+                .publishPercentileHistogram()
+                .maximumExpectedValue(MAX_EXPECTED_DURATION)
+                .register(registry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Zählt Chunks und Aufgaben einer Anfrage, die gelöst wird.
+     *
+     * @param request Die Planungsanfrage.
+     */
+    public void recordSolve(PlanningRequestDTO request) {
+        solveChunks.record(request.getTasks().size());
+        solveTasks.record(request.getTasks().stream()
+                .map(PlanningTaskDTO::getId)
+                .map(id -> id.split(ID_SEPARATOR)[0])
+                .distinct()
+                .count());
+    }
+
+    /**
+     * Zählt einen HTTP-Aufruf des Solvers.
+     *
+     * @param endpoint Die URL der Solver-Instanz.
+     * @param type     Die Art des Aufrufs, {@link #TYPE_SINGLE} oder {@link #TYPE_BATCH}.
+     * @param outcome  Der Ausgang, eine der Konstanten {@code OUTCOME_*}.
+     * @param nanos    Die Dauer in Nanosekunden.
+     */
+    public void recordSolverCall(String endpoint, String type, String outcome, long nanos) {
+        Timer.builder(SOLVER_TIMER)
+                .description("Dauer und Ausgang der HTTP-Aufrufe des Solvers")
+                .tag("endpoint", endpoint)
+                .tag("type", type)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .maximumExpectedValue(MAX_EXPECTED_DURATION)
+                .register(registry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /** Zählt einen Solver-Aufruf, den der offene Schutzschalter abgewiesen hat. */
+    public void recordSolverRejected() {
+        solverRejected.increment();
+    }
+
+    /**
+     * Zählt die Kennzahlen, die der Solver zu einem Aufruf gemeldet hat. Fehlende Werte werden übersprungen.
+     *
+     * @param stats Die Kennzahlen eines einzelnen Solver-Aufrufs.
+     */
+    public void recordSolverStats(SolverRunStats stats) {
+        Counter.builder(SOLVER_STATUS)
+                .description("Solver-Aufrufe je gemeldetem Status")
+                .tag("status", stats.getStatus())
+                .register(registry)
+                .increment();
+        if (stats.getBuildSeconds() != null) {
+            solverBuild.record(Duration.ofNanos(Math.round(stats.getBuildSeconds() * NANOS_PER_SECOND)));
+        }
+        if (stats.getSolveSeconds() != null) {
+            solverSolve.record(Duration.ofNanos(Math.round(stats.getSolveSeconds() * NANOS_PER_SECOND)));
+        }
+        if (stats.getVariables() != null) {
+            solverVariables.record(stats.getVariables());
+        }
+        if (stats.getConstraints() != null) {
+            solverConstraints.record(stats.getConstraints());
+        }
+        Double gap = stats.getRelativeGap();
+        if (gap != null) {
+            solverGap.record(gap);
+        }
+    }
+
+    /**
+     * Zählt das Lesen einer Kostenmatrix aus JSON.
+     *
+     * @param nanos Die Dauer in Nanosekunden.
+     */
+    public void recordCostMatrixParse(long nanos) {
+        costMatrixParse.record(nanos, TimeUnit.NANOSECONDS);
+    }
+}
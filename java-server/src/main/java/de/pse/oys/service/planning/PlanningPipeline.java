@@ -0,0 +1,245 @@
+package de.pse.oys.service.planning;
+
+import de.pse.oys.dto.plan.PlanningRequestDTO;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+
+/**
+ * PlanningPipeline – Plant viele Nutzer gleichzeitig, indem die Schritte des {@link PlanningService}
+ * als eigenständige Stufen mit eigenen Worker-Pools ausgeführt werden:
+ * - SNAPSHOT: {@link PlanningService#loadSnapshot} (Datenbank, eigene Transaktion)
+ * - BUILD:    {@link PlanningService#buildRequest} (nur CPU)
+ * - SOLVE:    {@link PlanningService#callSolverWithStats} (HTTP zum Solver), auf Wunsch über den
+ *             {@link SolverRequestBatcher} mit den Anfragen anderer Nutzer gebündelt
+ * - PERSIST:  {@link PlanningService#persistResults} (Datenbank, eigene Transaktion)
+ * Zwischen den Stufen liegen begrenzte Warteschlangen. Ist eine Warteschlange voll, blockiert die
+ * vorherige Stufe (Backpressure), sodass der Speicherbedarf unabhängig von der Nutzerzahl bleibt.
+ * Da jede Stufe getrennt skaliert, überlappen Datenbankzugriffe mit der Rechenzeit des Solvers.
+ * Ist der Plan eines Nutzers laut {@link SolverResultCache} bereits aktuell, verlässt er die Pipeline
+ * direkt nach dem Snapshot.
+ *
+ * @author uhxch
+ * @version 1.0
+ */
+@Service
+public class PlanningPipeline {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PlanningPipeline.class);
+    private static final String MSG_NO_SOLVER_RESULT = "Kein Ergebnis vom Solver, der bestehende Plan bleibt erhalten.";
+
+    private final PlanningService planningService;
+    private final SolverRequestBatcher solverRequestBatcher;
+    private final Stage snapshotStage;
+    private final Stage buildStage;
+    private final Stage solveStage;
+    private final Stage persistStage;
+
+    /**
+     * Konstruktor mit Dependency Injection.
+     *
+     * @param planningService der PlanningService, dessen Schritte die Stufen ausführen
+     * @param solverRequestBatcher bündelt die Solver-Aufrufe gleichzeitig geplanter Nutzer
+     * @param snapshotWorkers Anzahl paralleler Snapshot-Ladevorgänge
+     * @param buildWorkers    Anzahl paralleler Anfrage-Builder
+     * @param solverWorkers   Anzahl paralleler Solver-Aufrufe
+     * @param persistWorkers  Anzahl paralleler Speichervorgänge
+     * @param queueCapacity   Kapazität der Warteschlange vor jeder Stufe
+     */
+    public PlanningPipeline(PlanningService planningService,
+                            SolverRequestBatcher solverRequestBatcher,
+                            @Value("${planning.pipeline.snapshot-workers}") int snapshotWorkers,
+                            @Value("${planning.pipeline.build-workers}") int buildWorkers,
+                            @Value("${planning.pipeline.solver-workers}") int solverWorkers,
+                            @Value("${planning.pipeline.persist-workers}") int persistWorkers,
+                            @Value("${planning.pipeline.queue-capacity}") int queueCapacity) {
+        this.planningService = planningService;
+        this.solverRequestBatcher = solverRequestBatcher;
+        this.snapshotStage = new Stage("snapshot", snapshotWorkers, queueCapacity);
+        this.buildStage = new Stage("build", buildWorkers, queueCapacity);
+        this.solveStage = new Stage("solve", solverWorkers, queueCapacity);
+        this.persistStage = new Stage("persist", persistWorkers, queueCapacity);
+    }
+
+    /**
+     * Plant alle übergebenen Nutzer und blockiert, bis jeder Nutzer die Pipeline verlassen hat.
+     * Ein Fehler in einer Stufe betrifft nur den jeweiligen Nutzer. Liefert der Solver kein Ergebnis,
+     * bleibt der bestehende Plan erhalten und der Nutzer gilt als fehlgeschlagen.
+     *
+     * @param userIds die zu planenden Nutzer
+     * @return das Ergebnis mit Erfolgs- und Fehlerzahlen sowie den Stufen-Kennzahlen
+     */
+    public PlanningPipelineResult run(Collection<UUID> userIds) {
+        Instant startedAt = Instant.now();
+        CountDownLatch remaining = new CountDownLatch(userIds.size());
+        AtomicInteger planned = new AtomicInteger();
+        Set<UUID> failed = ConcurrentHashMap.newKeySet();
+
+        Consumer<UUID> onFailure = userId -> {
+            failed.add(userId);
+            remaining.countDown();
+        };
+
+        Runnable onCompletion = () -> {
+            planned.incrementAndGet();
+            remaining.countDown();
+        };
+
+        for (UUID userId : userIds) {
+            snapshotStage.submit(userId, onFailure, () -> {
+                PlanningSnapshot snapshot = planningService.loadSnapshot(userId);
+                if (snapshot != null && snapshot.isUpToDate()) {
+                    return true;
+                }
+                buildStage.submit(userId, onFailure, () -> {
+                    PlanningRequestDTO request = planningService.buildRequest(snapshot);
+                    solveStage.submit(userId, onFailure, () -> {
+                        SolverResult solverResult = solverRequestBatcher.solve(request);
+                        persistStage.submit(userId, onFailure, () -> {
+                            if (!planningService.persistResults(snapshot, solverResult.getResults(),
+                                    solverResult.getStats())) {
+                                throw new IllegalStateException(MSG_NO_SOLVER_RESULT);
+                            }
+                            return true;
+                        }, onCompletion);
+                        return false;
+                    }, onCompletion);
+                    return false;
+                }, onCompletion);
+                return false;
+            }, onCompletion);
+        }
+
+        try {
+            remaining.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        PlanningPipelineResult result = new PlanningPipelineResult(planned.get(), failed,
+                Duration.between(startedAt, Instant.now()), getStageStats());
+        LOGGER.info("Planungs-Pipeline: {} Nutzer geplant, {} fehlgeschlagen, Stufen: {}",
+                result.getPlannedUsers(), result.getFailedUsers(), result.getStageStats());
+        return result;
+    }
+
+    /**
+     * Liefert die seit dem Start kumulierten Kennzahlen aller Stufen in Pipeline-Reihenfolge.
+     *
+     * @return Liste der Stufen-Kennzahlen
+     */
+    public List<PipelineStageStats> getStageStats() {
+        return List.of(snapshotStage.stats(), buildStage.stats(), solveStage.stats(), persistStage.stats());
+    }
+
+    /**
+     * Beendet die Worker-Threads aller Stufen beim Herunterfahren der Anwendung.
+     */
+    @PreDestroy
+    public void shutdown() {
+        for (Stage stage : List.of(snapshotStage, buildStage, solveStage, persistStage)) {
+            stage.executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Eine Stufe der Pipeline mit festem Worker-Pool und begrenzter Warteschlange.
+     * {@link #submit} blockiert, solange die Warteschlange voll ist.
+     * Ein Schritt liefert true, wenn der Nutzer mit ihm fertig ist. Erst nachdem die Kennzahlen
+     * der Stufe aktualisiert sind, wird dann {@code onCompletion} ausgeführt.
+     */
+    private static final class Stage {
+
+        private final String name;
+        private final int workers;
+        private final ThreadPoolExecutor executor;
+        private final AtomicLong processed = new AtomicLong();
+        private final AtomicLong failed = new AtomicLong();
+        private final AtomicLong busyNanos = new AtomicLong();
+        private final AtomicInteger maxQueueDepth = new AtomicInteger();
+
+        private Stage(String name, int workers, int queueCapacity) {
+            this.name = name;
+            this.workers = Math.max(1, workers);
+            AtomicInteger threadCounter = new AtomicInteger();
+            this.executor = new ThreadPoolExecutor(this.workers, this.workers, 0L, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(Math.max(1, queueCapacity)),
+                    runnable -> {
+                        Thread thread = new Thread(runnable, "pipeline-" + name + "-" + threadCounter.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    },
+                    Stage::blockUntilQueued);
+        }
+
+        private void submit(UUID userId, Consumer<UUID> onFailure, BooleanSupplier step, Runnable onCompletion) {
+            try {
+                executor.execute(() -> runStep(userId, onFailure, step, onCompletion));
+            } catch (RejectedExecutionException e) {
+                failed.incrementAndGet();
+                onFailure.accept(userId);
+                return;
+            }
+            maxQueueDepth.accumulateAndGet(executor.getQueue().size(), Math::max);
+        }
+
+        private void runStep(UUID userId, Consumer<UUID> onFailure, BooleanSupplier step, Runnable onCompletion) {
+            long start = System.nanoTime();
+            boolean completed;
+            try {
+                completed = step.getAsBoolean();
+                processed.incrementAndGet();
+            } catch (Exception e) {
+                failed.incrementAndGet();
+                LOGGER.warn("Stufe {} für Nutzer {} fehlgeschlagen: {}", name, userId, e.getMessage());
+                onFailure.accept(userId);
+                return;
+            } finally {
+                busyNanos.addAndGet(System.nanoTime() - start);
+            }
+            if (completed) {
+                onCompletion.run();
+            }
+        }
+
+        private PipelineStageStats stats() {
+            return new PipelineStageStats(name, workers, processed.get(), failed.get(), busyNanos.get(),
+                    executor.getQueue().size(), maxQueueDepth.get());
+        }
+
+        /**
+         * Ablehnungsstrategie für volle Warteschlangen: Wartet auf einen freien Platz statt den Auftrag
+         * zu verwerfen oder im aufrufenden Thread auszuführen.
+         */
+        private static void blockUntilQueued(Runnable runnable, ThreadPoolExecutor executor) {
+            if (executor.isShutdown()) {
+                throw new RejectedExecutionException("Pipeline wurde beendet");
+            }
+            try {
+                executor.getQueue().put(runnable);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RejectedExecutionException("Warten auf die Warteschlange unterbrochen", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package de.pse.oys.service.planning;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * PlanningPipelineResult – Ergebnis eines Durchlaufs der {@link PlanningPipeline} für eine Menge von Nutzern.
+ *
+ * @author uhxch
+ * @version 1.0
+ */
+public class PlanningPipelineResult {
+
+    private final int plannedUsers;
+    private final Set<UUID> failedUserIds;
+    private final Duration duration;
+    private final List<PipelineStageStats> stageStats;
+
+    /**
+     * Erzeugt ein neues Ergebnis.
+     *
+     * @param plannedUsers  Anzahl der Nutzer, die alle Stufen durchlaufen haben.
+     * @param failedUserIds Die Nutzer, bei denen eine Stufe fehlgeschlagen ist.
+     * @param duration      Die Laufzeit des Durchlaufs.
+     * @param stageStats    Die kumulierten Kennzahlen der Stufen am Ende des Durchlaufs.
+     */
+    public PlanningPipelineResult(int plannedUsers, Set<UUID> failedUserIds, Duration duration,
+                                  List<PipelineStageStats> stageStats) {
+        this.plannedUsers = plannedUsers;
+        this.failedUserIds = Set.copyOf(failedUserIds);
+        this.duration = duration;
+        this.stageStats = List.copyOf(stageStats);
+    }
+
+    /** @return Anzahl der Nutzer, die alle Stufen durchlaufen haben. */
+    public int getPlannedUsers() { return plannedUsers; }
+
+    /** @return Anzahl der Nutzer, bei denen eine Stufe fehlgeschlagen ist. */
+    public int getFailedUsers() { return failedUserIds.size(); }
+
+    /** @return Die Nutzer, bei denen eine Stufe fehlgeschlagen ist. */
+    public Set<UUID> getFailedUserIds() { return failedUserIds; }
+
+    /** @return Die Laufzeit des Durchlaufs. */
+    public Duration getDuration() { return duration; }
+
+    /** @return Die kumulierten Kennzahlen der Stufen am Ende des Durchlaufs. */
+    public List<PipelineStageStats> getStageStats() { return stageStats; }
+}
@@ -0,0 +1,120 @@
+package de.pse.oys.service.planning;
+
+import de.pse.oys.dto.plan.FixedBlockDTO;
+import de.pse.oys.dto.plan.PlanningRequestDTO;
+import de.pse.oys.dto.plan.PlanningTaskDTO;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * PlanningSnapshot – Unveränderlicher Stand aller Planungsdaten eines Nutzers, wie er innerhalb
+ * einer Transaktion aus der Datenbank geladen wurde. Enthält keine Entitäten mehr, sodass der
+ * Snapshot ohne offene Session an andere Threads weitergereicht werden kann.
+ *
+ * @author uhxch
+ * @version 1.0
+ */
+public class PlanningSnapshot {
+
+    private final UUID userId;
+    private final LocalDate weekStart;
+    private final int currentSlot;
+    private final int breakDuration;
+    private final List<Integer> blockedDays;
+    private final String preferredTimeSlots;
+    private final List<FixedBlockDTO> fixedBlocks;
+    private final List<PlanningTaskDTO> tasks;
+    private final String cacheKey;
+    private final boolean upToDate;
+    private final PlanningRequestDTO request;
+
+    /**
+     * Erzeugt einen neuen Snapshot.
+     *
+     * @param userId             Die ID des Nutzers.
+     * @param weekStart          Das Startdatum der geplanten Woche.
+     * @param currentSlot        Der aktuelle Slot relativ zum Wochenstart.
+     * @param breakDuration      Die Pausendauer zwischen Lerneinheiten in Minuten.
+     * @param blockedDays        Die blockierten Wochentage (0=Montag, 6=Sonntag).
+     * @param preferredTimeSlots Die bevorzugten Tageszeiten als kommagetrennter String.
+     * @param fixedBlocks        Die festen Blöcke (Freizeiten) der Woche.
+     * @param tasks              Die zu planenden Chunks der offenen Aufgaben.
+     * @param cacheKey           Der kanonische Schlüssel der Anfrage im {@link SolverResultCache} oder null.
+     * @param upToDate           true, wenn der gespeicherte Plan bereits dem Ergebnis für diese Anfrage entspricht.
+     */
+    public PlanningSnapshot(UUID userId, LocalDate weekStart, int currentSlot, int breakDuration,
+                            List<Integer> blockedDays, String preferredTimeSlots,
+                            List<FixedBlockDTO> fixedBlocks, List<PlanningTaskDTO> tasks,
+                            String cacheKey, boolean upToDate) {
+        this(userId, weekStart, currentSlot, breakDuration, blockedDays, preferredTimeSlots, fixedBlocks, tasks,
+                cacheKey, upToDate, null);
+    }
+
+    /**
+     * Erzeugt einen neuen Snapshot samt der bereits gebauten Solver-Anfrage, die beim Berechnen des
+     * Cache-Schlüssels entstanden ist.
+     *
+     * @param userId             Die ID des Nutzers.
+     * @param weekStart          Das Startdatum der geplanten Woche.
+     * @param currentSlot        Der aktuelle Slot relativ zum Wochenstart.
+     * @param breakDuration      Die Pausendauer zwischen Lerneinheiten in Minuten.
+     * @param blockedDays        Die blockierten Wochentage (0=Montag, 6=Sonntag).
+     * @param preferredTimeSlots Die bevorzugten Tageszeiten als kommagetrennter String.
+     * @param fixedBlocks        Die festen Blöcke (Freizeiten) der Woche.
+     * @param tasks              Die zu planenden Chunks der offenen Aufgaben.
+     * @param cacheKey           Der kanonische Schlüssel der Anfrage im {@link SolverResultCache} oder null.
+     * @param upToDate           true, wenn der gespeicherte Plan bereits dem Ergebnis für diese Anfrage entspricht.
+     * @param request            Die aus diesem Snapshot gebaute Solver-Anfrage oder null.
+     */
+    public PlanningSnapshot(UUID userId, LocalDate weekStart, int currentSlot, int breakDuration,
+                            List<Integer> blockedDays, String preferredTimeSlots,
+                            List<FixedBlockDTO> fixedBlocks, List<PlanningTaskDTO> tasks,
+                            String cacheKey, boolean upToDate, PlanningRequestDTO request) {
+        this.userId = userId;
+        this.weekStart = weekStart;
+        this.currentSlot = currentSlot;
+        this.breakDuration = breakDuration;
+        this.blockedDays = List.copyOf(blockedDays);
+        this.preferredTimeSlots = preferredTimeSlots;
+        this.fixedBlocks = List.copyOf(fixedBlocks);
+        this.tasks = List.copyOf(tasks);
+        this.cacheKey = cacheKey;
+        this.upToDate = upToDate;
+        this.request = request;
+    }
+
+    /** @return Die ID des Nutzers. */
+    public UUID getUserId() { return userId; }
+
+    /** @return Das Startdatum der geplanten Woche. */
+    public LocalDate getWeekStart() { return weekStart; }
+
+    /** @return Der aktuelle Slot relativ zum Wochenstart. */
+    public int getCurrentSlot() { return currentSlot; }
+
+    /** @return Die Pausendauer zwischen Lerneinheiten in Minuten. */
+    public int getBreakDuration() { return breakDuration; }
+
+    /** @return Die blockierten Wochentage (0=Montag, 6=Sonntag). */
+    public List<Integer> getBlockedDays() { return blockedDays; }
+
+    /** @return Die bevorzugten Tageszeiten als kommagetrennter String. */
+    public String getPreferredTimeSlots() { return preferredTimeSlots; }
+
+    /** @return Die festen Blöcke der Woche. */
+    public List<FixedBlockDTO> getFixedBlocks() { return fixedBlocks; }
+
+    /** @return Die zu planenden Chunks der offenen Aufgaben. */
+    public List<PlanningTaskDTO> getTasks() { return tasks; }
+
+    /** @return Der kanonische Schlüssel der Anfrage im {@link SolverResultCache} oder null. */
+    public String getCacheKey() { return cacheKey; }
+
+    /** @return true, wenn Solver-Aufruf und Speichern entfallen können. */
+    public boolean isUpToDate() { return upToDate; }
+
+    /** @return Die bereits gebaute Solver-Anfrage oder null, falls sie noch zu bauen ist. */
+    public PlanningRequestDTO getRequest() { return request; }
+}
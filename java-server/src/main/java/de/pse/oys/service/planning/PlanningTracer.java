@@ -0,0 +1,117 @@
+package de.pse.oys.service.planning;
+
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Callable;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * PlanningTracer – Legt Spans für die Schritte der Planung an und reicht den aktuellen Span an
+ * Threads weiter, auf denen Teilprobleme oder abgesicherte Solver-Aufrufe laufen.
+ * Die HTTP-Aufrufe des Solvers erscheinen als Kind-Spans, deren Trace-Kontext per {@code traceparent}
+ * an den Solver übertragen wird. Ohne OpenTelemetry-Konfiguration arbeitet der Tracer als No-op.
+ *
+ * @author uhxch
+ * @version 1.0
+ */
+@Component
+public class PlanningTracer {
+
+    /** Präfix der Span-Namen der Planungsschritte, z. B. {@code planning.solve}. */
+    public static final String SPAN_PREFIX = "planning.";
+
+    private final Tracer tracer;
+
+    /**
+     * Konstruktor mit Dependency Injection.
+     *
+     * @param tracer der Micrometer-Tracer, bei aktivem Tracing über die OpenTelemetry-Bridge
+     */
+    public PlanningTracer(Tracer tracer) {
+        this.tracer = tracer;
+    }
+
+    /**
+     * Führt eine Aktion in einem neuen Kind-Span des aktuellen Spans aus.
+     * Eine Ausnahme wird am Span vermerkt und weitergeworfen.
+     *
+     * @param name   Der Name des Spans.
+     * @param action Die Aktion.
+     * @param <T>    Der Ergebnistyp.
+     * @return das Ergebnis der Aktion.
+     */
+    public <T> T inSpan(String name, Supplier<T> action) {
+        Span span = tracer.nextSpan().name(name).start();
+        Tracer.SpanInScope scope = tracer.withSpan(span);
+        try {
+            return action.get();
+        } catch (RuntimeException e) {
+            span.error(e);
+            throw e;
+        } finally {
+            scope.close();
+            span.end();
+        }
+    }
+
+    /**
+     * Vermerkt ein Attribut am aktuellen Span, falls einer aktiv ist.
+     *
+     * @param key   Der Name des Attributs.
+     * @param value Der Wert.
+     */
+    public void tag(String key, long value) {
+        Span span = tracer.currentSpan();
+        if (span != null) {
+            span.tag(key, value);
+        }
+    }
+
+    /**
+     * Bindet eine Aufgabe an den aktuellen Span, damit sie auf einem anderen Thread in demselben Trace läuft.
+     *
+     * @param task Die Aufgabe.
+     * @param <T>  Der Ergebnistyp.
+     * @return die gebundene Aufgabe, unverändert ohne aktiven Span.
+     */
+    public <T> Callable<T> wrap(Callable<T> task) {
+        Span parent = tracer.currentSpan();
+        if (parent == null) {
+            return task;
+        }
+        return () -> {
+            Tracer.SpanInScope scope = tracer.withSpan(parent);
+            try {
+                return task.call();
+            } finally {
+                scope.close();
+            }
+        };
+    }
+
+    /**
+     * Bindet eine Funktion an den aktuellen Span, etwa für parallele Streams.
+     *
+     * @param function Die Funktion.
+     * @param <A>      Der Argumenttyp.
+     * @param <R>      Der Ergebnistyp.
+     * @return die gebundene Funktion, unverändert ohne aktiven Span.
+     */
+    public <A, R> Function<A, R> wrap(Function<A, R> function) {
+        Span parent = tracer.currentSpan();
+        if (parent == null) {
+            return function;
+        }
+        return argument -> {
+            Tracer.SpanInScope scope = tracer.withSpan(parent);
+            try {
+                return function.apply(argument);
+            } finally {
+                scope.close();
+            }
+        };
+    }
+}
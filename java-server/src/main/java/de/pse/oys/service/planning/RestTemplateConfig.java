@@ -1,7 +1,11 @@
 package de.pse.oys.service.planning;
 
+import io.micrometer.observation.ObservationRegistry;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
 /**
@@ -15,12 +19,62 @@ import org.springframework.web.client.RestTemplate;
 @Configuration
 public class RestTemplateConfig {
 
+    /** Name der RestTemplate-Bean für die Health-Checks der Solver-Instanzen. */
+    public static final String HEALTH_REST_TEMPLATE = "solverHealthRestTemplate";
+
+    /** Name der RestTemplate-Bean für die Batch-Aufrufe des Solvers. */
+    public static final String BATCH_REST_TEMPLATE = "solverBatchRestTemplate";
+
     /**
      * Erstellt und konfiguriert eine RestTemplate-Instanz für HTTP-Anfragen.
+     * Verbindungs- und Lese-Timeout begrenzen, wie lange ein nicht erreichbarer Solver einen Aufruf blockiert.
+     * Über die ObservationRegistry wird jeder Aufruf als Span aufgezeichnet und der Trace-Kontext als
+     * {@code traceparent}-Header an den Solver weitergegeben.
+     * @param connectTimeoutMs    Der Verbindungs-Timeout in Millisekunden.
+     * @param readTimeoutMs       Der Lese-Timeout in Millisekunden.
+     * @param observationRegistry Die Registry für Metriken und Spans der HTTP-Aufrufe.
      * @return Eine neue RestTemplate-Instanz.
      */
     @Bean
-    public RestTemplate getRestTemplate() {
-        return new RestTemplate();
+    @Primary
+    public RestTemplate getRestTemplate(@Value("${planning.solver.connect-timeout-ms}") int connectTimeoutMs,
+                                        @Value("${planning.solver.read-timeout-ms}") int readTimeoutMs,
+                                        ObservationRegistry observationRegistry) {
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(connectTimeoutMs);
+        requestFactory.setReadTimeout(readTimeoutMs);
+        RestTemplate restTemplate = new RestTemplate(requestFactory);
+        restTemplate.setObservationRegistry(observationRegistry);
+        return restTemplate;
+    }
+
+    /**
+     * Erstellt eine eigene RestTemplate-Instanz für die Batch-Aufrufe des Solvers. Ein Batch löst seine
+     * Probleme nacheinander und braucht daher einen eigenen, längeren Lese-Timeout als ein einzelner Solve.
+     * @param connectTimeoutMs    Der Verbindungs-Timeout in Millisekunden.
+     * @param readTimeoutMs       Der Lese-Timeout der Batch-Aufrufe in Millisekunden.
+     * @param observationRegistry Die Registry für Metriken und Spans der HTTP-Aufrufe.
+     * @return Eine neue RestTemplate-Instanz.
+     */
+    @Bean(BATCH_REST_TEMPLATE)
+    public RestTemplate getBatchRestTemplate(@Value("${planning.solver.connect-timeout-ms}") int connectTimeoutMs,
+                                             @Value("${planning.solver.batch.read-timeout-ms}") int readTimeoutMs,
+                                             ObservationRegistry observationRegistry) {
+        return getRestTemplate(connectTimeoutMs, readTimeoutMs, observationRegistry);
+    }
+
+    /**
+     * Erstellt eine eigene RestTemplate-Instanz für die Health-Checks der Solver-Instanzen.
+     * Der kurze Timeout sorgt dafür, dass eine hängende Instanz schnell ausgeschlossen wird,
+     * statt den Health-Check-Lauf für die volle Lesezeit eines Solves zu blockieren.
+     * @param healthTimeoutMs Verbindungs- und Lese-Timeout der Health-Checks in Millisekunden.
+     * @return Eine neue RestTemplate-Instanz.
+     */
+    @Bean(HEALTH_REST_TEMPLATE)
+    public RestTemplate getHealthRestTemplate(@Value("${planning.solver.health-timeout-ms}") int healthTimeoutMs) {
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(healthTimeoutMs);
+        requestFactory.setReadTimeout(healthTimeoutMs);
+        return new RestTemplate(requestFactory);
     }
 }
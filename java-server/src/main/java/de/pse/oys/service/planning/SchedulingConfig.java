@@ -0,0 +1,18 @@
+package de.pse.oys.service.planning;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * SchedulingConfig – Aktiviert die zeitgesteuerte Ausführung von Methoden mit {@code @Scheduled}.
+ * Wird für die nächtliche Batch-Planung benötigt. Der Scheduler nutzt einen Pool mit
+ * {@code spring.task.scheduling.pool.size} Threads, damit die lang laufende Batch-Planung die übrigen
+ * zeitgesteuerten Aufgaben nicht aufhält.
+ *
+ * @author uhxch
+ * @version 1.0
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -0,0 +1,144 @@
+package de.pse.oys.service.planning;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.pse.oys.dto.plan.PlanningRequestDTO;
+import de.pse.oys.dto.plan.PlanningResponseDTO;
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+import io.micrometer.tracing.propagation.Propagator;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * SolverAsyncClient – Asynchroner HTTP-Client für abgesicherte Solver-Aufrufe.
+ * Anders als ein blockierender RestTemplate-Aufruf lässt sich eine Anfrage hier über
+ * {@link CompletableFuture#cancel(boolean)} tatsächlich abbrechen: Die Verbindung wird geschlossen und
+ * kein Thread wartet weiter auf die Antwort. Die Antworten werden auf einem fest begrenzten Thread-Pool
+ * verarbeitet. Der Trace-Kontext wird wie beim RestTemplate als {@code traceparent}-Header übertragen.
+ *
+ * @author uhxch
+ * @version 1.0
+ */
+@Component
+public class SolverAsyncClient {
+
+    private static final TypeReference<List<PlanningResponseDTO>> RESPONSE_TYPE = new TypeReference<>() {
+    };
+
+    private final ExecutorService executor;
+    private final HttpClient httpClient;
+    private final Duration readTimeout;
+    private final ObjectMapper objectMapper;
+    private final Tracer tracer;
+    private final Propagator propagator;
+
+    /**
+     * Erzeugt den Client.
+     *
+     * @param connectTimeoutMs Der Verbindungs-Timeout in Millisekunden.
+     * @param readTimeoutMs    Die Zeit in Millisekunden, nach der eine Anfrage ohne Antwort abgebrochen wird.
+     * @param maxThreads       Die Anzahl der Threads, auf denen Antworten verarbeitet werden.
+     * @param objectMapper     Der ObjectMapper für Anfrage und Antwort.
+     * @param tracer           Der Tracer, dessen aktueller Span an den Solver übertragen wird.
+     * @param propagator       Überträgt den Trace-Kontext in die Header, ohne Tracing ein No-op.
+     */
+    public SolverAsyncClient(@Value("${planning.solver.connect-timeout-ms}") int connectTimeoutMs,
+                             @Value("${planning.solver.read-timeout-ms}") int readTimeoutMs,
+                             @Value("${planning.solver.hedging.max-threads}") int maxThreads,
+                             ObjectMapper objectMapper, Tracer tracer, ObjectProvider<Propagator> propagator) {
+        this.executor = Executors.newFixedThreadPool(Math.max(1, maxThreads));
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofMillis(connectTimeoutMs))
+                .executor(executor)
+                .build();
+        this.readTimeout = Duration.ofMillis(readTimeoutMs);
+        this.objectMapper = objectMapper;
+        this.tracer = tracer;
+        this.propagator = propagator.getIfAvailable(() -> Propagator.NOOP);
+    }
+
+    /**
+     * Sendet eine Planungsanfrage an eine Solver-Instanz.
+     * Fehlerantworten schließen das Future mit einer {@link HttpClientErrorException} bzw.
+     * {@link HttpServerErrorException} ab. Wird das Future abgebrochen, bricht auch die HTTP-Anfrage ab.
+     *
+     * @param url        Die URL der Solver-Instanz.
+     * @param requestDTO Die Planungseingabedaten.
+     * @return die Antwort mit den Planungsergebnissen und den Headern des Solvers.
+     */
+    public CompletableFuture<ResponseEntity<List<PlanningResponseDTO>>> post(String url, PlanningRequestDTO requestDTO) {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(url))
+                .timeout(readTimeout)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE);
+        try {
+            request.POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(requestDTO)));
+        } catch (JsonProcessingException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        Span span = tracer.currentSpan();
+        if (span != null) {
+            propagator.inject(span.context(), request, HttpRequest.Builder::header);
+        }
+
+        CompletableFuture<HttpResponse<byte[]>> exchange =
+                httpClient.sendAsync(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+        CompletableFuture<ResponseEntity<List<PlanningResponseDTO>>> response = exchange.thenApply(this::toEntity);
+        response.whenComplete((ignored, error) -> {
+            if (error instanceof CancellationException) {
+                exchange.cancel(true);
+            }
+        });
+        return response;
+    }
+
+    /**
+     * Beendet die Threads des Clients beim Herunterfahren der Anwendung.
+     */
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private ResponseEntity<List<PlanningResponseDTO>> toEntity(HttpResponse<byte[]> response) {
+        HttpHeaders headers = new HttpHeaders();
+        response.headers().map().forEach(headers::addAll);
+        HttpStatusCode status = HttpStatusCode.valueOf(response.statusCode());
+        if (status.is4xxClientError()) {
+            throw HttpClientErrorException.create(status, "", headers, response.body(), StandardCharsets.UTF_8);
+        }
+        if (status.isError()) {
+            throw HttpServerErrorException.create(status, "", headers, response.body(), StandardCharsets.UTF_8);
+        }
+        try {
+            List<PlanningResponseDTO> body = response.body().length == 0
+                    ? null : objectMapper.readValue(response.body(), RESPONSE_TYPE);
+            return new ResponseEntity<>(body, headers, status);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
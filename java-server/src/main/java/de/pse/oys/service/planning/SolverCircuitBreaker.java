@@ -0,0 +1,230 @@
+package de.pse.oys.service.planning;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * SolverCircuitBreaker – Schutzschalter für die Aufrufe des Solvers.
+ * Im Zustand CLOSED werden die Ergebnisse der letzten Aufrufe in einem rollierenden Fenster gezählt;
+ * langsame Aufrufe gelten dabei als Fehler. Überschreitet die Fehlerquote die Schwelle, wechselt der
+ * Schalter nach OPEN und weist Aufrufe sofort ab, statt auf Timeouts zu warten. Nach Ablauf der
+ * Wartezeit lässt er im Zustand HALF_OPEN einige Probeaufrufe durch: Gelingen alle, schließt er
+ * wieder, sonst öffnet er erneut. Zustand, Fehlerquote, Zustandswechsel und abgewiesene Aufrufe
+ * werden als Metriken veröffentlicht.
+ *
+ * @author uhxch
+ * @version 1.0
+ */
+@Component
+public class SolverCircuitBreaker implements MeterBinder {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SolverCircuitBreaker.class);
+    private static final double PERCENT = 100.0;
+    private static final String METRIC_STATE = "planning.solver.breaker.state";
+    private static final String METRIC_FAILURE_RATE = "planning.solver.breaker.failure-rate";
+    private static final String METRIC_TRANSITIONS = "planning.solver.breaker.transitions";
+    private static final String METRIC_REJECTED = "planning.solver.breaker.rejected";
+
+    /** Zustände des Schutzschalters. */
+    public enum State {
+        /** Aufrufe werden durchgelassen und gezählt. */
+        CLOSED,
+        /** Aufrufe werden sofort abgewiesen. */
+        OPEN,
+        /** Einzelne Probeaufrufe prüfen, ob der Solver wieder erreichbar ist. */
+        HALF_OPEN
+    }
+
+    private final boolean[] window;
+    private final int minimumCalls;
+    private final double failureRateThreshold;
+    private final long openDurationNanos;
+    private final int halfOpenCalls;
+    private final long slowCallNanos;
+
+    private State state = State.CLOSED;
+    private int windowPosition;
+    private int recordedCalls;
+    private int failedCalls;
+    private long openedAt;
+    private int halfOpenPermitted;
+    private int halfOpenSucceeded;
+
+    private long rejectedCalls;
+    private long stateTransitions;
+
+    /**
+     * Erzeugt den Schutzschalter.
+     *
+     * @param windowSize           Die Anzahl der letzten Aufrufe, über die die Fehlerquote gebildet wird.
+     * @param minimumCalls         Die Mindestanzahl an Aufrufen im Fenster, bevor der Schalter öffnen kann.
+     * @param failureRateThreshold Die Fehlerquote in Prozent, ab der der Schalter öffnet.
+     * @param openDurationSeconds  Die Wartezeit im Zustand OPEN in Sekunden.
+     * @param halfOpenCalls        Die Anzahl der Probeaufrufe im Zustand HALF_OPEN.
+     * @param slowCallSeconds      Die Dauer in Sekunden, ab der ein erfolgreicher Aufruf als Fehler zählt.
+     */
+    public SolverCircuitBreaker(@Value("${planning.solver.circuit-breaker.window-size}") int windowSize,
+                                @Value("${planning.solver.circuit-breaker.minimum-calls}") int minimumCalls,
+                                @Value("${planning.solver.circuit-breaker.failure-rate-threshold}") double failureRateThreshold,
+                                @Value("${planning.solver.circuit-breaker.open-duration-seconds}") long openDurationSeconds,
+                                @Value("${planning.solver.circuit-breaker.half-open-calls}") int halfOpenCalls,
+                                @Value("${planning.solver.circuit-breaker.slow-call-seconds}") long slowCallSeconds) {
+        this.window = new boolean[Math.max(1, windowSize)];
+        this.minimumCalls = Math.max(1, Math.min(minimumCalls, this.window.length));
+        this.failureRateThreshold = failureRateThreshold;
+        this.openDurationNanos = Duration.ofSeconds(Math.max(0, openDurationSeconds)).toNanos();
+        this.halfOpenCalls = Math.max(1, halfOpenCalls);
+        this.slowCallNanos = Duration.ofSeconds(Math.max(1, slowCallSeconds)).toNanos();
+    }
+
+    /**
+     * Registriert je Zustand ein Gauge, das 1 liefert, solange der Schalter in diesem Zustand ist,
+     * sowie die Fehlerquote, die Zustandswechsel und die abgewiesenen Aufrufe.
+     *
+     * @param registry Die Registry, in der die Metriken angelegt werden.
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (State candidate : State.values()) {
+            Gauge.builder(METRIC_STATE, this, breaker -> breaker.getState() == candidate ? 1.0 : 0.0)
+                    .description("Aktueller Zustand des Schutzschalters")
+                    .tag("state", candidate.name().toLowerCase())
+                    .register(registry);
+        }
+        Gauge.builder(METRIC_FAILURE_RATE, this, SolverCircuitBreaker::getFailureRate)
+                .description("Fehlerquote im rollierenden Fenster in Prozent")
+                .register(registry);
+        FunctionCounter.builder(METRIC_TRANSITIONS, this, SolverCircuitBreaker::getStateTransitions)
+                .description("Zustandswechsel des Schutzschalters")
+                .register(registry);
+        FunctionCounter.builder(METRIC_REJECTED, this, SolverCircuitBreaker::getRejectedCalls)
+                .description("Sofort abgewiesene Solver-Aufrufe")
+                .register(registry);
+    }
+
+    /**
+     * Fragt vor einem Aufruf an, ob er durchgelassen wird.
+     *
+     * @return true, wenn der Aufruf erfolgen darf; false, wenn er sofort abgewiesen wird.
+     */
+    public synchronized boolean tryAcquirePermission() {
+        if (state == State.OPEN && System.nanoTime() - openedAt >= openDurationNanos) {
+            transitionTo(State.HALF_OPEN);
+        }
+        if (state == State.CLOSED) {
+            return true;
+        }
+        if (state == State.HALF_OPEN && halfOpenPermitted < halfOpenCalls) {
+            halfOpenPermitted++;
+            return true;
+        }
+        rejectedCalls++;
+        return false;
+    }
+
+    /**
+     * Meldet einen erfolgreichen Aufruf.
+     *
+     * @param durationNanos Die Dauer des Aufrufs in Nanosekunden.
+     */
+    public synchronized void onSuccess(long durationNanos) {
+        record(durationNanos < slowCallNanos);
+    }
+
+    /**
+     * Meldet einen erfolgreichen Aufruf mit planmäßig langer Rechenzeit, etwa einen Batch mit seinem
+     * Zeitbudget. Er zählt erst als langsam, wenn er das Budget um die Schwelle überschreitet.
+     *
+     * @param durationNanos Die Dauer des Aufrufs in Nanosekunden.
+     * @param budgetNanos   Die erwartete Rechenzeit des Solvers in Nanosekunden.
+     */
+    public synchronized void onSuccess(long durationNanos, long budgetNanos) {
+        record(durationNanos - Math.max(0, budgetNanos) < slowCallNanos);
+    }
+
+    /**
+     * Meldet einen fehlgeschlagenen Aufruf.
+     */
+    public synchronized void onFailure() {
+        record(false);
+    }
+
+    /** @return Der aktuelle Zustand. */
+    public synchronized State getState() {
+        return state;
+    }
+
+    /** @return Die Fehlerquote im rollierenden Fenster in Prozent, 0 ohne Aufrufe. */
+    public synchronized double getFailureRate() {
+        return recordedCalls == 0 ? 0.0 : failedCalls * PERCENT / recordedCalls;
+    }
+
+    /** @return Die Anzahl der Aufrufe im rollierenden Fenster. */
+    public synchronized int getRecordedCalls() {
+        return recordedCalls;
+    }
+
+    /** @return Die Anzahl der sofort abgewiesenen Aufrufe seit dem Start. */
+    public synchronized long getRejectedCalls() {
+        return rejectedCalls;
+    }
+
+    /** @return Die Anzahl der Zustandswechsel seit dem Start. */
+    public synchronized long getStateTransitions() {
+        return stateTransitions;
+    }
+
+    private void record(boolean success) {
+        if (state == State.HALF_OPEN) {
+            if (!success) {
+                transitionTo(State.OPEN);
+            } else if (++halfOpenSucceeded >= halfOpenCalls) {
+                transitionTo(State.CLOSED);
+            }
+            return;
+        }
+        if (state == State.OPEN) {
+            return;
+        }
+        if (recordedCalls == window.length) {
+            if (!window[windowPosition]) {
+                failedCalls--;
+            }
+        } else {
+            recordedCalls++;
+        }
+        window[windowPosition] = success;
+        if (!success) {
+            failedCalls++;
+        }
+        windowPosition = (windowPosition + 1) % window.length;
+
+        if (recordedCalls >= minimumCalls && getFailureRate() >= failureRateThreshold) {
+            transitionTo(State.OPEN);
+        }
+    }
+
+    private void transitionTo(State newState) {
+        LOGGER.warn("Solver-Schutzschalter wechselt von {} nach {} (Fehlerquote {}%)", state, newState,
+                String.format("%.1f", getFailureRate()));
+        state = newState;
+        stateTransitions++;
+        halfOpenPermitted = 0;
+        halfOpenSucceeded = 0;
+        if (newState == State.OPEN) {
+            openedAt = System.nanoTime();
+        } else if (newState == State.CLOSED) {
+            recordedCalls = 0;
+            failedCalls = 0;
+            windowPosition = 0;
+        }
+    }
+}
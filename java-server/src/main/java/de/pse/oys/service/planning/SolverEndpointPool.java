@@ -0,0 +1,269 @@
+package de.pse.oys.service.planning;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * SolverEndpointPool – Verteilt die Solver-Aufrufe auf mehrere Solver-Instanzen.
+ * {@code microservice.planning.url} darf dazu eine kommagetrennte Liste von URLs enthalten. Jede Anfrage
+ * geht an die verfügbare Instanz mit den wenigsten laufenden Anfragen (least outstanding requests).
+ * Nach mehreren Fehlern in Folge oder einem fehlgeschlagenen Health-Check wird eine Instanz für eine
+ * Weile ausgeschlossen; ein erfolgreicher Health-Check nimmt sie sofort wieder auf. Sind alle Instanzen
+ * ausgeschlossen, werden trotzdem alle genutzt, damit ein Fehler der Erkennung nicht zum Totalausfall führt.
+ * Die Kennzahlen jeder Instanz werden mit dem Tag {@code endpoint} als Metriken veröffentlicht.
+ *
+ * @author uhxch
+ * @version 1.0
+ */
+@Component
+public class SolverEndpointPool implements MeterBinder {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SolverEndpointPool.class);
+    private static final String URL_SEPARATOR = ",";
+    private static final String HEALTH_PATH = "/health";
+    private static final double LATENCY_SMOOTHING = 0.2;
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+    private static final String METRIC_PREFIX = "planning.solver.endpoint.";
+    private static final String TAG_ENDPOINT = "endpoint";
+
+    private final Map<String, Endpoint> endpoints = new LinkedHashMap<>();
+    private final RestTemplate restTemplate;
+    private final int ejectAfterFailures;
+    private final long ejectNanos;
+    private int nextIndex;
+
+    /**
+     * Erzeugt den Pool.
+     *
+     * @param urls               Die URLs der Solver-Instanzen, kommagetrennt.
+     * @param restTemplate       Der RestTemplate mit kurzem Timeout für die Health-Checks.
+     * @param ejectAfterFailures Anzahl der Fehler in Folge, nach denen eine Instanz ausgeschlossen wird.
+     * @param ejectSeconds       Dauer eines Ausschlusses in Sekunden.
+     */
+    public SolverEndpointPool(@Value("${microservice.planning.url}") String urls,
+                              @Qualifier(RestTemplateConfig.HEALTH_REST_TEMPLATE) RestTemplate restTemplate,
+                              @Value("${planning.solver.eject-after-failures}") int ejectAfterFailures,
+                              @Value("${planning.solver.eject-seconds}") long ejectSeconds) {
+        Arrays.stream(urls.split(URL_SEPARATOR))
+                .map(String::trim)
+                .filter(url -> !url.isEmpty())
+                .forEach(url -> endpoints.put(url, new Endpoint(url)));
+        if (endpoints.isEmpty()) {
+            throw new IllegalArgumentException("Keine Solver-URL konfiguriert");
+        }
+        this.restTemplate = restTemplate;
+        this.ejectAfterFailures = Math.max(1, ejectAfterFailures);
+        this.ejectNanos = Duration.ofSeconds(Math.max(0, ejectSeconds)).toNanos();
+    }
+
+    /**
+     * Registriert je Instanz Verfügbarkeit, laufende Anfragen und mittlere Antwortzeit als Gauges
+     * sowie Anfragen, Fehler und Ausschlüsse als Zähler.
+     *
+     * @param registry Die Registry, in der die Metriken angelegt werden.
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (String url : getUrls()) {
+            endpointGauge(registry, url, "available", "1, wenn die Instanz Anfragen erhält",
+                    endpoint -> endpoint.isAvailable(System.nanoTime()) ? 1.0 : 0.0);
+            endpointGauge(registry, url, "outstanding", "Laufende Anfragen der Instanz",
+                    endpoint -> endpoint.outstanding);
+            endpointGauge(registry, url, "latency", "Geglättete Antwortzeit der Instanz in Millisekunden",
+                    endpoint -> endpoint.averageLatencyMillis);
+            endpointCounter(registry, url, "requests", "Anfragen an die Instanz", endpoint -> endpoint.requests);
+            endpointCounter(registry, url, "failures", "Fehlgeschlagene Anfragen an die Instanz",
+                    endpoint -> endpoint.failures);
+            endpointCounter(registry, url, "ejections", "Ausschlüsse der Instanz", endpoint -> endpoint.ejections);
+        }
+    }
+
+    /**
+     * Wählt die Instanz für die nächste Anfrage und zählt sie als laufend.
+     * Jede Anfrage muss danach mit {@link #release} abgeschlossen werden.
+     *
+     * @return die URL der gewählten Instanz.
+     */
+    public String acquire() {
+        return acquire(null);
+    }
+
+    /**
+     * Wählt wie {@link #acquire()} eine Instanz, meidet dabei aber die angegebene, sofern eine andere
+     * Instanz existiert. Wird für abgesicherte Anfragen genutzt.
+     *
+     * @param excluded Die zu meidende URL oder null.
+     * @return die URL der gewählten Instanz.
+     */
+    public synchronized String acquire(String excluded) {
+        long now = System.nanoTime();
+        List<Endpoint> others = endpoints.values().stream()
+                .filter(endpoint -> endpoints.size() == 1 || !endpoint.url.equals(excluded))
+                .toList();
+        List<Endpoint> candidates = others.stream().filter(endpoint -> endpoint.isAvailable(now)).toList();
+        if (candidates.isEmpty()) {
+            candidates = others;
+        }
+        Endpoint chosen = null;
+        for (int i = 0; i < candidates.size(); i++) {
+            Endpoint candidate = candidates.get((nextIndex + i) % candidates.size());
+            if (chosen == null || candidate.outstanding < chosen.outstanding) {
+                chosen = candidate;
+            }
+        }
+        nextIndex = (nextIndex + 1) % candidates.size();
+        chosen.outstanding++;
+        return chosen.url;
+    }
+
+    /**
+     * Schließt eine Anfrage ab und aktualisiert die Kennzahlen der Instanz.
+     *
+     * @param url           Die URL aus {@link #acquire}.
+     * @param durationNanos Die Dauer der Anfrage in Nanosekunden.
+     * @param success       true, wenn die Instanz geantwortet hat.
+     */
+    public synchronized void release(String url, long durationNanos, boolean success) {
+        Endpoint endpoint = endpoints.get(url);
+        if (endpoint == null) {
+            return;
+        }
+        endpoint.outstanding = Math.max(0, endpoint.outstanding - 1);
+        endpoint.requests++;
+        double latencyMillis = durationNanos / NANOS_PER_MILLI;
+        endpoint.averageLatencyMillis = endpoint.requests == 1
+                ? latencyMillis
+                : LATENCY_SMOOTHING * latencyMillis + (1 - LATENCY_SMOOTHING) * endpoint.averageLatencyMillis;
+        if (success) {
+            endpoint.consecutiveFailures = 0;
+        } else {
+            endpoint.failures++;
+            if (++endpoint.consecutiveFailures >= ejectAfterFailures) {
+                eject(endpoint, "Fehler in Folge");
+            }
+        }
+    }
+
+    /**
+     * Prüft regelmäßig die Lebendprüfung {@code /health} jeder Instanz. Fehlgeschlagene Instanzen
+     * werden ausgeschlossen, erreichbare sofort wieder aufgenommen.
+     */
+    @Scheduled(fixedDelayString = "${planning.solver.health-check-interval-ms}")
+    public void checkHealth() {
+        for (String url : getUrls()) {
+            boolean healthy;
+            try {
+                healthy = restTemplate.getForEntity(healthUrl(url), String.class).getStatusCode().is2xxSuccessful();
+            } catch (Exception e) {
+                healthy = false;
+            }
+            onHealthCheck(url, healthy);
+        }
+    }
+
+    /** @return Die Anzahl der konfigurierten Instanzen. */
+    public synchronized int size() {
+        return endpoints.size();
+    }
+
+    /** @return Die URLs aller Instanzen in Konfigurationsreihenfolge. */
+    public synchronized List<String> getUrls() {
+        return new ArrayList<>(endpoints.keySet());
+    }
+
+    /**
+     * Liefert die Kennzahlen aller Instanzen in Konfigurationsreihenfolge.
+     *
+     * @return Liste der Instanz-Kennzahlen
+     */
+    public synchronized List<SolverEndpointStats> getStats() {
+        long now = System.nanoTime();
+        return endpoints.values().stream()
+                .map(endpoint -> new SolverEndpointStats(endpoint.url, endpoint.isAvailable(now), endpoint.outstanding,
+                        endpoint.requests, endpoint.failures, endpoint.ejections, endpoint.averageLatencyMillis))
+                .toList();
+    }
+
+    private synchronized void onHealthCheck(String url, boolean healthy) {
+        Endpoint endpoint = endpoints.get(url);
+        if (healthy) {
+            if (endpoint.ejectedUntil != 0) {
+                LOGGER.info("Solver-Instanz {} ist wieder erreichbar", url);
+            }
+            endpoint.ejectedUntil = 0;
+            endpoint.consecutiveFailures = 0;
+        } else if (endpoint.isAvailable(System.nanoTime())) {
+            eject(endpoint, "Health-Check fehlgeschlagen");
+        }
+    }
+
+    private void eject(Endpoint endpoint, String reason) {
+        endpoint.ejectedUntil = System.nanoTime() + ejectNanos;
+        endpoint.consecutiveFailures = 0;
+        endpoint.ejections++;
+        LOGGER.warn("Solver-Instanz {} wird für {}s ausgeschlossen: {}", endpoint.url,
+                Duration.ofNanos(ejectNanos).toSeconds(), reason);
+    }
+
+    private void endpointGauge(MeterRegistry registry, String url, String name, String description,
+                               ToDoubleFunction<Endpoint> value) {
+        Gauge.builder(METRIC_PREFIX + name, this, pool -> pool.readEndpoint(url, value))
+                .description(description)
+                .tag(TAG_ENDPOINT, url)
+                .register(registry);
+    }
+
+    private void endpointCounter(MeterRegistry registry, String url, String name, String description,
+                                 ToDoubleFunction<Endpoint> value) {
+        FunctionCounter.builder(METRIC_PREFIX + name, this, pool -> pool.readEndpoint(url, value))
+                .description(description)
+                .tag(TAG_ENDPOINT, url)
+                .register(registry);
+    }
+
+    private synchronized double readEndpoint(String url, ToDoubleFunction<Endpoint> value) {
+        return value.applyAsDouble(endpoints.get(url));
+    }
+
+    private static String healthUrl(String url) {
+        return URI.create(url).resolve(HEALTH_PATH).toString();
+    }
+
+    /** Zustand einer einzelnen Solver-Instanz; nur unter der Sperre des Pools verändert. */
+    private static final class Endpoint {
+        private final String url;
+        private int outstanding;
+        private int consecutiveFailures;
+        private long ejectedUntil;
+        private long requests;
+        private long failures;
+        private long ejections;
+        private double averageLatencyMillis;
+
+        private Endpoint(String url) {
+            this.url = url;
+        }
+
+        private boolean isAvailable(long now) {
+            return ejectedUntil == 0 || now - ejectedUntil >= 0;
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package de.pse.oys.service.planning;
+
+/**
+ * SolverEndpointStats – Unveränderliche Momentaufnahme der Kennzahlen einer Solver-Instanz im {@link SolverEndpointPool}.
+ *
+ * @author uhxch
+ * @version 1.0
+ */
+public class SolverEndpointStats {
+
+    private final String url;
+    private final boolean available;
+    private final int outstanding;
+    private final long requests;
+    private final long failures;
+    private final long ejections;
+    private final double averageLatencyMillis;
+
+    /**
+     * Erzeugt eine Momentaufnahme.
+     *
+     * @param url                  Die URL der Instanz.
+     * @param available            true, wenn die Instanz aktuell Anfragen erhält.
+     * @param outstanding          Anzahl der laufenden Anfragen.
+     * @param requests             Anzahl der abgeschlossenen Anfragen.
+     * @param failures             Anzahl der fehlgeschlagenen Anfragen.
+     * @param ejections            Anzahl der Ausschlüsse aus dem Pool.
+     * @param averageLatencyMillis Geglättete Antwortzeit in Millisekunden.
+     */
+    public SolverEndpointStats(String url, boolean available, int outstanding, long requests, long failures,
+                               long ejections, double averageLatencyMillis) {
+        this.url = url;
+        this.available = available;
+        this.outstanding = outstanding;
+        this.requests = requests;
+        this.failures = failures;
+        this.ejections = ejections;
+        this.averageLatencyMillis = averageLatencyMillis;
+    }
+
+    /** @return Die URL der Instanz. */
+    public String getUrl() { return url; }
+
+    /** @return true, wenn die Instanz aktuell Anfragen erhält. */
+    public boolean isAvailable() { return available; }
+
+    /** @return Anzahl der laufenden Anfragen. */
+    public int getOutstanding() { return outstanding; }
+
+    /** @return Anzahl der abgeschlossenen Anfragen. */
+    public long getRequests() { return requests; }
+
+    /** @return Anzahl der fehlgeschlagenen Anfragen. */
+    public long getFailures() { return failures; }
+
+    /** @return Anzahl der Ausschlüsse aus dem Pool. */
+    public long getEjections() { return ejections; }
+
+    /** @return Geglättete Antwortzeit in Millisekunden. */
+    public double getAverageLatencyMillis() { return averageLatencyMillis; }
+
+    @Override
+    public String toString() {
+        return String.format("%s[available=%b, outstanding=%d, requests=%d, failures=%d, ejections=%d, latency=%.1fms]",
+                url, available, outstanding, requests, failures, ejections, averageLatencyMillis);
+    }
+}
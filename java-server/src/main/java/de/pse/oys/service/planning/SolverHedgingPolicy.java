@@ -0,0 +1,187 @@
+package de.pse.oys.service.planning;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+/**
+ * SolverHedgingPolicy – Entscheidet, wann ein Solver-Aufruf abgesichert (hedged) wird.
+ * Hat die erste Instanz nach dem konfigurierten Perzentil der zuletzt gemessenen Antwortzeiten noch
+ * nicht geantwortet, darf eine zweite Instanz dieselbe Anfrage erhalten. Jeder Aufruf schreibt dafür
+ * einen Bruchteil eines Guthabens gut und jede Absicherung verbraucht eine ganze Einheit, sodass die
+ * Absicherungen dauerhaft auf den Budgetanteil der Aufrufe begrenzt bleiben. Die Zähler werden als
+ * Metriken veröffentlicht.
+ *
+ * @author uhxch
+ * @version 1.0
+ */
+@Component
+public class SolverHedgingPolicy implements MeterBinder {
+
+    private static final double PERCENT = 100.0;
+    private static final double MAX_CREDITS = 10.0;
+    private static final String METRIC_CALLS = "planning.solver.hedging.calls";
+    private static final String METRIC_HEDGES = "planning.solver.hedging.hedges";
+    private static final String METRIC_BUDGET_REJECTED = "planning.solver.hedging.budget-rejected";
+    private static final String METRIC_RATE = "planning.solver.hedging.rate";
+
+    private final boolean enabled;
+    private final double percentile;
+    private final int minimumSamples;
+    private final long initialDelayNanos;
+    private final double creditsPerCall;
+    private final long[] latencies;
+
+    private int latencyPosition;
+    private int recordedLatencies;
+    private double credits;
+
+    private long calls;
+    private long hedgesSent;
+    private long hedgesWon;
+    private long budgetRejected;
+
+    /**
+     * Erzeugt die Richtlinie.
+     *
+     * @param enabled        true, wenn Solver-Aufrufe abgesichert werden dürfen.
+     * @param percentile     Das Perzentil der Antwortzeiten, nach dem abgesichert wird.
+     * @param windowSize     Die Anzahl der letzten Antwortzeiten, aus denen das Perzentil gebildet wird.
+     * @param minimumSamples Die Mindestanzahl an Messwerten, bevor das Perzentil genutzt wird.
+     * @param initialDelayMs Die Wartezeit in Millisekunden, solange zu wenige Messwerte vorliegen.
+     * @param budgetPercent  Der höchste Anteil abgesicherter Aufrufe in Prozent.
+     */
+    public SolverHedgingPolicy(@Value("${planning.solver.hedging.enabled}") boolean enabled,
+                               @Value("${planning.solver.hedging.percentile}") double percentile,
+                               @Value("${planning.solver.hedging.window-size}") int windowSize,
+                               @Value("${planning.solver.hedging.minimum-samples}") int minimumSamples,
+                               @Value("${planning.solver.hedging.initial-delay-ms}") long initialDelayMs,
+                               @Value("${planning.solver.hedging.budget-percent}") double budgetPercent) {
+        this.enabled = enabled;
+        this.percentile = Math.min(PERCENT, Math.max(0, percentile));
+        this.latencies = new long[Math.max(1, windowSize)];
+        this.minimumSamples = Math.max(1, Math.min(minimumSamples, latencies.length));
+        this.initialDelayNanos = Duration.ofMillis(Math.max(0, initialDelayMs)).toNanos();
+        this.creditsPerCall = Math.max(0, budgetPercent) / PERCENT;
+    }
+
+    /**
+     * Registriert die absicherbaren Aufrufe, die gesendeten und gewonnenen Absicherungen, die vom
+     * Budget verhinderten Absicherungen und den Anteil abgesicherter Aufrufe.
+     *
+     * @param registry Die Registry, in der die Metriken angelegt werden.
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder(METRIC_CALLS, this, SolverHedgingPolicy::getCalls)
+                .description("Absicherbare Solver-Aufrufe")
+                .register(registry);
+        FunctionCounter.builder(METRIC_HEDGES, this, SolverHedgingPolicy::getHedgesSent)
+                .description("Gesendete Absicherungen")
+                .tag("result", "sent")
+                .register(registry);
+        FunctionCounter.builder(METRIC_HEDGES, this, SolverHedgingPolicy::getHedgesWon)
+                .description("Absicherungen, die vor dem ersten Aufruf geantwortet haben")
+                .tag("result", "won")
+                .register(registry);
+        FunctionCounter.builder(METRIC_BUDGET_REJECTED, this, SolverHedgingPolicy::getBudgetRejected)
+                .description("Vom Budget verhinderte Absicherungen")
+                .register(registry);
+        Gauge.builder(METRIC_RATE, this, SolverHedgingPolicy::getHedgeRate)
+                .description("Anteil abgesicherter Aufrufe in Prozent")
+                .register(registry);
+    }
+
+    /** @return true, wenn Solver-Aufrufe abgesichert werden dürfen. */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Meldet den Beginn eines absicherbaren Aufrufs und schreibt das anteilige Guthaben gut.
+     */
+    public synchronized void onCall() {
+        calls++;
+        credits = Math.min(MAX_CREDITS, credits + creditsPerCall);
+    }
+
+    /**
+     * Liefert die Wartezeit, nach der abgesichert wird: das Perzentil der letzten Antwortzeiten
+     * oder die Anfangswartezeit, solange zu wenige Messwerte vorliegen.
+     *
+     * @return die Wartezeit in Nanosekunden.
+     */
+    public synchronized long hedgeDelayNanos() {
+        if (recordedLatencies < minimumSamples) {
+            return initialDelayNanos;
+        }
+        long[] sorted = Arrays.copyOf(latencies, recordedLatencies);
+        Arrays.sort(sorted);
+        int index = (int) Math.ceil(percentile / PERCENT * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+    }
+
+    /**
+     * Fragt an, ob eine Absicherung gesendet werden darf, und verbraucht dafür Guthaben.
+     *
+     * @return true, wenn das Budget die Absicherung erlaubt.
+     */
+    public synchronized boolean tryAcquireHedge() {
+        if (credits < 1) {
+            budgetRejected++;
+            return false;
+        }
+        credits--;
+        hedgesSent++;
+        return true;
+    }
+
+    /**
+     * Meldet die Antwortzeit eines erfolgreichen Solver-Aufrufs.
+     *
+     * @param durationNanos Die Dauer des Aufrufs in Nanosekunden.
+     */
+    public synchronized void recordLatency(long durationNanos) {
+        latencies[latencyPosition] = durationNanos;
+        latencyPosition = (latencyPosition + 1) % latencies.length;
+        recordedLatencies = Math.min(recordedLatencies + 1, latencies.length);
+    }
+
+    /**
+     * Meldet, dass die Absicherung vor dem ersten Aufruf geantwortet hat.
+     */
+    public synchronized void onHedgeWon() {
+        hedgesWon++;
+    }
+
+    /** @return Die Anzahl der absicherbaren Aufrufe seit dem Start. */
+    public synchronized long getCalls() {
+        return calls;
+    }
+
+    /** @return Die Anzahl der gesendeten Absicherungen seit dem Start. */
+    public synchronized long getHedgesSent() {
+        return hedgesSent;
+    }
+
+    /** @return Die Anzahl der Absicherungen, die vor dem ersten Aufruf geantwortet haben. */
+    public synchronized long getHedgesWon() {
+        return hedgesWon;
+    }
+
+    /** @return Die Anzahl der Absicherungen, die das Budget verhindert hat. */
+    public synchronized long getBudgetRejected() {
+        return budgetRejected;
+    }
+
+    /** @return Der Anteil abgesicherter Aufrufe in Prozent, 0 ohne Aufrufe. */
+    public synchronized double getHedgeRate() {
+        return calls == 0 ? 0.0 : hedgesSent * PERCENT / calls;
+    }
+}
@@ -0,0 +1,206 @@
+package de.pse.oys.service.planning;
+
+import de.pse.oys.dto.plan.PlanningRequestDTO;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * SolverRequestBatcher – Bündelt die Solver-Anfragen gleichzeitig geplanter Nutzer zu einem Aufruf von
+ * {@link PlanningService#callSolverBatch}, damit sich HTTP-, JSON- und Aufwärmkosten des Solvers auf
+ * viele Nutzer verteilen.
+ * Anfragen werden nach ihrer geschätzten Rechenzeit in den offenen Batch gepackt, da der Solver die
+ * Probleme eines Batches nacheinander löst und die Summe ihrer Zeitbudgets die Antwortzeit bestimmt.
+ * Geschätzt wird je Problem die Anzahl der Chunks mal {@code seconds-per-chunk}, mindestens
+ * {@code min-seconds-per-problem}; die verbindliche Grenze setzt der Solver selbst anhand des
+ * Batch-Budgets. Würde eine Anfrage das Budget überschreiten, wird der offene Batch abgeschickt und ein
+ * neuer begonnen; ebenso bei Erreichen der Höchstzahl an Problemen oder spätestens nach der Wartezeit,
+ * die der Aufrufer abwartet, der den Batch eröffnet hat. Gesendet wird stets im Thread eines Aufrufers.
+ * Anfragen, die allein das Budget erreichen, werden einzeln über {@link PlanningService#callSolverWithStats}
+ * gelöst.
+ * Da {@link #solve} bis zum Ergebnis blockiert, ist ein Batch höchstens so groß wie die Anzahl der
+ * gleichzeitig wartenden Aufrufer, in der Pipeline also der Solver-Worker.
+ *
+ * @author uhxch
+ * @version 1.0
+ */
+@Component
+public class SolverRequestBatcher {
+
+    private final PlanningService planningService;
+    private final boolean enabled;
+    private final int maxProblems;
+    private final double maxBudgetSeconds;
+    private final double secondsPerChunk;
+    private final double minSecondsPerProblem;
+    private final long lingerNanos;
+
+    private List<PendingRequest> openBatch = new ArrayList<>();
+    private double openBatchSeconds;
+    private long batchGeneration;
+
+    private long batchesSent;
+    private long problemsBatched;
+
+    /**
+     * Konstruktor mit Dependency Injection.
+     *
+     * @param planningService      der PlanningService, der die Batches an den Solver sendet
+     * @param enabled              ob Anfragen gebündelt werden
+     * @param maxProblems          Höchstzahl an Problemen je Batch
+     * @param maxBudgetSeconds     höchste geschätzte Rechenzeit je Batch in Sekunden
+     * @param secondsPerChunk      geschätzte Rechenzeit je Chunk in Sekunden
+     * @param minSecondsPerProblem geschätzte Mindestrechenzeit eines Problems in Sekunden
+     * @param lingerMs             höchste Wartezeit eines offenen Batches in Millisekunden
+     */
+    public SolverRequestBatcher(PlanningService planningService,
+                                @Value("${planning.solver.batch.enabled}") boolean enabled,
+                                @Value("${planning.solver.batch.max-problems}") int maxProblems,
+                                @Value("${planning.solver.batch.max-budget-seconds}") double maxBudgetSeconds,
+                                @Value("${planning.solver.batch.seconds-per-chunk}") double secondsPerChunk,
+                                @Value("${planning.solver.batch.min-seconds-per-problem}") double minSecondsPerProblem,
+                                @Value("${planning.solver.batch.linger-ms}") long lingerMs) {
+        this.planningService = planningService;
+        this.enabled = enabled;
+        this.maxProblems = Math.max(1, maxProblems);
+        this.maxBudgetSeconds = maxBudgetSeconds;
+        this.secondsPerChunk = Math.max(0, secondsPerChunk);
+        this.minSecondsPerProblem = Math.max(0, minSecondsPerProblem);
+        this.lingerNanos = Duration.ofMillis(Math.max(0, lingerMs)).toNanos();
+    }
+
+    /**
+     * Löst eine Anfrage, gebündelt mit den Anfragen anderer Aufrufer, und blockiert bis zum Ergebnis.
+     * Ist das Bündeln deaktiviert, wird direkt {@link PlanningService#callSolverWithStats} aufgerufen.
+     *
+     * @param request Die Planungseingabedaten.
+     * @return die Planungsergebnisse samt Kennzahlen des Solvers, ohne Ergebnisse bei einem Fehler.
+     */
+    public SolverResult solve(PlanningRequestDTO request) {
+        if (!enabled || maxProblems == 1) {
+            return planningService.callSolverWithStats(request);
+        }
+        double seconds = estimateSeconds(request);
+        if (seconds >= maxBudgetSeconds) {
+            return planningService.callSolverWithStats(request);
+        }
+        PendingRequest pending = new PendingRequest(request);
+        List<List<PendingRequest>> ready = enqueue(pending, seconds);
+        ready.forEach(this::send);
+        if (pending.opensBatch) {
+            awaitLinger(pending);
+        }
+        try {
+            return pending.result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    /** @return Die Anzahl der gesendeten Batches seit dem Start. */
+    public synchronized long getBatchesSent() {
+        return batchesSent;
+    }
+
+    /** @return Die Anzahl der in Batches gelösten Probleme seit dem Start. */
+    public synchronized long getProblemsBatched() {
+        return problemsBatched;
+    }
+
+    /** @return Die durchschnittliche Anzahl an Problemen je Batch, 0 ohne Batches. */
+    public synchronized double getAverageBatchSize() {
+        return batchesSent == 0 ? 0.0 : (double) problemsBatched / batchesSent;
+    }
+
+    private double estimateSeconds(PlanningRequestDTO request) {
+        return Math.max(minSecondsPerProblem, request.getTasks().size() * secondsPerChunk);
+    }
+
+    private synchronized List<List<PendingRequest>> enqueue(PendingRequest pending, double seconds) {
+        List<List<PendingRequest>> ready = new ArrayList<>();
+        if (!openBatch.isEmpty() && openBatchSeconds + seconds > maxBudgetSeconds) {
+            ready.add(drain());
+        }
+        pending.opensBatch = openBatch.isEmpty();
+        pending.generation = batchGeneration;
+        openBatch.add(pending);
+        openBatchSeconds += seconds;
+        if (openBatch.size() >= maxProblems || openBatchSeconds >= maxBudgetSeconds) {
+            ready.add(drain());
+        }
+        return ready;
+    }
+
+    /**
+     * Wartet als Eröffner eines Batches höchstens die Wartezeit auf das Ergebnis und sendet den Batch
+     * danach selbst, falls er bis dahin nicht voll geworden und von einem anderen Aufrufer gesendet wurde.
+     */
+    private void awaitLinger(PendingRequest pending) {
+        try {
+            pending.result.get(lingerNanos, TimeUnit.NANOSECONDS);
+            return;
+        } catch (TimeoutException | ExecutionException e) {
+            // Ergebnis folgt oder der Fehler wird beim Abholen weitergereicht
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        sendIfOpen(pending.generation);
+    }
+
+    private void sendIfOpen(long generation) {
+        List<PendingRequest> batch;
+        synchronized (this) {
+            if (generation != batchGeneration || openBatch.isEmpty()) {
+                return;
+            }
+            batch = drain();
+        }
+        send(batch);
+    }
+
+    private List<PendingRequest> drain() {
+        List<PendingRequest> batch = openBatch;
+        openBatch = new ArrayList<>();
+        openBatchSeconds = 0;
+        batchGeneration++;
+        batchesSent++;
+        problemsBatched += batch.size();
+        return batch;
+    }
+
+    private void send(List<PendingRequest> batch) {
+        try {
+            List<SolverResult> results = planningService.callSolverBatch(batch.stream()
+                    .map(pending -> pending.request)
+                    .toList());
+            for (int i = 0; i < batch.size(); i++) {
+                batch.get(i).result.complete(results.get(i));
+            }
+        } catch (RuntimeException e) {
+            batch.forEach(pending -> pending.result.completeExceptionally(e));
+        }
+    }
+
+    /** Eine wartende Anfrage mit dem Ergebnis, auf das ihr Aufrufer blockiert. */
+    private static final class PendingRequest {
+        private final PlanningRequestDTO request;
+        private final CompletableFuture<SolverResult> result = new CompletableFuture<>();
+        private boolean opensBatch;
+        private long generation;
+
+        private PendingRequest(PlanningRequestDTO request) {
+            this.request = request;
+        }
+    }
+}
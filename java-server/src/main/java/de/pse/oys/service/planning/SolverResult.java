@@ -0,0 +1,36 @@
+package de.pse.oys.service.planning;
+
+import de.pse.oys.domain.SolverRunStats;
+import de.pse.oys.dto.plan.PlanningResponseDTO;
+
+import java.util.List;
+
+/**
+ * SolverResult – Ergebnis von {@link PlanningService#callSolverWithStats}: die Platzierungen der Chunks
+ * und die Kennzahlen der Solver-Aufrufe, die dafür nötig waren.
+ *
+ * @author uhxch
+ * @version 1.0
+ */
+public class SolverResult {
+
+    private final List<PlanningResponseDTO> results;
+    private final SolverRunStats stats;
+
+    /**
+     * Erzeugt ein neues Ergebnis.
+     *
+     * @param results Die Planungsergebnisse, leer bei einem Fehler.
+     * @param stats   Die Kennzahlen des Solvers oder null, wenn kein Solver-Aufruf Kennzahlen geliefert hat.
+     */
+    public SolverResult(List<PlanningResponseDTO> results, SolverRunStats stats) {
+        this.results = results;
+        this.stats = stats;
+    }
+
+    /** @return Die Planungsergebnisse. */
+    public List<PlanningResponseDTO> getResults() { return results; }
+
+    /** @return Die Kennzahlen des Solvers oder null. */
+    public SolverRunStats getStats() { return stats; }
+}
@@ -0,0 +1,235 @@
+package de.pse.oys.service.planning;
+
+import de.pse.oys.dto.CostDTO;
+import de.pse.oys.dto.plan.FixedBlockDTO;
+import de.pse.oys.dto.plan.PlanningRequestDTO;
+import de.pse.oys.dto.plan.PlanningResponseDTO;
+import de.pse.oys.dto.plan.PlanningTaskDTO;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * SolverResultCache – Begrenzter LRU-Speicher für Solver-Ergebnisse, adressiert über einen
+ * kanonischen Hash der Planungsanfrage.
+ * Der aktuelle Slot ist nicht Teil des Schlüssels: Alle Startslots, die nicht nach dem aktuellen Slot
+ * liegen, werden als "jetzt" normalisiert. Damit trifft dieselbe Anfrage auch Minuten später noch,
+ * solange keine gespeicherte Einheit inzwischen in der Vergangenheit beginnt.
+ * Treffer, Fehlgriffe, Verdrängungen, Invalidierungen und Größe werden als Micrometer-Messwerte
+ * {@code planning.cache.*} veröffentlicht.
+ *
+ * @author uhxch
+ * @version 1.0
+ */
+@Component
+public class SolverResultCache implements MeterBinder {
+
+    private static final String HASH_ALGORITHM = "SHA-256";
+    private static final String NOW_MARKER = "now";
+    private static final String METRIC_GETS = "planning.cache.gets";
+    private static final String METRIC_EVICTIONS = "planning.cache.evictions";
+    private static final String METRIC_INVALIDATIONS = "planning.cache.invalidations";
+    private static final String METRIC_SIZE = "planning.cache.size";
+
+    private final int maxEntries;
+    private final Map<String, List<PlanningResponseDTO>> entries;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong invalidations = new AtomicLong();
+
+    /**
+     * Erzeugt einen neuen Cache.
+     *
+     * @param maxEntries maximale Anzahl gespeicherter Ergebnisse, 0 deaktiviert den Cache
+     */
+    public SolverResultCache(@Value("${planning.cache.max-entries}") int maxEntries) {
+        this.maxEntries = Math.max(0, maxEntries);
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, List<PlanningResponseDTO>> eldest) {
+                boolean evict = size() > SolverResultCache.this.maxEntries;
+                if (evict) {
+                    evictions.incrementAndGet();
+                }
+                return evict;
+            }
+        };
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder(METRIC_GETS, hits, AtomicLong::get)
+                .description("Abfragen des Solver-Ergebnis-Caches")
+                .tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder(METRIC_GETS, misses, AtomicLong::get)
+                .description("Abfragen des Solver-Ergebnis-Caches")
+                .tag("result", "miss")
+                .register(registry);
+        FunctionCounter.builder(METRIC_EVICTIONS, evictions, AtomicLong::get)
+                .description("Wegen Platzmangel verdrängte Einträge")
+                .register(registry);
+        FunctionCounter.builder(METRIC_INVALIDATIONS, invalidations, AtomicLong::get)
+                .description("Wegen eines veränderten Plans verworfene Einträge")
+                .register(registry);
+        Gauge.builder(METRIC_SIZE, this, SolverResultCache::size)
+                .description("Anzahl der gespeicherten Ergebnisse")
+                .register(registry);
+    }
+
+    /**
+     * Berechnet den kanonischen Schlüssel einer Planungsanfrage. Listen werden sortiert, damit die
+     * Reihenfolge von Mengen (z.B. bevorzugte Tageszeiten) den Schlüssel nicht beeinflusst.
+     *
+     * Die Pausendauer ist Teil des Schlüssels, da aus ihr die Endzeiten der gespeicherten Einheiten folgen.
+     *
+     * @param userId        Die ID des Nutzers.
+     * @param weekStart     Das Startdatum der geplanten Woche.
+     * @param breakDuration Die Pausendauer zwischen Lerneinheiten in Minuten.
+     * @param request       Die Planungsanfrage.
+     * @return der SHA-256-Hash der normalisierten Anfrage als Hex-String.
+     */
+    public static String canonicalKey(UUID userId, LocalDate weekStart, int breakDuration,
+                                      PlanningRequestDTO request) {
+        int currentSlot = request.getCurrentSlot();
+        StringBuilder canonical = new StringBuilder();
+        canonical.append("user=").append(userId)
+                .append("|week=").append(weekStart)
+                .append("|break=").append(breakDuration)
+                .append("|horizon=").append(request.getHorizon())
+                .append("|blocked=").append(request.getBlockedDays().stream().sorted().toList());
+
+        String preferenceTime = request.getPreferenceTime() == null ? "" : request.getPreferenceTime();
+        canonical.append("|pref=").append(Arrays.stream(preferenceTime.split(",")).sorted().toList());
+
+        canonical.append("|fixed=");
+        request.getFixedBlocks().stream()
+                .sorted(Comparator.comparingInt(FixedBlockDTO::getStart).thenComparingInt(FixedBlockDTO::getDuration))
+                .forEach(block -> canonical.append(block.getStart()).append('+').append(block.getDuration()).append(';'));
+
+        canonical.append("|tasks=");
+        request.getTasks().stream()
+                .sorted(Comparator.comparing(PlanningTaskDTO::getId))
+                .forEach(task -> {
+                    canonical.append(task.getId())
+                            .append(':').append(task.getDuration())
+                            .append(':').append(task.getStart() <= currentSlot ? NOW_MARKER : task.getStart())
+                            .append(':').append(task.getDeadline())
+                            .append(':');
+                    if (task.getCosts() != null) {
+                        task.getCosts().stream()
+                                .sorted(Comparator.comparingInt(CostDTO::getT))
+                                .forEach(cost -> canonical.append(cost.getT()).append('=').append(cost.getC()).append(','));
+                    }
+                    canonical.append(';');
+                });
+
+        return sha256(canonical.toString());
+    }
+
+    /**
+     * Sucht ein gespeichertes Ergebnis. Ein Ergebnis ist nur gültig, wenn keine seiner Einheiten vor
+     * dem aktuellen Slot beginnt; veraltete Einträge werden entfernt.
+     *
+     * @param key         Der kanonische Schlüssel der Anfrage.
+     * @param currentSlot Der aktuelle Slot.
+     * @return das gespeicherte Ergebnis oder ein leeres Optional.
+     */
+    public synchronized Optional<List<PlanningResponseDTO>> lookup(String key, int currentSlot) {
+        List<PlanningResponseDTO> cached = entries.get(key);
+        if (cached == null) {
+            misses.incrementAndGet();
+            return Optional.empty();
+        }
+        boolean startsInPast = cached.stream().anyMatch(result -> result.getStart() < currentSlot);
+        if (startsInPast) {
+            entries.remove(key);
+            misses.incrementAndGet();
+            return Optional.empty();
+        }
+        hits.incrementAndGet();
+        return Optional.of(cached);
+    }
+
+    /**
+     * Speichert ein Solver-Ergebnis. Ist der Cache voll, wird der am längsten nicht genutzte Eintrag verdrängt.
+     *
+     * @param key     Der kanonische Schlüssel der Anfrage.
+     * @param results Das Ergebnis des Solvers.
+     */
+    public synchronized void store(String key, List<PlanningResponseDTO> results) {
+        if (maxEntries == 0 || results.isEmpty()) {
+            return;
+        }
+        List<PlanningResponseDTO> copy = results.stream()
+                .map(result -> new PlanningResponseDTO(result.getId(), result.getStart(), result.getEnd()))
+                .toList();
+        entries.put(key, copy);
+    }
+
+    /**
+     * Entfernt einen Eintrag, dessen Ergebnis nicht mehr dem gespeicherten Plan entspricht.
+     *
+     * @param key Der kanonische Schlüssel der Anfrage.
+     */
+    public synchronized void invalidate(String key) {
+        if (entries.remove(key) != null) {
+            invalidations.incrementAndGet();
+        }
+    }
+
+    /** @return Anzahl der aktuell gespeicherten Ergebnisse. */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /** @return Anzahl der Treffer. */
+    public long getHits() { return hits.get(); }
+
+    /** @return Anzahl der Fehlgriffe. */
+    public long getMisses() { return misses.get(); }
+
+    /** @return Anzahl der wegen Platzmangel verdrängten Einträge. */
+    public long getEvictions() { return evictions.get(); }
+
+    /** @return Anzahl der Einträge, die wegen eines veränderten Plans verworfen wurden. */
+    public long getInvalidations() { return invalidations.get(); }
+
+    /**
+     * Berechnet die Trefferquote.
+     *
+     * @return Anteil der Treffer an allen Anfragen zwischen 0 und 1.
+     */
+    public double getHitRate() {
+        long total = hits.get() + misses.get();
+        return total == 0 ? 0.0 : (double) hits.get() / total;
+    }
+
+    private static String sha256(String value) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance(HASH_ALGORITHM);
+            return HexFormat.of().formatHex(digest.digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package de.pse.oys.service.planning;
+
+import io.opentelemetry.exporter.logging.otlp.OtlpJsonLoggingSpanExporter;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * TracingConfig – Ergänzt die OpenTelemetry-Konfiguration von Spring Boot um einen lokalen Export.
+ * Der OTLP-Export an einen Collector wird über {@code management.otlp.tracing.endpoint} aktiviert;
+ * ohne Collector können die Spans als OTLP-JSON ins Log geschrieben und von dort in eine Datei
+ * umgeleitet werden.
+ *
+ * @author uhxch
+ * @version 1.0
+ */
+@Configuration
+public class TracingConfig {
+
+    /**
+     * Schreibt jeden abgeschlossenen Span als OTLP-JSON-Zeile in das Log
+     * ({@code io.opentelemetry.exporter.logging.otlp}).
+     *
+     * @return der Exporter, den Spring Boot beim Tracer-Provider registriert.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "planning.tracing.log-export.enabled", havingValue = "true")
+    public SpanExporter otlpJsonLoggingSpanExporter() {
+        return OtlpJsonLoggingSpanExporter.create();
+    }
+}
@@ -0,0 +1,160 @@
+package de.pse.oys.service.planning;
+
+import de.pse.oys.dto.CostDTO;
+import de.pse.oys.dto.plan.SlotRangeDTO;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * WindowCostCalculator – Berechnet die Kosten eines Chunks für jeden möglichen Startslot, also die
+ * Summe der Slot-Kosten über die gesamte Dauer des Chunks. Statt jedes Fenster einzeln aufzusummieren,
+ * wird einmal pro Aufgabe eine Präfixsumme gebildet (O(Horizont) statt O(Horizont × Dauer)).
+ * Innerhalb einer Anfrage werden die Tabellen pro (Aufgabe, Dauer) zwischengespeichert, sodass gleich
+ * lange Chunks derselben Aufgabe sie nur einmal berechnen. Die Slot-Kosten setzen sich aus dem Bonus für
+ * bevorzugte Tageszeiten und der Kostenmatrix der Aufgabe zusammen.
+ * Für Anfragen mit Startbereichen ist diese Klasse die einzige Quelle der Kosten: Der Solver übernimmt
+ * die mitgelieferten Fensterkosten und wendet seine eigene Tageszeiten-Tabelle nur auf Anfragen ohne
+ * Startbereiche an.
+ *
+ * @author uhxch
+ * @version 1.0
+ */
+public class WindowCostCalculator {
+
+    private static final int SLOTS_PER_HOUR = 12;
+    private static final int HOURS_PER_DAY = 24;
+    private static final int COST_BONUS_PREFERENCE = -10;
+    private static final String KEY_SEPARATOR = "#";
+
+    /** Stundenfenster der Tageszeiten. */
+    private static final Map<String, int[]> PREFERENCE_WINDOWS = Map.of(
+            "MORNING", new int[]{6, 9},
+            "FORENOON", new int[]{9, 12},
+            "NOON", new int[]{12, 15},
+            "AFTERNOON", new int[]{15, 18},
+            "EVENING", new int[]{18, 22}
+    );
+
+    private final int horizon;
+    private final int[] baseCosts;
+    private final Map<String, int[]> windowCostCache = new HashMap<>();
+    private int cacheHits;
+
+    /**
+     * Erzeugt einen Rechner für eine Planungsanfrage.
+     *
+     * @param horizon        Die Anzahl der Slots des Planungshorizonts.
+     * @param preferenceTime Die bevorzugten Tageszeiten als kommagetrennter String.
+     */
+    public WindowCostCalculator(int horizon, String preferenceTime) {
+        this.horizon = horizon;
+        this.baseCosts = buildPreferenceCosts(horizon, preferenceTime);
+    }
+
+    /**
+     * Liefert die Fensterkosten einer Aufgabe für eine Chunk-Dauer.
+     *
+     * @param taskKey  Die Kennung der Aufgabe, unter der die Tabelle zwischengespeichert wird.
+     * @param costs    Die Kostenmatrix der Aufgabe.
+     * @param duration Die Dauer des Chunks in Slots.
+     * @return Tabelle, deren Eintrag t die Kosten eines Starts in Slot t enthält.
+     */
+    public int[] windowCosts(String taskKey, List<CostDTO> costs, int duration) {
+        String key = taskKey + KEY_SEPARATOR + duration;
+        int[] cached = windowCostCache.get(key);
+        if (cached != null) {
+            cacheHits++;
+            return cached;
+        }
+
+        long[] prefix = new long[horizon + 1];
+        int[] slotCosts = Arrays.copyOf(baseCosts, horizon);
+        if (costs != null) {
+            for (CostDTO cost : costs) {
+                if (cost.getT() >= 0 && cost.getT() < horizon) {
+                    slotCosts[cost.getT()] += cost.getC();
+                }
+            }
+        }
+        for (int slot = 0; slot < horizon; slot++) {
+            prefix[slot + 1] = prefix[slot] + slotCosts[slot];
+        }
+
+        int[] windows = new int[Math.max(0, horizon - duration + 1)];
+        for (int start = 0; start < windows.length; start++) {
+            windows[start] = (int) (prefix[start + duration] - prefix[start]);
+        }
+        windowCostCache.put(key, windows);
+        return windows;
+    }
+
+    /**
+     * Ergänzt die Startbereiche eines Chunks um die passenden Fensterkosten.
+     *
+     * @param domain      Die zulässigen Startbereiche.
+     * @param windowCosts Die Fensterkosten aus {@link #windowCosts}.
+     * @return neue Bereiche, deren Kostenliste an den Startslots des Bereichs ausgerichtet ist.
+     */
+    public List<SlotRangeDTO> attachCosts(List<SlotRangeDTO> domain, int[] windowCosts) {
+        return attachCosts(domain, windowCosts, 0, 0);
+    }
+
+    /**
+     * Ergänzt die Startbereiche eines Chunks um die passenden Fensterkosten und verteuert dabei
+     * alle Starts vor {@code penaltyBeforeSlot}. So wird Arbeit einer späteren Woche nur dann
+     * vorgezogen, wenn sie sonst nicht mehr vor der Deadline Platz findet.
+     *
+     * @param domain            Die zulässigen Startbereiche.
+     * @param windowCosts       Die Fensterkosten aus {@link #windowCosts}.
+     * @param penaltyBeforeSlot Der erste Slot, ab dem kein Aufschlag mehr anfällt.
+     * @param penalty           Der Aufschlag für frühere Starts.
+     * @return neue Bereiche, deren Kostenliste an den Startslots des Bereichs ausgerichtet ist.
+     */
+    public List<SlotRangeDTO> attachCosts(List<SlotRangeDTO> domain, int[] windowCosts, int penaltyBeforeSlot,
+                                          int penalty) {
+        List<SlotRangeDTO> rangesWithCosts = new ArrayList<>();
+        for (SlotRangeDTO range : domain) {
+            List<Integer> costs = new ArrayList<>(range.size());
+            for (int start = range.getFrom(); start <= range.getTo(); start++) {
+                costs.add(start < penaltyBeforeSlot ? windowCosts[start] + penalty : windowCosts[start]);
+            }
+            rangesWithCosts.add(new SlotRangeDTO(range.getFrom(), range.getTo(), costs));
+        }
+        return rangesWithCosts;
+    }
+
+    /** @return Anzahl der Tabellen, die aus dem Zwischenspeicher bedient wurden. */
+    public int getCacheHits() {
+        return cacheHits;
+    }
+
+    private static int[] buildPreferenceCosts(int horizon, String preferenceTime) {
+        int[] costs = new int[horizon];
+        if (preferenceTime == null) {
+            return costs;
+        }
+        Set<String> selected = Arrays.stream(preferenceTime.split(","))
+                .map(String::trim)
+                .collect(Collectors.toSet());
+        int days = (horizon + SLOTS_PER_HOUR * HOURS_PER_DAY - 1) / (SLOTS_PER_HOUR * HOURS_PER_DAY);
+        for (Map.Entry<String, int[]> window : PREFERENCE_WINDOWS.entrySet()) {
+            if (!selected.contains(window.getKey())) {
+                continue;
+            }
+            for (int day = 0; day < days; day++) {
+                int from = (day * HOURS_PER_DAY + window.getValue()[0]) * SLOTS_PER_HOUR;
+                int to = Math.min(horizon, (day * HOURS_PER_DAY + window.getValue()[1]) * SLOTS_PER_HOUR);
+                for (int slot = from; slot < to; slot++) {
+                    costs[slot] += COST_BONUS_PREFERENCE;
+                }
+            }
+        }
+        return costs;
+    }
+}
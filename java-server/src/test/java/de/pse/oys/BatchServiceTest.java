@@ -0,0 +1,162 @@
+package de.pse.oys;
+
+import de.pse.oys.controller.BatchController;
+import de.pse.oys.domain.LocalUser;
+import de.pse.oys.domain.enums.DataCollection;
+import de.pse.oys.dto.controller.BatchOperationDTO;
+import de.pse.oys.dto.response.BatchResponseDTO;
+import de.pse.oys.persistence.UserRepository;
+import de.pse.oys.security.UserPrincipal;
+import de.pse.oys.service.BatchService;
+import de.pse.oys.service.DataVersionService;
+import de.pse.oys.service.FreeTimeService;
+import de.pse.oys.service.ModuleService;
+import de.pse.oys.service.TaskService;
+import de.pse.oys.service.planning.PlanningService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * BatchServiceTest – Tests für Sammelanfragen gegen die Datenbank.
+ * Prüft die gemeinsame Übernahme mit nur einer Neuplanung, Verweise auf Module derselben Anfrage
+ * und das vollständige Verwerfen, sobald eine Operation fehlschlägt.
+ *
+ * @author uhxch
+ * @version 1.0
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class BatchServiceTest {
+
+    @Autowired
+    private BatchService batchService;
+
+    @Autowired
+    private ModuleService moduleService;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private FreeTimeService freeTimeService;
+
+    @Autowired
+    private DataVersionService dataVersionService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private UUID userId;
+
+    @BeforeEach
+    void setUp() {
+        userId = userRepository.save(new LocalUser("batch-" + UUID.randomUUID(), "hash")).getId();
+        UserPrincipal principal = new UserPrincipal(userId, "batchUser", "");
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, List.of()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void batch_AppliesAllOperationsWithSingleReplan() throws Exception {
+        PlanningService planningService = mock(PlanningService.class);
+        MockMvc mockMvc = MockMvcBuilders.standaloneSetup(new BatchController(batchService, planningService)).build();
+        String tomorrow = LocalDate.now().plusDays(1).toString();
+        String body = """
+                [
+                  {"action": "CREATE", "target": "MODULE", "ref": "pse",
+                   "data": {"title": "PSE", "priority": "HIGH", "color": "#00FF00"}},
+                  {"action": "CREATE", "target": "TASK", "moduleRef": "pse",
+                   "data": {"title": "Entwurf", "category": "OTHER", "weeklyTimeLoad": 120,
+                            "start": "%1$sT08:00:00", "end": "%1$sT18:00:00"}},
+                  {"action": "CREATE", "target": "FREE_TIME",
+                   "data": {"title": "Sport", "date": "%1$s", "startTime": "08:00", "endTime": "09:00", "weekly": false}},
+                  {"action": "CREATE", "target": "FREE_TIME",
+                   "data": {"title": "Chor", "date": "%1$s", "startTime": "18:00", "endTime": "19:00", "weekly": false}}
+                ]
+                """.formatted(tomorrow);
+
+        mockMvc.perform(post("/api/v1/batch").contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.applied").value(true))
+                .andExpect(jsonPath("$.results.length()").value(4))
+                .andExpect(jsonPath("$.results[1].status").value(201));
+
+        verify(planningService, times(1)).generateWeeklyPlan(userId);
+        assertEquals(1, moduleService.getModulesByUserId(userId).size());
+        assertEquals(1, taskService.getTasksByUserId(userId).size());
+        assertEquals(2, freeTimeService.getFreeTimesByUserId(userId).size());
+        // Das Änderungsprotokoll wird je Sammlung einmal geschrieben.
+        assertEquals(1, dataVersionService.getVersion(userId, DataCollection.FREE_TIMES));
+    }
+
+    @Test
+    void batch_DiscardsAllOperationsWhenOneFails() {
+        BatchOperationDTO module = new BatchOperationDTO(BatchOperationDTO.Action.CREATE,
+                BatchOperationDTO.Target.MODULE, null,
+                objectMapper.createObjectNode().put("title", "Analysis").put("priority", "LOW"));
+        BatchOperationDTO task = new BatchOperationDTO(BatchOperationDTO.Action.CREATE,
+                BatchOperationDTO.Target.TASK, null,
+                objectMapper.createObjectNode().put("title", "Blatt 1").put("category", "OTHER"));
+        task.setModuleRef("unbekannt");
+        BatchOperationDTO delete = new BatchOperationDTO(BatchOperationDTO.Action.DELETE,
+                BatchOperationDTO.Target.FREE_TIME, UUID.randomUUID(), null);
+
+        BatchResponseDTO response = batchService.apply(userId, List.of(module, task, delete));
+
+        assertFalse(response.isApplied());
+        assertEquals(201, response.getResults().get(0).getStatus());
+        assertEquals(400, response.getResults().get(1).getStatus());
+        assertTrue(response.getResults().get(1).getError().contains("unbekannt"));
+        assertEquals(424, response.getResults().get(2).getStatus());
+        assertNull(response.getResults().get(2).getId());
+        assertTrue(moduleService.getModulesByUserId(userId).isEmpty());
+        assertEquals(0, dataVersionService.getVersion(userId, DataCollection.MODULES));
+    }
+
+    @Test
+    void batch_FailedRequestDoesNotReplan() throws Exception {
+        PlanningService planningService = mock(PlanningService.class);
+        MockMvc mockMvc = MockMvcBuilders.standaloneSetup(new BatchController(batchService, planningService)).build();
+
+        mockMvc.perform(post("/api/v1/batch").contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"action\": \"DELETE\", \"target\": \"TASK\", \"id\": \"" + UUID.randomUUID() + "\"}]"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.applied").value(false));
+
+        verifyNoInteractions(planningService);
+    }
+}
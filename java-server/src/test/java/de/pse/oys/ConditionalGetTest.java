@@ -0,0 +1,107 @@
+package de.pse.oys;
+
+import de.pse.oys.controller.TaskController;
+import de.pse.oys.domain.enums.DataCollection;
+import de.pse.oys.security.UserPrincipal;
+import de.pse.oys.service.DataVersionService;
+import de.pse.oys.service.TaskService;
+import de.pse.oys.service.planning.PlanningService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * ConditionalGetTest – Tests für die Versionszähler der Datensammlungen und die bedingten Abrufe.
+ * Prüft Zählerstände und ETags gegen die Datenbank sowie 200/304 am Beispiel der Aufgabenliste.
+ *
+ * @author uhxch
+ * @version 1.0
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class ConditionalGetTest {
+
+    @Autowired
+    private DataVersionService dataVersionService;
+
+    private final UUID userId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        UserPrincipal principal = new UserPrincipal(userId, "etagUser", "");
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, List.of()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void bump_ChangesOnlyTheETagOfTheChangedCollection() {
+        String tasks = dataVersionService.getETag(userId, DataCollection.TASKS);
+        String units = dataVersionService.getETag(userId, DataCollection.UNITS);
+        assertEquals("\"tasks-" + userId + "-0\"", tasks);
+
+        dataVersionService.bump(userId, DataCollection.TASKS);
+        dataVersionService.bump(userId, DataCollection.TASKS);
+
+        assertEquals("\"tasks-" + userId + "-2\"", dataVersionService.getETag(userId, DataCollection.TASKS));
+        assertEquals(units, dataVersionService.getETag(userId, DataCollection.UNITS));
+        assertNotEquals(tasks, dataVersionService.getETag(UUID.randomUUID(), DataCollection.TASKS));
+    }
+
+    @Test
+    void getTasks_AnswersMatchingETagWith304WithoutLoadingTasks() throws Exception {
+        TaskService taskService = mock(TaskService.class);
+        when(taskService.getTasksByUserId(userId)).thenReturn(List.of());
+        MockMvc mockMvc = MockMvcBuilders.standaloneSetup(
+                new TaskController(taskService, mock(PlanningService.class), dataVersionService)).build();
+        dataVersionService.bump(userId, DataCollection.TASKS);
+        String eTag = dataVersionService.getETag(userId, DataCollection.TASKS);
+
+        mockMvc.perform(get("/api/v1/tasks"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, eTag))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, containsString("no-cache")))
+                .andExpect(content().json("[]"));
+        verify(taskService).getTasksByUserId(userId);
+
+        TaskService untouched = mock(TaskService.class);
+        mockMvc = MockMvcBuilders.standaloneSetup(
+                new TaskController(untouched, mock(PlanningService.class), dataVersionService)).build();
+        mockMvc.perform(get("/api/v1/tasks").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, eTag))
+                .andExpect(content().string(""));
+        verifyNoInteractions(untouched);
+
+        dataVersionService.bump(userId, DataCollection.TASKS);
+        mockMvc.perform(get("/api/v1/tasks").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk());
+    }
+}
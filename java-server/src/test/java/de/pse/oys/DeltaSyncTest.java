@@ -0,0 +1,160 @@
+package de.pse.oys;
+
+import de.pse.oys.domain.LocalUser;
+import de.pse.oys.domain.enums.DataCollection;
+import de.pse.oys.domain.enums.ModulePriority;
+import de.pse.oys.dto.FreeTimeDTO;
+import de.pse.oys.dto.ModuleDTO;
+import de.pse.oys.dto.controller.WrapperDTO;
+import de.pse.oys.dto.response.SyncDTO;
+import de.pse.oys.persistence.UserRepository;
+import de.pse.oys.service.DataVersionService;
+import de.pse.oys.service.FreeTimeService;
+import de.pse.oys.service.ModuleService;
+import de.pse.oys.service.SyncService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * DeltaSyncTest – Tests für den Delta-Sync gegen die Datenbank.
+ * Prüft, dass nach einem Token nur Änderungen und Tombstones geliefert werden und wann
+ * eine Sammlung vollständig neu geladen werden muss, sowie gleichzeitige erste Änderungen einer Sammlung.
+ *
+ * @author uhxch
+ * @version 1.0
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class DeltaSyncTest {
+
+    @Autowired
+    private SyncService syncService;
+
+    @Autowired
+    private ModuleService moduleService;
+
+    @Autowired
+    private FreeTimeService freeTimeService;
+
+    @Autowired
+    private DataVersionService dataVersionService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private UUID userId;
+
+    @BeforeEach
+    void setUp() {
+        userId = userRepository.save(new LocalUser("sync-" + UUID.randomUUID(), "hash")).getId();
+    }
+
+    @Test
+    void sync_DeliversOnlyChangesAndTombstonesSinceToken() {
+        UUID kept = moduleService.createModule(userId, module("Analysis"));
+        UUID removed = moduleService.createModule(userId, module("Lineare Algebra"));
+        freeTimeService.createFreeTime(userId, freeTime("Sport", 8));
+
+        SyncDTO initial = syncService.sync(userId, null);
+        assertTrue(initial.getModules().isFull());
+        assertEquals(2, initial.getModules().getChanged().size());
+        assertEquals(1, initial.getFreeTimes().getChanged().size());
+
+        SyncDTO unchanged = syncService.sync(userId, initial.getToken());
+        assertEquals(initial.getToken(), unchanged.getToken());
+        assertFalse(unchanged.getModules().isFull());
+        assertTrue(unchanged.getModules().getChanged().isEmpty());
+        assertTrue(unchanged.getUnits().getChanged().isEmpty());
+
+        ModuleDTO update = module("Analysis I");
+        update.setId(kept);
+        moduleService.updateModule(userId, update);
+        moduleService.deleteModule(userId, removed);
+        UUID added = freeTimeService.createFreeTime(userId, freeTime("Chor", 18));
+
+        SyncDTO delta = syncService.sync(userId, initial.getToken());
+        assertFalse(delta.getModules().isFull());
+        List<WrapperDTO<ModuleDTO>> modules = delta.getModules().getChanged();
+        assertEquals(1, modules.size());
+        assertEquals(kept, modules.get(0).getId());
+        assertEquals("Analysis I", modules.get(0).getData().getTitle());
+        assertEquals(List.of(removed), delta.getModules().getDeleted());
+        assertEquals(added, delta.getFreeTimes().getChanged().get(0).getId());
+        assertEquals(1, delta.getFreeTimes().getChanged().size());
+        assertTrue(delta.getTasks().getChanged().isEmpty());
+        assertFalse(delta.getTasks().isFull());
+
+        assertTrue(syncService.sync(userId, delta.getToken()).getModules().getChanged().isEmpty());
+    }
+
+    @Test
+    void sync_DeliversFullCollectionForInvalidTokenOrUnknownChanges() {
+        moduleService.createModule(userId, module("Informatik"));
+
+        SyncDTO invalid = syncService.sync(userId, "kein-token");
+        assertTrue(invalid.getModules().isFull());
+        assertTrue(invalid.getUnits().isFull());
+        assertEquals(1, invalid.getModules().getChanged().size());
+
+        dataVersionService.bump(userId, DataCollection.UNITS);
+        SyncDTO afterBump = syncService.sync(userId, invalid.getToken());
+        assertTrue(afterBump.getUnits().isFull());
+        assertFalse(afterBump.getModules().isFull());
+        assertTrue(afterBump.getModules().getChanged().isEmpty());
+    }
+
+    @Test
+    void bump_ConcurrentFirstChangesAllCount() throws Exception {
+        int writers = 8;
+        CyclicBarrier start = new CyclicBarrier(writers);
+        ExecutorService executor = Executors.newFixedThreadPool(writers);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < writers; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    dataVersionService.bump(userId, DataCollection.TASKS);
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(writers, dataVersionService.getVersion(userId, DataCollection.TASKS));
+    }
+
+    private static ModuleDTO module(String title) {
+        ModuleDTO dto = new ModuleDTO();
+        dto.setTitle(title);
+        dto.setPriority(ModulePriority.MEDIUM);
+        dto.setColor("#FF0000");
+        return dto;
+    }
+
+    private static FreeTimeDTO freeTime(String title, int startHour) {
+        return new FreeTimeDTO(title, LocalDate.now().plusDays(1), LocalTime.of(startHour, 0),
+                LocalTime.of(startHour + 1, 0), false);
+    }
+}
@@ -9,6 +9,7 @@ import de.pse.oys.dto.FreeTimeDTO;
 import de.pse.oys.dto.controller.WrapperDTO;
 import de.pse.oys.persistence.FreeTimeRepository;
 import de.pse.oys.persistence.UserRepository;
+import de.pse.oys.service.DataVersionService;
 import de.pse.oys.service.FreeTimeService;
 import de.pse.oys.service.exception.AccessDeniedException;
 import de.pse.oys.service.exception.ResourceNotFoundException;
@@ -39,13 +40,14 @@ class FreeTimeServiceTest {
 
     @Mock private UserRepository userRepository;
     @Mock private FreeTimeRepository freeTimeRepository;
+    @Mock private DataVersionService dataVersionService;
     private User mockUser;
 
     private FreeTimeService sut;
 
     @BeforeEach
     void setUp() {
-        sut = new FreeTimeService(userRepository, freeTimeRepository);
+        sut = new FreeTimeService(userRepository, freeTimeRepository, dataVersionService);
         mockUser = new User("TestUser", UserType.LOCAL) {};
         setField(mockUser, "freeTimes", new ArrayList<>());
     }
@@ -11,6 +11,7 @@ import de.pse.oys.dto.UnitDTO;
 import de.pse.oys.dto.controller.WrapperDTO;
 import de.pse.oys.persistence.LearningPlanRepository;
 import de.pse.oys.persistence.LearningUnitRepository;
+import de.pse.oys.service.DataVersionService;
 import de.pse.oys.service.LearningUnitService;
 import de.pse.oys.service.exception.ResourceNotFoundException;
 import de.pse.oys.service.exception.ValidationException;
@@ -49,6 +50,9 @@ class LearningUnitServiceTest {
     @Mock
     private LearningUnitRepository learningUnitRepository;
 
+    @Mock
+    private DataVersionService dataVersionService;
+
     @InjectMocks
     private LearningUnitService sut;
 
@@ -8,6 +8,7 @@ import de.pse.oys.dto.ModuleDTO;
 import de.pse.oys.dto.controller.WrapperDTO;
 import de.pse.oys.persistence.ModuleRepository;
 import de.pse.oys.persistence.UserRepository;
+import de.pse.oys.service.DataVersionService;
 import de.pse.oys.service.ModuleService;
 import de.pse.oys.service.exception.ResourceNotFoundException;
 import org.junit.jupiter.api.BeforeEach;
@@ -32,7 +33,7 @@ class ModuleServiceTest {
     void setUp() {
         userRepository = mock(UserRepository.class);
         moduleRepository = mock(ModuleRepository.class);
-        moduleService = new ModuleService(userRepository, moduleRepository);
+        moduleService = new ModuleService(userRepository, moduleRepository, mock(DataVersionService.class));
     }
 
     private Module createModuleSpy(String title, ModulePriority priority) {
@@ -0,0 +1,87 @@
+package de.pse.oys.planning;
+
+import de.pse.oys.dto.plan.FixedBlockDTO;
+import de.pse.oys.dto.plan.SlotRangeDTO;
+import de.pse.oys.service.planning.AvailabilityTimeline;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * AvailabilityTimelineTest – Unit-Tests für die komprimierte Verfügbarkeits-Zeitleiste.
+ * Prüft den Abzug von Nächten, blockierten Tagen und festen Blöcken sowie die Startbereiche der Chunks.
+ *
+ * @author uhxch
+ * @version 1.0
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class AvailabilityTimelineTest {
+
+    private static final int HORIZON = 2016;
+
+    @Test
+    void freeRanges_ExcludeNightsAndBlockedDays() {
+        AvailabilityTimeline timeline = new AvailabilityTimeline(HORIZON, List.of(), List.of(5, 6));
+
+        List<SlotRangeDTO> ranges = timeline.getFreeRanges();
+
+        assertEquals(5, ranges.size());
+        assertEquals(72, ranges.get(0).getFrom());
+        assertEquals(263, ranges.get(0).getTo());
+        assertEquals(4 * 288 + 72, ranges.get(4).getFrom());
+        assertEquals(5 * 192, timeline.getFreeSlotCount());
+    }
+
+    @Test
+    void freeRanges_SplitAroundFixedBlocks() {
+        AvailabilityTimeline timeline = new AvailabilityTimeline(HORIZON,
+                List.of(new FixedBlockDTO(100, 20)), List.of(1, 2, 3, 4, 5, 6));
+
+        List<SlotRangeDTO> ranges = timeline.getFreeRanges();
+
+        assertEquals(2, ranges.size());
+        assertEquals(99, ranges.get(0).getTo());
+        assertEquals(120, ranges.get(1).getFrom());
+    }
+
+    @Test
+    void startDomain_ChunkMustFitCompletelyBeforeDeadline() {
+        AvailabilityTimeline timeline = new AvailabilityTimeline(HORIZON,
+                List.of(new FixedBlockDTO(100, 20)), List.of(1, 2, 3, 4, 5, 6));
+
+        List<SlotRangeDTO> domain = timeline.startDomain(80, 200, 12);
+
+        assertEquals(2, domain.size());
+        assertEquals(80, domain.get(0).getFrom());
+        assertEquals(88, domain.get(0).getTo());
+        assertEquals(120, domain.get(1).getFrom());
+        assertEquals(188, domain.get(1).getTo());
+    }
+
+    @Test
+    void startDomain_EmptyWhenDeadlineHasPassed() {
+        AvailabilityTimeline timeline = new AvailabilityTimeline(HORIZON, List.of(), List.of());
+
+        assertTrue(timeline.startDomain(500, -10, 12).isEmpty());
+        assertTrue(timeline.startDomain(0, HORIZON, 200).isEmpty(), "Kein freier Bereich ist lang genug");
+    }
+
+    @Test
+    void startDomain_LaterWeeksOnlyOnCoarseGrid() {
+        AvailabilityTimeline timeline = new AvailabilityTimeline(2 * HORIZON, List.of(), List.of(1, 2, 3, 4, 5, 6));
+
+        List<SlotRangeDTO> domain = timeline.startDomain(0, 2 * HORIZON, 12, HORIZON, 6);
+
+        assertEquals(72, domain.get(0).getFrom());
+        assertEquals(252, domain.get(0).getTo());
+        List<SlotRangeDTO> coarse = domain.subList(1, domain.size());
+        assertEquals(HORIZON + 72, coarse.get(0).getFrom());
+        assertEquals(31, coarse.size(), "Montag der Folgewoche, 72 bis 252 in Sechserschritten");
+        coarse.forEach(range -> assertEquals(range.getFrom(), range.getTo()));
+    }
+}
@@ -0,0 +1,157 @@
+package de.pse.oys.planning;
+
+import de.pse.oys.domain.ExamTask;
+import de.pse.oys.domain.LocalUser;
+import de.pse.oys.domain.Module;
+import de.pse.oys.domain.OtherTask;
+import de.pse.oys.domain.PlanningBatchCheckpoint;
+import de.pse.oys.domain.Task;
+import de.pse.oys.domain.enums.ModulePriority;
+import de.pse.oys.persistence.ModuleRepository;
+import de.pse.oys.persistence.PlanningBatchCheckpointRepository;
+import de.pse.oys.persistence.TaskRepository;
+import de.pse.oys.persistence.UserRepository;
+import de.pse.oys.service.planning.BatchPlanningService;
+import de.pse.oys.service.planning.BatchPlanningStats;
+import de.pse.oys.service.planning.PlanningPipeline;
+import de.pse.oys.service.planning.PlanningService;
+import de.pse.oys.service.planning.SolverRequestBatcher;
+import de.pse.oys.service.planning.SolverResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * BatchPlanningServiceTest – Unit-Tests für die nächtliche Batch-Planung.
+ * Prüft Fehlerisolation pro Nutzer, das Überspringen inaktiver Nutzer und die Fortsetzung über den Checkpoint
+ * sowie die Abfrage auf aktive Aufgaben gegen die Datenbank.
+ *
+ * @author uhxch
+ * @version 1.0
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class BatchPlanningServiceTest {
+
+    private PlanningService planningService;
+    private TaskRepository taskRepository;
+    private PlanningBatchCheckpointRepository checkpointRepository;
+    private BatchPlanningService batchPlanningService;
+
+    @Autowired
+    private TaskRepository persistedTasks;
+
+    @Autowired
+    private ModuleRepository moduleRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private final UUID firstUser = UUID.fromString("00000000-0000-0000-0000-000000000001");
+    private final UUID secondUser = UUID.fromString("00000000-0000-0000-0000-000000000002");
+    private final UUID thirdUser = UUID.fromString("00000000-0000-0000-0000-000000000003");
+
+    @BeforeEach
+    void setUp() {
+        planningService = mock(PlanningService.class);
+        taskRepository = mock(TaskRepository.class);
+        checkpointRepository = mock(PlanningBatchCheckpointRepository.class);
+        PlanningPipeline planningPipeline = new PlanningPipeline(planningService,
+                new SolverRequestBatcher(planningService, false, 8, 12, 0.15, 0.5, 20), 1, 1, 2, 1, 4);
+        batchPlanningService = new BatchPlanningService(planningPipeline, taskRepository, checkpointRepository,
+                true, 2, 60);
+
+        when(taskRepository.existsActiveTaskByUserId(any(), any(), any())).thenReturn(true);
+        when(taskRepository.findDistinctUserIdsWithTasks()).thenReturn(List.of(thirdUser, firstUser, secondUser));
+        when(checkpointRepository.findById(any())).thenReturn(Optional.empty());
+        when(planningService.callSolverWithStats(any())).thenReturn(new SolverResult(List.of(), null));
+        when(planningService.persistResults(any(), any(), any())).thenReturn(true);
+    }
+
+    @Test
+    void runBatch_FailingUserDoesNotAffectOthers() {
+        when(planningService.loadSnapshot(secondUser)).thenThrow(new IllegalStateException("DB kaputt"));
+
+        BatchPlanningStats stats = batchPlanningService.runBatch();
+
+        assertEquals(3, stats.getCandidateUsers());
+        assertEquals(2, stats.getPlannedUsers());
+        assertEquals(1, stats.getFailedUsers());
+        assertTrue(stats.isCompleted());
+        verify(planningService).loadSnapshot(firstUser);
+        verify(planningService).loadSnapshot(thirdUser);
+    }
+
+    @Test
+    void runBatch_SkipsUsersWithoutActiveTasks() {
+        when(taskRepository.existsActiveTaskByUserId(eq(firstUser), any(), any())).thenReturn(false);
+
+        BatchPlanningStats stats = batchPlanningService.runBatch();
+
+        assertEquals(1, stats.getSkippedUsers());
+        assertEquals(2, stats.getPlannedUsers());
+        verify(planningService, never()).loadSnapshot(firstUser);
+    }
+
+    @Test
+    void runBatch_ResumesAfterCheckpointCursor() {
+        PlanningBatchCheckpoint checkpoint = new PlanningBatchCheckpoint(LocalDate.now());
+        checkpoint.advance(secondUser, 2, 0);
+        when(checkpointRepository.findById(any())).thenReturn(Optional.of(checkpoint));
+
+        BatchPlanningStats stats = batchPlanningService.runBatch();
+
+        assertTrue(stats.isResumed());
+        assertEquals(1, stats.getCandidateUsers());
+        verify(planningService, never()).loadSnapshot(firstUser);
+        verify(planningService, never()).loadSnapshot(secondUser);
+        verify(planningService).loadSnapshot(thirdUser);
+        assertTrue(checkpoint.isCompleted());
+        assertEquals(3, checkpoint.getPlannedUsers());
+    }
+
+    @Test
+    void runBatch_CompletedRunIsNotRepeated() {
+        PlanningBatchCheckpoint checkpoint = new PlanningBatchCheckpoint(LocalDate.now());
+        checkpoint.markCompleted();
+        when(checkpointRepository.findById(any())).thenReturn(Optional.of(checkpoint));
+
+        assertNull(batchPlanningService.runBatch());
+        verifyNoInteractions(planningService);
+    }
+
+    @Test
+    void existsActiveTaskByUserId_MatchesTaskActivity() {
+        LocalUser user = userRepository.save(new LocalUser("batch-" + UUID.randomUUID(), "hash"));
+        Module module = new Module("Analysis", ModulePriority.HIGH);
+        module.setUser(user);
+        module = moduleRepository.save(module);
+        LocalDateTime now = LocalDateTime.now();
+
+        OtherTask future = new OtherTask("Später", 60, now.plusDays(2), now.plusDays(4));
+        future.setModule(module);
+        persistedTasks.save(future);
+        ExamTask pastExam = new ExamTask("Vorbei", 60, now.toLocalDate());
+        pastExam.setModule(module);
+        persistedTasks.save(pastExam);
+        assertFalse(persistedTasks.existsActiveTaskByUserId(user.getId(), now.toLocalDate(), now));
+
+        ExamTask exam = new ExamTask("Klausur", 60, now.toLocalDate().plusWeeks(1));
+        exam.setModule(module);
+        persistedTasks.save(exam);
+        assertTrue(persistedTasks.existsActiveTaskByUserId(user.getId(), now.toLocalDate(), now));
+        assertTrue(persistedTasks.findAllByModuleUserUserId(user.getId()).stream().anyMatch(Task::isActive));
+    }
+}
@@ -0,0 +1,67 @@
+package de.pse.oys.planning;
+
+import de.pse.oys.dto.plan.PlanningRequestDTO;
+import de.pse.oys.dto.plan.PlanningResponseDTO;
+import de.pse.oys.dto.plan.PlanningTaskDTO;
+import de.pse.oys.dto.plan.SlotRangeDTO;
+import de.pse.oys.service.planning.CoarseToFineRefiner;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * CoarseToFineRefinerTest – Unit-Tests für die Zerlegung einer Anfrage in groben und feinen Lauf.
+ * Prüft das Ausdünnen der Startbereiche, das Einengen um die grobe Platzierung und die Fensterkosten.
+ *
+ * @author uhxch
+ * @version 1.0
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class CoarseToFineRefinerTest {
+
+    private final CoarseToFineRefiner refiner = new CoarseToFineRefiner(6, 4);
+
+    private PlanningRequestDTO request(Integer hint) {
+        SlotRangeDTO range = new SlotRangeDTO(100, 115,
+                List.of(0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15));
+        PlanningTaskDTO task = new PlanningTaskDTO("a_0", 6, 0, 500, List.of(), hint, List.of(range));
+        return new PlanningRequestDTO(2016, 0, List.of(), "MORNING", List.of(), List.of(task));
+    }
+
+    @Test
+    void coarsen_KeepsOnlyGridStartsWithTheirCosts() {
+        PlanningRequestDTO coarse = refiner.coarsen(request(103));
+
+        List<SlotRangeDTO> domain = coarse.getTasks().get(0).getDomain();
+        assertEquals(List.of(102, 108, 114), domain.stream().map(SlotRangeDTO::getFrom).toList());
+        assertEquals(List.of(8), domain.get(1).getCosts());
+        assertNull(coarse.getTasks().get(0).getHint(), "Hinweis außerhalb des Rasters entfällt");
+    }
+
+    @Test
+    void refine_NarrowsDomainAroundCoarseStart() {
+        PlanningRequestDTO fine = refiner.refine(request(null), List.of(new PlanningResponseDTO("a_0", 102, 108)));
+
+        PlanningTaskDTO task = fine.getTasks().get(0);
+        assertEquals(102, task.getHint());
+        assertEquals(1, task.getDomain().size());
+        assertEquals(100, task.getDomain().get(0).getFrom());
+        assertEquals(106, task.getDomain().get(0).getTo());
+        assertEquals(List.of(0, 1, 2, 3, 4, 5, 6), task.getDomain().get(0).getCosts());
+    }
+
+    @Test
+    void supports_RequiresDomainForEveryChunk() {
+        PlanningTaskDTO withoutDomain = new PlanningTaskDTO("b_0", 6, 0, 500, List.of());
+        PlanningRequestDTO mixed = new PlanningRequestDTO(2016, 0, List.of(), "", List.of(),
+                List.of(request(null).getTasks().get(0), withoutDomain));
+
+        assertTrue(refiner.supports(request(null)));
+        assertFalse(refiner.supports(mixed));
+    }
+}
@@ -0,0 +1,62 @@
+package de.pse.oys.planning;
+
+import de.pse.oys.dto.plan.PlanningRequestDTO;
+import de.pse.oys.dto.plan.PlanningTaskDTO;
+import de.pse.oys.dto.plan.SlotRangeDTO;
+import de.pse.oys.service.planning.DayDecomposer;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * DayDecomposerTest – Unit-Tests für die Zerlegung der Wochenplanung in Teilprobleme je Tag.
+ * Prüft die Verteilung nach Fensterkosten und Kapazität sowie das Aufgeben bei Überlast.
+ *
+ * @author uhxch
+ * @version 1.0
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class DayDecomposerTest {
+
+    private final DayDecomposer decomposer = new DayDecomposer();
+
+    /** Startbereich über zwei Tage: 90–99 am Montag (Kosten 5) und 378–387 am Dienstag (Kosten 1). */
+    private static List<SlotRangeDTO> twoDayDomain() {
+        return List.of(new SlotRangeDTO(90, 99, Collections.nCopies(10, 5)),
+                new SlotRangeDTO(378, 387, Collections.nCopies(10, 1)));
+    }
+
+    private static PlanningRequestDTO request(List<PlanningTaskDTO> tasks) {
+        return new PlanningRequestDTO(2016, 0, List.of(), "", List.of(), tasks);
+    }
+
+    @Test
+    void split_AssignsCheapestDayWithCapacity() {
+        PlanningTaskDTO first = new PlanningTaskDTO("a_0", 12, 0, 500, List.of(), null, twoDayDomain());
+        PlanningTaskDTO second = new PlanningTaskDTO("b_0", 12, 0, 600, List.of(), null, twoDayDomain());
+
+        Map<Integer, PlanningRequestDTO> days = decomposer.split(request(List.of(first, second)));
+
+        assertEquals(List.of(0, 1), List.copyOf(days.keySet()));
+        assertEquals("b_0", days.get(0).getTasks().get(0).getId(), "Dienstag ist nach dem ersten Chunk voll");
+        assertEquals("a_0", days.get(1).getTasks().get(0).getId(), "Frühere Deadline wählt zuerst");
+        assertEquals(378, days.get(1).getTasks().get(0).getDomain().get(0).getFrom());
+        assertEquals(1, days.get(1).getTasks().get(0).getDomain().size());
+    }
+
+    @Test
+    void split_GivesUpWhenChunksDoNotFit() {
+        List<SlotRangeDTO> monday = List.of(new SlotRangeDTO(90, 92));
+        PlanningTaskDTO first = new PlanningTaskDTO("a_0", 12, 0, 500, List.of(), null, monday);
+        PlanningTaskDTO second = new PlanningTaskDTO("b_0", 12, 0, 500, List.of(), null, monday);
+
+        assertTrue(decomposer.split(request(List.of(first, second))).isEmpty());
+    }
+}
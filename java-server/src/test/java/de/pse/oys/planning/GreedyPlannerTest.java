@@ -0,0 +1,74 @@
+package de.pse.oys.planning;
+
+import de.pse.oys.dto.plan.PlanningRequestDTO;
+import de.pse.oys.dto.plan.PlanningResponseDTO;
+import de.pse.oys.dto.plan.PlanningTaskDTO;
+import de.pse.oys.dto.plan.SlotRangeDTO;
+import de.pse.oys.service.planning.GreedyPlanner;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * GreedyPlannerTest – Unit-Tests für den Greedy-Planer ohne Solver.
+ * Prüft Kostenwahl, Reihenfolge nach Deadline, Überlappungsfreiheit und die Validierung.
+ *
+ * @author uhxch
+ * @version 1.0
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class GreedyPlannerTest {
+
+    private final GreedyPlanner planner = new GreedyPlanner();
+
+    private static PlanningRequestDTO request(List<PlanningTaskDTO> tasks) {
+        return new PlanningRequestDTO(2016, 0, List.of(), "", List.of(), tasks);
+    }
+
+    @Test
+    void plan_EarliestDeadlineTakesCheapestFreeStart() {
+        SlotRangeDTO range = new SlotRangeDTO(100, 105, List.of(4, 3, 2, 1, 0, 5));
+        PlanningTaskDTO late = new PlanningTaskDTO("late_0", 6, 0, 900, List.of(), null, List.of(range,
+                new SlotRangeDTO(200, 200, List.of(9))));
+        PlanningTaskDTO early = new PlanningTaskDTO("early_0", 6, 0, 300, List.of(), null, List.of(range));
+
+        List<PlanningResponseDTO> results = planner.plan(request(List.of(late, early)));
+
+        assertEquals(2, results.size());
+        assertEquals("early_0", results.get(0).getId());
+        assertEquals(104, results.get(0).getStart());
+        assertEquals(110, results.get(0).getEnd());
+        assertEquals(200, results.get(1).getStart(), "Überlappende Starts sind belegt");
+    }
+
+    @Test
+    void plan_EmptyWhenAChunkCannotBePlaced() {
+        List<SlotRangeDTO> domain = List.of(new SlotRangeDTO(100, 101));
+        PlanningTaskDTO first = new PlanningTaskDTO("a_0", 6, 0, 300, List.of(), null, domain);
+        PlanningTaskDTO second = new PlanningTaskDTO("b_0", 6, 0, 300, List.of(), null, domain);
+
+        assertTrue(planner.plan(request(List.of(first, second))).isEmpty());
+        assertTrue(planner.plan(request(List.of(new PlanningTaskDTO("c_0", 6, 0, 300, List.of())))).isEmpty(),
+                "Ohne Startbereich wird nicht geplant");
+    }
+
+    @Test
+    void isValid_RejectsOverlapDeadlineAndDomainViolations() {
+        PlanningTaskDTO a = new PlanningTaskDTO("a_0", 6, 0, 300, List.of(), null, List.of(new SlotRangeDTO(100, 200)));
+        PlanningTaskDTO b = new PlanningTaskDTO("b_0", 6, 0, 300, List.of(), null, List.of(new SlotRangeDTO(100, 200)));
+        PlanningRequestDTO request = request(List.of(a, b));
+
+        assertTrue(planner.isValid(request, List.of(new PlanningResponseDTO("a_0", 100, 106),
+                new PlanningResponseDTO("b_0", 106, 112))));
+        assertFalse(planner.isValid(request, List.of(new PlanningResponseDTO("a_0", 100, 106),
+                new PlanningResponseDTO("b_0", 103, 109))));
+        assertFalse(planner.isValid(request, List.of(new PlanningResponseDTO("a_0", 90, 96),
+                new PlanningResponseDTO("b_0", 106, 112))));
+        assertFalse(planner.isValid(request, List.of(new PlanningResponseDTO("a_0", 100, 106))));
+    }
+}
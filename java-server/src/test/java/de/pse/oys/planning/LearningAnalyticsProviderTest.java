@@ -10,6 +10,8 @@ import de.pse.oys.dto.CostDTO;
 import de.pse.oys.persistence.CostMatrixRepository;
 import de.pse.oys.persistence.TaskRepository;
 import de.pse.oys.service.planning.LearningAnalyticsProvider;
+import de.pse.oys.service.planning.PlanningMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -46,7 +48,8 @@ class LearningAnalyticsProviderTest {
 
     @BeforeEach
     void setUp() {
-        provider = new LearningAnalyticsProvider(costMatrixRepository, objectMapper, taskRepository);
+        provider = new LearningAnalyticsProvider(costMatrixRepository, objectMapper, taskRepository,
+                new PlanningMetrics(new SimpleMeterRegistry()));
     }
 
     /*** --- TEST 1: Task ist null -> Exception ---
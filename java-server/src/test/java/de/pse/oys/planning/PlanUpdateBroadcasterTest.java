@@ -0,0 +1,176 @@
+package de.pse.oys.planning;
+
+import de.pse.oys.controller.PlanEventController;
+import de.pse.oys.domain.LocalUser;
+import de.pse.oys.domain.User;
+import de.pse.oys.domain.enums.DataCollection;
+import de.pse.oys.persistence.UserRepository;
+import de.pse.oys.security.UserPrincipal;
+import de.pse.oys.service.DataVersionService;
+import de.pse.oys.service.auth.JwtProvider;
+import de.pse.oys.service.planning.PlanUpdateBroadcaster;
+import de.pse.oys.service.planning.PlanUpdateSubscription;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.Filter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * PlanUpdateBroadcasterTest – Tests für die Plan-Updates per Server-Sent Events.
+ * Prüft die Zustellung einer festgeschriebenen Änderung an eine offene Verbindung, das Verhalten
+ * einer Verbindung, deren Client nicht schnell genug liest, und das Ende eines Streams per Timeout.
+ *
+ * @author uhxch
+ * @version 1.0
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class PlanUpdateBroadcasterTest {
+
+    @Autowired
+    private PlanUpdateBroadcaster planUpdateBroadcaster;
+
+    @Autowired
+    private DataVersionService dataVersionService;
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    private JwtProvider jwtProvider;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void stream_PushesCommittedUnitChangesToOpenConnection() throws Exception {
+        UUID userId = UUID.randomUUID();
+        UserPrincipal principal = new UserPrincipal(userId, "sseUser", "");
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, List.of()));
+        MockMvc mockMvc = MockMvcBuilders.standaloneSetup(new PlanEventController(planUpdateBroadcaster)).build();
+        int before = planUpdateBroadcaster.getConnectionCount();
+
+        MvcResult result = mockMvc.perform(get("/api/v1/plan/events").accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        assertEquals(before + 1, planUpdateBroadcaster.getConnectionCount());
+
+        UUID deletedUnit = UUID.randomUUID();
+        dataVersionService.recordDeletions(userId, DataCollection.UNITS, List.of(deletedUnit));
+        dataVersionService.recordChanges(userId, DataCollection.TASKS, List.of(UUID.randomUUID()));
+
+        String body = awaitContent(result, deletedUnit.toString());
+        assertTrue(body.contains(":connected"));
+        assertTrue(body.contains("event:" + PlanUpdateBroadcaster.EVENT_NAME));
+        assertTrue(body.contains("\"deleted\":[\"" + deletedUnit + "\"]"));
+        assertEquals(1, body.split("event:").length - 1, "Änderungen an Aufgaben erzeugen kein Plan-Update");
+    }
+
+    @Test
+    void stream_TimeoutDispatchPassesSecurityChain() throws Exception {
+        User user = userRepository.save(new LocalUser("sse-" + UUID.randomUUID(), "hash"));
+        MockMvc mockMvc = MockMvcBuilders.webAppContextSetup(context)
+                .addFilters(context.getBean("springSecurityFilterChain", Filter.class))
+                .build();
+
+        MvcResult result = mockMvc.perform(get("/api/v1/plan/events").accept(MediaType.TEXT_EVENT_STREAM)
+                        .header("Authorization", "Bearer " + jwtProvider.createAccessToken(user)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        assertTrue(awaitContent(result, ":connected").contains(":connected"));
+
+        // Der Container meldet den Timeout der Verbindung; danach folgt der ASYNC-Dispatch ohne JWT-Prüfung.
+        MockAsyncContext asyncContext = (MockAsyncContext) result.getRequest().getAsyncContext();
+        for (AsyncListener listener : asyncContext.getListeners()) {
+            listener.onTimeout(new AsyncEvent(asyncContext));
+        }
+
+        mockMvc.perform(asyncDispatch(result)).andExpect(status().isOk());
+    }
+
+    @Test
+    void subscription_ReplacesOverflowingEventsWithSingleResync() throws Exception {
+        CountDownLatch sending = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<SseEmitter.SseEventBuilder> sent = new CopyOnWriteArrayList<>();
+        SseEmitter slowClient = new SseEmitter() {
+            @Override
+            public void send(SseEventBuilder builder) throws IOException {
+                sending.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                sent.add(builder);
+            }
+        };
+        SseEmitter.SseEventBuilder resync = SseEmitter.event().name("resync");
+        ExecutorService dispatcher = Executors.newSingleThreadExecutor();
+        try {
+            PlanUpdateSubscription subscription = new PlanUpdateSubscription(UUID.randomUUID(), slowClient, 2,
+                    () -> resync, dispatcher, closed -> { });
+            SseEmitter.SseEventBuilder first = SseEmitter.event().id("1");
+            SseEmitter.SseEventBuilder last = SseEmitter.event().id("5");
+
+            subscription.offer(first);
+            assertTrue(sending.await(5, TimeUnit.SECONDS));
+            for (int i = 2; i <= 4; i++) {
+                subscription.offer(SseEmitter.event().id(Integer.toString(i)));
+            }
+            subscription.offer(last);
+            release.countDown();
+
+            dispatcher.shutdown();
+            assertTrue(dispatcher.awaitTermination(5, TimeUnit.SECONDS));
+            assertEquals(List.of(first, resync, last), sent);
+        } finally {
+            dispatcher.shutdownNow();
+        }
+    }
+
+    private static String awaitContent(MvcResult result, String expected) throws Exception {
+        long deadline = System.currentTimeMillis() + 5000;
+        String body = result.getResponse().getContentAsString();
+        while (!body.contains(expected) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+            body = result.getResponse().getContentAsString();
+        }
+        return body;
+    }
+}
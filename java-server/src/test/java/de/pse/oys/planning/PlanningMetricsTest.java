@@ -0,0 +1,108 @@
+package de.pse.oys.planning;
+
+import de.pse.oys.domain.SolverRunStats;
+import de.pse.oys.dto.plan.PlanningRequestDTO;
+import de.pse.oys.dto.plan.PlanningTaskDTO;
+import de.pse.oys.service.planning.PlanningMetrics;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * PlanningMetricsTest – Unit-Tests für die Micrometer-Messwerte der Planung.
+ * Prüft Namen, Tags und Werte der angelegten Timer, Zusammenfassungen und Zähler.
+ *
+ * @author uhxch
+ * @version 1.0
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class PlanningMetricsTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final PlanningMetrics metrics = new PlanningMetrics(registry);
+
+    @Test
+    void recordPhase_CreatesOneTimerPerPhase() {
+        metrics.recordPhase(PlanningMetrics.PHASE_BUILD, TimeUnit.MILLISECONDS.toNanos(4));
+        metrics.recordPhase(PlanningMetrics.PHASE_BUILD, TimeUnit.MILLISECONDS.toNanos(6));
+        metrics.recordPhase(PlanningMetrics.PHASE_SOLVE, TimeUnit.MILLISECONDS.toNanos(20));
+
+        Timer build = registry.get("planning.phase").tag("phase", "build").timer();
+        assertEquals(2, build.count());
+        assertEquals(10, build.totalTime(TimeUnit.MILLISECONDS), 0.001);
+        assertEquals(1, registry.get("planning.phase").tag("phase", "solve").timer().count());
+    }
+
+    @Test
+    void recordSolve_CountsChunksAndDistinctTasks() {
+        PlanningRequestDTO request = new PlanningRequestDTO(2016, 0, List.of(), "", List.of(), List.of(
+                new PlanningTaskDTO("a_0", 6, 0, 500, List.of()),
+                new PlanningTaskDTO("a_1", 6, 0, 500, List.of()),
+                new PlanningTaskDTO("b_0", 6, 0, 500, List.of())));
+
+        metrics.recordSolve(request);
+
+        assertEquals(3, registry.get("planning.solve.chunks").summary().totalAmount(), 0.001);
+        assertEquals(2, registry.get("planning.solve.tasks").summary().totalAmount(), 0.001);
+    }
+
+    @Test
+    void recordSolverCall_TagsEndpointTypeAndOutcome() {
+        String endpoint = "http://solver-1:5001/optimize";
+        metrics.recordSolverCall(endpoint, PlanningMetrics.TYPE_SINGLE, PlanningMetrics.OUTCOME_SUCCESS, 1_000_000);
+        metrics.recordSolverCall(endpoint, PlanningMetrics.TYPE_SINGLE, PlanningMetrics.OUTCOME_ERROR, 2_000_000);
+        metrics.recordSolverRejected();
+
+        assertEquals(1, registry.get("planning.solver.requests")
+                .tags("endpoint", endpoint, "type", "single", "outcome", "success").timer().count());
+        assertEquals(1, registry.get("planning.solver.requests")
+                .tags("endpoint", endpoint, "type", "single", "outcome", "error").timer().count());
+        assertEquals(1, registry.get("planning.solver.rejected").counter().count(), 0.001);
+    }
+
+    @Test
+    void recordSolverStats_RecordsStatusTimesAndModelSize() {
+        metrics.recordSolverStats(new SolverRunStats("OPTIMAL", 80.0, 80.0, 0.5, 2.0, 300L, 120L));
+        metrics.recordSolverStats(new SolverRunStats("INFEASIBLE", null, null, 0.25, 1.0, 100L, 40L));
+
+        assertEquals(1, registry.get("planning.solver.status").tag("status", "OPTIMAL").counter().count(), 0.001);
+        assertEquals(1, registry.get("planning.solver.status").tag("status", "INFEASIBLE").counter().count(),
+                0.001);
+        assertEquals(3, registry.get("planning.solver.solve").timer().totalTime(TimeUnit.SECONDS), 0.001);
+        assertEquals(750, registry.get("planning.solver.build").timer().totalTime(TimeUnit.MILLISECONDS), 0.001);
+        assertEquals(400, registry.get("planning.solver.variables").summary().totalAmount(), 0.001);
+        assertEquals(160, registry.get("planning.solver.constraints").summary().totalAmount(), 0.001);
+        assertEquals(1, registry.get("planning.solver.gap").summary().count());
+    }
+
+    @Test
+    void solverRunStats_CombineSumsValuesAndKeepsWorstStatus() {
+        SolverRunStats combined = new SolverRunStats("OPTIMAL", 10.0, 10.0, 0.5, 1.0, 50L, 20L)
+                .combine(new SolverRunStats("FEASIBLE", 30.0, 20.0, 0.5, 2.0, 70L, null));
+
+        assertEquals("FEASIBLE", combined.getStatus());
+        assertEquals(40.0, combined.getObjective());
+        assertEquals(3.0, combined.getSolveSeconds());
+        assertEquals(120L, combined.getVariables());
+        assertNull(combined.getConstraints());
+        assertEquals(2, combined.getCalls());
+        assertEquals(0.25, combined.getRelativeGap(), 0.0001);
+    }
+
+    @Test
+    void recordCostMatrixParse_RecordsDuration() {
+        metrics.recordCostMatrixParse(TimeUnit.MICROSECONDS.toNanos(250));
+
+        Timer parse = registry.get("planning.costmatrix.parse").timer();
+        assertEquals(1, parse.count());
+        assertEquals(250, parse.totalTime(TimeUnit.MICROSECONDS), 0.001);
+    }
+}
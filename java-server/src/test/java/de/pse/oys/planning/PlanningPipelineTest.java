@@ -0,0 +1,139 @@
+package de.pse.oys.planning;
+
+import de.pse.oys.domain.SolverRunStats;
+import de.pse.oys.dto.plan.PlanningRequestDTO;
+import de.pse.oys.dto.plan.PlanningResponseDTO;
+import de.pse.oys.service.planning.PipelineStageStats;
+import de.pse.oys.service.planning.PlanningPipeline;
+import de.pse.oys.service.planning.PlanningPipelineResult;
+import de.pse.oys.service.planning.PlanningService;
+import de.pse.oys.service.planning.PlanningSnapshot;
+import de.pse.oys.service.planning.SolverRequestBatcher;
+import de.pse.oys.service.planning.SolverResult;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * PlanningPipelineTest – Unit-Tests für die mehrstufige Planungs-Pipeline.
+ * Prüft die Weitergabe zwischen den Stufen, die Fehlerisolation und die Stufen-Kennzahlen.
+ *
+ * @author uhxch
+ * @version 1.0
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class PlanningPipelineTest {
+
+    private PlanningService planningService;
+    private PlanningPipeline planningPipeline;
+
+    @BeforeEach
+    void setUp() {
+        planningService = mock(PlanningService.class);
+        planningPipeline = new PlanningPipeline(planningService,
+                new SolverRequestBatcher(planningService, false, 8, 12, 0.15, 0.5, 20), 2, 1, 3, 2, 1);
+        when(planningService.callSolverWithStats(any())).thenReturn(new SolverResult(List.of(), null));
+        when(planningService.persistResults(any(), any(), any())).thenReturn(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        planningPipeline.shutdown();
+    }
+
+    @Test
+    void run_PassesResultsOfEachStageToTheNext() {
+        UUID userId = UUID.randomUUID();
+        PlanningSnapshot snapshot = new PlanningSnapshot(userId, LocalDate.now(), 0, 10,
+                List.of(), "MORNING", List.of(), List.of(), null, false);
+        PlanningRequestDTO request = mock(PlanningRequestDTO.class);
+        List<PlanningResponseDTO> results = List.of(mock(PlanningResponseDTO.class));
+        SolverRunStats stats = new SolverRunStats("OPTIMAL", 1.0, 1.0, 0.1, 0.5, 10L, 5L);
+        when(planningService.loadSnapshot(userId)).thenReturn(snapshot);
+        when(planningService.buildRequest(snapshot)).thenReturn(request);
+        when(planningService.callSolverWithStats(request)).thenReturn(new SolverResult(results, stats));
+
+        PlanningPipelineResult result = planningPipeline.run(List.of(userId));
+
+        assertEquals(1, result.getPlannedUsers());
+        assertEquals(0, result.getFailedUsers());
+        verify(planningService).persistResults(snapshot, results, stats);
+    }
+
+    @Test
+    void run_FailingStageOnlyAffectsItsUser() {
+        List<UUID> userIds = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            userIds.add(UUID.randomUUID());
+        }
+        UUID failingUser = userIds.get(3);
+        PlanningRequestDTO failingRequest = mock(PlanningRequestDTO.class);
+        PlanningSnapshot failingSnapshot = new PlanningSnapshot(failingUser, LocalDate.now(), 0, 0,
+                List.of(), "", List.of(), List.of(), null, false);
+        when(planningService.loadSnapshot(failingUser)).thenReturn(failingSnapshot);
+        when(planningService.buildRequest(failingSnapshot)).thenReturn(failingRequest);
+        when(planningService.callSolverWithStats(failingRequest)).thenThrow(new IllegalStateException("Solver down"));
+
+        PlanningPipelineResult result = planningPipeline.run(userIds);
+
+        assertEquals(9, result.getPlannedUsers());
+        assertEquals(1, result.getFailedUsers());
+        assertTrue(result.getFailedUserIds().contains(failingUser));
+        verify(planningService, times(9)).persistResults(any(), any(), any());
+    }
+
+    @Test
+    void getStageStats_ReportsEveryStageInOrder() {
+        List<UUID> userIds = List.of(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID());
+
+        planningPipeline.run(userIds);
+        List<PipelineStageStats> stats = planningPipeline.getStageStats();
+
+        assertEquals(List.of("snapshot", "build", "solve", "persist"),
+                stats.stream().map(PipelineStageStats::getStage).toList());
+        for (PipelineStageStats stage : stats) {
+            assertEquals(3, stage.getProcessed());
+            assertEquals(0, stage.getFailed());
+            assertEquals(0, stage.getQueueDepth());
+            assertTrue(stage.getMaxQueueDepth() <= 1);
+        }
+        assertEquals(3, stats.get(2).getWorkers());
+    }
+
+    @Test
+    void run_EmptySolverResultCountsAsFailed() {
+        UUID userId = UUID.randomUUID();
+        PlanningSnapshot snapshot = new PlanningSnapshot(userId, LocalDate.now(), 0, 10,
+                List.of(), "MORNING", List.of(), List.of(), null, false);
+        PlanningRequestDTO request = mock(PlanningRequestDTO.class);
+        when(planningService.loadSnapshot(userId)).thenReturn(snapshot);
+        when(planningService.buildRequest(snapshot)).thenReturn(request);
+        when(planningService.callSolverWithStats(request)).thenReturn(new SolverResult(List.of(), null));
+        when(planningService.persistResults(snapshot, List.of(), null)).thenReturn(false);
+
+        PlanningPipelineResult result = planningPipeline.run(List.of(userId));
+
+        assertEquals(0, result.getPlannedUsers());
+        assertTrue(result.getFailedUserIds().contains(userId));
+    }
+
+    @Test
+    void run_EmptyUserListReturnsImmediately() {
+        PlanningPipelineResult result = planningPipeline.run(List.of());
+
+        assertEquals(0, result.getPlannedUsers());
+        verifyNoInteractions(planningService);
+    }
+}
@@ -1,5 +1,6 @@
 package de.pse.oys.planning;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import de.pse.oys.TestUserFactory;
 import de.pse.oys.domain.*;
 import de.pse.oys.domain.enums.TaskCategory;
@@ -9,8 +10,19 @@ import de.pse.oys.dto.plan.PlanningRequestDTO;
 import de.pse.oys.dto.plan.PlanningResponseDTO;
 import de.pse.oys.dto.plan.PlanningTaskDTO;
 import de.pse.oys.persistence.*;
+import de.pse.oys.service.DataVersionService;
 import de.pse.oys.service.planning.LearningAnalyticsProvider;
+import de.pse.oys.service.planning.PlanningMetrics;
 import de.pse.oys.service.planning.PlanningService;
+import de.pse.oys.service.planning.PlanningTracer;
+import de.pse.oys.service.planning.SolverAsyncClient;
+import de.pse.oys.service.planning.SolverCircuitBreaker;
+import de.pse.oys.service.planning.SolverEndpointPool;
+import de.pse.oys.service.planning.SolverHedgingPolicy;
+import de.pse.oys.service.planning.SolverResult;
+import de.pse.oys.service.planning.SolverResultCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.tracing.Tracer;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -21,10 +33,12 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.ResponseEntity;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.client.RestTemplate;
 
 import java.time.DayOfWeek;
@@ -32,6 +46,7 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -56,6 +71,8 @@ class PlanningServiceTest {
     private LearningAnalyticsProvider learningAnalyticsProvider;
     @Mock
     private RestTemplate restTemplate;
+    @Mock
+    private SolverAsyncClient solverAsyncClient;
 
 
     private PlanningService planningService;
@@ -71,8 +88,12 @@ class PlanningServiceTest {
     @Mock
     private LearningPreferences testPreferences;
 
+    @Mock
+    private DataVersionService dataVersionService;
+
     private final UUID userId = UUID.randomUUID();
     private final UUID taskId = UUID.randomUUID();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
 
     /*** --- SETUP --- */
     @BeforeEach
@@ -84,12 +105,20 @@ class PlanningServiceTest {
                 userRepository,
                 learningAnalyticsProvider,
                 restTemplate,
-                learningUnitRepository
+                restTemplate,
+                learningUnitRepository,
+                new SolverResultCache(100),
+                new SolverCircuitBreaker(20, 5, 50, 30, 2, 60),
+                new SolverEndpointPool("http://localhost:5001/optimize", restTemplate, 3, 30),
+                new SolverHedgingPolicy(false, 95, 200, 20, 5000, 10),
+                solverAsyncClient,
+                new PlanningMetrics(meterRegistry),
+                new PlanningTracer(Tracer.NOOP),
+                dataVersionService,
+                new ObjectMapper()
         );
 
 
-        ReflectionTestUtils.setField(planningService, "planningMicroserviceUrl", "http://localhost:5001/optimize");
-
         //Learning preferences
 
         lenient().when(testPreferences.getMinUnitDurationMinutes()).thenReturn(30);
@@ -637,6 +666,55 @@ class PlanningServiceTest {
         assertEquals(105, durationMinutes, "Pause (15 min) sollte abgezogen sein: 120 - 15 = 105");
     }
 
+    /**
+     * Testet, ob die Kennzahlen aus den Headern des Solvers gelesen, als Metriken erfasst und am Lernplan
+     * gespeichert werden.
+     */
+    @Test
+    void generateWeeklyPlan_ShouldPersistSolverStatsFromHeaders() {
+        ReflectionTestUtils.setField(planningService, "persistSolverStats", true);
+        LocalDate weekStart = LocalDate.now().with(java.time.temporal.TemporalAdjusters.previousOrSame(java.time.DayOfWeek.MONDAY));
+
+        ExamTask realTask = new ExamTask("Exam task", 120, weekStart.plusDays(5));
+        ReflectionTestUtils.setField(realTask, "taskId", taskId);
+
+        when(userRepository.findById(userId)).thenReturn(Optional.of(testUser));
+        when(taskRepository.findAllByModuleUserUserId(userId)).thenReturn(List.of(realTask));
+        when(taskRepository.findById(taskId)).thenReturn(Optional.of(realTask));
+
+        PlanningResponseDTO res = new PlanningResponseDTO();
+        res.setId(taskId + "_0");
+        res.setStart(0);
+        res.setEnd(24);
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.add("X-Solver-Status", "FEASIBLE");
+        headers.add("X-Solver-Objective", "120.0");
+        headers.add("X-Solver-Best-Bound", "90.0");
+        headers.add("X-Solver-Build-Time-Seconds", "0.250");
+        headers.add("X-Solver-Wall-Time-Seconds", "1.500");
+        headers.add("X-Solver-Variables", "42");
+        headers.add("X-Solver-Constraints", "kaputt");
+        when(restTemplate.exchange(anyString(), eq(HttpMethod.POST), any(), any(ParameterizedTypeReference.class)))
+                .thenReturn(ResponseEntity.ok().headers(headers).body(List.of(res)));
+
+        planningService.generateWeeklyPlan(userId);
+
+        ArgumentCaptor<LearningPlan> planCaptor = ArgumentCaptor.forClass(LearningPlan.class);
+        verify(learningPlanRepository).save(planCaptor.capture());
+        SolverRunStats stats = planCaptor.getValue().getSolverStats();
+        assertNotNull(stats);
+        assertEquals("FEASIBLE", stats.getStatus());
+        assertEquals(120.0, stats.getObjective());
+        assertEquals(90.0, stats.getBestBound());
+        assertEquals(1.5, stats.getSolveSeconds());
+        assertEquals(42L, stats.getVariables());
+        assertNull(stats.getConstraints());
+        assertEquals(0.25, stats.getRelativeGap(), 0.0001);
+        assertEquals(1, meterRegistry.get("planning.solver.status").tag("status", "FEASIBLE").counter().count(),
+                0.001);
+    }
+
     @Test
     void testCoverage_NullChecks_FalseHits() {
         UUID uId = UUID.randomUUID();
@@ -1268,4 +1346,340 @@ class PlanningServiceTest {
         assertNotNull(request.getTasks(), "Tasks sollten nicht null sein");
         assertTrue(request.getTasks().isEmpty(), "Past task sollte nicht im Solver-Request enthalten sein");
     }
-}
\ No newline at end of file
+
+    /**
+     * Testet, ob die noch nicht vergangenen Einheiten des bisherigen Plans als Warmstart-Hinweise
+     * in zeitlicher Reihenfolge an die Chunks der Aufgabe übergeben werden.
+     */
+    @Test
+    void generateWeeklyPlan_ShouldSendWarmStartHintsFromExistingUnits() {
+        LocalDate weekStart = LocalDate.now().with(java.time.temporal.TemporalAdjusters.previousOrSame(java.time.DayOfWeek.MONDAY));
+        LocalDateTime firstStart = LocalDateTime.now().plusMinutes(10);
+        LocalDateTime secondStart = LocalDateTime.now().plusMinutes(80);
+        org.junit.jupiter.api.Assumptions.assumeTrue(secondStart.toLocalDate().isBefore(weekStart.plusDays(7)),
+                "Einheiten müssen in der aktuellen Woche liegen");
+
+        ExamTask realTask = new ExamTask("Hint Task", 120, weekStart.plusWeeks(4));
+        ReflectionTestUtils.setField(realTask, "taskId", taskId);
+        LearningUnit laterUnit = new LearningUnit(realTask, secondStart, secondStart.plusMinutes(60));
+        LearningUnit earlierUnit = new LearningUnit(realTask, firstStart, firstStart.plusMinutes(60));
+        realTask.addLearningUnit(laterUnit);
+        realTask.addLearningUnit(earlierUnit);
+
+        when(userRepository.findById(userId)).thenReturn(Optional.of(testUser));
+        when(taskRepository.findAllByModuleUserUserId(userId)).thenReturn(List.of(realTask));
+        when(learningUnitRepository.findAllByTask_Module_User_UserId(userId))
+                .thenReturn(List.of(laterUnit, earlierUnit));
+        when(learningAnalyticsProvider.getCostMatrixForTask(any())).thenReturn(Collections.emptyList());
+        when(restTemplate.exchange(anyString(), eq(HttpMethod.POST), any(), any(ParameterizedTypeReference.class)))
+                .thenReturn(ResponseEntity.ok(Collections.emptyList()));
+
+        planningService.generateWeeklyPlan(userId);
+
+        verify(restTemplate).exchange(anyString(), eq(HttpMethod.POST), requestCaptor.capture(),
+                any(ParameterizedTypeReference.class));
+        List<PlanningTaskDTO> sentTasks = requestCaptor.getValue().getBody().getTasks();
+
+        int firstSlot = (int) (java.time.Duration.between(weekStart.atStartOfDay(), firstStart).toMinutes() / 5);
+        int secondSlot = (int) (java.time.Duration.between(weekStart.atStartOfDay(), secondStart).toMinutes() / 5);
+        assertEquals(2, sentTasks.size());
+        assertEquals(taskId + "_0", sentTasks.get(0).getId());
+        assertEquals(firstSlot, sentTasks.get(0).getHint());
+        assertEquals(secondSlot, sentTasks.get(1).getHint());
+        assertEquals(2, realTask.getLearningUnits().size(), "Ohne Ergebnis bleiben die alten Einheiten erhalten");
+    }
+
+    /**
+     * Testet, ob ein leeres Ergebnis des Solvers den bestehenden Plan unverändert lässt, statt ihn zu leeren.
+     */
+    @Test
+    void generateWeeklyPlan_EmptySolverResultKeepsExistingUnits() {
+        LocalDate weekStart = LocalDate.now().with(java.time.temporal.TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        ExamTask realTask = new ExamTask("Keep Task", 120, weekStart.plusWeeks(4));
+        ReflectionTestUtils.setField(realTask, "taskId", taskId);
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        realTask.addLearningUnit(new LearningUnit(realTask, start, start.plusMinutes(60)));
+
+        when(userRepository.findById(userId)).thenReturn(Optional.of(testUser));
+        when(taskRepository.findAllByModuleUserUserId(userId)).thenReturn(List.of(realTask));
+        when(learningUnitRepository.findAllByTask_Module_User_UserId(userId))
+                .thenReturn(List.copyOf(realTask.getLearningUnits()));
+        when(learningAnalyticsProvider.getCostMatrixForTask(any())).thenReturn(Collections.emptyList());
+        when(restTemplate.exchange(anyString(), eq(HttpMethod.POST), any(), any(ParameterizedTypeReference.class)))
+                .thenReturn(ResponseEntity.ok(Collections.emptyList()));
+
+        planningService.generateWeeklyPlan(userId);
+
+        verify(learningUnitRepository, never()).deleteAll(anyList());
+        assertEquals(1, realTask.getLearningUnits().size());
+    }
+
+    @Test
+    /** Testet, ob bei mehreren Wochen Horizont spätere Wochen nur grob aufgelöst und nicht gespeichert werden.
+     */
+    void generateWeeklyPlan_MultiWeekHorizonPersistsOnlyCurrentWeek() {
+        ReflectionTestUtils.setField(planningService, "horizonWeeks", 2);
+        ReflectionTestUtils.setField(planningService, "coarseStepSlots", 6);
+        LocalDate weekStart = LocalDate.now().with(java.time.temporal.TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+
+        ExamTask realTask = new ExamTask("Lookahead Task", 120, weekStart.plusWeeks(4));
+        ReflectionTestUtils.setField(realTask, "taskId", taskId);
+
+        when(userRepository.findById(userId)).thenReturn(Optional.of(testUser));
+        when(taskRepository.findAllByModuleUserUserId(userId)).thenReturn(List.of(realTask));
+        when(taskRepository.findById(taskId)).thenReturn(Optional.of(realTask));
+        when(learningAnalyticsProvider.getCostMatrixForTask(any())).thenReturn(Collections.emptyList());
+        List<PlanningResponseDTO> solverResults = List.of(
+                new PlanningResponseDTO(taskId + "_0", 1900, 1915),
+                new PlanningResponseDTO(taskId + "_w1_0", 2400, 2415));
+        when(restTemplate.exchange(anyString(), eq(HttpMethod.POST), any(), any(ParameterizedTypeReference.class)))
+                .thenReturn(ResponseEntity.ok(solverResults));
+
+        planningService.generateWeeklyPlan(userId);
+
+        verify(restTemplate).exchange(anyString(), eq(HttpMethod.POST), requestCaptor.capture(),
+                any(ParameterizedTypeReference.class));
+        PlanningRequestDTO request = requestCaptor.getValue().getBody();
+        assertEquals(2 * 2016, request.getHorizon());
+
+        List<PlanningTaskDTO> lookahead = request.getTasks().stream()
+                .filter(task -> task.getId().startsWith(taskId + "_w1_")).toList();
+        assertEquals(2, lookahead.size());
+        for (PlanningTaskDTO task : lookahead) {
+            assertEquals(2 * 2016, task.getDeadline());
+            assertFalse(task.getDomain().isEmpty());
+            task.getDomain().forEach(range -> {
+                assertTrue(range.getFrom() >= 2016, "Spätere Woche bleibt in ihrer Woche");
+                assertEquals(range.getFrom(), range.getTo());
+                assertEquals(0, range.getFrom() % 6, "Nur Starts auf dem groben Raster");
+            });
+        }
+        request.getTasks().stream()
+                .filter(task -> !task.getId().contains("_w"))
+                .forEach(task -> assertTrue(task.getDeadline() <= 2016));
+
+        assertEquals(1, realTask.getLearningUnits().size(), "Nur die aktuelle Woche wird gespeichert");
+    }
+
+    @Test
+    /** Testet, ob die zweistufige Planung grob löst, dann verfeinert und bei Scheitern das grobe Ergebnis behält.
+     */
+    void callSolver_CoarseToFineFallsBackToCoarseResult() {
+        ReflectionTestUtils.setField(planningService, "coarseToFineEnabled", true);
+        ReflectionTestUtils.setField(planningService, "coarseToFineStepSlots", 6);
+        ReflectionTestUtils.setField(planningService, "coarseToFineRefineWindowSlots", 6);
+        PlanningTaskDTO task = new PlanningTaskDTO("a_0", 6, 0, 500, List.of(), null,
+                List.of(new de.pse.oys.dto.plan.SlotRangeDTO(100, 130)));
+        PlanningRequestDTO request = new PlanningRequestDTO(2016, 0, List.of(), "", List.of(), List.of(task));
+        List<PlanningResponseDTO> coarseResults = List.of(new PlanningResponseDTO("a_0", 120, 126));
+        when(restTemplate.exchange(anyString(), eq(HttpMethod.POST), any(), any(ParameterizedTypeReference.class)))
+                .thenReturn(ResponseEntity.ok(coarseResults))
+                .thenReturn(ResponseEntity.ok(Collections.emptyList()));
+
+        List<PlanningResponseDTO> results = planningService.callSolver(request);
+
+        verify(restTemplate, times(2)).exchange(anyString(), eq(HttpMethod.POST), requestCaptor.capture(),
+                any(ParameterizedTypeReference.class));
+        List<PlanningRequestDTO> sent = requestCaptor.getAllValues().stream().map(HttpEntity::getBody).toList();
+        assertEquals(5, sent.get(0).getTasks().get(0).getDomain().size(), "Grober Lauf nur auf dem Raster");
+        assertEquals(114, sent.get(1).getTasks().get(0).getDomain().get(0).getFrom());
+        assertEquals(126, sent.get(1).getTasks().get(0).getDomain().get(0).getTo());
+        assertEquals(120, sent.get(1).getTasks().get(0).getHint());
+        assertSame(coarseResults, results);
+    }
+
+    @Test
+    /** Testet, ob die Zerlegung nach Tagen je Tag eine eigene Anfrage stellt und die Ergebnisse zusammenführt.
+     */
+    void callSolver_DecompositionSolvesEachDaySeparately() {
+        ReflectionTestUtils.setField(planningService, "decompositionEnabled", true);
+        ReflectionTestUtils.setField(planningService, "decompositionParallelism", 2);
+        PlanningTaskDTO monday = new PlanningTaskDTO("a_0", 6, 0, 500, List.of(), null,
+                List.of(new de.pse.oys.dto.plan.SlotRangeDTO(100, 130)));
+        PlanningTaskDTO tuesday = new PlanningTaskDTO("b_0", 6, 0, 600, List.of(), null,
+                List.of(new de.pse.oys.dto.plan.SlotRangeDTO(400, 430)));
+        PlanningRequestDTO request = new PlanningRequestDTO(2016, 0, List.of(), "", List.of(),
+                List.of(monday, tuesday));
+        when(restTemplate.exchange(anyString(), eq(HttpMethod.POST), any(), any(ParameterizedTypeReference.class)))
+                .thenAnswer(invocation -> {
+                    HttpEntity<PlanningRequestDTO> entity = invocation.getArgument(2);
+                    List<PlanningResponseDTO> results = entity.getBody().getTasks().stream()
+                            .map(task -> new PlanningResponseDTO(task.getId(), task.getDomain().get(0).getFrom(),
+                                    task.getDomain().get(0).getFrom() + task.getDuration()))
+                            .toList();
+                    return ResponseEntity.ok(results);
+                });
+
+        List<PlanningResponseDTO> results = planningService.callSolver(request);
+        planningService.shutdown();
+
+        verify(restTemplate, times(2)).exchange(anyString(), eq(HttpMethod.POST), requestCaptor.capture(),
+                any(ParameterizedTypeReference.class));
+        requestCaptor.getAllValues().forEach(entity -> assertEquals(1, entity.getBody().getTasks().size()));
+        assertEquals(List.of("a_0", "b_0"), results.stream().map(PlanningResponseDTO::getId).toList());
+    }
+
+    @Test
+    /** Testet, ob kleine Anfragen ohne Solver geplant werden und der Greedy-Planer bei Solver-Ausfall einspringt.
+     */
+    void callSolver_GreedyFastPathAndFallback() {
+        PlanningTaskDTO task = new PlanningTaskDTO("a_0", 6, 0, 500, List.of(), null,
+                List.of(new de.pse.oys.dto.plan.SlotRangeDTO(100, 130)));
+        PlanningRequestDTO request = new PlanningRequestDTO(2016, 0, List.of(), "", List.of(), List.of(task));
+
+        ReflectionTestUtils.setField(planningService, "greedyMaxChunks", 3);
+        List<PlanningResponseDTO> fastPath = planningService.callSolver(request);
+        verifyNoInteractions(restTemplate);
+        assertEquals(100, fastPath.get(0).getStart());
+
+        ReflectionTestUtils.setField(planningService, "greedyMaxChunks", 0);
+        ReflectionTestUtils.setField(planningService, "greedyFallbackEnabled", true);
+        when(restTemplate.exchange(anyString(), eq(HttpMethod.POST), any(), any(ParameterizedTypeReference.class)))
+                .thenThrow(new org.springframework.web.client.ResourceAccessException("Solver down"));
+        List<PlanningResponseDTO> fallback = planningService.callSolver(request);
+        assertEquals(1, fallback.size());
+        assertEquals("a_0", fallback.get(0).getId());
+    }
+
+    @Test
+    /** Testet, ob ein offener Schutzschalter den Solver nicht mehr aufruft und der Greedy-Planer einspringt.
+     */
+    void callSolver_OpenCircuitBreakerFailsFastToLocalFallback() {
+        SolverCircuitBreaker breaker = new SolverCircuitBreaker(2, 1, 50, 60, 1, 60);
+        planningService = new PlanningService(taskRepository, learningPlanRepository, userRepository,
+                learningAnalyticsProvider, restTemplate, restTemplate, learningUnitRepository,
+                new SolverResultCache(100), breaker,
+                new SolverEndpointPool("http://localhost:5001/optimize", restTemplate, 3, 30),
+                new SolverHedgingPolicy(false, 95, 200, 20, 5000, 10), solverAsyncClient,
+                new PlanningMetrics(meterRegistry),
+                new PlanningTracer(Tracer.NOOP), dataVersionService, new ObjectMapper());
+        ReflectionTestUtils.setField(planningService, "greedyFallbackEnabled", true);
+        breaker.onFailure();
+        PlanningTaskDTO task = new PlanningTaskDTO("a_0", 6, 0, 500, List.of(), null,
+                List.of(new de.pse.oys.dto.plan.SlotRangeDTO(100, 130)));
+        PlanningRequestDTO request = new PlanningRequestDTO(2016, 0, List.of(), "", List.of(), List.of(task));
+
+        List<PlanningResponseDTO> results = planningService.callSolver(request);
+
+        verifyNoInteractions(restTemplate);
+        assertEquals(SolverCircuitBreaker.State.OPEN, breaker.getState());
+        assertEquals(1, breaker.getRejectedCalls());
+        assertEquals(1, results.size());
+    }
+
+    @Test
+    /** Testet, ob eine langsame Solver-Instanz nach der Wartezeit abgesichert wird und die schnellere gewinnt.
+     */
+    void callSolver_HedgedRequestWinsAgainstSlowInstance() {
+        String slow = "http://solver-1:5001/optimize";
+        String fast = "http://solver-2:5001/optimize";
+        SolverHedgingPolicy hedging = new SolverHedgingPolicy(true, 95, 200, 20, 50, 100);
+        planningService = new PlanningService(taskRepository, learningPlanRepository, userRepository,
+                learningAnalyticsProvider, restTemplate, restTemplate, learningUnitRepository, new SolverResultCache(100),
+                new SolverCircuitBreaker(20, 5, 50, 30, 2, 60),
+                new SolverEndpointPool(slow + "," + fast, restTemplate, 3, 30), hedging, solverAsyncClient,
+                new PlanningMetrics(meterRegistry), new PlanningTracer(Tracer.NOOP),
+                dataVersionService, new ObjectMapper());
+        PlanningTaskDTO task = new PlanningTaskDTO("a_0", 6, 0, 500, List.of(), null,
+                List.of(new de.pse.oys.dto.plan.SlotRangeDTO(100, 130)));
+        PlanningRequestDTO request = new PlanningRequestDTO(2016, 0, List.of(), "", List.of(), List.of(task));
+        CompletableFuture<ResponseEntity<List<PlanningResponseDTO>>> slowCall = new CompletableFuture<>();
+        when(solverAsyncClient.post(eq(slow), any())).thenReturn(slowCall);
+        when(solverAsyncClient.post(eq(fast), any())).thenReturn(
+                CompletableFuture.completedFuture(ResponseEntity.ok(List.of(new PlanningResponseDTO("a_0", 120, 126)))));
+
+        List<PlanningResponseDTO> results = planningService.callSolver(request);
+
+        assertEquals(1, results.size());
+        assertEquals(120, results.get(0).getStart());
+        assertEquals(1, hedging.getHedgesSent());
+        assertEquals(1, hedging.getHedgesWon());
+        assertTrue(slowCall.isCancelled(), "Der langsame Aufruf wird abgebrochen");
+        verifyNoInteractions(restTemplate);
+    }
+
+    @Test
+    /** Testet, ob ein Batch kleine Anfragen lokal plant und die übrigen mit einem Aufruf an den Batch-Endpunkt sendet.
+     */
+    void callSolverBatch_SendsRemainingProblemsInOneCall() {
+        ReflectionTestUtils.setField(planningService, "greedyMaxChunks", 1);
+        PlanningTaskDTO small = new PlanningTaskDTO("a_0", 6, 0, 500, List.of(), null,
+                List.of(new de.pse.oys.dto.plan.SlotRangeDTO(100, 130)));
+        PlanningRequestDTO smallRequest = new PlanningRequestDTO(2016, 0, List.of(), "", List.of(), List.of(small));
+        PlanningRequestDTO first = new PlanningRequestDTO(2016, 0, List.of(), "", List.of(),
+                List.of(new PlanningTaskDTO("b_0", 6, 0, 500, List.of()), new PlanningTaskDTO("b_1", 6, 0, 500, List.of())));
+        PlanningRequestDTO second = new PlanningRequestDTO(2016, 0, List.of(), "", List.of(),
+                List.of(new PlanningTaskDTO("c_0", 6, 0, 500, List.of()), new PlanningTaskDTO("c_1", 6, 0, 500, List.of())));
+        when(restTemplate.exchange(eq("http://localhost:5001/optimize/batch"), eq(HttpMethod.POST), any(),
+                any(ParameterizedTypeReference.class)))
+                .thenReturn(ResponseEntity.ok(List.of(
+                        List.of(new PlanningResponseDTO("b_0", 10, 16), new PlanningResponseDTO("b_1", 20, 26)),
+                        List.of(new PlanningResponseDTO("c_0", 30, 36), new PlanningResponseDTO("c_1", 40, 46)))));
+
+        List<SolverResult> results = planningService.callSolverBatch(List.of(first, smallRequest, second));
+
+        assertEquals(3, results.size());
+        assertEquals("b_0", results.get(0).getResults().get(0).getId());
+        assertEquals("a_0", results.get(1).getResults().get(0).getId());
+        assertEquals(40, results.get(2).getResults().get(1).getStart());
+        verify(restTemplate, times(1)).exchange(anyString(), any(), any(), any(ParameterizedTypeReference.class));
+    }
+
+    @Test
+    /** Testet, ob ein Batch die Kennzahlen je Problem aus der Antwort liest, sie erfasst und jede Anfrage zählt.
+     */
+    void callSolverBatch_ReturnsAndRecordsStatsPerProblem() {
+        PlanningRequestDTO first = new PlanningRequestDTO(2016, 0, List.of(), "", List.of(),
+                List.of(new PlanningTaskDTO("b_0", 6, 0, 500, List.of()), new PlanningTaskDTO("b_1", 6, 0, 500, List.of())));
+        PlanningRequestDTO second = new PlanningRequestDTO(2016, 0, List.of(), "", List.of(),
+                List.of(new PlanningTaskDTO("c_0", 6, 0, 500, List.of()), new PlanningTaskDTO("c_1", 6, 0, 500, List.of())));
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("X-Solver-Batch-Stats", "[{\"status\":\"OPTIMAL\",\"objective\":12.0,\"best_bound\":12.0,"
+                + "\"build_time\":0.02,\"wall_time\":0.4,\"variables\":120,\"constraints\":80},null]");
+        when(restTemplate.exchange(eq("http://localhost:5001/optimize/batch"), eq(HttpMethod.POST), any(),
+                any(ParameterizedTypeReference.class)))
+                .thenReturn(ResponseEntity.ok().headers(headers).body(List.of(
+                        List.of(new PlanningResponseDTO("b_0", 10, 16), new PlanningResponseDTO("b_1", 20, 26)),
+                        List.of())));
+
+        List<SolverResult> results = planningService.callSolverBatch(List.of(first, second));
+
+        assertEquals("OPTIMAL", results.get(0).getStats().getStatus());
+        assertEquals(120L, results.get(0).getStats().getVariables());
+        assertEquals(0.4, results.get(0).getStats().getSolveSeconds(), 1e-9);
+        assertNull(results.get(1).getStats());
+        assertEquals(1, meterRegistry.get("planning.solver.status").tag("status", "OPTIMAL").counter().count(),
+                1e-9);
+        assertEquals(2, meterRegistry.get("planning.solve.chunks").summary().count());
+    }
+
+    @Test
+    /** Testet, ob ein Batch sein Zeitbudget an den Solver sendet und eine Dauer innerhalb des Budgets nicht als langsam zählt.
+     */
+    void callSolverBatch_SendsBudgetAndDoesNotCountBudgetAsSlow() {
+        SolverCircuitBreaker breaker = new SolverCircuitBreaker(1, 1, 50, 60, 1, 1);
+        planningService = new PlanningService(taskRepository, learningPlanRepository, userRepository,
+                learningAnalyticsProvider, restTemplate, restTemplate, learningUnitRepository,
+                new SolverResultCache(100), breaker,
+                new SolverEndpointPool("http://localhost:5001/optimize", restTemplate, 3, 30),
+                new SolverHedgingPolicy(false, 95, 200, 20, 5000, 10), solverAsyncClient,
+                new PlanningMetrics(meterRegistry), new PlanningTracer(Tracer.NOOP), dataVersionService,
+                new ObjectMapper());
+        ReflectionTestUtils.setField(planningService, "batchMaxBudgetSeconds", 5.0);
+        PlanningRequestDTO request = new PlanningRequestDTO(2016, 0, List.of(), "", List.of(),
+                List.of(new PlanningTaskDTO("b_0", 6, 0, 500, List.of()), new PlanningTaskDTO("b_1", 6, 0, 500, List.of())));
+        ArgumentCaptor<HttpEntity<List<PlanningRequestDTO>>> batchCaptor = ArgumentCaptor.forClass(HttpEntity.class);
+        when(restTemplate.exchange(eq("http://localhost:5001/optimize/batch"), eq(HttpMethod.POST), batchCaptor.capture(),
+                any(ParameterizedTypeReference.class)))
+                .thenAnswer(invocation -> {
+                    Thread.sleep(1200);
+                    return ResponseEntity.ok(List.of(List.of(new PlanningResponseDTO("b_0", 10, 16),
+                            new PlanningResponseDTO("b_1", 20, 26))));
+                });
+
+        planningService.callSolverBatch(List.of(request));
+
+        assertEquals("5.0", batchCaptor.getValue().getHeaders().getFirst("X-Solver-Batch-Budget-Seconds"));
+        assertEquals(SolverCircuitBreaker.State.CLOSED, breaker.getState(), "Länger als die Schwelle, aber im Budget");
+    }
+}
@@ -0,0 +1,165 @@
+package de.pse.oys.planning;
+
+import de.pse.oys.persistence.RepositoryTracingAspect;
+import de.pse.oys.persistence.TaskRepository;
+import de.pse.oys.service.planning.PlanningTracer;
+import io.micrometer.observation.ObservationHandler;
+import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.tracing.handler.DefaultTracingObservationHandler;
+import io.micrometer.tracing.handler.PropagatingSenderTracingObservationHandler;
+import io.micrometer.tracing.otel.bridge.OtelBaggageManager;
+import io.micrometer.tracing.otel.bridge.OtelCurrentTraceContext;
+import io.micrometer.tracing.otel.bridge.OtelPropagator;
+import io.micrometer.tracing.otel.bridge.OtelTracer;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.api.trace.propagation.W3CTraceContextPropagator;
+import io.opentelemetry.context.propagation.ContextPropagators;
+import io.opentelemetry.sdk.testing.exporter.InMemorySpanExporter;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SimpleSpanProcessor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+/**
+ * PlanningTracerTest – Unit-Tests für die Spans der Planung mit einem OpenTelemetry-Tracer, dessen
+ * Spans ein In-Memory-Exporter sammelt. Prüft Verschachtelung, Weitergabe an andere Threads, die
+ * Übertragung des Trace-Kontexts an den Solver und die Spans der Repository-Aufrufe.
+ *
+ * @author uhxch
+ * @version 1.0
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class PlanningTracerTest {
+
+    private static final String SOLVER_URL = "http://localhost:5001/optimize";
+
+    private final InMemorySpanExporter exporter = InMemorySpanExporter.create();
+    private SdkTracerProvider tracerProvider;
+    private OtelTracer tracer;
+    private OtelPropagator propagator;
+    private PlanningTracer planningTracer;
+
+    @BeforeEach
+    void setUp() {
+        tracerProvider = SdkTracerProvider.builder()
+                .addSpanProcessor(SimpleSpanProcessor.create(exporter))
+                .build();
+        io.opentelemetry.api.trace.Tracer otelTracer = tracerProvider.get("planning-test");
+        OtelCurrentTraceContext currentTraceContext = new OtelCurrentTraceContext();
+        tracer = new OtelTracer(otelTracer, currentTraceContext, event -> {
+        }, new OtelBaggageManager(currentTraceContext, List.of(), List.of()));
+        propagator = new OtelPropagator(ContextPropagators.create(W3CTraceContextPropagator.getInstance()),
+                otelTracer);
+        planningTracer = new PlanningTracer(tracer);
+    }
+
+    @AfterEach
+    void tearDown() {
+        tracerProvider.close();
+    }
+
+    private SpanData span(String name) {
+        return exporter.getFinishedSpanItems().stream()
+                .filter(span -> span.getName().equals(name))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("Span fehlt: " + name));
+    }
+
+    @Test
+    void inSpan_NestsSpansAndRecordsErrors() {
+        planningTracer.inSpan("planning.solve", () -> {
+            planningTracer.tag("planning.chunks", 12);
+            return planningTracer.inSpan("planning.build", () -> 1);
+        });
+        assertThrows(IllegalStateException.class, () -> planningTracer.inSpan("planning.persist", () -> {
+            throw new IllegalStateException("Fehler");
+        }));
+
+        SpanData solve = span("planning.solve");
+        SpanData build = span("planning.build");
+        assertEquals(solve.getSpanId(), build.getParentSpanId());
+        assertEquals(solve.getTraceId(), build.getTraceId());
+        assertEquals(12L, solve.getAttributes().asMap().entrySet().stream()
+                .filter(entry -> entry.getKey().getKey().equals("planning.chunks"))
+                .findFirst().orElseThrow().getValue());
+        assertEquals(StatusCode.ERROR, span("planning.persist").getStatus().getStatusCode());
+    }
+
+    @Test
+    void wrap_CarriesSpanToOtherThread() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            planningTracer.inSpan("planning.solve", () -> {
+                try {
+                    return executor.submit(planningTracer.wrap(
+                            () -> planningTracer.inSpan("planning.solve.day", () -> 0))).get();
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(span("planning.solve").getSpanId(), span("planning.solve.day").getParentSpanId());
+    }
+
+    @Test
+    void restTemplate_PropagatesTraceContextToSolver() {
+        ObservationRegistry observationRegistry = ObservationRegistry.create();
+        observationRegistry.observationConfig().observationHandler(
+                new ObservationHandler.FirstMatchingCompositeObservationHandler(
+                        new PropagatingSenderTracingObservationHandler<>(tracer, propagator),
+                        new DefaultTracingObservationHandler(tracer)));
+        RestTemplate restTemplate = new RestTemplate();
+        restTemplate.setObservationRegistry(observationRegistry);
+        MockRestServiceServer server = MockRestServiceServer.bindTo(restTemplate).build();
+        AtomicReference<String> traceparent = new AtomicReference<>();
+        server.expect(requestTo(SOLVER_URL))
+                .andExpect(request -> traceparent.set(request.getHeaders().getFirst("traceparent")))
+                .andRespond(withSuccess("[]", MediaType.APPLICATION_JSON));
+
+        planningTracer.inSpan("planning.solve", () -> restTemplate.postForObject(SOLVER_URL, "{}", String.class));
+
+        server.verify();
+        SpanData solve = span("planning.solve");
+        SpanData client = exporter.getFinishedSpanItems().stream()
+                .filter(span -> solve.getSpanId().equals(span.getParentSpanId()))
+                .findFirst()
+                .orElseThrow();
+        assertNotNull(traceparent.get());
+        assertTrue(traceparent.get().startsWith("00-" + solve.getTraceId() + "-" + client.getSpanId()));
+    }
+
+    @Test
+    void repositoryAspect_RecordsSpanPerCall() {
+        AspectJProxyFactory factory = new AspectJProxyFactory(mock(TaskRepository.class));
+        factory.addAspect(new RepositoryTracingAspect(tracer));
+        TaskRepository repository = factory.getProxy();
+
+        planningTracer.inSpan("planning.snapshot", () -> repository.findAllByModuleUserUserId(UUID.randomUUID()));
+
+        SpanData call = span("TaskRepository.findAllByModuleUserUserId");
+        assertEquals(span("planning.snapshot").getSpanId(), call.getParentSpanId());
+    }
+}
@@ -0,0 +1,131 @@
+package de.pse.oys.planning;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import de.pse.oys.dto.plan.PlanningRequestDTO;
+import de.pse.oys.dto.plan.PlanningResponseDTO;
+import de.pse.oys.service.planning.SolverAsyncClient;
+import io.micrometer.tracing.Tracer;
+import io.micrometer.tracing.propagation.Propagator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.client.HttpClientErrorException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * SolverAsyncClientTest – Unit-Tests für den abbrechbaren HTTP-Client der abgesicherten Solver-Aufrufe.
+ * Prüft das Lesen von Ergebnis und Headern, Fehlerantworten und das Schließen der Verbindung beim Abbruch.
+ *
+ * @author uhxch
+ * @version 1.0
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class SolverAsyncClientTest {
+
+    private static final PlanningRequestDTO REQUEST =
+            new PlanningRequestDTO(2016, 0, List.of(), "", List.of(), List.of());
+
+    private SolverAsyncClient client;
+    private HttpServer server;
+
+    @BeforeEach
+    void setUp() {
+        client = new SolverAsyncClient(2000, 5000, 2, new ObjectMapper(), Tracer.NOOP,
+                new DefaultListableBeanFactory().getBeanProvider(Propagator.class));
+    }
+
+    @AfterEach
+    void tearDown() {
+        client.shutdown();
+        if (server != null) {
+            server.stop(0);
+        }
+    }
+
+    @Test
+    void post_ReadsResultsAndSolverHeaders() throws Exception {
+        startServer(200, "[{\"id\":\"a_0\",\"start\":100,\"end\":106}]");
+
+        ResponseEntity<List<PlanningResponseDTO>> response =
+                client.post(serverUrl(), REQUEST).get(5, TimeUnit.SECONDS);
+
+        assertEquals(1, response.getBody().size());
+        assertEquals("a_0", response.getBody().get(0).getId());
+        assertEquals(106, response.getBody().get(0).getEnd());
+        assertEquals("OPTIMAL", response.getHeaders().getFirst("X-Solver-Status"));
+    }
+
+    @Test
+    void post_ClientErrorCompletesExceptionally() throws IOException {
+        startServer(422, "{}");
+
+        ExecutionException error = assertThrows(ExecutionException.class,
+                () -> client.post(serverUrl(), REQUEST).get(5, TimeUnit.SECONDS));
+        assertInstanceOf(HttpClientErrorException.class, error.getCause());
+    }
+
+    @Test
+    void cancel_ClosesConnection() throws Exception {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            CompletableFuture<Boolean> closed = new CompletableFuture<>();
+            Thread accepting = new Thread(() -> {
+                try (Socket connection = socket.accept()) {
+                    InputStream in = connection.getInputStream();
+                    byte[] buffer = new byte[4096];
+                    while (in.read(buffer) >= 0) {
+                        // Der Server antwortet nie; gewartet wird nur auf das Schließen durch den Client.
+                    }
+                    closed.complete(true);
+                } catch (Exception e) {
+                    closed.complete(true);
+                }
+            });
+            accepting.start();
+
+            CompletableFuture<ResponseEntity<List<PlanningResponseDTO>>> call =
+                    client.post("http://localhost:" + socket.getLocalPort() + "/optimize", REQUEST);
+            Thread.sleep(200);
+            call.cancel(true);
+
+            assertTrue(closed.get(3, TimeUnit.SECONDS), "Der Abbruch schließt die Verbindung zum Solver");
+        }
+    }
+
+    private void startServer(int status, String body) throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/optimize", exchange -> {
+            byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+            exchange.getRequestBody().readAllBytes();
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.getResponseHeaders().add("X-Solver-Status", "OPTIMAL");
+            exchange.sendResponseHeaders(status, bytes.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(bytes);
+            }
+        });
+        server.start();
+    }
+
+    private String serverUrl() {
+        return "http://localhost:" + server.getAddress().getPort() + "/optimize";
+    }
+}
@@ -0,0 +1,97 @@
+package de.pse.oys.planning;
+
+import de.pse.oys.service.planning.SolverCircuitBreaker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * SolverCircuitBreakerTest – Unit-Tests für den Schutzschalter der Solver-Aufrufe.
+ * Prüft das Öffnen über die Fehlerquote, das Abweisen, die Probeaufrufe und langsame Aufrufe.
+ *
+ * @author uhxch
+ * @version 1.0
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class SolverCircuitBreakerTest {
+
+    private static final long FAST = Duration.ofMillis(10).toNanos();
+
+    @Test
+    void opensWhenFailureRateReachesThresholdAndRejectsCalls() {
+        SolverCircuitBreaker breaker = new SolverCircuitBreaker(4, 4, 50, 60, 1, 10);
+        breaker.onSuccess(FAST);
+        breaker.onSuccess(FAST);
+        breaker.onFailure();
+        assertEquals(SolverCircuitBreaker.State.CLOSED, breaker.getState(), "Zu wenige Aufrufe im Fenster");
+
+        breaker.onFailure();
+
+        assertEquals(SolverCircuitBreaker.State.OPEN, breaker.getState());
+        assertFalse(breaker.tryAcquirePermission());
+        assertEquals(1, breaker.getRejectedCalls());
+    }
+
+    @Test
+    void rollingWindowForgetsOldFailures() {
+        SolverCircuitBreaker breaker = new SolverCircuitBreaker(3, 3, 67, 60, 1, 10);
+        breaker.onFailure();
+        breaker.onSuccess(FAST);
+        breaker.onSuccess(FAST);
+        breaker.onFailure();
+
+        assertEquals(SolverCircuitBreaker.State.CLOSED, breaker.getState());
+        assertEquals(3, breaker.getRecordedCalls());
+        assertEquals(100.0 / 3, breaker.getFailureRate(), 1e-9);
+    }
+
+    @Test
+    void halfOpenProbesCloseOrReopen() {
+        SolverCircuitBreaker breaker = new SolverCircuitBreaker(2, 1, 50, 0, 2, 10);
+        breaker.onFailure();
+        assertEquals(SolverCircuitBreaker.State.OPEN, breaker.getState());
+
+        assertTrue(breaker.tryAcquirePermission());
+        assertEquals(SolverCircuitBreaker.State.HALF_OPEN, breaker.getState());
+        assertTrue(breaker.tryAcquirePermission());
+        assertFalse(breaker.tryAcquirePermission(), "Nur zwei Probeaufrufe");
+        breaker.onSuccess(FAST);
+        breaker.onSuccess(FAST);
+        assertEquals(SolverCircuitBreaker.State.CLOSED, breaker.getState());
+
+        breaker.onSuccess(Duration.ofSeconds(11).toNanos());
+        assertEquals(SolverCircuitBreaker.State.OPEN, breaker.getState(), "Langsamer Aufruf zählt als Fehler");
+        assertEquals(4, breaker.getStateTransitions());
+    }
+
+    @Test
+    void onSuccessWithBudget_CountsOnlyTimeBeyondBudgetAsSlow() {
+        SolverCircuitBreaker breaker = new SolverCircuitBreaker(1, 1, 50, 60, 1, 10);
+        breaker.onSuccess(Duration.ofSeconds(15).toNanos(), Duration.ofSeconds(12).toNanos());
+        assertEquals(SolverCircuitBreaker.State.CLOSED, breaker.getState(), "Im Budget plus Schwelle");
+
+        breaker.onSuccess(Duration.ofSeconds(23).toNanos(), Duration.ofSeconds(12).toNanos());
+        assertEquals(SolverCircuitBreaker.State.OPEN, breaker.getState(), "Budget um mehr als die Schwelle überschritten");
+    }
+
+    @Test
+    void bindTo_PublishesStateFailureRateAndTransitions() {
+        SolverCircuitBreaker breaker = new SolverCircuitBreaker(2, 1, 50, 60, 1, 10);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        breaker.bindTo(registry);
+        breaker.onFailure();
+        breaker.tryAcquirePermission();
+
+        assertEquals(1.0, registry.get("planning.solver.breaker.state").tag("state", "open").gauge().value());
+        assertEquals(0.0, registry.get("planning.solver.breaker.state").tag("state", "closed").gauge().value());
+        assertEquals(100.0, registry.get("planning.solver.breaker.failure-rate").gauge().value(), 1e-9);
+        assertEquals(1.0, registry.get("planning.solver.breaker.transitions").functionCounter().count());
+        assertEquals(1.0, registry.get("planning.solver.breaker.rejected").functionCounter().count());
+    }
+}
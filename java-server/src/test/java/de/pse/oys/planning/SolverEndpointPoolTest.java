@@ -0,0 +1,130 @@
+package de.pse.oys.planning;
+
+import de.pse.oys.service.planning.SolverEndpointPool;
+import de.pse.oys.service.planning.SolverEndpointStats;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * SolverEndpointPoolTest – Unit-Tests für die Lastverteilung auf mehrere Solver-Instanzen.
+ * Prüft die Wahl nach laufenden Anfragen, den Ausschluss fehlerhafter Instanzen und die Health-Checks.
+ *
+ * @author uhxch
+ * @version 1.0
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class SolverEndpointPoolTest {
+
+    private static final String FIRST = "http://solver-1:5001/optimize";
+    private static final String SECOND = "http://solver-2:5001/optimize";
+    private static final long LATENCY = Duration.ofMillis(40).toNanos();
+
+    private final RestTemplate restTemplate = mock(RestTemplate.class);
+
+    @Test
+    void acquire_PrefersEndpointWithFewestOutstandingRequests() {
+        SolverEndpointPool pool = new SolverEndpointPool(FIRST + ", " + SECOND, restTemplate, 3, 30);
+
+        String a = pool.acquire();
+        String b = pool.acquire();
+        assertNotEquals(a, b, "Beide Instanzen erhalten je eine Anfrage");
+
+        pool.release(a, LATENCY, true);
+        assertEquals(a, pool.acquire(), "Die entlastete Instanz wird gewählt");
+
+        SolverEndpointStats stats = pool.getStats().stream().filter(s -> s.getUrl().equals(a)).findFirst().orElseThrow();
+        assertEquals(1, stats.getOutstanding());
+        assertEquals(1, stats.getRequests());
+        assertEquals(40.0, stats.getAverageLatencyMillis(), 1e-9);
+    }
+
+    @Test
+    void release_EjectsEndpointAfterConsecutiveFailures() {
+        SolverEndpointPool pool = new SolverEndpointPool(FIRST + "," + SECOND, restTemplate, 2, 60);
+
+        pool.acquire();
+        pool.release(FIRST, LATENCY, false);
+        pool.acquire();
+        pool.release(FIRST, LATENCY, false);
+
+        assertFalse(pool.getStats().get(0).isAvailable());
+        assertEquals(1, pool.getStats().get(0).getEjections());
+        for (int i = 0; i < 3; i++) {
+            String endpoint = pool.acquire();
+            assertEquals(SECOND, endpoint);
+            pool.release(endpoint, LATENCY, true);
+        }
+    }
+
+    @Test
+    void acquire_UsesAllEndpointsWhenEveryEndpointIsEjected() {
+        SolverEndpointPool pool = new SolverEndpointPool(FIRST, restTemplate, 1, 60);
+        pool.acquire();
+        pool.release(FIRST, LATENCY, false);
+
+        assertFalse(pool.getStats().get(0).isAvailable());
+        assertEquals(FIRST, pool.acquire());
+    }
+
+    @Test
+    void checkHealth_EjectsUnreachableAndReinstatesRecoveredEndpoints() {
+        SolverEndpointPool pool = new SolverEndpointPool(FIRST + "," + SECOND, restTemplate, 3, 60);
+        when(restTemplate.getForEntity("http://solver-1:5001/health", String.class))
+                .thenThrow(new ResourceAccessException("Verbindung abgelehnt"))
+                .thenReturn(ResponseEntity.ok("{\"status\":\"ok\"}"));
+        when(restTemplate.getForEntity("http://solver-2:5001/health", String.class))
+                .thenReturn(ResponseEntity.ok("{\"status\":\"ok\"}"));
+
+        pool.checkHealth();
+        List<SolverEndpointStats> stats = pool.getStats();
+        assertFalse(stats.get(0).isAvailable());
+        assertTrue(stats.get(1).isAvailable());
+
+        pool.checkHealth();
+        assertTrue(pool.getStats().get(0).isAvailable(), "Erfolgreicher Health-Check nimmt die Instanz wieder auf");
+    }
+
+    @Test
+    void acquire_AvoidsExcludedEndpointUnlessItIsTheOnlyOne() {
+        SolverEndpointPool pool = new SolverEndpointPool(FIRST + "," + SECOND, restTemplate, 3, 30);
+        assertEquals(SECOND, pool.acquire(FIRST));
+        assertEquals(SECOND, pool.acquire(FIRST), "Auch mit mehr laufenden Anfragen");
+
+        SolverEndpointPool single = new SolverEndpointPool(FIRST, restTemplate, 3, 30);
+        assertEquals(FIRST, single.acquire(FIRST));
+    }
+
+    @Test
+    void constructor_RejectsEmptyUrlList() {
+        assertThrows(IllegalArgumentException.class, () -> new SolverEndpointPool(" , ", restTemplate, 3, 30));
+    }
+
+    @Test
+    void bindTo_PublishesStatsPerEndpoint() {
+        SolverEndpointPool pool = new SolverEndpointPool(FIRST + "," + SECOND, restTemplate, 1, 60);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        pool.bindTo(registry);
+        pool.acquire(SECOND);
+        pool.release(FIRST, LATENCY, false);
+        pool.acquire(FIRST);
+
+        assertEquals(0.0, registry.get("planning.solver.endpoint.available").tag("endpoint", FIRST).gauge().value());
+        assertEquals(1.0, registry.get("planning.solver.endpoint.available").tag("endpoint", SECOND).gauge().value());
+        assertEquals(1.0, registry.get("planning.solver.endpoint.outstanding").tag("endpoint", SECOND).gauge().value());
+        assertEquals(1.0, registry.get("planning.solver.endpoint.failures").tag("endpoint", FIRST).functionCounter().count());
+        assertEquals(1.0, registry.get("planning.solver.endpoint.ejections").tag("endpoint", FIRST).functionCounter().count());
+    }
+}
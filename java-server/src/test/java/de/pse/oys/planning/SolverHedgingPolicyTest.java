@@ -0,0 +1,92 @@
+package de.pse.oys.planning;
+
+import de.pse.oys.service.planning.SolverHedgingPolicy;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * SolverHedgingPolicyTest – Unit-Tests für die Richtlinie der abgesicherten Solver-Aufrufe.
+ * Prüft die Wartezeit aus dem Perzentil der Antwortzeiten und die Begrenzung durch das Budget.
+ *
+ * @author uhxch
+ * @version 1.0
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class SolverHedgingPolicyTest {
+
+    @Test
+    void hedgeDelay_UsesInitialDelayUntilEnoughSamplesThenPercentile() {
+        SolverHedgingPolicy policy = new SolverHedgingPolicy(true, 90, 10, 5, 300, 10);
+        for (int i = 1; i <= 4; i++) {
+            policy.recordLatency(Duration.ofMillis(i * 10L).toNanos());
+        }
+        assertEquals(Duration.ofMillis(300).toNanos(), policy.hedgeDelayNanos());
+
+        for (int i = 5; i <= 10; i++) {
+            policy.recordLatency(Duration.ofMillis(i * 10L).toNanos());
+        }
+        assertEquals(Duration.ofMillis(90).toNanos(), policy.hedgeDelayNanos());
+
+        for (int i = 0; i < 10; i++) {
+            policy.recordLatency(Duration.ofMillis(5).toNanos());
+        }
+        assertEquals(Duration.ofMillis(5).toNanos(), policy.hedgeDelayNanos(), "Alte Messwerte fallen aus dem Fenster");
+    }
+
+    @Test
+    void tryAcquireHedge_StaysWithinBudget() {
+        SolverHedgingPolicy policy = new SolverHedgingPolicy(true, 95, 100, 10, 100, 25);
+        int granted = 0;
+        for (int i = 0; i < 100; i++) {
+            policy.onCall();
+            if (policy.tryAcquireHedge()) {
+                granted++;
+            }
+        }
+
+        assertEquals(25, granted);
+        assertEquals(25, policy.getHedgesSent());
+        assertEquals(75, policy.getBudgetRejected());
+        assertEquals(25.0, policy.getHedgeRate(), 1e-9);
+    }
+
+    @Test
+    void tryAcquireHedge_BurstIsCapped() {
+        SolverHedgingPolicy policy = new SolverHedgingPolicy(true, 95, 100, 10, 100, 50);
+        for (int i = 0; i < 1000; i++) {
+            policy.onCall();
+        }
+        int granted = 0;
+        while (policy.tryAcquireHedge()) {
+            granted++;
+        }
+        assertEquals(10, granted, "Nach langer Ruhe sind nur begrenzt viele Absicherungen am Stück erlaubt");
+    }
+
+    @Test
+    void bindTo_PublishesHedgingCounters() {
+        SolverHedgingPolicy policy = new SolverHedgingPolicy(true, 95, 10, 5, 300, 50);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        policy.bindTo(registry);
+        for (int i = 0; i < 4; i++) {
+            policy.onCall();
+        }
+        assertTrue(policy.tryAcquireHedge());
+        assertTrue(policy.tryAcquireHedge());
+        assertFalse(policy.tryAcquireHedge());
+        policy.onHedgeWon();
+
+        assertEquals(4.0, registry.get("planning.solver.hedging.calls").functionCounter().count());
+        assertEquals(2.0, registry.get("planning.solver.hedging.hedges").tag("result", "sent").functionCounter().count());
+        assertEquals(1.0, registry.get("planning.solver.hedging.hedges").tag("result", "won").functionCounter().count());
+        assertEquals(1.0, registry.get("planning.solver.hedging.budget-rejected").functionCounter().count());
+        assertEquals(50.0, registry.get("planning.solver.hedging.rate").gauge().value(), 1e-9);
+    }
+}
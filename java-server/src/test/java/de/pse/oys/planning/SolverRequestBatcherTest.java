@@ -0,0 +1,117 @@
+package de.pse.oys.planning;
+
+import de.pse.oys.domain.SolverRunStats;
+import de.pse.oys.dto.plan.PlanningRequestDTO;
+import de.pse.oys.dto.plan.PlanningResponseDTO;
+import de.pse.oys.dto.plan.PlanningTaskDTO;
+import de.pse.oys.service.planning.PlanningService;
+import de.pse.oys.service.planning.SolverRequestBatcher;
+import de.pse.oys.service.planning.SolverResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+/**
+ * SolverRequestBatcherTest – Unit-Tests für das Bündeln der Solver-Anfragen mehrerer Nutzer.
+ * Prüft das Packen nach Anzahl und geschätzter Rechenzeit, die Wartezeit und die Weitergabe einzelner Anfragen.
+ *
+ * @author uhxch
+ * @version 1.0
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class SolverRequestBatcherTest {
+
+    private PlanningService planningService;
+
+    @BeforeEach
+    void setUp() {
+        planningService = mock(PlanningService.class);
+        when(planningService.callSolverBatch(anyList())).thenAnswer(invocation -> {
+            List<PlanningRequestDTO> requests = invocation.getArgument(0);
+            return requests.stream()
+                    .map(request -> new SolverResult(
+                            List.of(new PlanningResponseDTO(request.getTasks().get(0).getId(), 0, 6)),
+                            new SolverRunStats("OPTIMAL", null, null, null, null, null, null)))
+                    .toList();
+        });
+    }
+
+    private static PlanningRequestDTO request(String user, int chunks) {
+        List<PlanningTaskDTO> tasks = IntStream.range(0, chunks)
+                .mapToObj(i -> new PlanningTaskDTO(user + "_" + i, 6, 0, 2016, List.of()))
+                .toList();
+        return new PlanningRequestDTO(2016, 0, List.of(), "", List.of(), tasks);
+    }
+
+    @Test
+    void solve_ConcurrentRequestsShareOneBatchCall() throws Exception {
+        SolverRequestBatcher batcher = new SolverRequestBatcher(planningService, true, 3, 100, 1, 0.5, 5000);
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        try {
+            List<Future<SolverResult>> futures = new ArrayList<>();
+            for (String user : List.of("a", "b", "c")) {
+                futures.add(executor.submit(() -> batcher.solve(request(user, 2))));
+            }
+            for (int i = 0; i < futures.size(); i++) {
+                assertEquals(List.of("a", "b", "c").get(i) + "_0", futures.get(i).get().getResults().get(0).getId());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        verify(planningService, times(1)).callSolverBatch(anyList());
+        assertEquals(1, batcher.getBatchesSent());
+        assertEquals(3.0, batcher.getAverageBatchSize(), 1e-9);
+    }
+
+    @Test
+    void solve_SendsOpenBatchAfterLinger() {
+        SolverRequestBatcher batcher = new SolverRequestBatcher(planningService, true, 8, 100, 1, 0.5, 20);
+
+        SolverResult result = batcher.solve(request("a", 2));
+
+        assertEquals("a_0", result.getResults().get(0).getId());
+        assertEquals("OPTIMAL", result.getStats().getStatus());
+        assertEquals(1, batcher.getBatchesSent());
+    }
+
+    @Test
+    void solve_StartsNewBatchWhenBudgetWouldBeExceeded() throws Exception {
+        SolverRequestBatcher batcher = new SolverRequestBatcher(planningService, true, 8, 5, 1, 0.5, 500);
+
+        CompletableFuture<SolverResult> first = CompletableFuture.supplyAsync(() -> batcher.solve(request("a", 3)));
+        Thread.sleep(50);
+        SolverResult second = batcher.solve(request("b", 3));
+
+        assertEquals("a_0", first.get().getResults().get(0).getId());
+        assertEquals("b_0", second.getResults().get(0).getId());
+        assertEquals(2, batcher.getBatchesSent());
+        assertEquals(2, batcher.getProblemsBatched());
+    }
+
+    @Test
+    void solve_LargeOrUnbatchedRequestsUseSingleSolverCall() {
+        PlanningRequestDTO large = request("a", 5);
+        when(planningService.callSolverWithStats(large)).thenReturn(new SolverResult(List.of(), null));
+
+        new SolverRequestBatcher(planningService, true, 8, 5, 1, 0.5, 20).solve(large);
+        new SolverRequestBatcher(planningService, false, 8, 100, 1, 0.5, 20).solve(large);
+
+        verify(planningService, times(2)).callSolverWithStats(large);
+        verify(planningService, never()).callSolverBatch(anyList());
+    }
+}
@@ -0,0 +1,131 @@
+package de.pse.oys.planning;
+
+import de.pse.oys.dto.CostDTO;
+import de.pse.oys.dto.plan.FixedBlockDTO;
+import de.pse.oys.dto.plan.PlanningRequestDTO;
+import de.pse.oys.dto.plan.PlanningResponseDTO;
+import de.pse.oys.dto.plan.PlanningTaskDTO;
+import de.pse.oys.service.planning.SolverResultCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * SolverResultCacheTest – Unit-Tests für den Cache der Solver-Ergebnisse.
+ * Prüft die Normalisierung des Schlüssels, die Gültigkeit von Treffern, die Verdrängung und die Messwerte.
+ *
+ * @author uhxch
+ * @version 1.0
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class SolverResultCacheTest {
+
+    private final UUID userId = UUID.randomUUID();
+    private final LocalDate weekStart = LocalDate.of(2026, 1, 5);
+
+    private PlanningRequestDTO request(int currentSlot, String preferenceTime, List<FixedBlockDTO> fixedBlocks) {
+        List<CostDTO> costs = List.of(new CostDTO(300, 2), new CostDTO(100, 1));
+        List<PlanningTaskDTO> tasks = List.of(
+                new PlanningTaskDTO("b_0", 6, currentSlot, 900, costs),
+                new PlanningTaskDTO("a_0", 6, currentSlot, 900, costs));
+        return new PlanningRequestDTO(2016, currentSlot, List.of(6, 5), preferenceTime, fixedBlocks, tasks);
+    }
+
+    @Test
+    void canonicalKey_IgnoresCurrentSlotAndOrdering() {
+        String first = SolverResultCache.canonicalKey(userId, weekStart, 10,
+                request(100, "MORNING,EVENING", List.of(new FixedBlockDTO(10, 2), new FixedBlockDTO(5, 1))));
+        String second = SolverResultCache.canonicalKey(userId, weekStart, 10,
+                request(112, "EVENING,MORNING", List.of(new FixedBlockDTO(5, 1), new FixedBlockDTO(10, 2))));
+
+        assertEquals(first, second);
+    }
+
+    @Test
+    void canonicalKey_ChangesWithRelevantInput() {
+        String base = SolverResultCache.canonicalKey(userId, weekStart, 10, request(100, "MORNING", List.of()));
+        String otherBlocks = SolverResultCache.canonicalKey(userId, weekStart, 10,
+                request(100, "MORNING", List.of(new FixedBlockDTO(5, 1))));
+        String otherUser = SolverResultCache.canonicalKey(UUID.randomUUID(), weekStart, 10,
+                request(100, "MORNING", List.of()));
+        String otherBreak = SolverResultCache.canonicalKey(userId, weekStart, 15,
+                request(100, "MORNING", List.of()));
+
+        assertNotEquals(base, otherBlocks);
+        assertNotEquals(base, otherUser);
+        assertNotEquals(base, otherBreak);
+    }
+
+    @Test
+    void lookup_HitOnlyWhileNoResultStartsInThePast() {
+        SolverResultCache cache = new SolverResultCache(10);
+        cache.store("key", List.of(new PlanningResponseDTO("a_0", 150, 156)));
+
+        assertTrue(cache.lookup("key", 120).isPresent());
+        assertFalse(cache.lookup("key", 151).isPresent());
+        assertFalse(cache.lookup("key", 120).isPresent());
+        assertEquals(1, cache.getHits());
+        assertEquals(2, cache.getMisses());
+        assertEquals(1.0 / 3, cache.getHitRate(), 1e-9);
+    }
+
+    @Test
+    void store_EvictsLeastRecentlyUsedEntry() {
+        SolverResultCache cache = new SolverResultCache(2);
+        List<PlanningResponseDTO> results = List.of(new PlanningResponseDTO("a_0", 10, 16));
+        cache.store("first", results);
+        cache.store("second", results);
+        cache.lookup("first", 0);
+        cache.store("third", results);
+
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.getEvictions());
+        assertTrue(cache.lookup("first", 0).isPresent());
+        assertFalse(cache.lookup("second", 0).isPresent());
+    }
+
+    @Test
+    void invalidate_RemovesEntryAndCountsIt() {
+        SolverResultCache cache = new SolverResultCache(2);
+        cache.store("key", List.of(new PlanningResponseDTO("a_0", 10, 16)));
+
+        cache.invalidate("key");
+        cache.invalidate("missing");
+
+        assertEquals(0, cache.size());
+        assertEquals(1, cache.getInvalidations());
+    }
+
+    @Test
+    void store_DisabledCacheKeepsNothing() {
+        SolverResultCache cache = new SolverResultCache(0);
+        cache.store("key", List.of(new PlanningResponseDTO("a_0", 10, 16)));
+
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void bindTo_PublishesCacheStatistics() {
+        SolverResultCache cache = new SolverResultCache(1);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        cache.bindTo(registry);
+        List<PlanningResponseDTO> results = List.of(new PlanningResponseDTO("a_0", 10, 16));
+        cache.store("first", results);
+        cache.store("second", results);
+        cache.lookup("second", 0);
+        cache.lookup("first", 0);
+
+        assertEquals(1.0, registry.get("planning.cache.gets").tag("result", "hit").functionCounter().count());
+        assertEquals(1.0, registry.get("planning.cache.gets").tag("result", "miss").functionCounter().count());
+        assertEquals(1.0, registry.get("planning.cache.evictions").functionCounter().count());
+        assertEquals(1.0, registry.get("planning.cache.size").gauge().value());
+    }
+}
@@ -0,0 +1,83 @@
+package de.pse.oys.planning;
+
+import de.pse.oys.dto.CostDTO;
+import de.pse.oys.dto.plan.SlotRangeDTO;
+import de.pse.oys.service.planning.WindowCostCalculator;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * WindowCostCalculatorTest – Unit-Tests für die Berechnung der Fensterkosten per Präfixsumme.
+ * Vergleicht mit der direkten Summe und prüft Zwischenspeicher und Ausrichtung an den Startbereichen.
+ *
+ * @author uhxch
+ * @version 1.0
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class WindowCostCalculatorTest {
+
+    private static final int HORIZON = 2016;
+
+    @Test
+    void windowCosts_MatchNaiveSummation() {
+        WindowCostCalculator calculator = new WindowCostCalculator(HORIZON, "MORNING,EVENING");
+        List<CostDTO> costs = List.of(new CostDTO(80, 7), new CostDTO(230, -3), new CostDTO(2015, 4));
+        int duration = 9;
+
+        int[] windows = calculator.windowCosts("task", costs, duration);
+
+        assertEquals(HORIZON - duration + 1, windows.length);
+        for (int start : new int[]{0, 70, 75, 220, 225, 1500, HORIZON - duration}) {
+            int expected = 0;
+            for (int slot = start; slot < start + duration; slot++) {
+                expected += naiveSlotCost(slot, costs);
+            }
+            assertEquals(expected, windows[start], "Start " + start);
+        }
+    }
+
+    @Test
+    void windowCosts_CachedPerTaskAndDuration() {
+        WindowCostCalculator calculator = new WindowCostCalculator(HORIZON, "NOON");
+        List<CostDTO> costs = List.of(new CostDTO(150, 2));
+
+        int[] first = calculator.windowCosts("task", costs, 6);
+        int[] second = calculator.windowCosts("task", costs, 6);
+        calculator.windowCosts("task", costs, 12);
+
+        assertSame(first, second);
+        assertEquals(1, calculator.getCacheHits());
+    }
+
+    @Test
+    void attachCosts_AlignsCostsWithRangeStarts() {
+        WindowCostCalculator calculator = new WindowCostCalculator(HORIZON, "");
+        int[] windows = calculator.windowCosts("task", List.of(new CostDTO(101, 5)), 2);
+
+        List<SlotRangeDTO> ranges = calculator.attachCosts(List.of(new SlotRangeDTO(99, 102)), windows);
+
+        assertEquals(List.of(0, 5, 5, 0), ranges.get(0).getCosts());
+        assertEquals(99, ranges.get(0).getFrom());
+        assertEquals(102, ranges.get(0).getTo());
+    }
+
+    private static int naiveSlotCost(int slot, List<CostDTO> costs) {
+        int hour = (slot % 288) / 12;
+        int cost = 0;
+        if ((hour >= 6 && hour < 9) || (hour >= 18 && hour < 22)) {
+            cost -= 10;
+        }
+        for (CostDTO c : costs) {
+            if (c.getT() == slot) {
+                cost += c.getC();
+            }
+        }
+        return cost;
+    }
+}
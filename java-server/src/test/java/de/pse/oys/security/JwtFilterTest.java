@@ -1,6 +1,7 @@
 package de.pse.oys.security;
 
 import de.pse.oys.service.auth.JwtProvider;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
@@ -30,7 +31,7 @@ class JwtFilterTest {
     @BeforeEach
     void setUp() {
         jwtProvider = mock(JwtProvider.class);
-        jwtFilter = new JwtFilter(jwtProvider);
+        jwtFilter = new JwtFilter(jwtProvider, new SimpleMeterRegistry());
         request = mock(HttpServletRequest.class);
         response = mock(HttpServletResponse.class);
         filterChain = mock(FilterChain.class);
@@ -15,6 +15,7 @@ import de.pse.oys.dto.controller.WrapperDTO;
 import de.pse.oys.persistence.ModuleRepository;
 import de.pse.oys.persistence.TaskRepository;
 import de.pse.oys.persistence.UserRepository;
+import de.pse.oys.service.DataVersionService;
 import de.pse.oys.service.TaskService;
 import de.pse.oys.service.exception.AccessDeniedException;
 import de.pse.oys.service.exception.ResourceNotFoundException;
@@ -69,12 +70,14 @@ class TaskServiceTest {
     private ModuleRepository moduleRepository;
     @Mock
     private TaskRepository taskRepository;
+    @Mock
+    private DataVersionService dataVersionService;
 
     private TaskService sut;
 
     @BeforeEach
     void setUp() {
-        sut = new TaskService(userRepository, moduleRepository, taskRepository);
+        sut = new TaskService(userRepository, moduleRepository, taskRepository, dataVersionService);
     }
 
     // ------------------------------------------------------------
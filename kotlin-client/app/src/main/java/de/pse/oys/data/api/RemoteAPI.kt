@@ -15,6 +15,7 @@ import io.ktor.client.plugins.auth.Auth
 import io.ktor.client.plugins.auth.clearAuthTokens
 import io.ktor.client.plugins.auth.providers.BearerTokens
 import io.ktor.client.plugins.auth.providers.bearer
+import io.ktor.client.plugins.cache.HttpCache
 import io.ktor.client.plugins.contentnegotiation.ContentNegotiation
 import io.ktor.client.plugins.logging.LogLevel
 import io.ktor.client.plugins.logging.Logging
@@ -148,6 +149,9 @@ internal constructor(
             }
         }
 
+        // Listen werden per ETag erneut validiert, unveränderte Daten liefert der Server als 304 ohne Body.
+        install(HttpCache)
+
         install(ContentNegotiation) {
             json(Json(from = DefaultJson) {
                 explicitNulls = false
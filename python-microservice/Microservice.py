@@ -13,14 +13,27 @@ __credits__ = ["Nardi Hyseni", "Dav Debler"]
 __version__ = "1.0.2"
 __email__ = "uhxch@student.kit.edu"
 
+import contextlib
 import json
+import logging
 import os
+import threading
+import time
 from typing import Annotated
 
 import uvicorn
-from fastapi import FastAPI, Body
+from fastapi import FastAPI, Body, Request, Response
 from ortools.sat.python import cp_model
 
+try:
+    from opentelemetry import trace
+    from opentelemetry.propagate import extract
+    from opentelemetry.sdk.resources import Resource
+    from opentelemetry.sdk.trace import TracerProvider
+    from opentelemetry.sdk.trace.export import BatchSpanProcessor
+except ImportError:  # pragma: no cover
+    trace = None
+
 SLOT_DURATION_MINUTES = 5
 MINUTES_PER_HOUR = 60
 HOURS_PER_DAY = 24
@@ -36,7 +49,14 @@ HOUR_EVENING_START = 22
 SLOT_MORNING_END = HOUR_MORNING_END * SLOTS_PER_HOUR
 SLOT_EVENING_START = HOUR_EVENING_START * SLOTS_PER_HOUR
 
-SOLVER_TIME_LIMIT_SECONDS = 4.0
+SOLVER_MIN_TIME_LIMIT_SECONDS = 0.5
+SOLVER_MAX_TIME_LIMIT_SECONDS = 10.0
+SOLVER_BASE_TIME_SECONDS = 0.25
+SOLVER_TIME_PER_CHUNK_SECONDS = 0.15
+SOLVER_RELATIVE_GAP_LIMIT = 0.01
+SOLVER_STAGNATION_SHARE = 0.25
+SOLVER_MIN_STAGNATION_SECONDS = 0.2
+SOLVER_WATCHDOG_POLL_SECONDS = 0.05
 COST_BONUS_PREFERENCE = -10
 COST_MIN_BOUND = -1000000
 COST_MAX_BOUND = 1000000
@@ -47,9 +67,82 @@ KEY_NOON = "NOON"
 KEY_AFTERNOON = "AFTERNOON"
 KEY_EVENING = "EVENING"
 
+HEADER_SOLVER_STATUS = "X-Solver-Status"
+HEADER_SOLVER_BUDGET = "X-Solver-Budget-Seconds"
+HEADER_SOLVER_WALL_TIME = "X-Solver-Wall-Time-Seconds"
+HEADER_SOLVER_GAP = "X-Solver-Gap"
+HEADER_SOLVER_STOP_REASON = "X-Solver-Stop-Reason"
+HEADER_SOLVER_OBJECTIVE = "X-Solver-Objective"
+HEADER_SOLVER_BEST_BOUND = "X-Solver-Best-Bound"
+HEADER_SOLVER_BUILD_TIME = "X-Solver-Build-Time-Seconds"
+HEADER_SOLVER_VARIABLES = "X-Solver-Variables"
+HEADER_SOLVER_CONSTRAINTS = "X-Solver-Constraints"
+HEADER_BATCH_BUDGET = "X-Solver-Batch-Budget-Seconds"
+HEADER_BATCH_STATS = "X-Solver-Batch-Stats"
+BATCH_STATS_KEYS = ('status', 'objective', 'best_bound', 'build_time', 'wall_time', 'variables', 'constraints')
+
+BATCH_DEFAULT_BUDGET_SECONDS = 12.0
+
 SERVER_HOST = "0.0.0.0"
 SERVER_PORT = 5001
 
+TRACING_SERVICE_NAME = "oys-solver"
+ENV_OTLP_TRACES_ENDPOINT = "OTEL_EXPORTER_OTLP_TRACES_ENDPOINT"
+SPAN_BUILD_MODEL = "solver.build_model"
+SPAN_SOLVE = "solver.solve"
+
+ENV_LOG_LEVEL = "LOG_LEVEL"
+DEFAULT_LOG_LEVEL = "INFO"
+
+logging.basicConfig(level=os.environ.get(ENV_LOG_LEVEL, DEFAULT_LOG_LEVEL))
+LOGGER = logging.getLogger(TRACING_SERVICE_NAME)
+
+
+# Component Tracing
+
+def configure_tracing():
+    """
+    Richtet OpenTelemetry ein. Spans setzen den per traceparent-Header übergebenen Trace des Backends fort.
+    Ist OTEL_EXPORTER_OTLP_TRACES_ENDPOINT gesetzt, werden sie per OTLP/HTTP an den Collector exportiert;
+    weitere Exporter (z. B. In-Memory in Tests) lassen sich am TracerProvider ergänzen.
+
+    OpenTelemetry ist optional (requirements.txt, nicht im Poetry-Lock): Fehlt es, laufen die Spans ins Leere.
+
+    Returns:
+        Tracer | None: Der Tracer oder None, wenn OpenTelemetry nicht installiert ist.
+    """
+    if trace is None:  # pragma: no cover
+        return None
+    provider = TracerProvider(resource=Resource.create({"service.name": TRACING_SERVICE_NAME}))
+    endpoint = os.environ.get(ENV_OTLP_TRACES_ENDPOINT)
+    if endpoint:  # pragma: no cover
+        try:
+            from opentelemetry.exporter.otlp.proto.http.trace_exporter import OTLPSpanExporter
+            provider.add_span_processor(BatchSpanProcessor(OTLPSpanExporter(endpoint=endpoint)))
+        except ImportError:
+            LOGGER.warning("%s ist gesetzt, aber der OTLP-Exporter ist nicht installiert", ENV_OTLP_TRACES_ENDPOINT)
+    trace.set_tracer_provider(provider)
+    return trace.get_tracer(__name__)
+
+
+tracer = configure_tracing()
+
+
+def start_span(name, headers=None, **attributes):
+    """
+    Öffnet einen Span als Kind des aktuellen Spans oder, falls Header übergeben werden, des
+    Trace-Kontexts aus diesen Headern. Ohne OpenTelemetry wird ein leerer Kontext geliefert.
+
+    Args:
+        name (str): Der Name des Spans.
+        headers (Mapping | None): Die Header der HTTP-Anfrage mit traceparent.
+        **attributes: Attribute, die am Span gesetzt werden.
+    """
+    if tracer is None:  # pragma: no cover
+        return contextlib.nullcontext()
+    context = extract(headers) if headers is not None else None
+    return tracer.start_as_current_span(name, context=context, attributes=attributes)
+
 
 # Component DataTransformer
 
@@ -110,6 +203,26 @@ class DataTransformer:
         return solution_list
 
 
+class EarlyStopCallback(cp_model.CpSolverSolutionCallback):
+    """
+    Beobachtet die gefundenen Lösungen und merkt sich den Zeitpunkt der letzten Verbesserung.
+    Zusammen mit dem Watchdog in COPSolver.solve wird die Suche beendet, sobald sie stagniert.
+    """
+
+    def __init__(self):
+        super().__init__()
+        self.solution_count = 0
+        self.best_objective = None
+        self.last_improvement = time.monotonic()
+
+    def on_solution_callback(self):
+        objective = self.ObjectiveValue()
+        if self.best_objective is None or objective < self.best_objective:
+            self.best_objective = objective
+            self.last_improvement = time.monotonic()
+        self.solution_count += 1
+
+
 class COPSolver:
     """
     Kernkomponente für die Planung.
@@ -126,11 +239,16 @@ class COPSolver:
         self.data = data
         self.model = cp_model.CpModel()
         self.solution_map = {}
+        self.hint_count = 0
+        self.build_seconds = 0.0
+        self.stats = {}
 
     def build_model(self):
         """
         Konstruiert das Modell. Orchestriert die einzelnen Schritte zur Reduzierung der Komplexität.
+        Die Dauer des Aufbaus steht danach in self.build_seconds.
         """
+        build_started = time.perf_counter()
         horizon = self.data.get('horizon', DEFAULT_HORIZON)
         current_slot = self.data.get('currentSlot', 0)
         tasks = self.data.get('tasks', [])
@@ -142,13 +260,17 @@ class COPSolver:
         all_cost_terms = []
 
 
-        self._add_fixed_blocks(fixed_blocks, all_intervals)
+        # Liefert das Backend für jeden Chunk die zulässigen Starts, sind feste Blöcke, Nächte und
+        # blockierte Tage darin bereits ausgeschlossen und müssen nicht mehr modelliert werden.
+        has_domains = bool(tasks) and all(task.get('domain') is not None for task in tasks)
+        if not has_domains:
+            self._add_fixed_blocks(fixed_blocks, all_intervals)
+            self._add_routine_blocks(blocked_days, all_intervals)
 
 
-        self._add_routine_blocks(blocked_days, all_intervals)
-
-
-        base_cost_array = self._build_preference_cost_array(pref_time_string, horizon)
+        # Mit Startbereichen berechnet allein das Backend die Fensterkosten; die Tageszeiten-Tabelle
+        # unten gilt nur für Anfragen ohne Startbereiche.
+        base_cost_array = None if has_domains else self._build_preference_cost_array(pref_time_string, horizon)
 
 
         self._process_tasks(tasks, horizon, current_slot, base_cost_array, all_intervals, all_cost_terms)
@@ -156,6 +278,7 @@ class COPSolver:
 
         self.model.AddNoOverlap(all_intervals)
         self.model.Minimize(sum(all_cost_terms))
+        self.build_seconds = time.perf_counter() - build_started
 
     def _add_fixed_blocks(self, fixed_blocks, all_intervals):
         for block in fixed_blocks:
@@ -191,8 +314,10 @@ class COPSolver:
         if KEY_AFTERNOON in selected_prefs:  time_windows.append((15, 18))
         if KEY_EVENING in selected_prefs:    time_windows.append((18, 22))
 
+        # Bei einem Horizont über mehrere Wochen gelten die Tageszeiten an jedem Tag des Horizonts.
+        days_in_horizon = max(DAYS_PER_WEEK, -(-horizon // SLOTS_PER_DAY))
         for (h_start, h_end) in time_windows:
-            for day in range(DAYS_PER_WEEK):
+            for day in range(days_in_horizon):
                 s_slot = (day * HOURS_PER_DAY + h_start) * SLOTS_PER_HOUR
                 e_slot = (day * HOURS_PER_DAY + h_end) * SLOTS_PER_HOUR
                 for t in range(s_slot, e_slot):
@@ -209,8 +334,18 @@ class COPSolver:
             start = task.get('start', 0)
 
             min_start = max(0, current_slot, start)
-
-            start_var = self.model.NewIntVar(min_start, horizon - duration, f'start_{t_id}')
+            max_end = min(deadline, horizon)
+            allowed_starts = self._allowed_starts(task.get('domain'), min_start, max_end - duration)
+
+            if allowed_starts is None:
+                start_var = self.model.NewIntVar(min_start, horizon - duration, f'start_{t_id}')
+            elif allowed_starts:
+                start_var = self.model.NewIntVarFromDomain(
+                    cp_model.Domain.FromIntervals(self._to_intervals(allowed_starts)), f'start_{t_id}')
+            else:
+                # Kein zulässiger Start: Das Modell ist wie bei einer unerreichbaren Deadline unlösbar.
+                start_var = self.model.NewIntVar(0, max(0, horizon - duration), f'start_{t_id}')
+                self.model.AddBoolOr([])
             end_var = self.model.NewIntVar(min_start + duration, horizon, f'end_{t_id}')
 
             self.model.Add(end_var <= deadline)
@@ -220,30 +355,165 @@ class COPSolver:
 
             self.solution_map[t_id] = {'start': start_var, 'duration': duration}
 
-            task_cost_array = list(base_cost_array)
-
-            if 'costs' in task:
-                for c in task['costs']:
-                    t_idx = c['t']
-                    cost_val = c['c']
-                    if 0 <= t_idx < horizon:
-                        task_cost_array[t_idx] += cost_val
-
-            window_cost_array = [0] * (horizon + 1)
-            for t in range(len(window_cost_array) - duration):
-                summ = sum(task_cost_array[t:t + duration])
-                window_cost_array[t] = summ
+            provided_costs = self._provided_window_costs(task.get('domain'))
+            if provided_costs is not None:
+                # Fensterkosten wurden vom Backend bereits per Präfixsumme berechnet.
+                window_cost = provided_costs.__getitem__
+            elif base_cost_array is None:
+                # Startbereiche ohne Kosten: Es werden keine eigenen Kosten ergänzt, jeder Start kostet gleich viel.
+                window_cost = self._zero_window_cost
+            else:
+                window_cost = self._window_cost_function(task, base_cost_array, horizon, duration)
 
             safe_min_bound = COST_MIN_BOUND * max(1, duration)
             safe_max_bound = COST_MAX_BOUND * max(1, duration)
             cost_var = self.model.NewIntVar(safe_min_bound, safe_max_bound, f'cost_{t_id}')
 
-            self.model.AddElement(start_var, window_cost_array, cost_var)
+            if allowed_starts is None:
+                window_cost_array = [0] * (horizon + 1)
+                for t in range(len(window_cost_array) - duration):
+                    window_cost_array[t] = window_cost(t)
+                self.model.AddElement(start_var, window_cost_array, cost_var)
+            elif allowed_starts:
+                # Tabelle nur über die zulässigen Starts statt über den gesamten Horizont.
+                self.model.AddAllowedAssignments([start_var, cost_var],
+                                                 [(t, window_cost(t)) for t in allowed_starts])
             all_cost_terms.append(cost_var)
 
-    def solve(self):
+            hint = task.get('hint')
+            if allowed_starts is not None and hint not in allowed_starts:
+                hint = None
+            self._add_hint(hint, start_var, end_var, cost_var, duration, min_start, max_end, window_cost)
+
+    @staticmethod
+    def _allowed_starts(domain, min_start, max_start):
+        """
+        Wandelt die vom Backend gelieferten Startbereiche in eine sortierte Liste zulässiger Starts um.
+
+        Args:
+            domain (list | None): Liste von {'from', 'to'} (inklusive) oder None.
+            min_start (int): Der früheste erlaubte Start.
+            max_start (int): Der späteste erlaubte Start.
+
+        Returns:
+            list | None: Die zulässigen Starts oder None, wenn kein Bereich übergeben wurde.
+        """
+        if domain is None:
+            return None
+        starts = []
+        for slot_range in domain:
+            starts.extend(range(max(slot_range['from'], min_start), min(slot_range['to'], max_start) + 1))
+        return sorted(set(starts))
+
+    @staticmethod
+    def _provided_window_costs(domain):
+        """
+        Liest die vom Backend mitgelieferten Fensterkosten je Startslot aus den Startbereichen.
+
+        Args:
+            domain (list | None): Liste von {'from', 'to', 'costs'} oder None.
+
+        Returns:
+            dict | None: Abbildung Startslot -> Fensterkosten oder None, wenn ein Bereich keine Kosten enthält.
+        """
+        if not domain or any(slot_range.get('costs') is None for slot_range in domain):
+            return None
+        provided = {}
+        for slot_range in domain:
+            for offset, cost in enumerate(slot_range['costs']):
+                provided[slot_range['from'] + offset] = cost
+        return provided
+
+    @staticmethod
+    def _zero_window_cost(_t):
+        """
+        Fensterkosten für Startbereiche, zu denen das Backend keine Kosten mitgeliefert hat.
+        """
+        return 0
+
+    @staticmethod
+    def _window_cost_function(task, base_cost_array, horizon, duration):
+        """
+        Berechnet die Fensterkosten einer Aufgabe selbst, wenn das Backend keine mitliefert.
+        """
+        task_cost_array = list(base_cost_array)
+
+        if 'costs' in task:
+            for c in task['costs']:
+                t_idx = c['t']
+                cost_val = c['c']
+                if 0 <= t_idx < horizon:
+                    task_cost_array[t_idx] += cost_val
+
+        prefix = [0] * (len(task_cost_array) + 1)
+        for t, cost in enumerate(task_cost_array):
+            prefix[t + 1] = prefix[t] + cost
+
+        def window_cost(t):
+            return prefix[t + duration] - prefix[t]
+
+        return window_cost
+
+    @staticmethod
+    def _to_intervals(starts):
+        """
+        Fasst eine sortierte Liste von Starts zu zusammenhängenden Intervallen [von, bis] zusammen.
+        """
+        intervals = []
+        for t in starts:
+            if intervals and intervals[-1][1] == t - 1:
+                intervals[-1][1] = t
+            else:
+                intervals.append([t, t])
+        return intervals
+
+    def _add_hint(self, hint, start_var, end_var, cost_var, duration, min_start, max_end, window_cost):
+        """
+        Übernimmt den Startslot der Einheit aus dem bisherigen Plan als Warmstart-Hinweis.
+        Hinweise außerhalb des erlaubten Bereichs werden ignoriert.
+
+        Args:
+            hint (int | None): Der bisherige Startslot oder None.
+            start_var, end_var, cost_var: Die Solver-Variablen des Chunks.
+            duration (int): Die Dauer des Chunks in Slots.
+            min_start (int): Der früheste erlaubte Start.
+            max_end (int): Das späteste erlaubte Ende.
+            window_cost (callable): Liefert die Fensterkosten für einen Startslot.
+        """
+        if hint is None or hint < min_start or hint + duration > max_end:
+            return
+        self.model.AddHint(start_var, hint)
+        self.model.AddHint(end_var, hint + duration)
+        self.model.AddHint(cost_var, window_cost(hint))
+        self.hint_count += 1
+
+    def choose_time_budget(self):
+        """
+        Wählt das Zeitbudget anhand der Problemgröße: Anzahl der Chunks, Länge des Horizonts und
+        Anteil der durch feste Blöcke belegten Slots. Kleine Pläne erhalten so nur einen Bruchteil,
+        große Pläne mehr als das frühere feste Limit von vier Sekunden.
+
+        Returns:
+            float: Das Zeitbudget in Sekunden.
+        """
+        horizon = max(1, self.data.get('horizon', DEFAULT_HORIZON))
+        chunk_count = len(self.data.get('tasks', []))
+        blocked_slots = sum(block.get('duration', 0) for block in self.data.get('fixedBlocks', []))
+        fixed_block_density = min(1.0, blocked_slots / horizon)
+
+        budget = SOLVER_BASE_TIME_SECONDS + SOLVER_TIME_PER_CHUNK_SECONDS * chunk_count \
+            * (horizon / DEFAULT_HORIZON) * (1.0 + fixed_block_density)
+        return min(SOLVER_MAX_TIME_LIMIT_SECONDS, max(SOLVER_MIN_TIME_LIMIT_SECONDS, budget))
+
+    def solve(self, max_budget=None):
         """
-        Führt den Solver aus.
+        Führt den Solver aus. Die Suche endet vorzeitig, wenn die relative Lücke zur unteren Schranke
+        unter SOLVER_RELATIVE_GAP_LIMIT fällt oder sich die beste Lösung über einen Anteil des Budgets
+        nicht mehr verbessert. Budget, erreichte Lücke, Abbruchgrund, Zielfunktionswert, Schranke und
+        Modellgröße stehen danach in self.stats.
+
+        Args:
+            max_budget (float | None): Obergrenze des Zeitbudgets in Sekunden, z. B. die Restzeit eines Batches.
 
         Returns:
             cp_model.CpSolver: Das Solver-Objekt, wenn eine Lösung (Optimal oder Feasible) gefunden wurde.
@@ -251,40 +521,226 @@ class COPSolver:
         """
         solver = cp_model.CpSolver()
 
-        solver.parameters.max_time_in_seconds = SOLVER_TIME_LIMIT_SECONDS
-
-        status = solver.Solve(self.model)
+        budget = self.choose_time_budget()
+        if max_budget is not None:
+            budget = min(budget, max_budget)
+        stagnation_seconds = max(SOLVER_MIN_STAGNATION_SECONDS, budget * SOLVER_STAGNATION_SHARE)
+        solver.parameters.max_time_in_seconds = budget
+        solver.parameters.relative_gap_limit = SOLVER_RELATIVE_GAP_LIMIT
+        if self.hint_count > 0:
+            # Widersprüchliche Hinweise (z.B. nach geänderten Freizeiten) werden repariert statt verworfen.
+            solver.parameters.repair_hint = True
+
+        callback = EarlyStopCallback()
+        finished = threading.Event()
+        stagnated = threading.Event()
+
+        def watchdog():
+            while not finished.wait(SOLVER_WATCHDOG_POLL_SECONDS):
+                idle = time.monotonic() - callback.last_improvement
+                if callback.solution_count > 0 and idle > stagnation_seconds:
+                    stagnated.set()
+                    solver.stop_search()
+                    return
+
+        watchdog_thread = threading.Thread(target=watchdog, daemon=True)
+        watchdog_thread.start()
+        try:
+            status = solver.Solve(self.model, callback)
+        finally:
+            finished.set()
+            watchdog_thread.join()
+
+        self.stats = self._collect_stats(solver, status, budget, stagnated.is_set())
+        proto = self.model.Proto()
+        self.stats['build_time'] = self.build_seconds
+        self.stats['variables'] = len(proto.variables)
+        self.stats['constraints'] = len(proto.constraints)
 
         if status == cp_model.OPTIMAL or status == cp_model.FEASIBLE:
             return solver
         else:
             return None
 
+    @staticmethod
+    def _collect_stats(solver, status, budget, stagnated):
+        """
+        Fasst die Kennzahlen eines Solver-Laufs zusammen.
+
+        Returns:
+            dict: status, budget, wall_time, gap, objective, best_bound (je None ohne Lösung) und stop_reason.
+        """
+        gap = None
+        objective = None
+        bound = None
+        if status == cp_model.OPTIMAL or status == cp_model.FEASIBLE:
+            objective = solver.ObjectiveValue()
+            bound = solver.BestObjectiveBound()
+            # CP-SAT meldet auch beim Erreichen von relative_gap_limit OPTIMAL, die Lücke wird daher immer berechnet.
+            gap = abs(objective - bound) / max(1.0, abs(objective))
+
+        if status == cp_model.OPTIMAL and gap == 0.0:
+            stop_reason = "optimal"
+        elif stagnated:
+            stop_reason = "stagnation"
+        elif gap is not None and gap <= SOLVER_RELATIVE_GAP_LIMIT:
+            stop_reason = "gap"
+        elif status == cp_model.INFEASIBLE:
+            stop_reason = "infeasible"
+        else:
+            stop_reason = "time_limit"
+
+        return {
+            'status': solver.StatusName(status),
+            'budget': budget,
+            'wall_time': solver.WallTime(),
+            'gap': gap,
+            'objective': objective,
+            'best_bound': bound,
+            'stop_reason': stop_reason,
+        }
+
 
 app = FastAPI(title="Microservice Organize Your Studies")
 
 
+def apply_stats_headers(response, stats):
+    """
+    Überträgt die Kennzahlen des Solver-Laufs in Response-Header, damit der Body
+    weiterhin die reine Ergebnisliste bleibt.
+    """
+    if not stats:
+        return
+    response.headers[HEADER_SOLVER_STATUS] = stats['status']
+    response.headers[HEADER_SOLVER_BUDGET] = f"{stats['budget']:.3f}"
+    response.headers[HEADER_SOLVER_WALL_TIME] = f"{stats['wall_time']:.3f}"
+    response.headers[HEADER_SOLVER_STOP_REASON] = stats['stop_reason']
+    if stats['gap'] is not None:
+        response.headers[HEADER_SOLVER_GAP] = f"{stats['gap']:.6f}"
+    if stats.get('objective') is not None:
+        response.headers[HEADER_SOLVER_OBJECTIVE] = f"{stats['objective']:.6f}"
+        response.headers[HEADER_SOLVER_BEST_BOUND] = f"{stats['best_bound']:.6f}"
+    if stats.get('build_time') is not None:
+        response.headers[HEADER_SOLVER_BUILD_TIME] = f"{stats['build_time']:.3f}"
+    if stats.get('variables') is not None:
+        response.headers[HEADER_SOLVER_VARIABLES] = str(stats['variables'])
+        response.headers[HEADER_SOLVER_CONSTRAINTS] = str(stats['constraints'])
+
+
+@app.get("/health")
+async def health():
+    """
+    Einfache Lebendprüfung für die Health-Checks der Solver-Instanzen im Backend.
+    """
+    return {"status": "ok"}
+
+
+def solve_problem(data, max_budget=None):
+    """
+    Löst ein einzelnes Planungsproblem, optional mit einer Obergrenze für das Zeitbudget.
+    Gibt die Ergebnisliste (leer, wenn keine Lösung möglich ist) und die Kennzahlen des Laufs zurück.
+    Modellaufbau und Lösen werden als eigene Spans aufgezeichnet.
+    """
+    with start_span(SPAN_BUILD_MODEL, **{"solver.chunks": len(data.get('tasks', []))}):
+        solver_instance = COPSolver(data)
+        solver_instance.build_model()
+    with start_span(SPAN_SOLVE) as span:
+        solution = solver_instance.solve(max_budget)
+        if span is not None:
+            span.set_attribute("solver.status", solver_instance.stats['status'])
+            span.set_attribute("solver.stop_reason", solver_instance.stats['stop_reason'])
+            span.set_attribute("solver.wall_time_seconds", solver_instance.stats['wall_time'])
+            span.set_attribute("solver.variables", solver_instance.stats['variables'])
+            span.set_attribute("solver.constraints", solver_instance.stats['constraints'])
+
+    if solution:
+        return DataTransformer.format_solution(solution, solver_instance.solution_map), solver_instance.stats
+    return [], solver_instance.stats
+
+
 @app.post("/optimize")
-async def optimize(data: dict = Body(...)):
+def optimize(request: Request, response: Response, data: dict = Body(...)):
     """
     Empfängt die Daten als JSON-Body (dafür sorgt 'Body(...)').
+    Budget, Laufzeit, erreichte Lücke und Abbruchgrund werden als X-Solver-* Header zurückgegeben.
+    Der Trace-Kontext des Backends wird aus dem traceparent-Header übernommen.
+    Bewusst synchron: FastAPI führt den rechenintensiven Lauf im Threadpool aus, sodass die
+    Event-Loop frei bleibt und /health auch während eines Solves sofort antwortet.
     """
 
-    print(f"--> DEBUG: Neue Anfrage empfangen! ({len(data.get('tasks', []))} Tasks)")
+    LOGGER.debug("Neue Anfrage mit %d Chunks empfangen", len(data.get('tasks', [])))
 
-    solver_instance = COPSolver(data)
-    solver_instance.build_model()
-    solution = solver_instance.solve()
+    with start_span("POST /optimize", headers=request.headers):
+        result, stats = solve_problem(data)
+    apply_stats_headers(response, stats)
 
-    if solution:
-        result = DataTransformer.format_solution(solution, solver_instance.solution_map)
-        print(f"--> DEBUG: Lösung gefunden, sende {len(result)} Einträge zurück.")
-        return result
+    if result:
+        LOGGER.debug("Lösung gefunden, sende %d Einträge zurück", len(result))
     else:
-        print("--> DEBUG: Keine Lösung möglich.")
-        return []
+        LOGGER.debug("Keine Lösung möglich")
+    return result
+
+
+def batch_budget(headers):
+    """
+    Liest die Obergrenze für die Summe der Zeitbudgets eines Batches aus dem Header des Backends.
+    Fehlt der Header oder ist er ungültig, gilt BATCH_DEFAULT_BUDGET_SECONDS.
+    """
+    try:
+        return float(headers.get(HEADER_BATCH_BUDGET, BATCH_DEFAULT_BUDGET_SECONDS))
+    except ValueError:
+        return BATCH_DEFAULT_BUDGET_SECONDS
+
+
+def batch_stats_header(stats_per_problem):
+    """
+    Fasst die Kennzahlen der Probleme eines Batches als JSON-Liste für X-Solver-Batch-Stats zusammen,
+    je Problem in der Reihenfolge der Anfrage; ungelöste Probleme erhalten null.
+    """
+    return json.dumps([
+        {key: stats.get(key) for key in BATCH_STATS_KEYS} if stats else None
+        for stats in stats_per_problem
+    ], separators=(',', ':'))
 
 
+@app.post("/optimize/batch")
+def optimize_batch(request: Request, response: Response, problems: list = Body(...)):
+    """
+    Löst mehrere voneinander unabhängige Planungsprobleme (z. B. verschiedener Nutzer) in einem Aufruf,
+    damit sich HTTP-, JSON- und Aufwärmkosten auf viele Probleme verteilen.
+    Die Antwort enthält je Problem die Ergebnisliste in derselben Reihenfolge; ein fehlerhaftes
+    oder unlösbares Problem liefert eine leere Liste, ohne die anderen zu beeinflussen.
+    Die Laufzeit des ganzen Batches ist durch X-Solver-Batch-Budget-Seconds begrenzt: Jedes Problem
+    erhält höchstens die verbleibende Zeit, reicht sie nicht mehr für SOLVER_MIN_TIME_LIMIT_SECONDS,
+    bleibt seine Antwort leer. Wie /optimize synchron, damit die Solves im Threadpool laufen.
+    Die Kennzahlen je Problem stehen im Header X-Solver-Batch-Stats, damit der Body die reine
+    Ergebnisliste bleibt.
+    """
+    budget = batch_budget(request.headers)
+    deadline = time.monotonic() + budget
+    LOGGER.debug("Batch-Anfrage mit %d Problemen und %.1fs Budget empfangen", len(problems), budget)
+
+    results = []
+    stats_per_problem = []
+    with start_span("POST /optimize/batch", headers=request.headers, **{"solver.problems": len(problems)}):
+        for index, data in enumerate(problems):
+            remaining = deadline - time.monotonic()
+            if remaining < SOLVER_MIN_TIME_LIMIT_SECONDS:
+                LOGGER.warning("Batch-Budget erschöpft, Problem %d von %d wird nicht gelöst",
+                               index + 1, len(problems))
+                results.append([])
+                stats_per_problem.append(None)
+                continue
+            try:
+                result, stats = solve_problem(data, max_budget=remaining)
+            except Exception:
+                LOGGER.warning("Problem %d im Batch fehlgeschlagen", index + 1, exc_info=True)
+                result, stats = [], None
+            results.append(result)
+            stats_per_problem.append(stats)
+    response.headers[HEADER_BATCH_STATS] = batch_stats_header(stats_per_problem)
+    return results
+
 
 if __name__ == '__main__': #pragma: no cover
     uvicorn.run(app, host=SERVER_HOST, port=SERVER_PORT)
\ No newline at end of file
@@ -11,6 +11,8 @@ __credits__ = ["Nardi Hyseni"]
 __version__ = "1.0.1"
 __email__ = "uhxch@student.kit.edu"
 
+import inspect
+import json
 import os
 import sys
 import unittest
@@ -21,7 +23,16 @@ from fastapi.testclient import TestClient
 
 sys.path.insert(0, os.path.dirname(os.path.abspath(__file__)))
 
-from Microservice import DataTransformer, COPSolver, app
+# OpenTelemetry ist optional und fehlt in der per Poetry installierten Umgebung (CI, Docker).
+try:
+    from opentelemetry import trace
+    from opentelemetry.sdk.trace.export import SimpleSpanProcessor
+    from opentelemetry.sdk.trace.export.in_memory_span_exporter import InMemorySpanExporter
+except ImportError:  # pragma: no cover
+    trace = None
+
+from Microservice import DataTransformer, COPSolver, app, SOLVER_MIN_TIME_LIMIT_SECONDS, SOLVER_MAX_TIME_LIMIT_SECONDS, \
+    SPAN_BUILD_MODEL, SPAN_SOLVE, optimize, optimize_batch
 
 
 class TestMicroservice(unittest.TestCase):
@@ -192,6 +203,23 @@ class TestMicroservice(unittest.TestCase):
         solution = solver.solve()
         self.assertIsNotNone(solution, "Es sollte eine Lösung geben")
 
+    def test_health_endpoint(self):
+        """
+        Testet, ob die Lebendprüfung für die Health-Checks des Backends antwortet.
+        """
+        response = self.client.get('/health')
+
+        self.assertEqual(response.status_code, 200)
+        self.assertEqual(response.json(), {"status": "ok"})
+
+    def test_optimize_runs_outside_event_loop(self):
+        """
+        Die Solve-Endpunkte müssen synchron sein, damit FastAPI sie im Threadpool ausführt
+        und die Health-Checks nicht hinter einem laufenden Solve warten.
+        """
+        self.assertFalse(inspect.iscoroutinefunction(optimize))
+        self.assertFalse(inspect.iscoroutinefunction(optimize_batch))
+
     def test_api_endpoint(self):
         """
         INTEGRATIONSTEST:
@@ -213,6 +241,207 @@ class TestMicroservice(unittest.TestCase):
         self.assertEqual(len(response_data), 1, "Sollte genau eine geplante Aufgabe zurückgeben")
         self.assertEqual(response_data[0]['id'], "api_task")
 
+    def test_batch_endpoint(self):
+        """
+        Testet, ob mehrere unabhängige Probleme in einem Aufruf gelöst werden und ein
+        fehlerhaftes Problem nur seine eigene Antwort leert.
+        """
+        first = dict(self.base_data, tasks=[{"id": "user_a_task", "duration": 12, "deadline": 500}])
+        second = dict(self.base_data, tasks=[{"id": "user_b_task", "duration": 12, "deadline": 500}])
+        broken = {"tasks": "kein Problem"}
+
+        response = self.client.post('/optimize/batch', json=[first, broken, second])
+
+        self.assertEqual(response.status_code, 200)
+        results = response.json()
+        self.assertEqual(len(results), 3, "Je Problem eine Antwort in gleicher Reihenfolge")
+        self.assertEqual(results[0][0]['id'], "user_a_task")
+        self.assertEqual(results[1], [])
+        self.assertEqual(results[2][0]['id'], "user_b_task")
+
+        stats = json.loads(response.headers["X-Solver-Batch-Stats"])
+        self.assertEqual(len(stats), 3, "Je Problem ein Eintrag in gleicher Reihenfolge")
+        self.assertIn(stats[0]['status'], ("OPTIMAL", "FEASIBLE"))
+        self.assertGreater(stats[0]['variables'], 0)
+        self.assertIsNone(stats[1])
+        self.assertIn(stats[2]['status'], ("OPTIMAL", "FEASIBLE"))
+
+    def test_batch_budget_limits_batch_runtime(self):
+        """
+        Testet, ob ein erschöpftes Batch-Budget die restlichen Probleme nicht mehr löst,
+        damit die Antwort innerhalb der Zeitgrenze des Backends bleibt.
+        """
+        problem = dict(self.base_data, tasks=[{"id": "user_a_task", "duration": 12, "deadline": 500}])
+
+        response = self.client.post('/optimize/batch', json=[problem, problem],
+                                    headers={"X-Solver-Batch-Budget-Seconds": "0.1"})
+
+        self.assertEqual(response.status_code, 200)
+        self.assertEqual(response.json(), [[], []])
+        self.assertEqual(json.loads(response.headers["X-Solver-Batch-Stats"]), [None, None])
+
+    def test_warm_start_hints(self):
+        """
+        Testet, ob gültige Warmstart-Hinweise übernommen und ungültige ignoriert werden.
+        """
+        self.base_data["tasks"] = [
+            {"id": "hinted_task", "duration": 12, "deadline": 600, "hint": 400},
+            {"id": "late_hint_task", "duration": 12, "deadline": 300, "hint": 295},
+            {"id": "plain_task", "duration": 12, "deadline": 600, "hint": None}
+        ]
+
+        solver = COPSolver(self.base_data)
+        solver.build_model()
+        solution = solver.solve()
+
+        self.assertEqual(solver.hint_count, 1, "Nur der Hinweis innerhalb der Deadline sollte übernommen werden")
+        self.assertIsNotNone(solution, "Hinweise dürfen die Lösbarkeit nicht beeinflussen")
+
+    def test_adaptive_time_budget(self):
+        """
+        Testet, ob das Zeitbudget mit der Problemgröße wächst und innerhalb der Grenzen bleibt.
+        """
+        small = COPSolver(dict(self.base_data, tasks=[{"id": "t", "duration": 6}]))
+        self.assertEqual(small.choose_time_budget(), SOLVER_MIN_TIME_LIMIT_SECONDS)
+
+        medium_tasks = [{"id": f"t_{i}", "duration": 6} for i in range(20)]
+        medium = COPSolver(dict(self.base_data, tasks=medium_tasks))
+        dense = COPSolver(dict(self.base_data, tasks=medium_tasks,
+                               fixedBlocks=[{"start": 0, "duration": 1008}]))
+        self.assertGreater(medium.choose_time_budget(), SOLVER_MIN_TIME_LIMIT_SECONDS)
+        self.assertGreater(dense.choose_time_budget(), medium.choose_time_budget())
+
+        huge = COPSolver(dict(self.base_data, tasks=[{"id": f"t_{i}", "duration": 6} for i in range(500)]))
+        self.assertEqual(huge.choose_time_budget(), SOLVER_MAX_TIME_LIMIT_SECONDS)
+
+    def test_solver_stats_reported(self):
+        """
+        Testet, ob Budget, Lücke und Abbruchgrund nach dem Lösen vorliegen und als Header gesendet werden.
+        """
+        self.base_data["tasks"] = [{"id": "stats_task", "duration": 10, "deadline": 500}]
+
+        solver = COPSolver(self.base_data)
+        solver.build_model()
+        solution = solver.solve()
+
+        self.assertIsNotNone(solution)
+        self.assertEqual(solver.stats['stop_reason'], "optimal")
+        self.assertEqual(solver.stats['gap'], 0.0)
+        self.assertLessEqual(solver.stats['wall_time'], solver.stats['budget'] + 1.0)
+
+        response = self.client.post('/optimize', json=self.base_data)
+        self.assertEqual(response.headers["X-Solver-Status"], "OPTIMAL")
+        self.assertIn("X-Solver-Budget-Seconds", response.headers)
+        self.assertIn("X-Solver-Gap", response.headers)
+
+    def test_solver_model_stats_reported(self):
+        """
+        Testet, ob Zielfunktionswert, Schranke, Aufbauzeit und Modellgröße als Header gesendet werden.
+        """
+        self.base_data["tasks"] = [{"id": "model_stats_task", "duration": 10, "deadline": 500}]
+
+        solver = COPSolver(self.base_data)
+        solver.build_model()
+        solver.solve()
+
+        self.assertGreater(solver.stats['variables'], 0)
+        self.assertGreater(solver.stats['constraints'], 0)
+        self.assertEqual(solver.stats['objective'], solver.stats['best_bound'])
+
+        response = self.client.post('/optimize', json=self.base_data)
+        self.assertEqual(float(response.headers["X-Solver-Objective"]),
+                         float(response.headers["X-Solver-Best-Bound"]))
+        self.assertIn("X-Solver-Build-Time-Seconds", response.headers)
+        self.assertGreater(int(response.headers["X-Solver-Variables"]), 0)
+        self.assertGreater(int(response.headers["X-Solver-Constraints"]), 0)
+
+    def test_start_domains_replace_routine_blocks(self):
+        """
+        Testet, ob vom Backend gelieferte Startbereiche eingehalten werden und feste Blöcke dann entfallen.
+        """
+        self.base_data["fixedBlocks"] = [{"start": 100, "duration": 20}]
+        self.base_data["tasks"] = [
+            {"id": "domain_task", "duration": 6, "deadline": 600,
+             "domain": [{"from": 300, "to": 310}, {"from": 400, "to": 405}]}
+        ]
+
+        solver = COPSolver(self.base_data)
+        solver.build_model()
+        solution = solver.solve()
+
+        self.assertIsNotNone(solution)
+        start = solution.Value(solver.solution_map["domain_task"]["start"])
+        self.assertTrue(300 <= start <= 310 or 400 <= start <= 405, "Start liegt außerhalb des Bereichs")
+
+    def test_precomputed_window_costs_are_used(self):
+        """
+        Testet, ob vom Backend mitgelieferte Fensterkosten die Wahl des Startslots bestimmen.
+        """
+        self.base_data["tasks"] = [
+            {"id": "priced_task", "duration": 6, "deadline": 600,
+             "domain": [{"from": 300, "to": 302, "costs": [5, -20, 5]}]}
+        ]
+
+        solver = COPSolver(self.base_data)
+        solver.build_model()
+        solution = solver.solve()
+
+        self.assertIsNotNone(solution)
+        self.assertEqual(solution.Value(solver.solution_map["priced_task"]["start"]), 301)
+
+    def test_start_domains_without_costs_ignore_preference_table(self):
+        """
+        Testet, ob mit Startbereichen nur die Kosten des Backends zählen und der Solver keine eigenen
+        Tageszeiten-Boni ergänzt.
+        """
+        self.base_data["preferenceTime"] = "MORNING"
+        self.base_data["tasks"] = [
+            {"id": "morning_task", "duration": 6, "deadline": 600, "domain": [{"from": 72, "to": 80}]}
+        ]
+
+        solver = COPSolver(self.base_data)
+        solver.build_model()
+        solution = solver.solve()
+
+        self.assertIsNotNone(solution)
+        self.assertEqual(solution.ObjectiveValue(), 0)
+
+    def test_empty_start_domain_is_infeasible(self):
+        """
+        Testet, ob ein Chunk ohne zulässigen Start zu keiner Lösung führt.
+        """
+        self.base_data["tasks"] = [
+            {"id": "no_room", "duration": 6, "deadline": 600, "domain": []},
+            {"id": "fits", "duration": 6, "deadline": 600, "domain": [{"from": 300, "to": 310}]}
+        ]
+
+        solver = COPSolver(self.base_data)
+        solver.build_model()
+
+        self.assertIsNone(solver.solve())
+
+    @unittest.skipIf(trace is None, "OpenTelemetry ist nicht installiert")
+    def test_trace_context_is_continued(self):
+        """
+        Testet, ob Modellaufbau und Lösen als Spans im Trace des Backends aus dem traceparent-Header erscheinen.
+        """
+        trace_id = "4bf92f3577b34da6a3ce929d0e0e4736"
+        parent_id = "00f067aa0ba902b7"
+        exporter = InMemorySpanExporter()
+        trace.get_tracer_provider().add_span_processor(SimpleSpanProcessor(exporter))
+        self.base_data["tasks"] = [{"id": "traced_task", "duration": 6, "deadline": 600}]
+
+        response = self.client.post("/optimize", json=self.base_data,
+                                    headers={"traceparent": f"00-{trace_id}-{parent_id}-01"})
+
+        self.assertEqual(response.status_code, 200)
+        spans = {span.name: span for span in exporter.get_finished_spans()}
+        self.assertEqual(spans["POST /optimize"].parent.span_id, int(parent_id, 16))
+        for name in (SPAN_BUILD_MODEL, SPAN_SOLVE):
+            self.assertEqual(spans[name].context.trace_id, int(trace_id, 16))
+            self.assertEqual(spans[name].parent.span_id, spans["POST /optimize"].context.span_id)
+        self.assertEqual(spans[SPAN_SOLVE].attributes["solver.status"], "OPTIMAL")
+
 
 if __name__ == '__main__': # pragma: no cover
     unittest.main()